@@ -13,8 +13,10 @@ package org.eclipse.che.api.agent.server.impl;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import org.eclipse.che.api.agent.server.AgentRegistry;
@@ -65,6 +67,36 @@ public class AgentSorter {
     return sorted;
   }
 
+  /**
+   * Sorts agents respecting dependencies between them and groups them into waves. Agents of a wave
+   * depend only on agents of the previous waves, so agents of the same wave may be launched
+   * concurrently.
+   *
+   * @param agentKeys list of agents to sort
+   * @return waves of agents in launching order
+   * @throws AgentException if circular dependency found or agent creation failed or other
+   *     unexpected error
+   * @see #sort(List)
+   */
+  public List<List<AgentKey>> sortInWaves(@Nullable List<String> agentKeys)
+      throws AgentException {
+    List<List<AgentKey>> waves = new ArrayList<>();
+    Map<String, Integer> agentWaves = new HashMap<>();
+    // dependencies of an agent are sorted before it
+    for (AgentKey agentKey : sort(agentKeys)) {
+      int wave = 0;
+      for (String dependency : agentRegistry.getAgent(agentKey).getDependencies()) {
+        wave = Math.max(wave, agentWaves.get(AgentKeyImpl.parse(dependency).getId()) + 1);
+      }
+      agentWaves.put(agentKey.getId(), wave);
+      if (wave == waves.size()) {
+        waves.add(new ArrayList<>());
+      }
+      waves.get(wave).add(agentKey);
+    }
+    return waves;
+  }
+
   private void doSort(AgentKey agentKey, List<AgentKey> sorted, Set<String> pending)
       throws AgentException {
     String agentId = agentKey.getId();
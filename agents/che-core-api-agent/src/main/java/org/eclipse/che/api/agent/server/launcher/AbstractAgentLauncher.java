@@ -40,6 +40,10 @@ import org.slf4j.LoggerFactory;
  * Launch agent script asynchronously over target instance and wait when it run. The policy of
  * checking if agent is run might be different for agents.
  *
+ * <p>Agent is checked with growing delays up to the ping delay, the agent is checked right away
+ * when its process finishes.
+ *
+ * @see AgentLaunchingBackoff
  * @see Agent#getScript()
  * @see AgentLaunchingChecker
  * @see AgentLaunchingChecker#DEFAULT
@@ -73,6 +77,8 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
     if (isNullOrEmpty(agent.getScript())) {
       return;
     }
+    AgentLaunchingBackoff backoff =
+        new AgentLaunchingBackoff(agentPingDelayMs, agentMaxStartTimeMs);
     ListLineConsumer agentLogger = new ListLineConsumer();
     LineConsumer lineConsumer =
         new AbstractLineConsumer() {
@@ -81,6 +87,12 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
             machine.getLogger().writeLine(line);
             agentLogger.writeLine(line);
           }
+
+          @Override
+          public void close() {
+            // agent process is finished
+            backoff.signal();
+          }
         };
     try {
       final InstanceProcess process = start(machine, agent, lineConsumer);
@@ -89,13 +101,17 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
           agent.getId(),
           machine.getWorkspaceId());
 
-      final long pingStartTimestamp = System.currentTimeMillis();
-      while (System.currentTimeMillis() - pingStartTimestamp < agentMaxStartTimeMs) {
-        if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
-          return;
-        } else {
-          Thread.sleep(agentPingDelayMs);
-        }
+      if (backoff.getElapsedMs() < agentMaxStartTimeMs) {
+        do {
+          if (agentLaunchingChecker.isLaunched(agent, process, machine)) {
+            LOG.debug(
+                "Agent {} is launched in {} ms. Workspace ID:{}",
+                agent.getId(),
+                backoff.getElapsedMs(),
+                machine.getWorkspaceId());
+            return;
+          }
+        } while (backoff.await());
       }
       LOG.error(
           format(
@@ -147,6 +163,12 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
                   machine.getLogger().writeLine(format("[ERROR] %s", e.getMessage()));
                 } catch (IOException ignored) {
                 }
+              } finally {
+                // notifies launcher that the process is finished
+                try {
+                  lineConsumer.close();
+                } catch (IOException ignored) {
+                }
               }
             }));
     try {
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.agent.server.launcher;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Paces checks of whether an agent is launched.
+ *
+ * <p>Delay between checks starts from {@link #INITIAL_DELAY_MS} and is doubled after each check up
+ * to the configured ping delay, so agents which start quickly are detected without waiting for the
+ * whole ping delay while slow agents are not checked too often. The delay is cut short when an
+ * event of the agent is {@link #signal() signalled}, e.g. the agent process finishes.
+ */
+public class AgentLaunchingBackoff {
+  static final long INITIAL_DELAY_MS = 50;
+
+  private final long maxDelayMs;
+  private final long deadline;
+  private final long startTime;
+  private final Semaphore events = new Semaphore(0);
+
+  private long delayMs;
+
+  /**
+   * Creates backoff which starts now.
+   *
+   * @param maxDelayMs maximum delay between checks
+   * @param timeoutMs time during which agent is checked
+   */
+  public AgentLaunchingBackoff(long maxDelayMs, long timeoutMs) {
+    this.maxDelayMs = maxDelayMs;
+    this.delayMs = Math.min(INITIAL_DELAY_MS, maxDelayMs);
+    this.startTime = System.currentTimeMillis();
+    this.deadline = startTime + timeoutMs;
+  }
+
+  /** Wakes up the thread waiting for the next check. */
+  public void signal() {
+    events.release();
+  }
+
+  /**
+   * Waits until the next check should be performed.
+   *
+   * @return false if time of checking is over, true otherwise
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   */
+  public boolean await() throws InterruptedException {
+    long remaining = deadline - System.currentTimeMillis();
+    if (remaining <= 0) {
+      return false;
+    }
+    if (events.tryAcquire(Math.min(delayMs, remaining), MILLISECONDS)) {
+      // events which happened meanwhile are handled by the same check
+      events.drainPermits();
+    }
+    delayMs = Math.min(delayMs * 2, maxDelayMs);
+    return true;
+  }
+
+  /** Returns time in milliseconds since this backoff was created. */
+  public long getElapsedMs() {
+    return System.currentTimeMillis() - startTime;
+  }
+}
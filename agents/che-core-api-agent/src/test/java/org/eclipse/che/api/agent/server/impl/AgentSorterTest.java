@@ -68,6 +68,16 @@ public class AgentSorterTest {
     assertEquals(sorted.get(2).getId(), "fqn2");
   }
 
+  @Test
+  public void shouldGroupAgentsWithoutMutualDependenciesIntoWaves() throws Exception {
+    List<List<AgentKey>> waves = agentSorter.sortInWaves(Arrays.asList("fqn1", "fqn2", "fqn3"));
+
+    assertEquals(waves.size(), 2);
+    assertEquals(waves.get(0), singletonList(AgentKeyImpl.parse("fqn3")));
+    assertEquals(
+        waves.get(1), Arrays.asList(AgentKeyImpl.parse("fqn1"), AgentKeyImpl.parse("fqn2")));
+  }
+
   @Test(
     expectedExceptions = AgentException.class,
     expectedExceptionsMessageRegExp = ".*fqn1.*fqn2.*"
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.agent.server.launcher;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+/** Tests for {@link AgentLaunchingBackoff}. */
+public class AgentLaunchingBackoffTest {
+
+  @Test
+  public void shouldStartCheckingWithShortDelay() throws Exception {
+    AgentLaunchingBackoff backoff = new AgentLaunchingBackoff(10_000, 60_000);
+
+    long start = System.currentTimeMillis();
+    assertTrue(backoff.await());
+
+    assertTrue(System.currentTimeMillis() - start < 1_000);
+  }
+
+  @Test
+  public void shouldStopWaitingWhenSignalled() throws Exception {
+    AgentLaunchingBackoff backoff = new AgentLaunchingBackoff(10_000, 60_000);
+    // delay is 800 ms after these checks
+    for (int i = 0; i < 4; i++) {
+      backoff.await();
+    }
+
+    backoff.signal();
+    long start = System.currentTimeMillis();
+    assertTrue(backoff.await());
+
+    assertTrue(System.currentTimeMillis() - start < 400);
+  }
+
+  @Test
+  public void shouldNotWaitLongerThanTimeout() throws Exception {
+    AgentLaunchingBackoff backoff = new AgentLaunchingBackoff(10_000, 200);
+
+    long start = System.currentTimeMillis();
+    while (backoff.await()) {}
+
+    long waited = System.currentTimeMillis() - start;
+    assertTrue(waited >= 200 && waited < 5_000, "waited " + waited + " ms");
+    assertFalse(backoff.await());
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes how events are delivered to subscriber asynchronously. Events are put in bounded queue
+ * of subscriber and delivered from it in the same order as they were published. Policy defines
+ * capacity of the queue and what happens when queue is full.
+ *
+ * @see EventService#subscribe(EventSubscriber, Class, AsyncDispatchPolicy)
+ * @see EventService#setAsyncDispatchPolicy(Class, AsyncDispatchPolicy)
+ */
+public final class AsyncDispatchPolicy {
+  /** What to do with published event when queue of subscriber is full. */
+  public enum OverflowPolicy {
+    /**
+     * Publisher waits until there is free space in the queue but not longer than {@link
+     * #getBlockTimeoutMillis()}, event is dropped if space is not available after timeout.
+     */
+    BLOCK,
+    /** Published event is dropped. */
+    DROP_NEWEST,
+    /** The oldest event in the queue is dropped to free space for published event. */
+    DROP_OLDEST
+  }
+
+  public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+  public static final long DEFAULT_BLOCK_TIMEOUT_MILLIS = 5000;
+
+  /** Queue of {@link #DEFAULT_QUEUE_CAPACITY} events, publisher is blocked when it is full. */
+  public static AsyncDispatchPolicy defaultPolicy() {
+    return withQueue(DEFAULT_QUEUE_CAPACITY, OverflowPolicy.BLOCK);
+  }
+
+  /**
+   * Creates policy.
+   *
+   * @param queueCapacity max number of events which wait for delivery to subscriber
+   * @param overflowPolicy what to do when the queue is full
+   */
+  public static AsyncDispatchPolicy withQueue(int queueCapacity, OverflowPolicy overflowPolicy) {
+    return new AsyncDispatchPolicy(queueCapacity, overflowPolicy, DEFAULT_BLOCK_TIMEOUT_MILLIS);
+  }
+
+  private final int queueCapacity;
+  private final OverflowPolicy overflowPolicy;
+  private final long blockTimeoutMillis;
+
+  private AsyncDispatchPolicy(
+      int queueCapacity, OverflowPolicy overflowPolicy, long blockTimeoutMillis) {
+    if (queueCapacity <= 0) {
+      throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+    }
+    if (overflowPolicy == null) {
+      throw new IllegalArgumentException("Null overflow policy.");
+    }
+    this.queueCapacity = queueCapacity;
+    this.overflowPolicy = overflowPolicy;
+    this.blockTimeoutMillis = blockTimeoutMillis;
+  }
+
+  /** Returns copy of this policy with given max time publisher waits for space in the queue. */
+  public AsyncDispatchPolicy withBlockTimeout(long timeout, TimeUnit unit) {
+    return new AsyncDispatchPolicy(queueCapacity, overflowPolicy, unit.toMillis(timeout));
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public OverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  public long getBlockTimeoutMillis() {
+    return blockTimeoutMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "AsyncDispatchPolicy{"
+        + "queueCapacity="
+        + queueCapacity
+        + ", overflowPolicy="
+        + overflowPolicy
+        + ", blockTimeoutMillis="
+        + blockTimeoutMillis
+        + '}';
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Snapshot of statistics of asynchronous delivery of events to single subscriber.
+ *
+ * @see EventService#getAsyncDispatchStatistics()
+ */
+public final class AsyncDispatchStatistics {
+  private final String subscriber;
+  private final Class<?> eventType;
+  private final int queueDepth;
+  private final long deliveredCount;
+  private final long droppedCount;
+  private final long averageLatencyNanos;
+  private final long maxLatencyNanos;
+
+  AsyncDispatchStatistics(
+      String subscriber,
+      Class<?> eventType,
+      int queueDepth,
+      long deliveredCount,
+      long droppedCount,
+      long averageLatencyNanos,
+      long maxLatencyNanos) {
+    this.subscriber = subscriber;
+    this.eventType = eventType;
+    this.queueDepth = queueDepth;
+    this.deliveredCount = deliveredCount;
+    this.droppedCount = droppedCount;
+    this.averageLatencyNanos = averageLatencyNanos;
+    this.maxLatencyNanos = maxLatencyNanos;
+  }
+
+  /** String representation of subscriber. */
+  public String getSubscriber() {
+    return subscriber;
+  }
+
+  /** Type of events subscriber is subscribed to. */
+  public Class<?> getEventType() {
+    return eventType;
+  }
+
+  /** Number of events which wait for delivery. */
+  public int getQueueDepth() {
+    return queueDepth;
+  }
+
+  /** Number of events delivered to subscriber. */
+  public long getDeliveredCount() {
+    return deliveredCount;
+  }
+
+  /** Number of events dropped because queue of subscriber was full. */
+  public long getDroppedCount() {
+    return droppedCount;
+  }
+
+  /** Average time in nanoseconds between publishing of event and its delivery to subscriber. */
+  public long getAverageLatencyNanos() {
+    return averageLatencyNanos;
+  }
+
+  /** Max time in nanoseconds between publishing of event and its delivery to subscriber. */
+  public long getMaxLatencyNanos() {
+    return maxLatencyNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "AsyncDispatchStatistics{"
+        + "subscriber='"
+        + subscriber
+        + '\''
+        + ", eventType="
+        + eventType.getName()
+        + ", queueDepth="
+        + queueDepth
+        + ", deliveredCount="
+        + deliveredCount
+        + ", droppedCount="
+        + droppedCount
+        + ", averageLatencyNanos="
+        + averageLatencyNanos
+        + ", maxLatencyNanos="
+        + maxLatencyNanos
+        + '}';
+  }
+}
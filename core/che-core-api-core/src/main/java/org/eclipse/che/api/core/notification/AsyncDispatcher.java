@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.eclipse.che.api.core.notification.AsyncDispatchPolicy.OverflowPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers events to single subscriber asynchronously. Events are kept in bounded queue and
+ * delivered in the order they were published. At most one thread of shared executor delivers events
+ * of the dispatcher at a time, thread is released after delivering {@link #MAX_BATCH} events to let
+ * other subscribers be served.
+ *
+ * <p>When policy of the subscriber changes the dispatcher is {@link #close(AsyncDispatcher) closed}
+ * and replaced with its successor, the successor starts delivering events only after all the events
+ * queued in this dispatcher are delivered, so events are never reordered by the replacement.
+ */
+class AsyncDispatcher {
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncDispatcher.class);
+
+  private static final int MAX_BATCH = 64;
+
+  private final EventSubscriber subscriber;
+  private final Class<?> eventType;
+  private final AsyncDispatchPolicy policy;
+  private final Executor executor;
+  private final BlockingQueue<Envelope> queue;
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  /**
+   * Guards {@link #closed}, events are queued under read lock except of the ones which wait for
+   * free space, they check the flag again when queued.
+   */
+  private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+  /** Dispatcher which must deliver its events before this one, null when they are delivered. */
+  private volatile AsyncDispatcher predecessor;
+
+  private volatile AsyncDispatcher successor;
+  private volatile boolean closed;
+  private volatile boolean terminated;
+  private volatile boolean discarded;
+
+  private final LongAdder delivered = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder latency = new LongAdder();
+  private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+
+  AsyncDispatcher(
+      EventSubscriber subscriber,
+      Class<?> eventType,
+      AsyncDispatchPolicy policy,
+      Executor executor,
+      AsyncDispatcher predecessor) {
+    this.subscriber = subscriber;
+    this.eventType = eventType;
+    this.policy = policy;
+    this.executor = executor;
+    this.queue = new ArrayBlockingQueue<>(policy.getQueueCapacity());
+    this.predecessor = predecessor;
+  }
+
+  /**
+   * Queues event for delivery, applies overflow policy if the queue is full.
+   *
+   * @return false if the dispatcher is closed and the event is not accepted, true otherwise
+   */
+  boolean dispatch(Object event) {
+    final Envelope envelope = new Envelope(event, System.nanoTime());
+    if (policy.getOverflowPolicy() == OverflowPolicy.BLOCK) {
+      if (!isOpen()) {
+        return false;
+      }
+      // waiting for free space under the lock would stall closing of the dispatcher
+      enqueueBlocking(envelope);
+      if (closed && queue.remove(envelope)) {
+        // closed while waiting, the event goes to the dispatcher which replaced this one
+        tryTerminate();
+        return false;
+      }
+    } else {
+      closeLock.readLock().lock();
+      try {
+        if (closed) {
+          return false;
+        }
+        enqueue(envelope);
+      } finally {
+        closeLock.readLock().unlock();
+      }
+    }
+    schedule();
+    return true;
+  }
+
+  /**
+   * Stops accepting events, events which are already queued are still delivered and then the
+   * successor starts delivering its events.
+   *
+   * @param successor dispatcher which replaces this one or null
+   */
+  void close(AsyncDispatcher successor) {
+    this.successor = successor;
+    closeLock.writeLock().lock();
+    try {
+      closed = true;
+    } finally {
+      closeLock.writeLock().unlock();
+    }
+    tryTerminate();
+  }
+
+  /**
+   * Closes the dispatcher if all the events queued by it and by its predecessors are delivered.
+   *
+   * @return true if the dispatcher is closed and terminated, false if it still has events to
+   *     deliver
+   */
+  boolean closeIfIdle() {
+    final AsyncDispatcher previous = predecessor;
+    if (previous != null && !previous.isTerminated()) {
+      return false;
+    }
+    closeLock.writeLock().lock();
+    try {
+      if (!queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+        return false;
+      }
+      closed = true;
+      terminated = true;
+      return true;
+    } finally {
+      closeLock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Closes the dispatcher and its predecessors dropping all the queued events, used when the
+   * subscriber is unsubscribed.
+   */
+  void discard() {
+    discarded = true;
+    close(null);
+    queue.clear();
+    final AsyncDispatcher previous = predecessor;
+    if (previous != null) {
+      previous.discard();
+    }
+    tryTerminate();
+  }
+
+  /** Returns true when the dispatcher is closed and all its events are delivered. */
+  boolean isTerminated() {
+    return terminated;
+  }
+
+  private boolean isOpen() {
+    closeLock.readLock().lock();
+    try {
+      return !closed;
+    } finally {
+      closeLock.readLock().unlock();
+    }
+  }
+
+  private void enqueueBlocking(Envelope envelope) {
+    try {
+      if (!queue.offer(envelope, policy.getBlockTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+        onDropped(envelope.event);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      onDropped(envelope.event);
+    }
+  }
+
+  /** Queues event without waiting for free space, must be called under read lock. */
+  private void enqueue(Envelope envelope) {
+    if (policy.getOverflowPolicy() == OverflowPolicy.DROP_NEWEST) {
+      if (!queue.offer(envelope)) {
+        onDropped(envelope.event);
+      }
+    } else {
+      while (!queue.offer(envelope)) {
+        final Envelope oldest = queue.poll();
+        if (oldest != null) {
+          onDropped(oldest.event);
+        }
+      }
+    }
+  }
+
+  AsyncDispatchPolicy getPolicy() {
+    return policy;
+  }
+
+  AsyncDispatchStatistics getStatistics() {
+    final long deliveredCount = delivered.sum();
+    return new AsyncDispatchStatistics(
+        subscriber.toString(),
+        eventType,
+        queue.size(),
+        deliveredCount,
+        dropped.sum(),
+        deliveredCount == 0 ? 0 : latency.sum() / deliveredCount,
+        maxLatency.get());
+  }
+
+  private void schedule() {
+    final AsyncDispatcher previous = predecessor;
+    if (previous != null) {
+      if (!previous.isTerminated()) {
+        // scheduled by the predecessor when it terminates
+        return;
+      }
+      predecessor = null;
+    }
+    if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::deliver);
+      } catch (RejectedExecutionException e) {
+        scheduled.set(false);
+        LOG.warn("Unable to deliver events to {}, event service is stopped", subscriber);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void deliver() {
+    try {
+      for (int i = 0; i < MAX_BATCH && !discarded; i++) {
+        final Envelope envelope = queue.poll();
+        if (envelope == null) {
+          break;
+        }
+        final long waited = System.nanoTime() - envelope.publishedAt;
+        latency.add(waited);
+        maxLatency.accumulate(waited);
+        delivered.increment();
+        try {
+          LOG.debug("Publish event {} for {}", envelope.event, subscriber);
+          subscriber.onEvent(envelope.event);
+        } catch (RuntimeException e) {
+          LOG.error(e.getMessage(), e);
+        }
+      }
+    } finally {
+      scheduled.set(false);
+      // events might be queued after the last poll but before the flag is reset
+      schedule();
+      tryTerminate();
+    }
+  }
+
+  private void tryTerminate() {
+    // nothing is queued to closed dispatcher, the flag is kept set as it never delivers again
+    if (closed && queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+      terminated = true;
+      final AsyncDispatcher next = successor;
+      if (next != null) {
+        next.schedule();
+      }
+    }
+  }
+
+  private void onDropped(Object event) {
+    dropped.increment();
+    LOG.warn("Queue of {} is full, event {} is dropped", subscriber, event);
+  }
+
+  private static class Envelope {
+    final Object event;
+    final long publishedAt;
+
+    Envelope(Object event, long publishedAt) {
+      this.event = event;
+      this.publishedAt = publishedAt;
+    }
+  }
+}
@@ -13,16 +13,25 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +49,13 @@ import org.slf4j.LoggerFactory;
  *     bus.publish(new MyEvent());
  * </pre>
  *
+ * <p>By default subscribers are called synchronously in the thread which publishes event.
+ * Subscriber that may be slow (e.g. one that accesses database or sends messages over network) may
+ * be subscribed with {@link AsyncDispatchPolicy}, or policy may be set for the whole type of events
+ * with {@link #setAsyncDispatchPolicy(Class, AsyncDispatchPolicy)}. Events for such subscribers are
+ * put in bounded queue of subscriber and delivered by pool of threads, events of the same type are
+ * delivered to subscriber in the order they were published.
+ *
  * @author andrew00x
  */
 @Singleton
@@ -51,11 +67,15 @@ public class EventService {
   private static final int SEG_SIZE = 32;
 
   private final LoadingCache<Class<?>, Set<Class<?>>>[] typeCache;
-  private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+  private final ConcurrentMap<Class<?>, Set<Subscription>> subscribersByEventType;
+  private final Map<Class<?>, AsyncDispatchPolicy> policiesByEventType;
+
+  private volatile ThreadPoolExecutor asyncExecutor;
 
   @SuppressWarnings("unchecked")
   public EventService() {
     subscribersByEventType = new ConcurrentHashMap<>();
+    policiesByEventType = new ConcurrentHashMap<>();
     typeCache = new LoadingCache[CACHE_NUM];
     for (int i = 0; i < CACHE_NUM; i++) {
       typeCache[i] =
@@ -99,12 +119,21 @@ public class EventService {
     }
     final Class<?> eventClass = event.getClass();
     for (Class<?> clazz : typeCache[eventClass.hashCode() & CACHE_MASK].getUnchecked(eventClass)) {
-      final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
-      if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
-        for (EventSubscriber eventSubscriber : eventSubscribers) {
+      final Set<Subscription> subscriptions = subscribersByEventType.get(clazz);
+      if (subscriptions != null && !subscriptions.isEmpty()) {
+        final AsyncDispatchPolicy typePolicy = policiesByEventType.get(clazz);
+        for (Subscription subscription : subscriptions) {
+          AsyncDispatcher dispatcher = subscription.getDispatcher(typePolicy);
+          // dispatcher rejects events when it is replaced concurrently
+          while (dispatcher != null && !dispatcher.dispatch(event)) {
+            dispatcher = subscription.getDispatcher(typePolicy);
+          }
+          if (dispatcher != null || subscription.cancelled) {
+            continue;
+          }
           try {
-            LOG.debug("Publish event {} for {}", event, eventSubscriber);
-            eventSubscriber.onEvent(event);
+            LOG.debug("Publish event {} for {}", event, subscription.subscriber);
+            subscription.subscriber.onEvent(event);
           } catch (RuntimeException e) {
             LOG.error(e.getMessage(), e);
           }
@@ -121,8 +150,7 @@ public class EventService {
    * @param subscriber event subscriber
    */
   public void subscribe(EventSubscriber<?> subscriber) {
-    final Class<?> eventType = getEventType(subscriber);
-    doSubscribe(subscriber, eventType);
+    doSubscribe(subscriber, getEventType(subscriber), null);
   }
 
   /**
@@ -133,19 +161,117 @@ public class EventService {
    * @param eventType The event to subscribe to.
    */
   public <T> void subscribe(EventSubscriber<? extends T> subscriber, Class<T> eventType) {
-    doSubscribe(subscriber, eventType);
+    doSubscribe(subscriber, eventType, null);
   }
 
-  private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
-    Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
+  /**
+   * Subscribe event listener which receives events asynchronously. The event to subscribe to is
+   * inferred by checking the generic type arguments of the given subscriber.
+   *
+   * @param subscriber event subscriber
+   * @param policy policy of asynchronous delivery of events to the subscriber
+   */
+  public void subscribe(EventSubscriber<?> subscriber, AsyncDispatchPolicy policy) {
+    doSubscribe(subscriber, getEventType(subscriber), requireNonNullPolicy(policy));
+  }
+
+  /**
+   * Subscribe to an event. The given subscriber will be called asynchronously whenever an instance
+   * of the specified event is published, events are delivered in the order they were published.
+   *
+   * @param subscriber The subscriber to call when an event is published.
+   * @param eventType The event to subscribe to.
+   * @param policy policy of asynchronous delivery of events to the subscriber
+   */
+  public <T> void subscribe(
+      EventSubscriber<? extends T> subscriber, Class<T> eventType, AsyncDispatchPolicy policy) {
+    doSubscribe(subscriber, eventType, requireNonNullPolicy(policy));
+  }
+
+  /**
+   * Sets policy of asynchronous delivery of events of the given type to all subscribers of this
+   * type that were subscribed without explicit policy. Events published before the change are
+   * delivered to a subscriber before events published after it.
+   *
+   * @param eventType type of events, subscribers of exactly this type are affected
+   * @param policy policy of delivery or {@code null} to deliver events synchronously
+   */
+  public void setAsyncDispatchPolicy(Class<?> eventType, AsyncDispatchPolicy policy) {
+    if (policy == null) {
+      policiesByEventType.remove(eventType);
+    } else {
+      policiesByEventType.put(eventType, policy);
+    }
+  }
+
+  /** Returns statistics of all subscribers which receive events asynchronously. */
+  public List<AsyncDispatchStatistics> getAsyncDispatchStatistics() {
+    final List<AsyncDispatchStatistics> statistics = new ArrayList<>();
+    for (Set<Subscription> subscriptions : subscribersByEventType.values()) {
+      for (Subscription subscription : subscriptions) {
+        final AsyncDispatcher dispatcher = subscription.dispatcher;
+        if (dispatcher != null) {
+          statistics.add(dispatcher.getStatistics());
+        }
+      }
+    }
+    return statistics;
+  }
+
+  /** Stops threads which deliver events to asynchronous subscribers. */
+  @PreDestroy
+  public void stop() {
+    final ThreadPoolExecutor executor = asyncExecutor;
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+
+  private void doSubscribe(
+      EventSubscriber<?> subscriber, Class<?> eventType, AsyncDispatchPolicy policy) {
+    Set<Subscription> entries = subscribersByEventType.get(eventType);
     if (entries == null) {
-      Set<EventSubscriber> newEntries = new CopyOnWriteArraySet<>();
+      Set<Subscription> newEntries = new CopyOnWriteArraySet<>();
       entries = subscribersByEventType.putIfAbsent(eventType, newEntries);
       if (entries == null) {
         entries = newEntries;
       }
     }
-    entries.add(subscriber);
+    entries.add(new Subscription(subscriber, eventType, policy));
+  }
+
+  private static AsyncDispatchPolicy requireNonNullPolicy(AsyncDispatchPolicy policy) {
+    if (policy == null) {
+      throw new IllegalArgumentException("Null dispatch policy.");
+    }
+    return policy;
+  }
+
+  private ThreadPoolExecutor getAsyncExecutor() {
+    ThreadPoolExecutor executor = asyncExecutor;
+    if (executor == null) {
+      synchronized (this) {
+        executor = asyncExecutor;
+        if (executor == null) {
+          final int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+          executor =
+              new ThreadPoolExecutor(
+                  threads,
+                  threads,
+                  60,
+                  TimeUnit.SECONDS,
+                  new LinkedBlockingQueue<>(),
+                  new ThreadFactoryBuilder()
+                      .setNameFormat("EventServiceAsyncDispatcher-%d")
+                      .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                      .setDaemon(true)
+                      .build());
+          executor.allowCoreThreadTimeOut(true);
+          asyncExecutor = executor;
+        }
+      }
+    }
+    return executor;
   }
 
   /**
@@ -163,14 +289,16 @@ public class EventService {
   }
 
   private void doUnsubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
-    final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
+    final Set<Subscription> entries = subscribersByEventType.get(eventType);
     if (entries != null && !entries.isEmpty()) {
-      boolean changed = entries.remove(subscriber);
-      if (changed) {
-        if (entries.isEmpty()) {
-          subscribersByEventType.remove(eventType);
+      for (Subscription subscription : entries) {
+        if (subscription.subscriber.equals(subscriber) && entries.remove(subscription)) {
+          subscription.cancel();
         }
       }
+      if (entries.isEmpty()) {
+        subscribersByEventType.remove(eventType);
+      }
     }
   }
 
@@ -200,4 +328,95 @@ public class EventService {
     }
     return eventType;
   }
+
+  /**
+   * Subscriber registered for the type of events. Subscriptions are equal if their subscribers are
+   * equal.
+   */
+  private class Subscription {
+    final EventSubscriber subscriber;
+    final Class<?> eventType;
+    final AsyncDispatchPolicy policy;
+
+    volatile AsyncDispatcher dispatcher;
+    volatile boolean cancelled;
+
+    /* Guarded by this, true when the dispatcher queues events until synchronous delivery starts */
+    private boolean draining;
+
+    Subscription(EventSubscriber<?> subscriber, Class<?> eventType, AsyncDispatchPolicy policy) {
+      this.subscriber = subscriber;
+      this.eventType = eventType;
+      this.policy = policy;
+    }
+
+    /**
+     * Returns dispatcher which delivers events asynchronously or {@code null} if events should be
+     * delivered synchronously.
+     *
+     * <p>When the policy changes, events queued by the current dispatcher are delivered before the
+     * events published after the change: the new dispatcher waits for the current one to drain.
+     * When the policy is reset, events are queued by a single draining dispatcher with the previous
+     * policy and synchronous delivery starts only when it has no queued events.
+     */
+    AsyncDispatcher getDispatcher(AsyncDispatchPolicy typePolicy) {
+      final AsyncDispatchPolicy effectivePolicy = policy != null ? policy : typePolicy;
+      AsyncDispatcher current = dispatcher;
+      if (isUpToDate(current, effectivePolicy)) {
+        return current;
+      }
+      synchronized (this) {
+        current = dispatcher;
+        if (cancelled || isUpToDate(current, effectivePolicy)) {
+          return current;
+        }
+        if (effectivePolicy == null) {
+          if (current.closeIfIdle()) {
+            dispatcher = null;
+            draining = false;
+          } else if (!draining) {
+            dispatcher =
+                new AsyncDispatcher(
+                    subscriber, eventType, current.getPolicy(), getAsyncExecutor(), current);
+            current.close(dispatcher);
+            draining = true;
+          }
+          return dispatcher;
+        }
+        final AsyncDispatcher replacement =
+            new AsyncDispatcher(
+                subscriber, eventType, effectivePolicy, getAsyncExecutor(), current);
+        if (current != null) {
+          current.close(replacement);
+        }
+        dispatcher = replacement;
+        draining = false;
+        return replacement;
+      }
+    }
+
+    /** Stops delivering events to the subscriber, events which aren't delivered yet are dropped. */
+    synchronized void cancel() {
+      cancelled = true;
+      if (dispatcher != null) {
+        dispatcher.discard();
+        dispatcher = null;
+      }
+      draining = false;
+    }
+
+    private boolean isUpToDate(AsyncDispatcher current, AsyncDispatchPolicy effectivePolicy) {
+      return current == null ? effectivePolicy == null : current.getPolicy() == effectivePolicy;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Subscription && subscriber.equals(((Subscription) obj).subscriber);
+    }
+
+    @Override
+    public int hashCode() {
+      return subscriber.hashCode();
+    }
+  }
 }
@@ -12,12 +12,17 @@ package org.eclipse.che.api.core.websocket.impl;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
-import java.io.IOException;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.websocket.Session;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.eclipse.che.api.core.websocket.impl.SessionTransmitQueue.OverflowPolicy;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 import org.slf4j.Logger;
 
 /**
@@ -25,6 +30,12 @@ import org.slf4j.Logger;
  * session is not opened adds messages to re-sender to try to send them when session will be opened
  * again.
  *
+ * <p>Each endpoint has its own bounded queue of outgoing messages which is drained asynchronously,
+ * so that slow client does not delay messages of other clients. Size of the queue and behaviour
+ * when it is full are configured with {@code che.websocket.transmit.queue_size} and {@code
+ * che.websocket.transmit.overflow_policy} (one of {@code coalesce}, {@code drop_oldest}, {@code
+ * disconnect}) properties.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
@@ -33,30 +44,84 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
 
   private final WebSocketSessionRegistry registry;
   private final MessagesReSender reSender;
+  private final int queueSize;
+  private final OverflowPolicy overflowPolicy;
+  private final ConcurrentMap<String, SessionTransmitQueue> queues = new ConcurrentHashMap<>();
 
   @Inject
   public BasicWebSocketMessageTransmitter(
-      WebSocketSessionRegistry registry, MessagesReSender reSender) {
+      WebSocketSessionRegistry registry,
+      MessagesReSender reSender,
+      @Named("che.websocket.transmit.queue_size") int queueSize,
+      @Named("che.websocket.transmit.overflow_policy") String overflowPolicy) {
+    if (queueSize <= 0) {
+      throw new IllegalArgumentException("Transmit queue size must be positive: " + queueSize);
+    }
     this.registry = registry;
     this.reSender = reSender;
+    this.queueSize = queueSize;
+    this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.toUpperCase());
   }
 
   @Override
-  public synchronized void transmit(String endpointId, String message) {
+  public void transmit(String endpointId, String message) {
     final Optional<Session> sessionOptional = registry.get(endpointId);
 
     if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
       LOG.debug("Session is not registered or closed, adding message to pending");
 
+      final SessionTransmitQueue queue = queues.remove(endpointId);
+      if (queue != null) {
+        queue.close();
+      }
       reSender.add(endpointId, message);
     } else {
-      LOG.debug("Session registered and open, sending message");
+      LOG.debug("Session registered and open, queueing message");
+
+      getQueue(endpointId, sessionOptional.get()).offer(message);
+    }
+  }
 
-      try {
-        sessionOptional.get().getBasicRemote().sendText(message);
-      } catch (IOException e) {
-        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
+  /** Returns number of messages which wait for sending to the endpoint. */
+  public int getQueuedMessagesCount(String endpointId) {
+    final SessionTransmitQueue queue = queues.get(endpointId);
+    return queue == null ? 0 : queue.size();
+  }
+
+  @ScheduleDelay(initialDelay = 60, delay = 60)
+  void cleanClosedSessionQueues() {
+    for (Map.Entry<String, SessionTransmitQueue> entry : queues.entrySet()) {
+      final SessionTransmitQueue queue = entry.getValue();
+      if (!queue.getSession().isOpen() && queues.remove(entry.getKey(), queue)) {
+        queue.close();
       }
     }
   }
+
+  private SessionTransmitQueue getQueue(String endpointId, Session session) {
+    final SessionTransmitQueue queue = queues.get(endpointId);
+    if (queue != null && queue.getSession() == session) {
+      return queue;
+    }
+    final SessionTransmitQueue current =
+        queues.compute(
+            endpointId,
+            (id, previous) -> {
+              if (previous != null && previous.getSession() == session) {
+                return previous;
+              }
+              if (previous != null) {
+                // endpoint reconnected with a new session
+                previous.close();
+              }
+              // messages which were not delivered to the endpoint yet are queued before the queue
+              // is published, so that they are sent before any new message
+              final SessionTransmitQueue newQueue =
+                  new SessionTransmitQueue(id, session, queueSize, overflowPolicy, reSender);
+              newQueue.requeue(reSender.takeMessages(id));
+              return newQueue;
+            });
+    current.flush();
+    return current;
+  }
 }
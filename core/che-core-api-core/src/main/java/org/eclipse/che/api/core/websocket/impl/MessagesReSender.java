@@ -10,85 +10,153 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
-import com.google.common.collect.EvictingQueue;
-import java.util.Map;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.websocket.Session;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
 import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.slf4j.Logger;
 
 /**
  * Instance is responsible for re-sending messages that were not sent during the period when WEB
  * SOCKET session was closed. If session is closed during re-send process it stops and left messages
- * will be re-sent as WEB SOCKET session becomes open again.
+ * will be re-sent as WEB SOCKET session becomes open again. Messages are re-sent through {@link
+ * WebSocketMessageTransmitter} so they share outgoing queue of the session with other messages.
+ *
+ * <p>Number of messages kept for a single endpoint is limited with {@code
+ * che.websocket.transmit.queue_size} property, the same as the size of the outgoing queue of the
+ * session, so that all the messages of an overflowed queue can be kept. When the limit is exceeded
+ * the oldest messages are dropped and a warning is logged.
  *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
-
-  private static final int MAX_MESSAGES = 100;
+  private static final Logger LOG = getLogger(MessagesReSender.class);
 
   private final WebSocketSessionRegistry registry;
+  private final Provider<WebSocketMessageTransmitter> transmitterProvider;
+  private final int capacity;
 
-  private final Map<String, Queue<DelayedMessage>> delayedMessageRegistry =
+  /* Messages of an endpoint are modified only within atomic operations of the map */
+  private final ConcurrentMap<String, DelayedMessages> delayedMessageRegistry =
       new ConcurrentHashMap<>();
 
   @Inject
-  public MessagesReSender(WebSocketSessionRegistry registry) {
+  public MessagesReSender(
+      WebSocketSessionRegistry registry,
+      Provider<WebSocketMessageTransmitter> transmitterProvider,
+      @Named("che.websocket.transmit.queue_size") int queueSize) {
+    if (queueSize <= 0) {
+      throw new IllegalArgumentException("Transmit queue size must be positive: " + queueSize);
+    }
     this.registry = registry;
+    this.transmitterProvider = transmitterProvider;
+    // overflowed queue of a session is retained together with the message which was being sent
+    // and the message which overflowed it
+    this.capacity = queueSize + 2;
   }
 
   @ScheduleDelay(initialDelay = 60, delay = 60)
   void cleanStaleMessages() {
     long currentTimeMillis = System.currentTimeMillis();
 
-    delayedMessageRegistry
-        .values()
-        .forEach(it -> it.removeIf(m -> currentTimeMillis - m.timeMillis > 60_000));
-
-    delayedMessageRegistry.values().removeIf(Queue::isEmpty);
+    for (String endpointId : delayedMessageRegistry.keySet()) {
+      delayedMessageRegistry.computeIfPresent(
+          endpointId,
+          (id, delayed) -> {
+            delayed.messages.removeIf(m -> currentTimeMillis - m.timeMillis > 60_000);
+            return delayed.messages.isEmpty() ? null : delayed;
+          });
+    }
   }
 
   public void add(String endpointId, String message) {
-
-    delayedMessageRegistry
-        .computeIfAbsent(endpointId, k -> EvictingQueue.create(MAX_MESSAGES))
-        .offer(new DelayedMessage(message));
+    delayedMessageRegistry.compute(
+        endpointId,
+        (id, delayed) -> {
+          if (delayed == null) {
+            delayed = new DelayedMessages(id);
+          }
+          delayed.add(new DelayedMessage(message));
+          return delayed;
+        });
   }
 
   public void resend(String endpointId) {
-    Queue<DelayedMessage> delayedMessages = delayedMessageRegistry.remove(endpointId);
+    DelayedMessages delayed = delayedMessageRegistry.remove(endpointId);
 
-    if (delayedMessages == null || delayedMessages.isEmpty()) {
+    if (delayed == null || delayed.messages.isEmpty()) {
       return;
     }
 
     Optional<Session> sessionOptional = registry.get(endpointId);
 
-    if (!sessionOptional.isPresent()) {
+    if (!sessionOptional.isPresent() || !sessionOptional.get().isOpen()) {
+      // keep messages in front of ones that might be added meanwhile
+      delayedMessageRegistry.merge(
+          endpointId,
+          delayed,
+          (added, kept) -> {
+            added.messages.forEach(kept::add);
+            return kept;
+          });
       return;
     }
 
-    Queue<DelayedMessage> backingQueue = EvictingQueue.create(delayedMessages.size());
-    while (!delayedMessages.isEmpty()) {
-      backingQueue.offer(delayedMessages.poll());
+    WebSocketMessageTransmitter transmitter = transmitterProvider.get();
+    for (DelayedMessage delayedMessage : delayed.messages) {
+      transmitter.transmit(endpointId, delayedMessage.message);
+    }
+  }
+
+  /**
+   * Removes and returns messages kept for the endpoint in the order they were added, so that they
+   * can be queued for sending before any newer message.
+   */
+  List<String> takeMessages(String endpointId) {
+    DelayedMessages delayed = delayedMessageRegistry.remove(endpointId);
+    if (delayed == null) {
+      return emptyList();
     }
+    return delayed.messages.stream().map(m -> m.message).collect(toList());
+  }
 
-    Session session = sessionOptional.get();
-    for (DelayedMessage delayedMessage : backingQueue) {
-      if (session.isOpen()) {
-        session.getAsyncRemote().sendText(delayedMessage.message);
-      } else {
-        delayedMessages.add(delayedMessage);
-      }
+  private class DelayedMessages {
+
+    private final String endpointId;
+    private final Deque<DelayedMessage> messages = new ArrayDeque<>();
+
+    private boolean overflowed;
+
+    private DelayedMessages(String endpointId) {
+      this.endpointId = endpointId;
     }
 
-    if (!delayedMessages.isEmpty()) {
-      delayedMessageRegistry.put(endpointId, delayedMessages);
+    private void add(DelayedMessage message) {
+      if (messages.size() >= capacity) {
+        messages.pollFirst();
+        if (!overflowed) {
+          overflowed = true;
+          LOG.warn(
+              "More than {} messages wait for endpoint {} to reconnect, the oldest are dropped",
+              capacity,
+              endpointId);
+        }
+      }
+      messages.addLast(message);
     }
   }
 
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.concurrent.atomic.LongAdder;
+import javax.websocket.CloseReason;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import org.slf4j.Logger;
+
+/**
+ * Bounded queue of outgoing messages of a single WEB SOCKET session. Messages are sent with async
+ * remote of the session one after another, next message is sent when sending of the previous one
+ * is completed, so slow session does not hold threads of other sessions. When the session is closed
+ * messages which were not sent are passed to {@link MessagesReSender} to be sent when session for
+ * the same endpoint is opened again.
+ */
+class SessionTransmitQueue implements SendHandler {
+  private static final Logger LOG = getLogger(SessionTransmitQueue.class);
+
+  /** What to do with a message when the queue is full. */
+  enum OverflowPolicy {
+    /**
+     * Message is skipped if the same message already waits in the queue, otherwise the oldest
+     * message is dropped.
+     */
+    COALESCE,
+    /** The oldest message in the queue is dropped. */
+    DROP_OLDEST,
+    /**
+     * Session is closed, all the queued messages are passed to {@link MessagesReSender} and will be
+     * sent when client reconnects.
+     */
+    DISCONNECT
+  }
+
+  private final String endpointId;
+  private final Session session;
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
+  private final MessagesReSender reSender;
+
+  private final Deque<String> messages = new ArrayDeque<>();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+
+  /* Guarded by this */
+  private String inFlight;
+  private Thread sendingThread;
+  private boolean closed;
+
+  SessionTransmitQueue(
+      String endpointId,
+      Session session,
+      int capacity,
+      OverflowPolicy overflowPolicy,
+      MessagesReSender reSender) {
+    this.endpointId = endpointId;
+    this.session = session;
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.reSender = reSender;
+  }
+
+  /** Queues message for sending, applies overflow policy if the queue is full. */
+  void offer(String message) {
+    String next = null;
+    boolean disconnect = false;
+    synchronized (this) {
+      if (closed) {
+        reSender.add(endpointId, message);
+        return;
+      }
+      if (messages.size() >= capacity) {
+        switch (overflowPolicy) {
+          case COALESCE:
+            if (messages.contains(message)) {
+              coalesced.increment();
+              return;
+            }
+            dropOldest();
+            break;
+          case DROP_OLDEST:
+            dropOldest();
+            break;
+          case DISCONNECT:
+            messages.addLast(message);
+            retainQueuedMessages();
+            disconnect = true;
+            break;
+        }
+      }
+      if (!disconnect) {
+        messages.addLast(message);
+        if (inFlight == null) {
+          next = takeNext();
+        }
+      }
+    }
+    if (disconnect) {
+      LOG.warn(
+          "Endpoint {} doesn't receive messages, {} messages are queued, closing session",
+          endpointId,
+          capacity);
+      closeSession();
+    } else {
+      sendAll(next);
+    }
+  }
+
+  /**
+   * Queues messages which were not delivered to the previous session of the endpoint without
+   * sending them, must be called before the queue is visible to other threads so that these
+   * messages go before any new one. Sending is started with {@link #flush()} or {@link
+   * #offer(String)}.
+   */
+  synchronized void requeue(Collection<String> undelivered) {
+    messages.addAll(undelivered);
+  }
+
+  /** Starts sending of queued messages if nothing is being sent at the moment. */
+  void flush() {
+    final String next;
+    synchronized (this) {
+      if (inFlight != null) {
+        return;
+      }
+      next = takeNext();
+    }
+    sendAll(next);
+  }
+
+  /**
+   * Stops sending of messages, messages which were not sent yet are passed to {@link
+   * MessagesReSender}.
+   */
+  synchronized void close() {
+    if (!closed) {
+      retainQueuedMessages();
+    }
+  }
+
+  Session getSession() {
+    return session;
+  }
+
+  synchronized int size() {
+    return messages.size();
+  }
+
+  /** Number of messages dropped because the queue was full. */
+  long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  /** Number of messages skipped because the same message was already queued. */
+  long getCoalescedCount() {
+    return coalesced.sum();
+  }
+
+  @Override
+  public void onResult(SendResult result) {
+    final String next;
+    synchronized (this) {
+      if (!result.isOK()) {
+        if (closed) {
+          // the message was retained together with the queue when it was closed
+        } else if (!session.isOpen() && inFlight != null) {
+          retainQueuedMessages();
+        } else {
+          LOG.error(
+              "Error while trying to send a message to an async websocket remote endpoint",
+              result.getException());
+        }
+      }
+      inFlight = null;
+      if (sendingThread == Thread.currentThread()) {
+        // completed synchronously, next message is sent by the loop in sendAll
+        return;
+      }
+      next = takeNext();
+    }
+    sendAll(next);
+  }
+
+  /**
+   * Sends messages until sending of one of them is not completed in the current thread, so that
+   * completion callback of that message continues sending instead of piling up nested calls.
+   */
+  private void sendAll(String message) {
+    while (message != null) {
+      synchronized (this) {
+        sendingThread = Thread.currentThread();
+      }
+      try {
+        session.getAsyncRemote().sendText(message, this);
+      } catch (RuntimeException e) {
+        onResult(new SendResult(e));
+      }
+      synchronized (this) {
+        sendingThread = null;
+        if (inFlight != null) {
+          return;
+        }
+        message = takeNext();
+      }
+    }
+  }
+
+  /* Must be called under lock */
+  private String takeNext() {
+    inFlight = closed ? null : messages.pollFirst();
+    return inFlight;
+  }
+
+  /* Must be called under lock */
+  private void dropOldest() {
+    messages.pollFirst();
+    dropped.increment();
+    LOG.debug("Queue of endpoint {} is full, the oldest message is dropped", endpointId);
+  }
+
+  /* Must be called under lock */
+  private void retainQueuedMessages() {
+    closed = true;
+    // sending of the message which is in flight fails as the session is closed, it goes first
+    if (inFlight != null) {
+      reSender.add(endpointId, inFlight);
+    }
+    for (String message : messages) {
+      reSender.add(endpointId, message);
+    }
+    messages.clear();
+  }
+
+  private void closeSession() {
+    try {
+      session.close(
+          new CloseReason(
+              CloseReason.CloseCodes.TRY_AGAIN_LATER, "Too many messages wait for delivery"));
+    } catch (IOException e) {
+      LOG.error("Error while trying to close websocket session of endpoint " + endpointId, e);
+    }
+  }
+}
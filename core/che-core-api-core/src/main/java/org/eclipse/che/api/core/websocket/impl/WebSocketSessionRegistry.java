@@ -10,14 +10,15 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
-import static java.util.stream.Collectors.toSet;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.HashSet;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import javax.inject.Singleton;
 import javax.websocket.Session;
 import org.slf4j.Logger;
@@ -25,6 +26,11 @@ import org.slf4j.Logger;
 /**
  * Binds WEB SOCKET session to a specific endpoint form which it was opened.
  *
+ * <p>Besides the map of sessions by endpoint id registry keeps reverse index of endpoint ids by
+ * session and endpoint ids sorted in lexicographical order, so that lookups by session and by
+ * prefix of endpoint id don't scan all the registered sessions. Modifications are serialized to keep
+ * indexes consistent, lookups are not blocked.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
@@ -32,43 +38,73 @@ public class WebSocketSessionRegistry {
   private static final Logger LOG = getLogger(WebSocketSessionRegistry.class);
 
   private final Map<String, Session> sessionsMap = new ConcurrentHashMap<>();
+  private final Map<Session, String> endpointIdsMap = new ConcurrentHashMap<>();
+  private final NavigableMap<String, Session> sortedSessionsMap = new ConcurrentSkipListMap<>();
 
-  public void add(String endpointId, Session session) {
-    LOG.debug("Registering session with endpoint {}", session.getId(), endpointId);
+  public synchronized void add(String endpointId, Session session) {
+    LOG.debug("Registering session {} with endpoint {}", session.getId(), endpointId);
 
-    sessionsMap.put(endpointId, session);
+    final Session previousSession = sessionsMap.put(endpointId, session);
+    if (previousSession != null && previousSession != session) {
+      endpointIdsMap.remove(previousSession, endpointId);
+    }
+    final String previousEndpointId = endpointIdsMap.put(session, endpointId);
+    if (previousEndpointId != null && !previousEndpointId.equals(endpointId)) {
+      sessionsMap.remove(previousEndpointId, session);
+      sortedSessionsMap.remove(previousEndpointId, session);
+    }
+    sortedSessionsMap.put(endpointId, session);
   }
 
-  public Optional<Session> remove(String endpointId) {
+  public synchronized Optional<Session> remove(String endpointId) {
     LOG.debug("Cancelling registration for session with endpoint {}", endpointId);
 
-    return Optional.ofNullable(sessionsMap.remove(endpointId));
+    final Session session = sessionsMap.remove(endpointId);
+    if (session != null) {
+      endpointIdsMap.remove(session, endpointId);
+      sortedSessionsMap.remove(endpointId);
+    }
+    return Optional.ofNullable(session);
   }
 
-  public Optional<Session> remove(Session session) {
-    return get(session).flatMap(id -> Optional.ofNullable(sessionsMap.remove(id)));
+  public synchronized Optional<Session> remove(Session session) {
+    return get(session).flatMap(this::remove);
   }
 
   public Optional<Session> get(String endpointId) {
     return Optional.ofNullable(sessionsMap.get(endpointId));
   }
 
+  /**
+   * Returns sessions of endpoints whose identifiers contain given string. This method checks
+   * identifiers of all registered endpoints, use {@link #getByPrefix(String)} when the beginning of
+   * identifier is known.
+   */
   public Set<Session> getByPartialMatch(String partialEndpointId) {
-    return sessionsMap
-        .entrySet()
-        .stream()
-        .filter(it -> it.getKey().contains(partialEndpointId))
-        .map(Map.Entry::getValue)
-        .collect(toSet());
+    final Set<Session> sessions = new HashSet<>();
+    for (Map.Entry<String, Session> entry : sortedSessionsMap.entrySet()) {
+      if (entry.getKey().contains(partialEndpointId)) {
+        sessions.add(entry.getValue());
+      }
+    }
+    return sessions;
+  }
+
+  /** Returns sessions of endpoints whose identifiers start with given prefix. */
+  public Set<Session> getByPrefix(String endpointIdPrefix) {
+    final Set<Session> sessions = new HashSet<>();
+    for (Map.Entry<String, Session> entry :
+        sortedSessionsMap.tailMap(endpointIdPrefix, true).entrySet()) {
+      if (!entry.getKey().startsWith(endpointIdPrefix)) {
+        break;
+      }
+      sessions.add(entry.getValue());
+    }
+    return sessions;
   }
 
   public Optional<String> get(Session session) {
-    return sessionsMap
-        .entrySet()
-        .stream()
-        .filter(entry -> entry.getValue().equals(session))
-        .map(Map.Entry::getKey)
-        .findAny();
+    return Optional.ofNullable(endpointIdsMap.get(session));
   }
 
   public Set<Session> getSessions() {
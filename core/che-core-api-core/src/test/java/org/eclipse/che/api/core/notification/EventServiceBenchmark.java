@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.notification.AsyncDispatchPolicy.OverflowPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures throughput of {@link EventService#publish(Object)} with many subscribers, each of which
+ * spends some CPU time on event, when subscribers are called synchronously and when events are
+ * delivered to them asynchronously.
+ *
+ * <p>Benchmark is not executed as part of the build, run it with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class EventServiceBenchmark {
+  @Param({"sync", "async"})
+  public String dispatch;
+
+  @Param({"10", "100"})
+  public int subscribers;
+
+  /** Amount of work each subscriber does per event, in JMH tokens. */
+  @Param({"100"})
+  public int work;
+
+  private EventService eventService;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    eventService = new EventService();
+    final AsyncDispatchPolicy policy =
+        AsyncDispatchPolicy.withQueue(10_000, OverflowPolicy.DROP_OLDEST);
+    for (int i = 0; i < subscribers; i++) {
+      final EventSubscriber<BenchmarkEvent> subscriber = event -> Blackhole.consumeCPU(work);
+      if ("async".equals(dispatch)) {
+        eventService.subscribe(subscriber, BenchmarkEvent.class, policy);
+      } else {
+        eventService.subscribe(subscriber, BenchmarkEvent.class);
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    eventService.stop();
+  }
+
+  @Benchmark
+  public Object publish() {
+    return eventService.publish(new BenchmarkEvent());
+  }
+
+  public static class BenchmarkEvent {}
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(EventServiceBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -10,10 +10,17 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.Arrays.asList;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.notification.AsyncDispatchPolicy.OverflowPolicy;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -26,6 +33,11 @@ public class EventServiceTest {
     bus = new EventService();
   }
 
+  @AfterMethod
+  public void tearDown() {
+    bus.stop();
+  }
+
   @Test
   public void testSimpleEvent() {
     final List<Object> events = new ArrayList<>();
@@ -192,6 +204,262 @@ public class EventServiceTest {
     bus.unsubscribe(sb, CustomEventImpl.class);
   }
 
+  @Test
+  public void shouldDeliverEventsToAsyncSubscriberInOrderOfPublishing() throws Exception {
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch delivered = new CountDownLatch(100);
+    final Thread publisher = Thread.currentThread();
+    bus.subscribe(
+        new EventSubscriber<Event>() {
+          @Override
+          public void onEvent(Event event) {
+            if (Thread.currentThread() != publisher) {
+              events.add(event.data);
+            }
+            delivered.countDown();
+          }
+        },
+        AsyncDispatchPolicy.defaultPolicy());
+
+    final List<String> published = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      published.add(bus.publish(new Event("event" + i)).data);
+    }
+
+    Assert.assertTrue(delivered.await(5, TimeUnit.SECONDS));
+    Assert.assertEquals(events, published);
+    final AsyncDispatchStatistics statistics = bus.getAsyncDispatchStatistics().get(0);
+    Assert.assertEquals(statistics.getEventType(), Event.class);
+    Assert.assertEquals(statistics.getDeliveredCount(), 100);
+    Assert.assertEquals(statistics.getDroppedCount(), 0);
+  }
+
+  @Test
+  public void shouldNotBlockPublisherBySlowAsyncSubscriber() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<String> syncEvents = new ArrayList<>();
+    bus.setAsyncDispatchPolicy(Event.class, AsyncDispatchPolicy.defaultPolicy());
+    bus.subscribe(
+        new EventSubscriber<Event>() {
+          @Override
+          public void onEvent(Event event) {
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        });
+    bus.subscribe(
+        new EventSubscriber<String>() {
+          @Override
+          public void onEvent(String event) {
+            syncEvents.add(event);
+          }
+        });
+
+    bus.publish(new Event());
+    bus.publish("hello");
+
+    Assert.assertEquals(syncEvents, Collections.singletonList("hello"));
+    Assert.assertEquals(bus.getAsyncDispatchStatistics().size(), 1);
+    release.countDown();
+  }
+
+  @Test
+  public void shouldDropEventsWhenQueueOfSubscriberIsFull() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    bus.subscribe(
+        new EventSubscriber<Event>() {
+          @Override
+          public void onEvent(Event event) {
+            started.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            events.add(event.data);
+          }
+        },
+        AsyncDispatchPolicy.withQueue(2, OverflowPolicy.DROP_OLDEST));
+
+    bus.publish(new Event("first"));
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < 5; i++) {
+      bus.publish(new Event("event" + i));
+    }
+    Assert.assertEquals(bus.getAsyncDispatchStatistics().get(0).getDroppedCount(), 3);
+    Assert.assertEquals(bus.getAsyncDispatchStatistics().get(0).getQueueDepth(), 2);
+    release.countDown();
+
+    final long deadline = System.currentTimeMillis() + 5000;
+    while (events.size() < 3 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(events, asList("first", "event3", "event4"));
+  }
+
+  @Test
+  public void shouldKeepOrderOfEventsWhenDispatchPolicyChanges() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    bus.setAsyncDispatchPolicy(Event.class, AsyncDispatchPolicy.defaultPolicy());
+    bus.subscribe(
+        new EventSubscriber<Event>() {
+          @Override
+          public void onEvent(Event event) {
+            started.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            events.add(event.data);
+          }
+        });
+
+    bus.publish(new Event("event0"));
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    bus.publish(new Event("event1"));
+    bus.setAsyncDispatchPolicy(
+        Event.class, AsyncDispatchPolicy.withQueue(10, OverflowPolicy.BLOCK));
+    bus.publish(new Event("event2"));
+    // synchronous delivery must not overtake queued events
+    bus.setAsyncDispatchPolicy(Event.class, null);
+    bus.publish(new Event("event3"));
+    release.countDown();
+    bus.publish(new Event("event4"));
+
+    final long deadline = System.currentTimeMillis() + 5000;
+    while (events.size() < 5 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(events, asList("event0", "event1", "event2", "event3", "event4"));
+  }
+
+  @Test
+  public void shouldQueueEventsWithSingleDispatcherUntilQueueIsDrainedAfterPolicyReset()
+      throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    bus.setAsyncDispatchPolicy(Event.class, AsyncDispatchPolicy.defaultPolicy());
+    bus.subscribe(
+        new EventSubscriber<Event>() {
+          @Override
+          public void onEvent(Event event) {
+            started.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            events.add(event.data);
+          }
+        });
+
+    bus.publish(new Event("first"));
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    bus.setAsyncDispatchPolicy(Event.class, null);
+    for (int i = 0; i < 100; i++) {
+      bus.publish(new Event("event" + i));
+    }
+
+    // all the events wait in the queue of the same draining dispatcher
+    Assert.assertEquals(bus.getAsyncDispatchStatistics().get(0).getQueueDepth(), 100);
+    release.countDown();
+    final long deadline = System.currentTimeMillis() + 5000;
+    while (events.size() < 101 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(events.size(), 101);
+    // lets the delivering thread finish with the last event
+    Thread.sleep(100);
+    bus.publish(new Event("sync"));
+    Assert.assertEquals(events.get(101), "sync");
+    Assert.assertTrue(bus.getAsyncDispatchStatistics().isEmpty());
+  }
+
+  @Test
+  public void shouldNotStallPolicyChangeWhilePublisherWaitsForFreeSpace() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    bus.setAsyncDispatchPolicy(
+        Event.class,
+        AsyncDispatchPolicy.withQueue(1, OverflowPolicy.BLOCK)
+            .withBlockTimeout(30, TimeUnit.SECONDS));
+    bus.subscribe(
+        new EventSubscriber<Event>() {
+          @Override
+          public void onEvent(Event event) {
+            started.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        });
+    bus.publish(new Event("first"));
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    bus.publish(new Event("queued"));
+    final Thread blocked = new Thread(() -> bus.publish(new Event("blocked")));
+    blocked.setDaemon(true);
+    blocked.start();
+    while (blocked.getState() != Thread.State.TIMED_WAITING && blocked.isAlive()) {
+      Thread.sleep(10);
+    }
+
+    final long start = System.currentTimeMillis();
+    bus.setAsyncDispatchPolicy(Event.class, AsyncDispatchPolicy.defaultPolicy());
+    bus.publish(new Event("after change"));
+
+    Assert.assertTrue(System.currentTimeMillis() - start < 10_000);
+    release.countDown();
+  }
+
+  @Test
+  public void shouldNotDeliverQueuedEventsAfterUnsubscribe() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch firstDelivered = new CountDownLatch(1);
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    final EventSubscriber<Event> subscriber =
+        new EventSubscriber<Event>() {
+          @Override
+          public void onEvent(Event event) {
+            started.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            events.add(event.data);
+            firstDelivered.countDown();
+          }
+        };
+    bus.subscribe(subscriber, AsyncDispatchPolicy.defaultPolicy());
+
+    bus.publish(new Event("first"));
+    Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < 5; i++) {
+      bus.publish(new Event("event" + i));
+    }
+    bus.unsubscribe(subscriber);
+    bus.publish(new Event("after unsubscribe"));
+    release.countDown();
+
+    Assert.assertTrue(firstDelivered.await(5, TimeUnit.SECONDS));
+    Thread.sleep(200);
+    // the event which was being delivered on unsubscribe is the only one received
+    Assert.assertEquals(events, Collections.singletonList("first"));
+    Assert.assertTrue(bus.getAsyncDispatchStatistics().isEmpty());
+  }
+
   static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
     final List<String> events = new ArrayList<>();
 
@@ -10,18 +10,30 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptySet;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import javax.websocket.CloseReason;
 import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -40,26 +52,39 @@ public class BasicWebSocketMessageTransmitterTest {
 
   @Mock private WebSocketSessionRegistry registry;
   @Mock private MessagesReSender reSender;
-  @InjectMocks private BasicWebSocketMessageTransmitter transmitter;
+  private BasicWebSocketMessageTransmitter transmitter;
 
   @Mock private Session session;
-  @Mock private RemoteEndpoint.Basic remote;
+  @Mock private RemoteEndpoint.Async remote;
+
+  /** Handlers of messages which are being sent, sending is completed when handler is called. */
+  private List<SendHandler> handlers;
 
   @BeforeMethod
   public void setUp() throws Exception {
-    when(session.getBasicRemote()).thenReturn(remote);
+    handlers = new ArrayList<>();
+    when(session.getAsyncRemote()).thenReturn(remote);
     when(session.isOpen()).thenReturn(true);
+    doAnswer(
+            invocation -> {
+              handlers.add(invocation.getArgument(1));
+              return null;
+            })
+        .when(remote)
+        .sendText(anyString(), any(SendHandler.class));
 
     when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
     when(registry.getSessions()).thenReturn(emptySet());
+
+    transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, 2, "drop_oldest");
   }
 
   @Test
   public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session).getBasicRemote();
-    verify(remote).sendText(MESSAGE);
+    verify(session).getAsyncRemote();
+    verify(remote).sendText(eq(MESSAGE), any(SendHandler.class));
     verify(reSender, never()).add(eq(ENDPOINT_ID), anyString());
   }
 
@@ -69,8 +94,178 @@ public class BasicWebSocketMessageTransmitterTest {
 
     transmitter.transmit(ENDPOINT_ID, MESSAGE);
 
-    verify(session, never()).getBasicRemote();
-    verify(remote, never()).sendText(MESSAGE);
+    verify(session, never()).getAsyncRemote();
+    verify(remote, never()).sendText(eq(MESSAGE), any(SendHandler.class));
     verify(reSender).add(ENDPOINT_ID, MESSAGE);
   }
+
+  @Test
+  public void shouldSendNextMessageWhenSendingOfPreviousOneIsCompleted() {
+    transmitter.transmit(ENDPOINT_ID, "first");
+    transmitter.transmit(ENDPOINT_ID, "second");
+
+    verify(remote).sendText(eq("first"), any(SendHandler.class));
+    verify(remote, never()).sendText(eq("second"), any(SendHandler.class));
+    assertEquals(transmitter.getQueuedMessagesCount(ENDPOINT_ID), 1);
+
+    handlers.get(0).onResult(new SendResult());
+
+    verify(remote).sendText(eq("second"), any(SendHandler.class));
+    assertEquals(transmitter.getQueuedMessagesCount(ENDPOINT_ID), 0);
+  }
+
+  @Test
+  public void shouldNotDelayMessagesOfOtherEndpointsBySlowEndpoint() {
+    final Session otherSession = mock(Session.class);
+    final RemoteEndpoint.Async otherRemote = mock(RemoteEndpoint.Async.class);
+    when(otherSession.isOpen()).thenReturn(true);
+    when(otherSession.getAsyncRemote()).thenReturn(otherRemote);
+    doAnswer(
+            invocation -> {
+              ((SendHandler) invocation.getArgument(1)).onResult(new SendResult());
+              return null;
+            })
+        .when(otherRemote)
+        .sendText(anyString(), any(SendHandler.class));
+    when(registry.get("other")).thenReturn(Optional.of(otherSession));
+
+    transmitter.transmit(ENDPOINT_ID, "first");
+    transmitter.transmit(ENDPOINT_ID, "second");
+    transmitter.transmit("other", "first");
+    transmitter.transmit("other", "second");
+
+    verify(otherRemote).sendText(eq("first"), any(SendHandler.class));
+    verify(otherRemote).sendText(eq("second"), any(SendHandler.class));
+    assertEquals(transmitter.getQueuedMessagesCount(ENDPOINT_ID), 1);
+  }
+
+  @Test
+  public void shouldDropOldestMessageWhenQueueIsFull() {
+    transmitter.transmit(ENDPOINT_ID, "in-flight");
+    transmitter.transmit(ENDPOINT_ID, "1");
+    transmitter.transmit(ENDPOINT_ID, "2");
+    transmitter.transmit(ENDPOINT_ID, "3");
+
+    handlers.get(0).onResult(new SendResult());
+    handlers.get(1).onResult(new SendResult());
+
+    final InOrder inOrder = inOrder(remote);
+    inOrder.verify(remote).sendText(eq("in-flight"), any(SendHandler.class));
+    inOrder.verify(remote).sendText(eq("2"), any(SendHandler.class));
+    inOrder.verify(remote).sendText(eq("3"), any(SendHandler.class));
+    verify(remote, never()).sendText(eq("1"), any(SendHandler.class));
+  }
+
+  @Test
+  public void shouldSkipMessageWhichIsAlreadyQueuedWhenQueueIsFull() {
+    transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, 2, "coalesce");
+
+    transmitter.transmit(ENDPOINT_ID, "in-flight");
+    transmitter.transmit(ENDPOINT_ID, "1");
+    transmitter.transmit(ENDPOINT_ID, "2");
+    transmitter.transmit(ENDPOINT_ID, "1");
+
+    handlers.get(0).onResult(new SendResult());
+    handlers.get(1).onResult(new SendResult());
+
+    verify(remote).sendText(eq("1"), any(SendHandler.class));
+    verify(remote).sendText(eq("2"), any(SendHandler.class));
+    assertEquals(transmitter.getQueuedMessagesCount(ENDPOINT_ID), 0);
+  }
+
+  @Test
+  public void shouldCloseSessionAndRetainMessagesWhenQueueIsFull() throws Exception {
+    transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, 2, "disconnect");
+
+    transmitter.transmit(ENDPOINT_ID, "in-flight");
+    transmitter.transmit(ENDPOINT_ID, "1");
+    transmitter.transmit(ENDPOINT_ID, "2");
+    transmitter.transmit(ENDPOINT_ID, "3");
+
+    verify(session).close(any(CloseReason.class));
+    final InOrder inOrder = inOrder(reSender);
+    inOrder.verify(reSender).add(ENDPOINT_ID, "in-flight");
+    inOrder.verify(reSender).add(ENDPOINT_ID, "1");
+    inOrder.verify(reSender).add(ENDPOINT_ID, "2");
+    inOrder.verify(reSender).add(ENDPOINT_ID, "3");
+    verify(remote, times(1)).sendText(anyString(), any(SendHandler.class));
+  }
+
+  @Test
+  public void shouldRetainMessagesWhenSessionIsClosedWhileSending() {
+    transmitter.transmit(ENDPOINT_ID, "in-flight");
+    transmitter.transmit(ENDPOINT_ID, "1");
+
+    when(session.isOpen()).thenReturn(false);
+    handlers.get(0).onResult(new SendResult(new IOException("closed")));
+
+    final InOrder inOrder = inOrder(reSender);
+    inOrder.verify(reSender).add(ENDPOINT_ID, "in-flight");
+    inOrder.verify(reSender).add(ENDPOINT_ID, "1");
+    verify(remote, never()).sendText(eq("1"), any(SendHandler.class));
+  }
+
+  @Test
+  public void shouldSendUndeliveredMessagesBeforeNewOnesWhenEndpointReconnects() {
+    final Session newSession = mock(Session.class);
+    final RemoteEndpoint.Async newRemote = mock(RemoteEndpoint.Async.class);
+    when(newSession.isOpen()).thenReturn(true);
+    when(newSession.getAsyncRemote()).thenReturn(newRemote);
+    doAnswer(
+            invocation -> {
+              ((SendHandler) invocation.getArgument(1)).onResult(new SendResult());
+              return null;
+            })
+        .when(newRemote)
+        .sendText(anyString(), any(SendHandler.class));
+    transmitter.transmit(ENDPOINT_ID, "in-flight");
+    transmitter.transmit(ENDPOINT_ID, "1");
+    // messages retained when the previous session is replaced
+    when(reSender.takeMessages(ENDPOINT_ID)).thenReturn(asList("in-flight", "1"));
+
+    when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(newSession));
+    transmitter.transmit(ENDPOINT_ID, "2");
+
+    final InOrder inOrder = inOrder(newRemote);
+    inOrder.verify(newRemote).sendText(eq("in-flight"), any(SendHandler.class));
+    inOrder.verify(newRemote).sendText(eq("1"), any(SendHandler.class));
+    inOrder.verify(newRemote).sendText(eq("2"), any(SendHandler.class));
+    verify(reSender, never()).resend(anyString());
+  }
+
+  @Test
+  public void shouldKeepOrderOfMessagesAfterReconnectWhenQueueOverflowsWhileSending() {
+    final MessagesReSender realReSender = new MessagesReSender(registry, () -> transmitter, 2);
+    transmitter = new BasicWebSocketMessageTransmitter(registry, realReSender, 2, "disconnect");
+    final Session newSession = mock(Session.class);
+    final RemoteEndpoint.Async newRemote = mock(RemoteEndpoint.Async.class);
+    when(newSession.isOpen()).thenReturn(true);
+    when(newSession.getAsyncRemote()).thenReturn(newRemote);
+    doAnswer(
+            invocation -> {
+              ((SendHandler) invocation.getArgument(1)).onResult(new SendResult());
+              return null;
+            })
+        .when(newRemote)
+        .sendText(anyString(), any(SendHandler.class));
+
+    transmitter.transmit(ENDPOINT_ID, "in-flight");
+    transmitter.transmit(ENDPOINT_ID, "1");
+    transmitter.transmit(ENDPOINT_ID, "2");
+    transmitter.transmit(ENDPOINT_ID, "3");
+    // sending of the message fails as the overflowed session is closed
+    when(session.isOpen()).thenReturn(false);
+    handlers.get(0).onResult(new SendResult(new IOException("closed")));
+
+    when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(newSession));
+    transmitter.transmit(ENDPOINT_ID, "4");
+
+    final InOrder inOrder = inOrder(newRemote);
+    inOrder.verify(newRemote).sendText(eq("in-flight"), any(SendHandler.class));
+    inOrder.verify(newRemote).sendText(eq("1"), any(SendHandler.class));
+    inOrder.verify(newRemote).sendText(eq("2"), any(SendHandler.class));
+    inOrder.verify(newRemote).sendText(eq("3"), any(SendHandler.class));
+    inOrder.verify(newRemote).sendText(eq("4"), any(SendHandler.class));
+    verify(newRemote, times(5)).sendText(anyString(), any(SendHandler.class));
+  }
 }
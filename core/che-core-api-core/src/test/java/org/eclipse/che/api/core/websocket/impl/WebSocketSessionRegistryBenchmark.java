@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import javax.websocket.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures cost of lookups in {@link WebSocketSessionRegistry} which are performed on each received
+ * message, session close and broadcast, with the given number of registered sessions.
+ *
+ * <p>Benchmark is not executed as part of the build, run it with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class WebSocketSessionRegistryBenchmark {
+  private static final String SEPARATOR = "<-:->";
+
+  @Param({"1000", "10000"})
+  public int sessions;
+
+  private WebSocketSessionRegistry registry;
+  private Session[] registered;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    registry = new WebSocketSessionRegistry();
+    registered = new Session[sessions];
+    for (int i = 0; i < sessions; i++) {
+      registered[i] = mock(Session.class);
+      registry.add(i + SEPARATOR + (i % 2 == 0 ? "/wsagent" : "/wsmaster"), registered[i]);
+    }
+  }
+
+  @Benchmark
+  public Optional<String> getEndpointIdBySession() {
+    return registry.get(registered[ThreadLocalRandom.current().nextInt(sessions)]);
+  }
+
+  @Benchmark
+  public Set<Session> getByPrefix() {
+    return registry.getByPrefix(ThreadLocalRandom.current().nextInt(sessions) + SEPARATOR);
+  }
+
+  @Benchmark
+  public Set<Session> getByPartialMatch() {
+    return registry.getByPartialMatch(ThreadLocalRandom.current().nextInt(sessions) + SEPARATOR);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(WebSocketSessionRegistryBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
@@ -10,9 +10,12 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.*;
 
+import java.util.HashSet;
 import java.util.Optional;
 import javax.websocket.Session;
 import org.mockito.Mock;
@@ -82,4 +85,63 @@ public class WebSocketSessionRegistryTest {
     assertFalse(registry.getSessions().isEmpty());
     assertEquals(2, registry.getSessions().size());
   }
+
+  @Test
+  public void shouldFindEndpointIdBySession() {
+    final Session other = mock(Session.class);
+    registry.add("0", session);
+    registry.add("1", other);
+
+    assertEquals(registry.get(session), Optional.of("0"));
+    assertEquals(registry.get(other), Optional.of("1"));
+    assertFalse(registry.get(mock(Session.class)).isPresent());
+  }
+
+  @Test
+  public void shouldRemoveSessionBySession() {
+    registry.add("0", session);
+
+    assertEquals(registry.remove(session), Optional.of(session));
+
+    assertFalse(registry.get("0").isPresent());
+    assertFalse(registry.get(session).isPresent());
+    assertTrue(registry.getByPrefix("0").isEmpty());
+  }
+
+  @Test
+  public void shouldReplaceSessionOfEndpoint() {
+    final Session newSession = mock(Session.class);
+    registry.add("0", session);
+
+    registry.add("0", newSession);
+
+    assertEquals(registry.get("0"), Optional.of(newSession));
+    assertEquals(registry.get(newSession), Optional.of("0"));
+    assertFalse(registry.get(session).isPresent());
+    assertEquals(registry.getSessions(), singleton(newSession));
+  }
+
+  @Test
+  public void shouldFindSessionsByPrefixOfEndpointId() {
+    final Session first = mock(Session.class);
+    final Session second = mock(Session.class);
+    registry.add("client1<-:->/wsagent", first);
+    registry.add("client1<-:->/wsmaster", second);
+    registry.add("client10<-:->/wsagent", session);
+
+    assertEquals(registry.getByPrefix("client1<-:->"), new HashSet<>(asList(first, second)));
+    assertEquals(registry.getByPrefix("client1"), new HashSet<>(asList(first, second, session)));
+    assertTrue(registry.getByPrefix("client2").isEmpty());
+  }
+
+  @Test
+  public void shouldFindSessionsByPartialMatchOfEndpointId() {
+    final Session first = mock(Session.class);
+    final Session second = mock(Session.class);
+    registry.add("client1<-:->/wsagent", first);
+    registry.add("client1<-:->/wsmaster", second);
+    registry.add("client10<-:->/wsagent", session);
+
+    assertEquals(registry.getByPartialMatch("/wsagent"), new HashSet<>(asList(first, session)));
+  }
 }
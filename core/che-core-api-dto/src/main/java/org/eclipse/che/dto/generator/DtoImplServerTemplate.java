@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.eclipse.che.dto.server.DtoTypeAdapter;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
@@ -32,6 +33,7 @@ import org.eclipse.che.dto.shared.JsonStringMap;
 public class DtoImplServerTemplate extends DtoImpl {
   private static final String JSON_ARRAY_IMPL = JsonArrayImpl.class.getCanonicalName();
   private static final String JSON_MAP_IMPL = JsonStringMapImpl.class.getCanonicalName();
+  private static final String DTO_TYPE_ADAPTER = DtoTypeAdapter.class.getCanonicalName();
   private static final String SERVER_DTO_MARKER =
       "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
 
@@ -68,6 +70,9 @@ public class DtoImplServerTemplate extends DtoImpl {
     emitSerializer(methods, builder);
     emitDeserializer(methods, builder);
     emitDeserializerShortcut(builder);
+    if (hasTypeAdapter()) {
+      emitTypeAdapter(getters, builder);
+    }
     emitCopyConstructor(methods, builder);
     // Delegation DTO methods.
     emitDelegateMethods(builder);
@@ -375,6 +380,158 @@ public class DtoImplServerTemplate extends DtoImpl {
     builder.append("    }\n\n");
   }
 
+  /**
+   * Tests whether streaming JSON adapter is generated for this DTO. Adapter is generated only when
+   * all the fields of implementation are declared by the implementation itself, implementations
+   * which extend implementation of super DTO are serialized by Gson's reflective adapter.
+   */
+  boolean hasTypeAdapter() {
+    return getSuperDtoInterface(getDtoInterface()) == null;
+  }
+
+  /**
+   * Generates a nested {@link DtoTypeAdapter} which reads and writes the fields of implementation
+   * directly. Strings, booleans, ints and longs are handled by the generated code, values of all
+   * the other types are handled by the adapters provided by Gson.
+   */
+  private void emitTypeAdapter(List<Method> getters, StringBuilder builder) {
+    final String implClassName = getImplClassName();
+    builder
+        .append("    public static class JsonAdapter extends ")
+        .append(DTO_TYPE_ADAPTER)
+        .append("<")
+        .append(implClassName)
+        .append("> {\n");
+    for (Method getter : getters) {
+      if (!isStreamed(getter.getReturnType())) {
+        builder
+            .append("      private final com.google.gson.TypeAdapter<Object> $")
+            .append(getJavaFieldName(getter.getName()))
+            .append(";\n");
+      }
+    }
+    builder.append("\n");
+    builder.append("      public JsonAdapter(Gson gson) {\n");
+    builder.append("        super(gson, ").append(implClassName).append(".class);\n");
+    for (Method getter : getters) {
+      if (!isStreamed(getter.getReturnType())) {
+        String fieldName = getJavaFieldName(getter.getName());
+        builder
+            .append("        this.$")
+            .append(fieldName)
+            .append(" = fieldAdapter(\"")
+            .append(fieldName)
+            .append("\");\n");
+      }
+    }
+    builder.append("      }\n\n");
+
+    builder.append("      @Override\n");
+    builder.append("      protected ").append(implClassName).append(" newInstance() {\n");
+    builder.append("        return new ").append(implClassName).append("();\n");
+    builder.append("      }\n\n");
+
+    builder.append("      @Override\n");
+    builder
+        .append("      protected void writeFields(com.google.gson.stream.JsonWriter out, ")
+        .append(implClassName)
+        .append(" v) throws java.io.IOException {\n");
+    for (Method getter : getters) {
+      String fieldName = getJavaFieldName(getter.getName());
+      String jsonFieldName = getJsonFieldName(getter);
+      Class<?> type = getter.getReturnType();
+      if (type == Boolean.class) {
+        builder
+            .append("        writeBoolean(out.name(\"")
+            .append(jsonFieldName)
+            .append("\"), v.")
+            .append(fieldName)
+            .append(");\n");
+      } else if (isStreamed(type)) {
+        builder
+            .append("        out.name(\"")
+            .append(jsonFieldName)
+            .append("\").value(v.")
+            .append(fieldName)
+            .append(");\n");
+      } else {
+        builder.append("        out.name(\"").append(jsonFieldName).append("\");\n");
+        builder
+            .append("        $")
+            .append(fieldName)
+            .append(".write(out, v.")
+            .append(fieldName)
+            .append(");\n");
+      }
+    }
+    builder.append("      }\n\n");
+
+    builder.append("      @Override\n");
+    builder
+        .append("      protected boolean readField(")
+        .append("com.google.gson.stream.JsonReader in, String name, ")
+        .append(implClassName)
+        .append(" v) throws java.io.IOException {\n");
+    builder.append("        switch (name) {\n");
+    for (Method getter : getters) {
+      String fieldName = getJavaFieldName(getter.getName());
+      Class<?> type = getter.getReturnType();
+      builder.append("          case \"").append(getJsonFieldName(getter)).append("\": {\n");
+      if (type.isPrimitive()) {
+        // null doesn't change the default value of primitive field
+        String wrapperName = Primitives.wrap(type).getName();
+        builder
+            .append("            ")
+            .append(wrapperName)
+            .append(" $v = ")
+            .append(getReadExpression(type, wrapperName, fieldName))
+            .append(";\n");
+        builder.append("            if ($v != null) {\n");
+        builder.append("              v.").append(fieldName).append(" = $v;\n");
+        builder.append("            }\n");
+      } else {
+        String typeName = getImplName(getter.getGenericReturnType(), false);
+        builder
+            .append("            v.")
+            .append(fieldName)
+            .append(" = ")
+            .append(getReadExpression(type, typeName, fieldName))
+            .append(";\n");
+      }
+      builder.append("            return true;\n");
+      builder.append("          }\n");
+    }
+    builder.append("          default:\n");
+    builder.append("            return false;\n");
+    builder.append("        }\n");
+    builder.append("      }\n");
+    builder.append("    }\n\n");
+  }
+
+  /** Tests whether values of the given type are read and written by the generated code. */
+  private static boolean isStreamed(Class<?> type) {
+    return type == String.class
+        || type == boolean.class
+        || type == Boolean.class
+        || type == int.class
+        || type == Integer.class
+        || type == long.class
+        || type == Long.class;
+  }
+
+  private static String getReadExpression(Class<?> type, String typeName, String fieldName) {
+    if (type == String.class) {
+      return "readString(in)";
+    } else if (type == boolean.class || type == Boolean.class) {
+      return "readBoolean(in)";
+    } else if (type == int.class || type == Integer.class) {
+      return "readInteger(in)";
+    } else if (type == long.class || type == Long.class) {
+      return "readLong(in)";
+    }
+    return "(" + typeName + ") $" + fieldName + ".read(in)";
+  }
+
   private static StringBuilder appendNaiveCopyJsonExpression(
       String inValue, StringBuilder builder) {
     builder.append("((");
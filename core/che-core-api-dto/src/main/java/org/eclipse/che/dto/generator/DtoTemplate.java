@@ -290,6 +290,17 @@ public class DtoTemplate {
             .append(dto.getImplClassName())
             .append("(origin);\n");
         builder.append("        }\n");
+        if (((DtoImplServerTemplate) dto).hasTypeAdapter()) {
+          builder.append("\n");
+          builder
+              .append("        public com.google.gson.TypeAdapter<? extends ")
+              .append(dtoInterface)
+              .append("> createTypeAdapter(Gson gson) {\n")
+              .append("            return new ")
+              .append(dto.getImplClassName())
+              .append(".JsonAdapter(gson);\n");
+          builder.append("        }\n");
+        }
         builder.append("    });\n");
       }
       builder.append("  }\n\n");
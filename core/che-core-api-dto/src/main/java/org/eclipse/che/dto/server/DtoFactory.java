@@ -71,6 +71,12 @@ public final class DtoFactory {
                 }
               });
 
+  /**
+   * When set to {@code true} DTO implementations are always serialized with Gson's reflective
+   * adapter, even if generated streaming adapter is available.
+   */
+  private static final boolean REFLECTIVE_JSON = Boolean.getBoolean("che.dto.reflective_json");
+
   private static final DtoFactory INSTANCE = new DtoFactory();
 
   public static DtoFactory getInstance() {
@@ -106,6 +112,7 @@ public final class DtoFactory {
               new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()))
           .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()))
           .registerTypeAdapterFactory(new DtoInterfaceTAF())
+          .registerTypeAdapterFactory(new DtoImplTAF())
           .create();
 
   /**
@@ -447,6 +454,26 @@ public final class DtoFactory {
     }
   }
 
+  /**
+   * Serializes/deserializes DTO implementation classes with streaming adapters generated along
+   * with them, see {@link DtoProvider#createTypeAdapter(Gson)}. Implementations which don't have
+   * generated adapter are serialized by Gson's reflective adapter.
+   */
+  private class DtoImplTAF implements TypeAdapterFactory {
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+      if (REFLECTIVE_JSON) {
+        return null;
+      }
+      DtoProvider<?> prov = dtoImpl2Providers.get(type.getRawType());
+      if (prov != null) {
+        return (TypeAdapter<T>) prov.createTypeAdapter(gson);
+      }
+      return null;
+    }
+  }
+
   /**
    * Wraps Gson's default List/Map adapter factories serialize null List/Map fields as empty
    * instead.
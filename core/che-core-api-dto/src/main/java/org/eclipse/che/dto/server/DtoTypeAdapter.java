@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.bind.ReflectiveTypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Base class of streaming JSON adapters generated for server DTO implementations.
+ *
+ * <p>Generated adapters read and write fields of DTO implementation directly instead of using
+ * reflection, the produced JSON is the same as the one produced by Gson's reflective adapter:
+ * null fields are omitted, null lists and maps are written as empty, unknown JSON properties are
+ * skipped. Instances of classes which extend the DTO implementation are written with the adapter
+ * of their runtime type.
+ *
+ * @see DtoProvider#createTypeAdapter(Gson)
+ */
+public abstract class DtoTypeAdapter<T> extends TypeAdapter<T> {
+  private final Gson gson;
+  private final Class<T> implClass;
+
+  protected DtoTypeAdapter(Gson gson, Class<T> implClass) {
+    this.gson = gson;
+    this.implClass = implClass;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void write(JsonWriter out, T value) throws IOException {
+    if (value == null) {
+      out.nullValue();
+    } else if (value.getClass() != implClass) {
+      ((TypeAdapter<T>) gson.getAdapter(value.getClass())).write(out, value);
+    } else {
+      out.beginObject();
+      writeFields(out, value);
+      out.endObject();
+    }
+  }
+
+  @Override
+  public T read(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    final T value = newInstance();
+    in.beginObject();
+    while (in.hasNext()) {
+      if (!readField(in, in.nextName(), value)) {
+        in.skipValue();
+      }
+    }
+    in.endObject();
+    return value;
+  }
+
+  /** Creates new empty instance of DTO implementation. */
+  protected abstract T newInstance();
+
+  /** Writes all the fields of the given DTO as properties of already started JSON object. */
+  protected abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+  /**
+   * Reads value of the JSON property with the given name into the corresponding field of DTO.
+   *
+   * @return false if DTO doesn't have field for the property, so its value should be skipped
+   */
+  protected abstract boolean readField(JsonReader in, String name, T value) throws IOException;
+
+  /**
+   * Returns adapter for the field of DTO implementation which type isn't handled by the generated
+   * code, such as lists, maps, enums and nested DTOs. Adapters are looked up once, when the DTO
+   * adapter is created.
+   */
+  @SuppressWarnings("unchecked")
+  protected TypeAdapter<Object> fieldAdapter(String fieldName) {
+    final Type fieldType;
+    try {
+      fieldType = implClass.getDeclaredField(fieldName).getGenericType();
+    } catch (NoSuchFieldException x) {
+      throw new IllegalStateException(x.getMessage(), x);
+    }
+    final TypeAdapter<Object> adapter =
+        (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(fieldType));
+    if (fieldType instanceof Class && !((Class<?>) fieldType).isPrimitive()) {
+      return new RuntimeTypeAdapter(gson, adapter, (Class<?>) fieldType);
+    }
+    return adapter;
+  }
+
+  protected static String readString(JsonReader in) throws IOException {
+    final JsonToken token = in.peek();
+    if (token == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    if (token == JsonToken.BOOLEAN) {
+      return Boolean.toString(in.nextBoolean());
+    }
+    return in.nextString();
+  }
+
+  protected static Boolean readBoolean(JsonReader in) throws IOException {
+    final JsonToken token = in.peek();
+    if (token == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    if (token == JsonToken.STRING) {
+      return Boolean.parseBoolean(in.nextString());
+    }
+    return in.nextBoolean();
+  }
+
+  protected static Integer readInteger(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    try {
+      return in.nextInt();
+    } catch (NumberFormatException x) {
+      throw new JsonSyntaxException(x);
+    }
+  }
+
+  protected static Long readLong(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    try {
+      return in.nextLong();
+    } catch (NumberFormatException x) {
+      throw new JsonSyntaxException(x);
+    }
+  }
+
+  protected static void writeBoolean(JsonWriter out, Boolean value) throws IOException {
+    if (value == null) {
+      out.nullValue();
+    } else {
+      out.value(value.booleanValue());
+    }
+  }
+
+  /**
+   * Chooses adapter of the field value the same way Gson does it for the fields of reflectively
+   * serialized classes, so the value which type is a subtype of the field type is written with
+   * the adapter of its runtime type.
+   */
+  private static class RuntimeTypeAdapter extends TypeAdapter<Object> {
+    final Gson gson;
+    final TypeAdapter<Object> delegate;
+    final Class<?> declaredType;
+
+    RuntimeTypeAdapter(Gson gson, TypeAdapter<Object> delegate, Class<?> declaredType) {
+      this.gson = gson;
+      this.delegate = delegate;
+      this.declaredType = declaredType;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void write(JsonWriter out, Object value) throws IOException {
+      TypeAdapter<Object> chosen = delegate;
+      if (value != null && value.getClass() != declaredType) {
+        final TypeAdapter<Object> runtime =
+            (TypeAdapter<Object>) gson.getAdapter(value.getClass());
+        if (!(runtime instanceof ReflectiveTypeAdapterFactory.Adapter)
+            || delegate instanceof ReflectiveTypeAdapterFactory.Adapter) {
+          chosen = runtime;
+        }
+      }
+      chosen.write(out, value);
+    }
+
+    @Override
+    public Object read(JsonReader in) throws IOException {
+      return delegate.read(in);
+    }
+  }
+}
@@ -12,6 +12,7 @@ package org.eclipse.che.dto;
 
 import static java.util.Arrays.asList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 import com.google.gson.Gson;
@@ -35,6 +36,7 @@ import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.DtoTypeAdapter;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -370,6 +372,57 @@ public class ServerDtoTest {
         complicatedDto.getArrayOfArrayOfEnum().get(0).get(2), ComplicatedDto.SimpleEnum.THREE);
   }
 
+  @Test
+  public void shouldUseGeneratedTypeAdapterForDtoImplementation() {
+    final SimpleDto dto = dtoFactory.createDto(SimpleDto.class);
+
+    assertTrue(dtoFactory.getGson().getAdapter(dto.getClass()) instanceof DtoTypeAdapter);
+  }
+
+  @Test
+  public void shouldUseReflectiveAdapterForImplementationOfDtoWhichExtendsDto() {
+    final GrandchildDto dto = dtoFactory.createDto(GrandchildDto.class);
+
+    assertFalse(dtoFactory.getGson().getAdapter(dto.getClass()) instanceof DtoTypeAdapter);
+  }
+
+  @Test
+  public void shouldSerializeNullListsAndMapsAsEmptyAndSkipOtherNullFields() {
+    final String json = dtoFactory.toJson(dtoFactory.createDto(ComplicatedDto.class));
+
+    final JsonObject expected = new JsonObject();
+    expected.add("strings", new JsonArray());
+    expected.add("map", new JsonObject());
+    expected.add("simpleDtos", new JsonArray());
+    expected.add("arrayOfArrayOfEnum", new JsonArray());
+    assertEquals(new JsonParser().parse(json), expected);
+  }
+
+  @Test
+  public void shouldSkipUnknownPropertiesAndIgnoreNullsOfPrimitiveFieldsOnDeserialization() {
+    final SimpleDto dto =
+        dtoFactory.createDtoFromJson(
+            "{\"id\":null,\"name\":true,\"unknown\":{\"id\":[1]}}", SimpleDto.class);
+
+    checkSimpleDto(dto, "true", 0, null);
+  }
+
+  @Test
+  public void shouldDeserializeNestedDtosSerializedWithGeneratedAdapters() {
+    final ModelDto model =
+        dtoFactory
+            .createDto(ModelDto.class)
+            .withPrimary(dtoFactory.createDto(ModelComponentDto.class).withName("primary"))
+            .withComponents(
+                asList(
+                    dtoFactory.createDto(ModelComponentDto.class).withName("name"),
+                    dtoFactory.createDto(ModelComponentDto.class).withName("name2")));
+
+    final String json = dtoFactory.toJson(model);
+
+    assertEquals(dtoFactory.createDtoFromJson(json, ModelDto.class), model);
+  }
+
   private void checkSimpleDto(
       SimpleDto dto, String expectedName, int expectedId, String expectedDefault) {
     assertEquals(dto.getName(), expectedName);
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a task for each of the given items concurrently and fails as soon as any of them fails.
+ *
+ * <p>Up to the given number of tasks run at the same time. Completed tasks are taken in the order
+ * they complete, so the first failure is noticed immediately rather than after the tasks submitted
+ * before it finish. On the first failure or when the calling thread is interrupted, running tasks
+ * are interrupted, the rest are not started, and the call returns after all the running tasks
+ * finish, so callers may roll back what the tasks did.
+ */
+public final class ConcurrentTasks {
+
+  /** Task performed for an item. */
+  @FunctionalInterface
+  public interface Task<T, X extends Exception> {
+    void run(T item) throws X;
+  }
+
+  /**
+   * Runs the task for each item by up to {@code parallelism} threads of the executor. The task is
+   * run in the calling thread when there is only one item or parallelism is 1 or less.
+   *
+   * @param executor executor which runs the tasks
+   * @param parallelism max number of tasks which run at the same time
+   * @param items items to run the task for
+   * @param task task which is run for each item, it should stop when its thread is interrupted
+   * @throws X the first failure of the task
+   * @throws InterruptedException when the calling thread is interrupted while tasks are running
+   */
+  public static <T, X extends Exception> void runAll(
+      Executor executor, int parallelism, Collection<T> items, Task<T, X> task)
+      throws X, InterruptedException {
+    if (parallelism <= 1 || items.size() <= 1) {
+      for (T item : items) {
+        task.run(item);
+      }
+      return;
+    }
+
+    Runs runs = new Runs();
+    CompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+    List<Future<Void>> futures = new ArrayList<>(items.size());
+    Iterator<T> pending = items.iterator();
+    int active = 0;
+    try {
+      while (active > 0 || pending.hasNext()) {
+        for (; active < parallelism && pending.hasNext(); active++) {
+          T item = pending.next();
+          futures.add(
+              completion.submit(
+                  ThreadLocalPropagateContext.wrap(
+                      () -> {
+                        runs.run(() -> task.run(item));
+                        return null;
+                      })));
+        }
+        Future<Void> done = completion.take();
+        active--;
+        try {
+          done.get();
+        } catch (ExecutionException x) {
+          throw ConcurrentTasks.<X>failure(x.getCause());
+        }
+      }
+    } finally {
+      if (active > 0) {
+        // tasks which are not started yet don't run
+        futures.forEach(future -> future.cancel(false));
+        runs.interruptAndAwait();
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <X extends Exception> X failure(Throwable failure) {
+    if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    }
+    // the task throws only X or unchecked exceptions
+    return (X) failure;
+  }
+
+  /** Body of a task run by {@link Runs}. */
+  private interface Body {
+    void run() throws Exception;
+  }
+
+  /** Threads which run tasks, so they can be interrupted and awaited when the run is stopped. */
+  private static class Runs {
+    private final Set<Thread> threads = new HashSet<>();
+    private boolean stopped;
+
+    void run(Body body) throws Exception {
+      Thread current = Thread.currentThread();
+      synchronized (this) {
+        if (stopped) {
+          return;
+        }
+        threads.add(current);
+      }
+      try {
+        body.run();
+      } finally {
+        synchronized (this) {
+          threads.remove(current);
+          // interrupt which came after the task completed must not affect the pooled thread
+          Thread.interrupted();
+          notifyAll();
+        }
+      }
+    }
+
+    synchronized void interruptAndAwait() {
+      stopped = true;
+      threads.forEach(Thread::interrupt);
+      boolean interrupted = false;
+      while (!threads.isEmpty()) {
+        try {
+          wait();
+        } catch (InterruptedException x) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.concurrent;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ConcurrentTasks}. */
+public class ConcurrentTasksTest {
+  private ExecutorService executor;
+  private Set<String> completed;
+  private Set<String> interrupted;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+    completed = ConcurrentHashMap.newKeySet();
+    interrupted = ConcurrentHashMap.newKeySet();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldRunTaskForEachItem() throws Exception {
+    ConcurrentTasks.runAll(executor, 2, asList("a", "b", "c", "d"), completed::add);
+
+    assertEquals(completed.size(), 4);
+  }
+
+  @Test
+  public void shouldNotRunMoreTasksThanParallelism() throws Exception {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    ConcurrentTasks.runAll(
+        executor,
+        2,
+        asList("a", "b", "c", "d", "e"),
+        item -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          Thread.sleep(50);
+          running.decrementAndGet();
+        });
+
+    assertEquals(maxRunning.get(), 2);
+  }
+
+  @Test
+  public void shouldRunTasksInCallingThreadWhenParallelismIsOne() throws Exception {
+    Thread caller = Thread.currentThread();
+    AtomicInteger inCaller = new AtomicInteger();
+
+    ConcurrentTasks.runAll(
+        executor,
+        1,
+        asList("a", "b"),
+        item -> {
+          if (Thread.currentThread() == caller) {
+            inCaller.incrementAndGet();
+          }
+        });
+
+    assertEquals(inCaller.get(), 2);
+  }
+
+  @Test
+  public void shouldFailWithoutWaitingForTasksSubmittedBefore() throws Exception {
+    long start = System.nanoTime();
+    try {
+      ConcurrentTasks.runAll(
+          executor,
+          2,
+          asList("slow", "failing"),
+          item -> {
+            if ("failing".equals(item)) {
+              throw new IOException("failed");
+            }
+            blockUntilInterrupted(item);
+          });
+      fail("Failure of the task is expected");
+    } catch (IOException x) {
+      assertEquals(x.getMessage(), "failed");
+    }
+
+    assertTrue(System.nanoTime() - start < SECONDS.toNanos(10));
+    // returns after the interrupted task finishes
+    assertTrue(interrupted.contains("slow"));
+  }
+
+  @Test
+  public void shouldNotStartRemainingTasksAfterFailure() throws Exception {
+    try {
+      ConcurrentTasks.runAll(
+          executor,
+          2,
+          asList("failing", "slow", "c", "d"),
+          item -> {
+            if ("failing".equals(item)) {
+              throw new IllegalStateException("failed");
+            }
+            if ("slow".equals(item)) {
+              blockUntilInterrupted(item);
+            } else {
+              completed.add(item);
+            }
+          });
+      fail("Failure of the task is expected");
+    } catch (IllegalStateException expected) {
+    }
+
+    assertTrue(completed.isEmpty());
+  }
+
+  @Test
+  public void shouldInterruptTasksWhenCallingThreadIsInterrupted() throws Exception {
+    CountDownLatch started = new CountDownLatch(2);
+    AtomicReference<Exception> failure = new AtomicReference<>();
+    Thread caller =
+        new Thread(
+            () -> {
+              try {
+                ConcurrentTasks.runAll(
+                    executor,
+                    2,
+                    asList("a", "b"),
+                    item -> {
+                      started.countDown();
+                      blockUntilInterrupted(item);
+                    });
+              } catch (Exception x) {
+                failure.set(x);
+              }
+            });
+    caller.start();
+    assertTrue(started.await(10, SECONDS));
+
+    caller.interrupt();
+    caller.join(10_000);
+
+    assertFalse(caller.isAlive());
+    assertTrue(failure.get() instanceof InterruptedException);
+    assertEquals(interrupted.size(), 2);
+  }
+
+  private void blockUntilInterrupted(String item) {
+    try {
+      Thread.sleep(60_000);
+    } catch (InterruptedException x) {
+      interrupted.add(item);
+    }
+  }
+}
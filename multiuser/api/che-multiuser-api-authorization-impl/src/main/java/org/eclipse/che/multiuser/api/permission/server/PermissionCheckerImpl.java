@@ -10,6 +10,9 @@
  */
 package org.eclipse.che.multiuser.api.permission.server;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import javax.inject.Inject;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -34,4 +37,18 @@ public class PermissionCheckerImpl implements PermissionChecker {
     return permissionsManager.exists(user, domain, instance, action)
         || permissionsManager.exists("*", domain, instance, action);
   }
+
+  @Override
+  public Set<String> hasPermissions(
+      String user, String domain, Collection<String> instances, String action)
+      throws ServerException, NotFoundException, ConflictException {
+    final Set<String> permitted =
+        permissionsManager.getPermittedInstances(user, domain, instances, action);
+    if (permitted.size() < instances.size()) {
+      final Set<String> rest = new HashSet<>(instances);
+      rest.removeAll(permitted);
+      permitted.addAll(permissionsManager.getPermittedInstances("*", domain, rest, action));
+    }
+    return permitted;
+  }
 }
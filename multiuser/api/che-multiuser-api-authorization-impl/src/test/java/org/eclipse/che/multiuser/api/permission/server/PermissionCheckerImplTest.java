@@ -10,12 +10,17 @@
  */
 package org.eclipse.che.multiuser.api.permission.server;
 
+import static java.util.Collections.singleton;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static java.util.Collections.singleton;
 import static org.testng.Assert.assertEquals;
 
+import com.google.common.collect.ImmutableSet;
+import java.util.HashSet;
+import java.util.Set;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -55,4 +60,21 @@ public class PermissionCheckerImplTest {
     verify(permissionsManager).exists("user123", "domain123", "instance123", "test");
     verify(permissionsManager).exists("*", "domain123", "instance123", "test");
   }
+
+  @Test
+  public void shouldCheckPublicPermissionsOnlyForInstancesWithoutDirectUsersPermissions()
+      throws Exception {
+    when(permissionsManager.getPermittedInstances(
+            "user123", "domain123", ImmutableSet.of("i1", "i2", "i3"), "test"))
+        .thenReturn(new HashSet<>(singleton("i1")));
+    when(permissionsManager.getPermittedInstances(
+            "*", "domain123", ImmutableSet.of("i2", "i3"), "test"))
+        .thenReturn(new HashSet<>(singleton("i3")));
+
+    Set<String> permitted =
+        permissionChecker.hasPermissions(
+            "user123", "domain123", ImmutableSet.of("i1", "i2", "i3"), "test");
+
+    assertEquals(permitted, ImmutableSet.of("i1", "i3"));
+  }
 }
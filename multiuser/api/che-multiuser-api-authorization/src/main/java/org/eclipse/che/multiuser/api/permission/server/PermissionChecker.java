@@ -10,6 +10,9 @@
  */
 package org.eclipse.che.multiuser.api.permission.server;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -35,4 +38,29 @@ public interface PermissionChecker {
    */
   boolean hasPermission(String user, String domain, String instance, String action)
       throws ServerException, NotFoundException, ConflictException;
+
+  /**
+   * Checks user's permission to perform some action with each of given instances.
+   *
+   * @param user user id
+   * @param domain domain id
+   * @param instances instances ids
+   * @param action action name
+   * @return ids of instances on which the user has given permission
+   * @throws NotFoundException when given domain is unsupported
+   * @throws ConflictException when given domain requires non nullable value for instance but it is
+   *     null
+   * @throws ServerException when any other error occurs during permission existence checking
+   */
+  default Set<String> hasPermissions(
+      String user, String domain, Collection<String> instances, String action)
+      throws ServerException, NotFoundException, ConflictException {
+    final Set<String> permitted = new HashSet<>();
+    for (String instance : instances) {
+      if (hasPermission(user, domain, instance, action)) {
+        permitted.add(instance);
+      }
+    }
+    return permitted;
+  }
 }
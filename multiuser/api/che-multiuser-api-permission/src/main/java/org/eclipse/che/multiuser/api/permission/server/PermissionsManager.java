@@ -13,17 +13,25 @@ package org.eclipse.che.multiuser.api.permission.server;
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static org.eclipse.che.multiuser.api.permission.server.AbstractPermissionsDomain.SET_PERMISSIONS;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -44,6 +52,11 @@ import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
 /**
  * Facade for Permissions related operations.
  *
+ * <p>Actions of users are cached to avoid querying storage on each permission check. Cached
+ * actions are invalidated when permissions are stored or removed with this manager. Permissions
+ * removed from storage in other ways, e.g. on removal of their instance, stay cached not longer
+ * than {@code che.permissions.cache.expire_after_write_sec}.
+ *
  * @author gazarenkov
  * @author Sergii Leschenko
  * @author Anton Korneta
@@ -56,10 +69,15 @@ public class PermissionsManager {
   private final List<AbstractPermissionsDomain<? extends AbstractPermissions>> domains;
   private final Map<String, PermissionsDao<? extends AbstractPermissions>> domainToDao;
   private final StripedLocks updateLocks;
+  private final Cache<Key, Set<String>> actionsCache;
+  private final AtomicLong invalidations = new AtomicLong();
 
   @Inject
   public PermissionsManager(
-      EventService eventService, Set<PermissionsDao<? extends AbstractPermissions>> daos)
+      EventService eventService,
+      Set<PermissionsDao<? extends AbstractPermissions>> daos,
+      @Named("che.permissions.cache.max_size") long cacheMaxSize,
+      @Named("che.permissions.cache.expire_after_write_sec") long cacheExpireAfterWriteSec)
       throws ServerException {
     this.eventService = eventService;
     final Map<String, PermissionsDao<? extends AbstractPermissions>> domainToDao = new HashMap<>();
@@ -84,6 +102,11 @@ public class PermissionsManager {
     this.domains = ImmutableList.copyOf(domains);
     this.domainToDao = ImmutableMap.copyOf(domainToDao);
     this.updateLocks = new StripedLocks(16);
+    this.actionsCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(cacheMaxSize)
+            .expireAfterWrite(cacheExpireAfterWriteSec, TimeUnit.SECONDS)
+            .build();
   }
 
   /**
@@ -110,7 +133,11 @@ public class PermissionsManager {
             "Can't edit permissions because there is not any another user "
                 + "with permission 'setPermissions'");
       }
-      store(permissionsDao, userId, instanceId, permissions);
+      try {
+        store(permissionsDao, userId, instanceId, permissions);
+      } finally {
+        invalidate(new Key(userId, domainId, instanceId));
+      }
     }
   }
 
@@ -173,7 +200,11 @@ public class PermissionsManager {
                 + "with permission 'setPermissions'");
       }
       permissions = permissionsDao.get(userId, instanceId);
-      permissionsDao.remove(userId, instanceId);
+      try {
+        permissionsDao.remove(userId, instanceId);
+      } finally {
+        invalidate(new Key(userId, domainId, instanceId));
+      }
     }
     final String initiator = EnvironmentContext.getCurrent().getSubject().getUserName();
     eventService.publish(new PermissionsRemovedEvent(initiator, permissions));
@@ -192,8 +223,68 @@ public class PermissionsManager {
    */
   public boolean exists(String userId, String domainId, String instanceId, String action)
       throws ServerException, NotFoundException, ConflictException {
-    return getDomain(domainId).getAllowedActions().contains(action)
-        && getPermissionsDao(domainId).exists(userId, instanceId, action);
+    if (!getDomain(domainId).getAllowedActions().contains(action)) {
+      return false;
+    }
+    final Key key = new Key(userId, domainId, instanceId);
+    Set<String> actions = actionsCache.getIfPresent(key);
+    if (actions == null) {
+      final long invalidationsBefore = invalidations.get();
+      try {
+        actions =
+            ImmutableSet.copyOf(getPermissionsDao(domainId).get(userId, instanceId).getActions());
+      } catch (NotFoundException e) {
+        actions = ImmutableSet.of();
+      }
+      cache(key, actions, invalidationsBefore);
+    }
+    return actions.contains(action);
+  }
+
+  /**
+   * Returns ids of the given instances on which user has permission to perform specified action.
+   * Permissions which are not cached yet are fetched from storage with a single request.
+   *
+   * @param userId user id
+   * @param domainId domain id
+   * @param instanceIds ids of instances to check
+   * @param action action name
+   * @return ids of instances on which the user has given permission
+   * @throws NotFoundException when given domain is unsupported
+   * @throws ServerException when any other error occurs during permissions fetching
+   */
+  public Set<String> getPermittedInstances(
+      String userId, String domainId, Collection<String> instanceIds, String action)
+      throws ServerException, NotFoundException {
+    final Set<String> permitted = new HashSet<>();
+    if (!getDomain(domainId).getAllowedActions().contains(action)) {
+      return permitted;
+    }
+    final Set<String> notCached = new HashSet<>();
+    for (String instanceId : instanceIds) {
+      final Set<String> actions = actionsCache.getIfPresent(new Key(userId, domainId, instanceId));
+      if (actions == null) {
+        notCached.add(instanceId);
+      } else if (actions.contains(action)) {
+        permitted.add(instanceId);
+      }
+    }
+    if (!notCached.isEmpty()) {
+      final long invalidationsBefore = invalidations.get();
+      final Map<String, Set<String>> fetched = new HashMap<>();
+      for (AbstractPermissions permissions :
+          getPermissionsDao(domainId).getByUserAndInstances(userId, notCached)) {
+        fetched.put(permissions.getInstanceId(), ImmutableSet.copyOf(permissions.getActions()));
+      }
+      for (String instanceId : notCached) {
+        final Set<String> actions = fetched.getOrDefault(instanceId, ImmutableSet.of());
+        cache(new Key(userId, domainId, instanceId), actions, invalidationsBefore);
+        if (actions.contains(action)) {
+          permitted.add(instanceId);
+        }
+      }
+    }
+    return permitted;
   }
 
   /**
@@ -224,6 +315,23 @@ public class PermissionsManager {
     return getPermissionsDao(domain).getDomain();
   }
 
+  /**
+   * Caches actions fetched from storage. Permissions might be changed while they were fetched, in
+   * this case fetched actions are outdated and removed from the cache.
+   */
+  private void cache(Key key, Set<String> actions, long invalidationsBeforeFetch) {
+    actionsCache.put(key, actions);
+    if (invalidations.get() != invalidationsBeforeFetch) {
+      actionsCache.invalidate(key);
+    }
+  }
+
+  /* Must be called after permissions are changed in storage */
+  private void invalidate(Key key) {
+    invalidations.incrementAndGet();
+    actionsCache.invalidate(key);
+  }
+
   private <T extends AbstractPermissions> void store(
       PermissionsDao<T> dao, String userId, String instanceId, Permissions permissions)
       throws ConflictException, ServerException {
@@ -283,4 +391,39 @@ public class PermissionsManager {
     }
     return true;
   }
+
+  private static final class Key {
+    private final String user;
+    private final String domain;
+    private final String instance;
+
+    private Key(String user, String domain, String instance) {
+      this.user = user;
+      this.domain = domain;
+      this.instance = instance;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return Objects.equals(user, other.user)
+          && Objects.equals(domain, other.domain)
+          && Objects.equals(instance, other.instance);
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = 7;
+      hash = hash * 31 + Objects.hashCode(user);
+      hash = hash * 31 + Objects.hashCode(domain);
+      hash = hash * 31 + Objects.hashCode(instance);
+      return hash;
+    }
+  }
 }
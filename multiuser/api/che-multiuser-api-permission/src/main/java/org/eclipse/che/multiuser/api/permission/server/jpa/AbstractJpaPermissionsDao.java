@@ -12,7 +12,10 @@ package org.eclipse.che.multiuser.api.permission.server.jpa;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.Iterables;
 import com.google.inject.persist.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import javax.inject.Inject;
@@ -33,6 +36,9 @@ import org.eclipse.che.multiuser.api.permission.server.spi.PermissionsDao;
 public abstract class AbstractJpaPermissionsDao<T extends AbstractPermissions>
     implements PermissionsDao<T> {
 
+  /** Max number of instance identifiers passed to a single IN query. */
+  protected static final int MAX_INSTANCES_PER_QUERY = 500;
+
   private final AbstractPermissionsDomain<T> supportedDomain;
 
   @Inject protected Provider<EntityManager> managerProvider;
@@ -70,6 +76,22 @@ public abstract class AbstractJpaPermissionsDao<T extends AbstractPermissions>
     return permissions.getActions().contains(action);
   }
 
+  @Override
+  public List<T> getByUserAndInstances(String userId, Collection<String> instanceIds)
+      throws ServerException {
+    requireNonNull(userId, "User identifier required");
+    requireNonNull(instanceIds, "Instance identifiers required");
+    final List<T> permissions = new ArrayList<>();
+    try {
+      for (List<String> chunk : Iterables.partition(instanceIds, MAX_INSTANCES_PER_QUERY)) {
+        permissions.addAll(doGetByUserAndInstances(userId, chunk));
+      }
+    } catch (RuntimeException e) {
+      throw new ServerException(e.getLocalizedMessage(), e);
+    }
+    return permissions;
+  }
+
   @Override
   public void remove(String userId, String instanceId) throws ServerException, NotFoundException {
     requireNonNull(instanceId, "Instance identifier required");
@@ -98,6 +120,19 @@ public abstract class AbstractJpaPermissionsDao<T extends AbstractPermissions>
    */
   protected abstract T getEntity(String userId, String instanceId) throws NotFoundException;
 
+  /**
+   * Returns user's permissions for given instances, at most {@link #MAX_INSTANCES_PER_QUERY}
+   * instances are passed at once. Default implementation fetches permissions one by one,
+   * implementations should override it with a single IN query.
+   *
+   * @param userId user identifier, '*' for permissions of any user
+   * @param instanceIds instance identifiers
+   */
+  protected List<T> doGetByUserAndInstances(String userId, List<String> instanceIds)
+      throws ServerException {
+    return PermissionsDao.super.getByUserAndInstances(userId, instanceIds);
+  }
+
   @Transactional
   protected Optional<T> doCreate(T permissions) throws ServerException {
     EntityManager manager = managerProvider.get();
@@ -10,6 +10,8 @@
  */
 package org.eclipse.che.multiuser.api.permission.server.spi;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.eclipse.che.api.core.NotFoundException;
@@ -72,6 +74,32 @@ public interface PermissionsDao<T extends AbstractPermissions> {
    */
   List<T> getByUser(String userId) throws ServerException, NotFoundException;
 
+  /**
+   * Returns user's permissions for specified instances. Instances on which user doesn't have
+   * permissions are skipped.
+   *
+   * <p>Default implementation fetches permissions of instances one by one, implementations should
+   * override it with a single request to the storage.
+   *
+   * @param userId user id
+   * @param instanceIds ids of instances
+   * @return user's permissions for the instances
+   * @throws NullPointerException when user id is null
+   * @throws ServerException when any other error occurs during permissions fetching
+   */
+  default List<T> getByUserAndInstances(String userId, Collection<String> instanceIds)
+      throws ServerException {
+    final List<T> permissions = new ArrayList<>();
+    for (String instanceId : instanceIds) {
+      try {
+        permissions.add(get(userId, instanceId));
+      } catch (NotFoundException ignored) {
+        // user doesn't have permissions
+      }
+    }
+    return permissions;
+  }
+
   /**
    * @param userId user id
    * @param instanceId instance id
@@ -21,6 +21,7 @@ import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -31,6 +32,7 @@ import com.google.common.collect.ImmutableSet;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
@@ -65,7 +67,8 @@ public class PermissionsManagerTest {
   public void setUp() throws Exception {
     when(permissionsDao.getDomain()).thenReturn(new TestDomain());
 
-    permissionsManager = new PermissionsManager(eventService, ImmutableSet.of(permissionsDao));
+    permissionsManager =
+        new PermissionsManager(eventService, ImmutableSet.of(permissionsDao), 1000, 60);
   }
 
   @Test(
@@ -80,7 +83,8 @@ public class PermissionsManagerTest {
     when(anotherStorage.getDomain()).thenReturn(new TestDomain());
 
     permissionsManager =
-        new PermissionsManager(eventService, ImmutableSet.of(permissionsDao, anotherStorage));
+        new PermissionsManager(
+            eventService, ImmutableSet.of(permissionsDao, anotherStorage), 1000, 60);
   }
 
   @Test
@@ -244,13 +248,83 @@ public class PermissionsManagerTest {
 
   @Test
   public void shouldBeAbleToCheckPermissionExistence() throws Exception {
-    when(permissionsDao.exists("user", "test123", "use")).thenReturn(true);
-    when(permissionsDao.exists("user", "test123", "update")).thenReturn(false);
+    when(permissionsDao.get("user", "test123"))
+        .thenReturn(new TestPermissionsImpl("user", "test", "test123", singletonList("use")));
 
     assertTrue(permissionsManager.exists("user", "test", "test123", "use"));
     assertFalse(permissionsManager.exists("user", "test", "test123", "update"));
   }
 
+  @Test
+  public void shouldNotFetchPermissionsAgainWhenTheyAreCached() throws Exception {
+    when(permissionsDao.get("user", "test123"))
+        .thenReturn(new TestPermissionsImpl("user", "test", "test123", singletonList("use")));
+
+    assertTrue(permissionsManager.exists("user", "test", "test123", "use"));
+    assertTrue(permissionsManager.exists("user", "test", "test123", "use"));
+    assertFalse(permissionsManager.exists("user", "test", "test123", "read"));
+
+    verify(permissionsDao, times(1)).get("user", "test123");
+  }
+
+  @Test
+  public void shouldCacheAbsenceOfPermissions() throws Exception {
+    when(permissionsDao.get("user", "test123")).thenThrow(new NotFoundException("not found"));
+
+    assertFalse(permissionsManager.exists("user", "test", "test123", "use"));
+    assertFalse(permissionsManager.exists("user", "test", "test123", "use"));
+
+    verify(permissionsDao, times(1)).get("user", "test123");
+  }
+
+  @Test
+  public void shouldFetchPermissionsAgainAfterTheyAreStored() throws Exception {
+    when(permissionsDao.get("user", "test123"))
+        .thenReturn(new TestPermissionsImpl("user", "test", "test123", singletonList("read")))
+        .thenReturn(new TestPermissionsImpl("user", "test", "test123", singletonList("use")));
+    when(permissionsDao.store(any(TestPermissionsImpl.class))).thenReturn(Optional.empty());
+    assertFalse(permissionsManager.exists("user", "test", "test123", "use"));
+
+    permissionsManager.storePermission(
+        new TestPermissionsImpl("user", "test", "test123", singletonList("use")));
+
+    assertTrue(permissionsManager.exists("user", "test", "test123", "use"));
+    verify(permissionsDao, times(2)).get("user", "test123");
+  }
+
+  @Test
+  public void shouldFetchPermissionsAgainAfterTheyAreRemoved() throws Exception {
+    when(permissionsDao.get("user", "test123"))
+        .thenReturn(new TestPermissionsImpl("user", "test", "test123", singletonList("use")))
+        .thenReturn(new TestPermissionsImpl("user", "test", "test123", singletonList("use")))
+        .thenThrow(new NotFoundException("not found"));
+    assertTrue(permissionsManager.exists("user", "test", "test123", "use"));
+
+    permissionsManager.remove("user", "test", "test123");
+
+    assertFalse(permissionsManager.exists("user", "test", "test123", "use"));
+    // fetched by exists, remove and exists after invalidation
+    verify(permissionsDao, times(3)).get("user", "test123");
+  }
+
+  @Test
+  public void shouldFetchOnlyNotCachedPermissionsWhenGettingPermittedInstances() throws Exception {
+    when(permissionsDao.get("user", "test1"))
+        .thenReturn(new TestPermissionsImpl("user", "test", "test1", singletonList("use")));
+    doReturn(singletonList(new TestPermissionsImpl("user", "test", "test2", asList("read", "use"))))
+        .when(permissionsDao)
+        .getByUserAndInstances("user", ImmutableSet.of("test2", "test3"));
+    assertTrue(permissionsManager.exists("user", "test", "test1", "use"));
+
+    final Set<String> permitted =
+        permissionsManager.getPermittedInstances(
+            "user", "test", asList("test1", "test2", "test3"), "use");
+
+    assertEquals(permitted, ImmutableSet.of("test1", "test2"));
+    assertFalse(permissionsManager.exists("user", "test", "test3", "use"));
+    verify(permissionsDao, never()).get("user", "test3");
+  }
+
   @Test
   public void shouldBeAbleToDomains() throws Exception {
     final List<AbstractPermissionsDomain> domains = permissionsManager.getDomains();
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.resource.api.usage.tracker;
+
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import org.eclipse.che.account.api.AccountManager;
+import org.eclipse.che.account.shared.model.Account;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps RAM used by active workspaces of accounts in memory, so that checks of resources
+ * availability don't load all the workspaces of account on each workspace start.
+ *
+ * <p>Usage of account is loaded from database when it is requested for the first time. After that
+ * it is updated with workspace and machine status events, and reloaded when it is older than
+ * {@code che.limits.usage.reconcile_period_sec} seconds to fix a possible drift.
+ *
+ * <p>Events are handled asynchronously, so that threads which publish them while holding locks of
+ * workspace runtimes never wait for the ledger. Workspace which is being started is added with
+ * {@link #addStartingWorkspace(String, String, long)} by the thread which starts it, so it is taken
+ * into account by the checks which follow immediately.
+ */
+@Singleton
+public class WorkspaceUsageLedger {
+  private static final Logger LOG = LoggerFactory.getLogger(WorkspaceUsageLedger.class);
+
+  private final Provider<WorkspaceManager> workspaceManagerProvider;
+  private final AccountManager accountManager;
+  private final EnvironmentRamCalculator environmentRamCalculator;
+  private final EventService eventService;
+  private final long reconcilePeriodNanos;
+  private final StripedLocks locks;
+  private final ConcurrentMap<String, AccountUsage> accounts;
+  private final ConcurrentMap<String, String> workspaceAccounts;
+  private final WorkspaceStatusSubscriber workspaceStatusSubscriber;
+  private final MachineStatusSubscriber machineStatusSubscriber;
+  private final ExecutorService executor;
+
+  @Inject
+  public WorkspaceUsageLedger(
+      Provider<WorkspaceManager> workspaceManagerProvider,
+      AccountManager accountManager,
+      EnvironmentRamCalculator environmentRamCalculator,
+      EventService eventService,
+      @Named("che.limits.usage.reconcile_period_sec") long reconcilePeriodSec) {
+    this.workspaceManagerProvider = workspaceManagerProvider;
+    this.accountManager = accountManager;
+    this.environmentRamCalculator = environmentRamCalculator;
+    this.eventService = eventService;
+    this.reconcilePeriodNanos = TimeUnit.SECONDS.toNanos(reconcilePeriodSec);
+    this.locks = new StripedLocks(16);
+    this.accounts = new ConcurrentHashMap<>();
+    this.workspaceAccounts = new ConcurrentHashMap<>();
+    this.workspaceStatusSubscriber = new WorkspaceStatusSubscriber();
+    this.machineStatusSubscriber = new MachineStatusSubscriber();
+    this.executor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("WorkspaceUsageLedger-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    eventService.subscribe(workspaceStatusSubscriber);
+    eventService.subscribe(machineStatusSubscriber);
+  }
+
+  @PreDestroy
+  public void unsubscribe() {
+    eventService.unsubscribe(workspaceStatusSubscriber);
+    eventService.unsubscribe(machineStatusSubscriber);
+    executor.shutdownNow();
+  }
+
+  /**
+   * Returns RAM in megabytes used by active workspaces of given account.
+   *
+   * @param accountId account id
+   * @throws NotFoundException when account with specified id was not found
+   * @throws ServerException when any other error occurs while usage is loaded
+   */
+  public long getUsedRam(String accountId) throws NotFoundException, ServerException {
+    final AccountUsage usage = getUsage(accountId);
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.readLock(accountId)) {
+      return usage.ram;
+    }
+  }
+
+  /**
+   * Returns number of active workspaces of given account.
+   *
+   * @param accountId account id
+   * @throws NotFoundException when account with specified id was not found
+   * @throws ServerException when any other error occurs while usage is loaded
+   */
+  public int getActiveWorkspacesCount(String accountId) throws NotFoundException, ServerException {
+    final AccountUsage usage = getUsage(accountId);
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.readLock(accountId)) {
+      return usage.workspacesRam.size();
+    }
+  }
+
+  /**
+   * Adds workspace which is being started to the usage of the account. Must be called right after
+   * the start is initiated, RAM used by workspace is updated when its status changes.
+   *
+   * <p>Start might fail before this method is called and the event of the stopped workspace might
+   * be already handled, so the workspace is added only if it is not stopped. Its state is read
+   * under the lock of account the same way as events do, so the latest state is applied the last.
+   *
+   * @param accountId id of account workspace belongs to
+   * @param workspaceId id of starting workspace
+   * @param ramMB RAM required by environment of workspace
+   */
+  public void addStartingWorkspace(String accountId, String workspaceId, long ramMB) {
+    workspaceAccounts.put(workspaceId, accountId);
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.writeLock(accountId)) {
+      final AccountUsage usage = accounts.get(accountId);
+      if (usage == null || usage.workspacesRam.containsKey(workspaceId)) {
+        return;
+      }
+      if (STOPPED != workspaceManagerProvider.get().getWorkspace(workspaceId).getStatus()) {
+        usage.put(workspaceId, ramMB);
+      }
+    } catch (NotFoundException x) {
+      workspaceAccounts.remove(workspaceId);
+    } catch (ServerException | RuntimeException x) {
+      LOG.error(
+          "Failed to add starting workspace '{}' to resources usage, usage of its account will be "
+              + "reloaded. Error: {}",
+          workspaceId,
+          x.getMessage());
+      accounts.remove(accountId);
+    }
+  }
+
+  private AccountUsage getUsage(String accountId) throws NotFoundException, ServerException {
+    final AccountUsage usage = accounts.get(accountId);
+    if (usage != null && System.nanoTime() - usage.loadedAt < reconcilePeriodNanos) {
+      return usage;
+    }
+    try (@SuppressWarnings("unused")
+        Unlocker u = locks.writeLock(accountId)) {
+      final AccountUsage current = accounts.get(accountId);
+      if (current != null && System.nanoTime() - current.loadedAt < reconcilePeriodNanos) {
+        return current;
+      }
+      final AccountUsage loaded = load(accountId);
+      if (current != null && (current.ram != loaded.ram || !current.sameWorkspaces(loaded))) {
+        LOG.debug(
+            "Usage of account '{}' is reconciled, RAM {} -> {}, active workspaces {} -> {}",
+            accountId,
+            current.ram,
+            loaded.ram,
+            current.workspacesRam.size(),
+            loaded.workspacesRam.size());
+      }
+      accounts.put(accountId, loaded);
+      return loaded;
+    }
+  }
+
+  /* Must be called under write lock of the account */
+  private AccountUsage load(String accountId) throws NotFoundException, ServerException {
+    final Account account = accountManager.getById(accountId);
+    final AccountUsage usage = new AccountUsage(System.nanoTime());
+    for (WorkspaceImpl workspace :
+        workspaceManagerProvider.get().getByNamespace(account.getName(), true)) {
+      if (STOPPED != workspace.getStatus()) {
+        workspaceAccounts.put(workspace.getId(), accountId);
+        usage.put(workspace.getId(), calculateRam(workspace));
+      }
+    }
+    return usage;
+  }
+
+  private long calculateRam(WorkspaceImpl workspace) throws ServerException {
+    if (workspace.getRuntime() == null) {
+      return 0;
+    }
+    if (WorkspaceStatus.STARTING.equals(workspace.getStatus())) {
+      // starting workspace may not have all machine in runtime
+      // it is need to calculate ram from environment config
+      final EnvironmentImpl activeEnvironmentConfig =
+          workspace.getConfig().getEnvironments().get(workspace.getRuntime().getActiveEnv());
+      return environmentRamCalculator.calculate(activeEnvironmentConfig);
+    }
+    return workspace
+        .getRuntime()
+        .getMachines()
+        .stream()
+        .mapToInt(machine -> machine.getConfig().getLimits().getRam())
+        .sum();
+  }
+
+  private void refreshAsync(String workspaceId) {
+    try {
+      executor.execute(() -> refresh(workspaceId));
+    } catch (RuntimeException x) {
+      LOG.error(x.getLocalizedMessage(), x);
+    }
+  }
+
+  /** Updates RAM used by workspace according to its current state. */
+  @VisibleForTesting
+  void refresh(String workspaceId) {
+    String accountId = workspaceAccounts.get(workspaceId);
+    try {
+      if (accountId == null) {
+        accountId = workspaceManagerProvider.get().getWorkspace(workspaceId).getAccount().getId();
+        workspaceAccounts.put(workspaceId, accountId);
+      }
+      if (!accounts.containsKey(accountId)) {
+        // usage will be loaded with the actual state of workspace when it is requested
+        return;
+      }
+      try (@SuppressWarnings("unused")
+          Unlocker u = locks.writeLock(accountId)) {
+        final AccountUsage usage = accounts.get(accountId);
+        if (usage == null) {
+          return;
+        }
+        // workspace is fetched under the lock, so that the latest state is applied the last
+        final WorkspaceImpl workspace = workspaceManagerProvider.get().getWorkspace(workspaceId);
+        if (STOPPED == workspace.getStatus()) {
+          usage.remove(workspaceId);
+        } else {
+          usage.put(workspaceId, calculateRam(workspace));
+        }
+      }
+    } catch (NotFoundException x) {
+      workspaceAccounts.remove(workspaceId);
+      if (accountId != null) {
+        try (@SuppressWarnings("unused")
+            Unlocker u = locks.writeLock(accountId)) {
+          final AccountUsage usage = accounts.get(accountId);
+          if (usage != null) {
+            usage.remove(workspaceId);
+          }
+        }
+      }
+    } catch (ServerException | RuntimeException x) {
+      LOG.error(
+          "Failed to update resources usage of workspace '{}', usage of its account will be "
+              + "reloaded. Error: {}",
+          workspaceId,
+          x.getMessage());
+      if (accountId != null) {
+        accounts.remove(accountId);
+      }
+    }
+  }
+
+  /** RAM used by active workspaces of account, guarded by the lock of the account. */
+  private static class AccountUsage {
+    final long loadedAt;
+    final Map<String, Long> workspacesRam = new HashMap<>();
+    long ram;
+
+    AccountUsage(long loadedAt) {
+      this.loadedAt = loadedAt;
+    }
+
+    void put(String workspaceId, long workspaceRam) {
+      final Long previous = workspacesRam.put(workspaceId, workspaceRam);
+      ram += workspaceRam - (previous == null ? 0 : previous);
+    }
+
+    void remove(String workspaceId) {
+      final Long previous = workspacesRam.remove(workspaceId);
+      if (previous != null) {
+        ram -= previous;
+      }
+    }
+
+    boolean sameWorkspaces(AccountUsage other) {
+      return workspacesRam.keySet().equals(other.workspacesRam.keySet());
+    }
+  }
+
+  private class WorkspaceStatusSubscriber implements EventSubscriber<WorkspaceStatusEvent> {
+    @Override
+    public void onEvent(WorkspaceStatusEvent event) {
+      refreshAsync(event.getWorkspaceId());
+    }
+  }
+
+  private class MachineStatusSubscriber implements EventSubscriber<MachineStatusEvent> {
+    @Override
+    public void onEvent(MachineStatusEvent event) {
+      if (event.getEventType() == MachineStatusEvent.EventType.RUNNING
+          || event.getEventType() == MachineStatusEvent.EventType.DESTROYED) {
+        refreshAsync(event.getWorkspaceId());
+      }
+    }
+  }
+}
@@ -46,6 +46,7 @@ import org.eclipse.che.multiuser.resource.api.type.WorkspaceResourceType;
 import org.eclipse.che.multiuser.resource.api.usage.ResourceUsageManager;
 import org.eclipse.che.multiuser.resource.api.usage.ResourcesLocks;
 import org.eclipse.che.multiuser.resource.api.usage.tracker.EnvironmentRamCalculator;
+import org.eclipse.che.multiuser.resource.api.usage.tracker.WorkspaceUsageLedger;
 import org.eclipse.che.multiuser.resource.model.Resource;
 import org.eclipse.che.multiuser.resource.spi.impl.ResourceImpl;
 
@@ -65,6 +66,7 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
   private final ResourceUsageManager resourceUsageManager;
   private final ResourcesLocks resourcesLocks;
   private final AccountManager accountManager;
+  private final WorkspaceUsageLedger usageLedger;
 
   private final long maxRamPerEnvMB;
 
@@ -82,7 +84,8 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
       @Named("che.limits.workspace.env.ram") String maxRamPerEnv,
       EnvironmentRamCalculator environmentRamCalculator,
       ResourceUsageManager resourceUsageManager,
-      ResourcesLocks resourcesLocks) {
+      ResourcesLocks resourcesLocks,
+      WorkspaceUsageLedger usageLedger) {
     super(
         workspaceDao,
         runtimes,
@@ -97,6 +100,7 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
     this.resourceUsageManager = resourceUsageManager;
     this.resourcesLocks = resourcesLocks;
     this.accountManager = accountManager;
+    this.usageLedger = usageLedger;
   }
 
   @Override
@@ -136,10 +140,13 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
     try (@SuppressWarnings("unused")
         Unlocker u = resourcesLocks.lock(accountId)) {
       checkRuntimeResourceAvailability(accountId);
-      checkRamResourcesAvailability(
-          accountId, workspace.getNamespace(), workspace.getConfig(), envName);
+      final long ramMB =
+          checkRamResourcesAvailability(
+              accountId, workspace.getNamespace(), workspace.getConfig(), envName);
 
-      return super.startWorkspace(workspaceId, envName, restore);
+      final WorkspaceImpl started = super.startWorkspace(workspaceId, envName, restore);
+      usageLedger.addStartingWorkspace(accountId, started.getId(), ramMB);
+      return started;
     }
   }
 
@@ -153,9 +160,11 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
         Unlocker u = resourcesLocks.lock(accountId)) {
       checkWorkspaceResourceAvailability(accountId);
       checkRuntimeResourceAvailability(accountId);
-      checkRamResourcesAvailability(accountId, namespace, config, null);
+      final long ramMB = checkRamResourcesAvailability(accountId, namespace, config, null);
 
-      return super.startWorkspace(config, namespace, isTemporary);
+      final WorkspaceImpl started = super.startWorkspace(config, namespace, isTemporary);
+      usageLedger.addStartingWorkspace(accountId, started.getId(), ramMB);
+      return started;
     }
   }
 
@@ -208,8 +217,13 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
     }
   }
 
+  /**
+   * Checks that account has enough RAM to start the environment of workspace.
+   *
+   * @return RAM in megabytes required by the environment
+   */
   @VisibleForTesting
-  void checkRamResourcesAvailability(
+  long checkRamResourcesAvailability(
       String accountId, String namespace, WorkspaceConfig config, @Nullable String envName)
       throws NotFoundException, ServerException, ConflictException {
 
@@ -222,6 +236,7 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
             RamResourceType.UNIT);
     try {
       resourceUsageManager.checkResourcesAvailability(accountId, singletonList(ramToUse));
+      return ramToUse.getAmount();
     } catch (NoEnoughResourcesException e) {
       final Resource requiredRam =
           e.getRequiredResources().get(0); // starting of workspace requires only RAM resource
@@ -29,15 +29,16 @@ import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineLimitsImpl;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.multiuser.resource.api.type.RamResourceType;
 import org.eclipse.che.multiuser.resource.model.Resource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -55,12 +56,22 @@ public class RamResourceUsageTrackerTest {
   @Mock private Provider<WorkspaceManager> workspaceManagerProvider;
   @Mock private WorkspaceManager workspaceManager;
   @Mock private AccountManager accountManager;
+  @Mock private EnvironmentRamCalculator environmentRamCalculator;
+  @Mock private EventService eventService;
 
-  @InjectMocks private RamResourceUsageTracker ramUsageTracker;
+  private RamResourceUsageTracker ramUsageTracker;
 
   @BeforeMethod
   public void setUp() throws Exception {
     when(workspaceManagerProvider.get()).thenReturn(workspaceManager);
+    ramUsageTracker =
+        new RamResourceUsageTracker(
+            new WorkspaceUsageLedger(
+                workspaceManagerProvider,
+                accountManager,
+                environmentRamCalculator,
+                eventService,
+                60));
   }
 
   @Test(
@@ -129,6 +140,7 @@ public class RamResourceUsageTrackerTest {
       machines.add(createMachine(machineRam));
     }
     return WorkspaceImpl.builder()
+        .setId(NameGenerator.generate("workspace", 16))
         .setRuntime(new WorkspaceRuntimeImpl(null, null, machines, null))
         .setStatus(status)
         .build();
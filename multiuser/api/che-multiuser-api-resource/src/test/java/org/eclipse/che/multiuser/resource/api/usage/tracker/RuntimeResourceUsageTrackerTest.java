@@ -29,11 +29,12 @@ import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.multiuser.resource.api.type.RuntimeResourceType;
 import org.eclipse.che.multiuser.resource.model.Resource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -51,12 +52,22 @@ public class RuntimeResourceUsageTrackerTest {
   @Mock private WorkspaceManager workspaceManager;
   @Mock private AccountManager accountManager;
   @Mock private Account account;
+  @Mock private EnvironmentRamCalculator environmentRamCalculator;
+  @Mock private EventService eventService;
 
-  @InjectMocks private RuntimeResourceUsageTracker runtimeResourceUsageTracker;
+  private RuntimeResourceUsageTracker runtimeResourceUsageTracker;
 
   @BeforeMethod
   public void setUp() throws Exception {
     when(workspaceManagerProvider.get()).thenReturn(workspaceManager);
+    runtimeResourceUsageTracker =
+        new RuntimeResourceUsageTracker(
+            new WorkspaceUsageLedger(
+                workspaceManagerProvider,
+                accountManager,
+                environmentRamCalculator,
+                eventService,
+                60));
   }
 
   @Test(
@@ -103,11 +114,14 @@ public class RuntimeResourceUsageTrackerTest {
         usedRuntimes.getAmount(), WorkspaceStatus.values().length - 1); // except stopped workspaces
     assertEquals(usedRuntimes.getUnit(), RuntimeResourceType.UNIT);
     verify(accountManager).getById(eq("account123"));
-    verify(workspaceManager).getByNamespace(eq("testAccount"), eq(false));
+    verify(workspaceManager).getByNamespace(eq("testAccount"), eq(true));
   }
 
   /** Creates users workspace object based on the status. */
   public static WorkspaceImpl createWorkspace(WorkspaceStatus status) {
-    return WorkspaceImpl.builder().setStatus(status).build();
+    return WorkspaceImpl.builder()
+        .setId(NameGenerator.generate("workspace", 16))
+        .setStatus(status)
+        .build();
   }
 }
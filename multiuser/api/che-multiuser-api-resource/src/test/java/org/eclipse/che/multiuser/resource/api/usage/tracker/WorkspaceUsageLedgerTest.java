@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.resource.api.usage.tracker;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.multiuser.resource.api.usage.tracker.RamResourceUsageTrackerTest.createWorkspace;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import javax.inject.Provider;
+import org.eclipse.che.account.api.AccountManager;
+import org.eclipse.che.account.shared.model.Account;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link WorkspaceUsageLedger}. */
+@Listeners(MockitoTestNGListener.class)
+public class WorkspaceUsageLedgerTest {
+  private static final String ACCOUNT_ID = "account123";
+  private static final String ACCOUNT_NAME = "testAccount";
+
+  @Mock private Account account;
+  @Mock private Provider<WorkspaceManager> workspaceManagerProvider;
+  @Mock private WorkspaceManager workspaceManager;
+  @Mock private AccountManager accountManager;
+  @Mock private EnvironmentRamCalculator environmentRamCalculator;
+  @Mock private EventService eventService;
+
+  private WorkspaceUsageLedger ledger;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(workspaceManagerProvider.get()).thenReturn(workspaceManager);
+    when(accountManager.getById(ACCOUNT_ID)).thenReturn(account);
+    when(account.getName()).thenReturn(ACCOUNT_NAME);
+    ledger = createLedger(60);
+  }
+
+  @Test
+  public void shouldLoadUsageOfAccountOnlyOnce() throws Exception {
+    when(workspaceManager.getByNamespace(ACCOUNT_NAME, true))
+        .thenReturn(
+            asList(
+                createWorkspace(WorkspaceStatus.RUNNING, 1000, 500),
+                createWorkspace(WorkspaceStatus.STOPPED, 2000)));
+
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 1500L);
+    assertEquals(ledger.getActiveWorkspacesCount(ACCOUNT_ID), 1);
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 1500L);
+
+    verify(workspaceManager, times(1)).getByNamespace(ACCOUNT_NAME, true);
+  }
+
+  @Test
+  public void shouldReloadUsageOfAccountWhenReconcilePeriodIsPassed() throws Exception {
+    ledger = createLedger(0);
+    when(workspaceManager.getByNamespace(ACCOUNT_NAME, true))
+        .thenReturn(singletonList(createWorkspace(WorkspaceStatus.RUNNING, 1000)))
+        .thenReturn(emptyList());
+
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 1000L);
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 0L);
+
+    verify(workspaceManager, times(2)).getByNamespace(ACCOUNT_NAME, true);
+  }
+
+  @Test
+  public void shouldAddStartingWorkspaceToUsageOfAccount() throws Exception {
+    when(workspaceManager.getByNamespace(ACCOUNT_NAME, true)).thenReturn(emptyList());
+    ledger.getUsedRam(ACCOUNT_ID);
+    final WorkspaceImpl starting = createWorkspace(WorkspaceStatus.STARTING, 3000);
+    when(workspaceManager.getWorkspace(starting.getId())).thenReturn(starting);
+
+    ledger.addStartingWorkspace(ACCOUNT_ID, starting.getId(), 3000);
+
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 3000L);
+    assertEquals(ledger.getActiveWorkspacesCount(ACCOUNT_ID), 1);
+  }
+
+  @Test
+  public void shouldNotAddStartingWorkspaceIfItIsStoppedBeforeBeingAdded() throws Exception {
+    when(workspaceManager.getByNamespace(ACCOUNT_NAME, true)).thenReturn(emptyList());
+    ledger.getUsedRam(ACCOUNT_ID);
+    final WorkspaceImpl failed = createWorkspace(WorkspaceStatus.STOPPED, 3000);
+    // start failed and event of the stopped workspace is handled before the workspace is added
+    when(workspaceManager.getWorkspace(failed.getId())).thenReturn(failed);
+
+    ledger.addStartingWorkspace(ACCOUNT_ID, failed.getId(), 3000);
+
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 0L);
+    assertEquals(ledger.getActiveWorkspacesCount(ACCOUNT_ID), 0);
+  }
+
+  @Test
+  public void shouldRemoveStartingWorkspaceIfItIsStoppedAfterBeingAdded() throws Exception {
+    when(workspaceManager.getByNamespace(ACCOUNT_NAME, true)).thenReturn(emptyList());
+    ledger.getUsedRam(ACCOUNT_ID);
+    final WorkspaceImpl starting = createWorkspace(WorkspaceStatus.STARTING, 3000);
+    final WorkspaceImpl failed = createWorkspace(WorkspaceStatus.STOPPED, 3000);
+    failed.setId(starting.getId());
+    when(workspaceManager.getWorkspace(starting.getId())).thenReturn(starting, failed);
+
+    ledger.addStartingWorkspace(ACCOUNT_ID, starting.getId(), 3000);
+    ledger.refresh(starting.getId());
+
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 0L);
+  }
+
+  @Test
+  public void shouldUpdateRamOfWorkspaceOnRefresh() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(WorkspaceStatus.RUNNING, 1000);
+    when(workspaceManager.getByNamespace(ACCOUNT_NAME, true)).thenReturn(singletonList(workspace));
+    ledger.getUsedRam(ACCOUNT_ID);
+    final WorkspaceImpl withNewMachine = createWorkspace(WorkspaceStatus.RUNNING, 1000, 2000);
+    withNewMachine.setId(workspace.getId());
+    when(workspaceManager.getWorkspace(workspace.getId())).thenReturn(withNewMachine);
+
+    ledger.refresh(workspace.getId());
+
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 3000L);
+    assertEquals(ledger.getActiveWorkspacesCount(ACCOUNT_ID), 1);
+  }
+
+  @Test
+  public void shouldRemoveStoppedWorkspaceFromUsageOfAccountOnRefresh() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(WorkspaceStatus.RUNNING, 1000);
+    when(workspaceManager.getByNamespace(ACCOUNT_NAME, true)).thenReturn(singletonList(workspace));
+    ledger.getUsedRam(ACCOUNT_ID);
+    final WorkspaceImpl stopped = createWorkspace(WorkspaceStatus.STOPPED, 1000);
+    stopped.setId(workspace.getId());
+    when(workspaceManager.getWorkspace(workspace.getId())).thenReturn(stopped);
+
+    ledger.refresh(workspace.getId());
+
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 0L);
+    assertEquals(ledger.getActiveWorkspacesCount(ACCOUNT_ID), 0);
+  }
+
+  @Test
+  public void shouldRemoveWorkspaceFromUsageOfAccountWhenItIsNotFoundOnRefresh() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(WorkspaceStatus.RUNNING, 1000);
+    when(workspaceManager.getByNamespace(ACCOUNT_NAME, true)).thenReturn(singletonList(workspace));
+    ledger.getUsedRam(ACCOUNT_ID);
+    when(workspaceManager.getWorkspace(workspace.getId()))
+        .thenThrow(new NotFoundException("not found"));
+
+    ledger.refresh(workspace.getId());
+
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 0L);
+  }
+
+  private WorkspaceUsageLedger createLedger(long reconcilePeriodSec) {
+    return new WorkspaceUsageLedger(
+        workspaceManagerProvider,
+        accountManager,
+        environmentRamCalculator,
+        eventService,
+        reconcilePeriodSec);
+  }
+}
@@ -10,6 +10,12 @@
  */
 package org.eclipse.che.multiuser.keycloak.server;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import io.jsonwebtoken.Claims;
@@ -28,7 +34,10 @@ import java.security.PublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
+import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -43,6 +52,13 @@ import org.eclipse.che.multiuser.keycloak.shared.KeycloakConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Verifies signature of the JWT token which is sent with the request and passes parsed token to the
+ * next filters as {@code token} request attribute.
+ *
+ * <p>Verified tokens are cached by their hash until they are expired, so signature of the token is
+ * verified once for all the requests sent with it.
+ */
 @Singleton
 public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
   private static final Gson GSON = new Gson();
@@ -55,17 +71,28 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
   private long allowedClockSkewSec;
   private PublicKey publicKey = null;
   private RequestTokenExtractor tokenExtractor;
+  private final Cache<String, Jws<Claims>> verifiedTokens;
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
 
   @Inject
   public KeycloakAuthenticationFilter(
       @Named(KeycloakConstants.AUTH_SERVER_URL_SETTING) String authServerUrl,
       @Named(KeycloakConstants.REALM_SETTING) String realm,
       @Named(KeycloakConstants.ALLOWED_CLOCK_SKEW_SEC) long allowedClockSkewSec,
+      @Named(KeycloakConstants.TOKEN_CACHE_MAX_SIZE) long tokenCacheMaxSize,
+      @Named(KeycloakConstants.TOKEN_CACHE_EXPIRE_AFTER_WRITE_SEC)
+          long tokenCacheExpireAfterWriteSec,
       RequestTokenExtractor tokenExtractor) {
     this.authServerUrl = authServerUrl;
     this.realm = realm;
     this.allowedClockSkewSec = allowedClockSkewSec;
     this.tokenExtractor = tokenExtractor;
+    this.verifiedTokens =
+        CacheBuilder.newBuilder()
+            .maximumSize(tokenCacheMaxSize)
+            .expireAfterWrite(tokenCacheExpireAfterWriteSec, TimeUnit.SECONDS)
+            .build();
   }
 
   @Override
@@ -86,76 +113,123 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
       return;
     }
 
-    Jws<Claims> jwt;
-    try {
-      jwt =
-          Jwts.parser()
-              .setAllowedClockSkewSeconds(allowedClockSkewSec)
-              .setSigningKey(getJwtPublicKey(false))
-              .parseClaimsJws(token);
-      LOG.debug("JWT = ", jwt);
-      // OK, we can trust this JWT
-    } catch (SignatureException
-        | NoSuchAlgorithmException
-        | InvalidKeySpecException
-        | IllegalArgumentException e) {
-      // don't trust the JWT!
-      LOG.error("Failed verifying the JWT token", e);
+    final String tokenHash = Hashing.sha256().hashString(token, UTF_8).toString();
+    Jws<Claims> jwt = getCachedJwt(tokenHash);
+    if (jwt == null) {
+      cacheMisses.increment();
       try {
-        LOG.info("Retrying after updating the public key", e);
-        jwt =
-            Jwts.parser()
-                .setAllowedClockSkewSeconds(allowedClockSkewSec)
-                .setSigningKey(getJwtPublicKey(true))
-                .parseClaimsJws(token);
+        jwt = parseJwt(token, false);
         LOG.debug("JWT = ", jwt);
         // OK, we can trust this JWT
       } catch (SignatureException
           | NoSuchAlgorithmException
           | InvalidKeySpecException
-          | IllegalArgumentException ee) {
+          | IllegalArgumentException e) {
         // don't trust the JWT!
-        LOG.error("Failed verifying the JWT token after public key update", e);
-        send403(res);
-        return;
+        LOG.error("Failed verifying the JWT token", e);
+        try {
+          LOG.info("Retrying after updating the public key", e);
+          jwt = parseJwt(token, true);
+          LOG.debug("JWT = ", jwt);
+          // OK, we can trust this JWT
+        } catch (SignatureException
+            | NoSuchAlgorithmException
+            | InvalidKeySpecException
+            | IllegalArgumentException ee) {
+          // don't trust the JWT!
+          LOG.error("Failed verifying the JWT token after public key update", e);
+          send403(res);
+          return;
+        }
       }
+      verifiedTokens.put(tokenHash, jwt);
+    } else {
+      cacheHits.increment();
     }
     request.setAttribute("token", jwt);
     chain.doFilter(req, res);
   }
 
+  /** Number of requests with tokens which were already verified. */
+  public long getTokenCacheHitCount() {
+    return cacheHits.sum();
+  }
+
+  /** Number of requests with tokens which signature was verified. */
+  public long getTokenCacheMissCount() {
+    return cacheMisses.sum();
+  }
+
+  /**
+   * Returns previously verified token with given hash or null if there is no such token or it is
+   * expired or not valid yet, so it must be verified again.
+   */
+  private Jws<Claims> getCachedJwt(String tokenHash) {
+    final Jws<Claims> jwt = verifiedTokens.getIfPresent(tokenHash);
+    if (jwt == null) {
+      return null;
+    }
+    final long now = System.currentTimeMillis();
+    final long skewMs = allowedClockSkewSec * 1000;
+    final Date expiration = jwt.getBody().getExpiration();
+    final Date notBefore = jwt.getBody().getNotBefore();
+    if ((expiration != null && now - skewMs > expiration.getTime())
+        || (notBefore != null && now + skewMs < notBefore.getTime())) {
+      verifiedTokens.invalidate(tokenHash);
+      return null;
+    }
+    return jwt;
+  }
+
+  private Jws<Claims> parseJwt(String token, boolean resetPublicKey)
+      throws NoSuchAlgorithmException, InvalidKeySpecException {
+    return Jwts.parser()
+        .setAllowedClockSkewSeconds(allowedClockSkewSec)
+        .setSigningKey(getJwtPublicKey(resetPublicKey))
+        .parseClaimsJws(token);
+  }
+
   private synchronized PublicKey getJwtPublicKey(boolean reset)
       throws NoSuchAlgorithmException, InvalidKeySpecException {
     if (reset) {
       publicKey = null;
+      // tokens verified with the previous key must be verified again
+      verifiedTokens.invalidateAll();
     }
     if (publicKey == null) {
-      HttpURLConnection conn = null;
-      try {
-        URL url = new URL(authServerUrl + "/realms/" + realm);
-        LOG.info("Pulling realm public key from URL : {}", url);
-        conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod("GET");
-        Map<String, String> realmSettings;
-        try (BufferedReader in = new BufferedReader(new InputStreamReader(conn.getInputStream()))) {
-          realmSettings = GSON.fromJson(in, STRING_MAP_TYPE);
-        }
-        String encodedPublicKey = realmSettings.get("public_key");
-        byte[] decoded = Base64.getDecoder().decode(encodedPublicKey);
-        X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decoded);
-        KeyFactory kf = KeyFactory.getInstance("RSA");
-        publicKey = kf.generatePublic(keySpec);
-      } catch (IOException e) {
-        LOG.error("Exception during retrieval of the Keycloak realm public key", e);
-      } finally {
-        if (conn != null) {
-          conn.disconnect();
-        }
-      }
+      publicKey = loadRealmPublicKey();
     }
     return publicKey;
   }
 
+  /** Pulls public key of the realm from Keycloak, returns null if it can't be retrieved. */
+  @VisibleForTesting
+  PublicKey loadRealmPublicKey() throws NoSuchAlgorithmException, InvalidKeySpecException {
+    HttpURLConnection conn = null;
+    try {
+      URL url = new URL(authServerUrl + "/realms/" + realm);
+      LOG.info("Pulling realm public key from URL : {}", url);
+      conn = (HttpURLConnection) url.openConnection();
+      conn.setRequestMethod("GET");
+      Map<String, String> realmSettings;
+      try (BufferedReader in = new BufferedReader(new InputStreamReader(conn.getInputStream()))) {
+        realmSettings = GSON.fromJson(in, STRING_MAP_TYPE);
+      }
+      String encodedPublicKey = realmSettings.get("public_key");
+      byte[] decoded = Base64.getDecoder().decode(encodedPublicKey);
+      X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decoded);
+      KeyFactory kf = KeyFactory.getInstance("RSA");
+      return kf.generatePublic(keySpec);
+    } catch (IOException e) {
+      LOG.error("Exception during retrieval of the Keycloak realm public key", e);
+      return null;
+    } finally {
+      if (conn != null) {
+        conn.disconnect();
+      }
+    }
+  }
+
   private void send403(ServletResponse res) throws IOException {
     HttpServletResponse response = (HttpServletResponse) res;
     response.sendError(403);
@@ -12,13 +12,20 @@ package org.eclipse.che.multiuser.keycloak.server;
 
 import static java.util.Collections.emptyList;
 import static org.eclipse.che.commons.lang.NameGenerator.generate;
+import static org.eclipse.che.multiuser.keycloak.shared.KeycloakConstants.SUBJECT_CACHE_EXPIRE_AFTER_WRITE_SEC;
+import static org.eclipse.che.multiuser.keycloak.shared.KeycloakConstants.SUBJECT_CACHE_MAX_SIZE;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwt;
 import java.io.IOException;
 import java.security.Principal;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -35,6 +42,8 @@ import org.eclipse.che.api.user.server.UserManager;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.commons.auth.token.RequestTokenExtractor;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.multiuser.api.permission.server.AuthorizedSubject;
@@ -43,6 +52,9 @@ import org.eclipse.che.multiuser.api.permission.server.PermissionChecker;
 /**
  * Sets subject attribute into session based on keycloak authentication data.
  *
+ * <p>Subjects are cached by user id, so that new sessions of already known users don't require
+ * lookup of the user. Creation of users on their first login is serialized per user id.
+ *
  * @author Max Shaposhnik (mshaposhnik@redhat.com)
  */
 @Singleton
@@ -51,15 +63,27 @@ public class KeycloakEnvironmentInitalizationFilter extends AbstractKeycloakFilt
   private final UserManager userManager;
   private final RequestTokenExtractor tokenExtractor;
   private final PermissionChecker permissionChecker;
+  private final Cache<String, Subject> subjects;
+  private final StripedLocks userCreationLocks;
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
 
   @Inject
   public KeycloakEnvironmentInitalizationFilter(
       UserManager userManager,
       RequestTokenExtractor tokenExtractor,
-      PermissionChecker permissionChecker) {
+      PermissionChecker permissionChecker,
+      @Named(SUBJECT_CACHE_MAX_SIZE) long subjectCacheMaxSize,
+      @Named(SUBJECT_CACHE_EXPIRE_AFTER_WRITE_SEC) long subjectCacheExpireAfterWriteSec) {
     this.userManager = userManager;
     this.tokenExtractor = tokenExtractor;
     this.permissionChecker = permissionChecker;
+    this.subjects =
+        CacheBuilder.newBuilder()
+            .maximumSize(subjectCacheMaxSize)
+            .expireAfterWrite(subjectCacheExpireAfterWriteSec, TimeUnit.SECONDS)
+            .build();
+    this.userCreationLocks = new StripedLocks(16);
   }
 
   @Override
@@ -83,14 +107,7 @@ public class KeycloakEnvironmentInitalizationFilter extends AbstractKeycloakFilt
       Claims claims = (Claims) jwtToken.getBody();
 
       try {
-        User user =
-            getOrCreateUser(
-                claims.getSubject(),
-                claims.get("email", String.class),
-                claims.get("preferred_username", String.class));
-        subject =
-            new AuthorizedSubject(
-                new SubjectImpl(user.getName(), user.getId(), token, false), permissionChecker);
+        subject = getSubject(claims, token);
         session.setAttribute("che_subject", subject);
       } catch (ServerException | ConflictException e) {
         throw new ServletException(
@@ -106,11 +123,55 @@ public class KeycloakEnvironmentInitalizationFilter extends AbstractKeycloakFilt
     }
   }
 
+  /** Number of sessions which subject was taken from the cache. */
+  public long getSubjectCacheHitCount() {
+    return cacheHits.sum();
+  }
+
+  /** Number of sessions which subject was created after user lookup. */
+  public long getSubjectCacheMissCount() {
+    return cacheMisses.sum();
+  }
+
+  /**
+   * Returns subject of the user the token is issued for. Subjects are cached by user id, so users
+   * are looked up in the database only once for all their sessions and tokens.
+   */
+  private Subject getSubject(Claims claims, String token)
+      throws ServerException, ConflictException {
+    final String userId = claims.getSubject();
+    final Subject cached = subjects.getIfPresent(userId);
+    if (cached != null) {
+      cacheHits.increment();
+      if (token.equals(cached.getToken())) {
+        return cached;
+      }
+      final Subject subject =
+          new AuthorizedSubject(
+              new SubjectImpl(cached.getUserName(), cached.getUserId(), token, false),
+              permissionChecker);
+      subjects.put(userId, subject);
+      return subject;
+    }
+    cacheMisses.increment();
+    final User user =
+        getOrCreateUser(
+            userId,
+            claims.get("email", String.class),
+            claims.get("preferred_username", String.class));
+    final Subject subject =
+        new AuthorizedSubject(
+            new SubjectImpl(user.getName(), user.getId(), token, false), permissionChecker);
+    subjects.put(userId, subject);
+    return subject;
+  }
+
   private User getOrCreateUser(String id, String email, String username)
       throws ServerException, ConflictException {
     Optional<User> user = getUser(id);
     if (!user.isPresent()) {
-      synchronized (this) {
+      try (@SuppressWarnings("unused")
+          Unlocker unlocker = userCreationLocks.writeLock(id)) {
         user = getUser(id);
         if (!user.isPresent()) {
           final UserImpl cheUser = new UserImpl(id, email, username, generate("", 12), emptyList());
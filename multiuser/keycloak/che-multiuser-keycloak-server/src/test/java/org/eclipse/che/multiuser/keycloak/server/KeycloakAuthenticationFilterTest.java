@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.Date;
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.eclipse.che.commons.auth.token.RequestTokenExtractor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests caching of verified tokens in {@link KeycloakAuthenticationFilter}. */
+@Listeners(MockitoTestNGListener.class)
+public class KeycloakAuthenticationFilterTest {
+
+  @Mock private RequestTokenExtractor tokenExtractor;
+  @Mock private HttpServletRequest request;
+  @Mock private HttpServletResponse response;
+  @Mock private FilterChain chain;
+
+  /** Key pair of the realm, its public key is returned when filter loads the realm key. */
+  private KeyPair realmKeys;
+
+  private int realmKeyLoads;
+  private KeycloakAuthenticationFilter filter;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    realmKeys = generateKeys();
+    realmKeyLoads = 0;
+    when(request.getScheme()).thenReturn("http");
+    filter =
+        new KeycloakAuthenticationFilter("http://keycloak", "che", 0, 100, 3600, tokenExtractor) {
+          @Override
+          PublicKey loadRealmPublicKey() {
+            realmKeyLoads++;
+            return realmKeys.getPublic();
+          }
+        };
+  }
+
+  @Test
+  public void shouldVerifyTokenOnceForAllRequestsWithIt() throws Exception {
+    when(tokenExtractor.getToken(request)).thenReturn(token(realmKeys, 60_000));
+
+    filter.doFilter(request, response, chain);
+    filter.doFilter(request, response, chain);
+
+    verify(request, times(2)).setAttribute(eq("token"), any(Jws.class));
+    verify(chain, times(2)).doFilter(request, response);
+    assertEquals(filter.getTokenCacheMissCount(), 1);
+    assertEquals(filter.getTokenCacheHitCount(), 1);
+  }
+
+  @Test
+  public void shouldVerifyCachedTokenAgainWhenItIsExpired() throws Exception {
+    when(tokenExtractor.getToken(request)).thenReturn(token(realmKeys, 1_000));
+    filter.doFilter(request, response, chain);
+
+    // expiration time of the token has seconds precision
+    Thread.sleep(1_100);
+    try {
+      filter.doFilter(request, response, chain);
+      fail("Expired token must not be taken from the cache");
+    } catch (ExpiredJwtException expected) {
+    }
+
+    verify(chain).doFilter(request, response);
+    assertEquals(filter.getTokenCacheMissCount(), 2);
+    assertEquals(filter.getTokenCacheHitCount(), 0);
+  }
+
+  @Test
+  public void shouldVerifyCachedTokensAgainWhenRealmKeyIsChanged() throws Exception {
+    final String oldToken = token(realmKeys, 60_000);
+    final KeyPair newKeys = generateKeys();
+    final String newToken = token(newKeys, 60_000);
+    when(tokenExtractor.getToken(request)).thenReturn(oldToken, newToken, oldToken);
+
+    filter.doFilter(request, response, chain);
+    realmKeys = newKeys;
+    filter.doFilter(request, response, chain);
+    // token signed with the previous key is not trusted anymore
+    filter.doFilter(request, response, chain);
+
+    verify(chain, times(2)).doFilter(request, response);
+    verify(response).sendError(403);
+    assertEquals(filter.getTokenCacheHitCount(), 0);
+  }
+
+  @Test
+  public void shouldNotCacheTokenWhichIsNotVerified() throws Exception {
+    when(tokenExtractor.getToken(request)).thenReturn(token(generateKeys(), 60_000));
+
+    filter.doFilter(request, response, chain);
+    filter.doFilter(request, response, chain);
+
+    verify(chain, never()).doFilter(request, response);
+    verify(response, times(2)).sendError(403);
+    assertEquals(filter.getTokenCacheHitCount(), 0);
+  }
+
+  private static String token(KeyPair keys, long expiresInMs) {
+    return Jwts.builder()
+        .setSubject("user123")
+        .setExpiration(new Date(System.currentTimeMillis() + expiresInMs))
+        .signWith(SignatureAlgorithm.RS256, keys.getPrivate())
+        .compact();
+  }
+
+  private static KeyPair generateKeys() throws Exception {
+    final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    return generator.generateKeyPair();
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwt;
+import java.util.ArrayList;
+import java.util.List;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.model.user.User;
+import org.eclipse.che.api.user.server.UserManager;
+import org.eclipse.che.api.user.server.model.impl.UserImpl;
+import org.eclipse.che.commons.auth.token.RequestTokenExtractor;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.multiuser.api.permission.server.PermissionChecker;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests caching of subjects in {@link KeycloakEnvironmentInitalizationFilter}. */
+@Listeners(MockitoTestNGListener.class)
+public class KeycloakEnvironmentInitalizationFilterTest {
+
+  @Mock private UserManager userManager;
+  @Mock private RequestTokenExtractor tokenExtractor;
+  @Mock private PermissionChecker permissionChecker;
+  @Mock private HttpServletResponse response;
+  @Mock private FilterChain chain;
+
+  /** Subjects which were set into environment context while requests were processed. */
+  private List<Subject> subjects;
+
+  private KeycloakEnvironmentInitalizationFilter filter;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    subjects = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              subjects.add(EnvironmentContext.getCurrent().getSubject());
+              return null;
+            })
+        .when(chain)
+        .doFilter(any(ServletRequest.class), any(ServletResponse.class));
+    when(userManager.getById("user1")).thenReturn(new UserImpl("user1", "user1@che", "user1"));
+    when(userManager.getById("user2")).thenReturn(new UserImpl("user2", "user2@che", "user2"));
+
+    filter =
+        new KeycloakEnvironmentInitalizationFilter(
+            userManager, tokenExtractor, permissionChecker, 100, 3600);
+  }
+
+  @Test
+  public void shouldLookUpUserOnceForAllSessionsOfTheUser() throws Exception {
+    filter.doFilter(request("user1", "token1"), response, chain);
+    filter.doFilter(request("user1", "token1"), response, chain);
+
+    verify(userManager).getById("user1");
+    assertEquals(subjects.size(), 2);
+    for (Subject subject : subjects) {
+      assertEquals(subject.getUserId(), "user1");
+      assertEquals(subject.getUserName(), "user1");
+      assertEquals(subject.getToken(), "token1");
+    }
+    assertEquals(filter.getSubjectCacheMissCount(), 1);
+    assertEquals(filter.getSubjectCacheHitCount(), 1);
+  }
+
+  @Test
+  public void shouldUseRefreshedTokenForCachedUser() throws Exception {
+    filter.doFilter(request("user1", "token1"), response, chain);
+    filter.doFilter(request("user1", "token2"), response, chain);
+    filter.doFilter(request("user1", "token2"), response, chain);
+
+    verify(userManager).getById("user1");
+    assertEquals(subjects.get(0).getToken(), "token1");
+    assertEquals(subjects.get(1).getToken(), "token2");
+    assertEquals(subjects.get(1).getUserId(), "user1");
+    assertEquals(subjects.get(2).getToken(), "token2");
+  }
+
+  @Test
+  public void shouldKeepSubjectsOfDifferentUsersSeparately() throws Exception {
+    filter.doFilter(request("user1", "token1"), response, chain);
+    filter.doFilter(request("user2", "token2"), response, chain);
+
+    verify(userManager).getById("user1");
+    verify(userManager).getById("user2");
+    assertEquals(subjects.get(0).getUserId(), "user1");
+    assertEquals(subjects.get(1).getUserId(), "user2");
+    assertEquals(filter.getSubjectCacheMissCount(), 2);
+  }
+
+  @Test
+  public void shouldCreateUserOnFirstLoginAndCacheIt() throws Exception {
+    when(userManager.getById("new-user")).thenThrow(new NotFoundException("not found"));
+    when(userManager.create(any(User.class), eq(false)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    filter.doFilter(request("new-user", "token1"), response, chain);
+    filter.doFilter(request("new-user", "token1"), response, chain);
+
+    verify(userManager).create(any(User.class), eq(false));
+    assertEquals(subjects.get(0).getUserId(), "new-user");
+    assertEquals(subjects.get(1).getUserId(), "new-user");
+  }
+
+  @Test
+  public void shouldNotLookUpUserIfSessionHasSubjectWithTheSameToken() throws Exception {
+    final HttpServletRequest request = request("user1", "token1");
+    filter.doFilter(request, response, chain);
+    when(request.getSession().getAttribute("che_subject")).thenReturn(subjects.get(0));
+
+    filter.doFilter(request, response, chain);
+
+    verify(userManager).getById(anyString());
+    assertEquals(filter.getSubjectCacheMissCount(), 1);
+    assertEquals(filter.getSubjectCacheHitCount(), 0);
+    verify(userManager, never()).create(any(User.class), eq(false));
+  }
+
+  /** Creates request of a new session with the token issued for the user. */
+  private HttpServletRequest request(String userId, String token) {
+    final HttpServletRequest request = mock(HttpServletRequest.class);
+    final HttpSession session = mock(HttpSession.class);
+    final Jwt jwt = mock(Jwt.class);
+    final Claims claims = mock(Claims.class);
+    when(request.getScheme()).thenReturn("http");
+    when(request.getSession()).thenReturn(session);
+    when(request.getAttribute("token")).thenReturn(jwt);
+    when(jwt.getBody()).thenReturn(claims);
+    when(claims.getSubject()).thenReturn(userId);
+    when(tokenExtractor.getToken(request)).thenReturn(token);
+    return request;
+  }
+}
@@ -54,6 +54,14 @@ import org.eclipse.che.multiuser.permission.workspace.server.model.Worker;
             + "FROM Worker worker "
             + "WHERE worker.userId = :userId "
             + "AND worker.workspaceId = :workspaceId "
+  ),
+  @NamedQuery(
+    name = "Worker.getByUserAndWorkspaceIds",
+    query =
+        "SELECT worker "
+            + "FROM Worker worker "
+            + "WHERE worker.userId = :userId "
+            + "AND worker.workspaceId IN :workspaceIds "
   )
 })
 @Table(name = "che_worker")
@@ -126,6 +126,20 @@ public class JpaWorkerDao extends AbstractJpaPermissionsDao<WorkerImpl> implemen
     }
   }
 
+  @Override
+  @Transactional
+  protected List<WorkerImpl> doGetByUserAndInstances(String userId, List<String> instanceIds) {
+    return managerProvider
+        .get()
+        .createNamedQuery("Worker.getByUserAndWorkspaceIds", WorkerImpl.class)
+        .setParameter("userId", wildcardToNull(userId))
+        .setParameter("workspaceIds", instanceIds)
+        .getResultList()
+        .stream()
+        .map(WorkerImpl::new)
+        .collect(toList());
+  }
+
   @Override
   protected WorkerImpl getEntity(String userId, String instanceId) throws NotFoundException {
     try {
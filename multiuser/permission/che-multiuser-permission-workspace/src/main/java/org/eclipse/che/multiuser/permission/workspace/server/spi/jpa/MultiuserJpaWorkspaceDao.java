@@ -57,6 +57,9 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
           + "          WHERE worker.userId = :userId "
           + "          AND 'read' MEMBER OF worker.actions";
 
+  private static final String findByWorkerAfterIdQuery =
+      findByWorkerQuery + " AND ws.id > :afterId ORDER BY ws.id";
+
   @Override
   public WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
     requireNonNull(workspace, "Required non-null workspace");
@@ -156,6 +159,28 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public List<WorkspaceImpl> getByNamespace(String namespace, String afterId, int maxItems)
+      throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    try {
+      return managerProvider
+          .get()
+          .createNamedQuery("Workspace.getByNamespaceAfterId", WorkspaceImpl.class)
+          .setParameter("namespace", namespace)
+          .setParameter("afterId", afterId == null ? "" : afterId)
+          .setMaxResults(maxItems)
+          .getResultList()
+          .stream()
+          .map(WorkspaceImpl::new)
+          .collect(toList());
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException {
@@ -171,6 +196,24 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public List<WorkspaceImpl> getWorkspaces(String userId, String afterId, int maxItems)
+      throws ServerException {
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    try {
+      return managerProvider
+          .get()
+          .createQuery(findByWorkerAfterIdQuery, WorkspaceImpl.class)
+          .setParameter("userId", userId)
+          .setParameter("afterId", afterId == null ? "" : afterId)
+          .setMaxResults(maxItems)
+          .getResultList();
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems)
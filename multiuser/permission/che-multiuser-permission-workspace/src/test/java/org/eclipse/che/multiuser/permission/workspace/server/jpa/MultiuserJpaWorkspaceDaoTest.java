@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.multiuser.permission.workspace.server.jpa;
 
+import static java.util.Collections.singletonList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
@@ -132,4 +133,15 @@ public class MultiuserJpaWorkspaceDaoTest {
     assertTrue(results.contains(workspaces[0]));
     assertTrue(results.contains(workspaces[1]));
   }
+
+  @Test
+  public void shouldFindWorkspacesByPermissionsByPages() throws Exception {
+    final List<WorkspaceImpl> firstPage = dao.getWorkspaces(users[0].getId(), null, 1);
+    final List<WorkspaceImpl> secondPage = dao.getWorkspaces(users[0].getId(), "ws1", 1);
+    final List<WorkspaceImpl> thirdPage = dao.getWorkspaces(users[0].getId(), "ws2", 1);
+
+    assertEquals(firstPage, singletonList(workspaces[0]));
+    assertEquals(secondPage, singletonList(workspaces[1]));
+    assertTrue(thirdPage.isEmpty());
+  }
 }
@@ -423,7 +423,7 @@ public class DockerConnector {
   public int waitContainer(final WaitContainerParams params) throws IOException {
     try (DockerConnection connection =
         connectionFactory
-            .openConnection(dockerDaemonUri)
+            .openDedicatedConnection(dockerDaemonUri)
             .method("POST")
             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/wait")) {
       final DockerResponse response = connection.request();
@@ -488,7 +488,7 @@ public class DockerConnector {
 
     try (DockerConnection connection =
         connectionFactory
-            .openConnection(dockerDaemonUri)
+            .openDedicatedConnection(dockerDaemonUri)
             .method("POST")
             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/attach")
             .query("stdout", 1)
@@ -517,7 +517,7 @@ public class DockerConnector {
       throws IOException {
     try (DockerConnection connection =
         connectionFactory
-            .openConnection(dockerDaemonUri)
+            .openDedicatedConnection(dockerDaemonUri)
             .method("GET")
             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/logs")
             .query("stdout", 1)
@@ -594,7 +594,7 @@ public class DockerConnector {
     byte[] entityBytesArray = toJson(execStart).getBytes(StandardCharsets.UTF_8);
     try (DockerConnection connection =
         connectionFactory
-            .openConnection(dockerDaemonUri)
+            .openDedicatedConnection(dockerDaemonUri)
             .method("POST")
             .path(apiVersionPathPrefix + "/exec/" + params.getExecId() + "/start")
             .header("Content-Type", MediaType.APPLICATION_JSON)
@@ -697,7 +697,7 @@ public class DockerConnector {
     try {
       connection =
           connectionFactory
-              .openConnection(dockerDaemonUri)
+              .openDedicatedConnection(dockerDaemonUri)
               .method("GET")
               .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/archive")
               .query("path", params.getSourcePath());
@@ -776,7 +776,7 @@ public class DockerConnector {
 
     try (DockerConnection connection =
         connectionFactory
-            .openConnection(dockerDaemonUri)
+            .openDedicatedConnection(dockerDaemonUri)
             .method("GET")
             .path(apiVersionPathPrefix + "/events")) {
       addQueryParamIfNotNull(connection, "since", params.getSinceSecond());
@@ -809,7 +809,9 @@ public class DockerConnector {
     if (params.getRemote() != null) {
       // build context provided by remote URL
       DockerConnection dockerConnection =
-          connectionFactory.openConnection(dockerDaemonUri).query("remote", params.getRemote());
+          connectionFactory
+              .openDedicatedConnection(dockerDaemonUri)
+              .query("remote", params.getRemote());
       return buildImage(dockerConnection, params, progressMonitor);
     }
 
@@ -822,7 +824,7 @@ public class DockerConnector {
       try (InputStream tarInput = new FileInputStream(tar)) {
         DockerConnection dockerConnection =
             connectionFactory
-                .openConnection(dockerDaemonUri)
+                .openDedicatedConnection(dockerDaemonUri)
                 .header("Content-Type", "application/x-compressed-tar")
                 .header("Content-Length", tar.length())
                 .entity(tarInput);
@@ -992,7 +994,7 @@ public class DockerConnector {
 
     try (DockerConnection connection =
         connectionFactory
-            .openConnection(dockerDaemonUri)
+            .openDedicatedConnection(dockerDaemonUri)
             .method("POST")
             .path(apiVersionPathPrefix + "/images/" + fullRepo + "/push")
             .header(
@@ -1116,7 +1118,7 @@ public class DockerConnector {
       throws IOException {
     try (DockerConnection connection =
         connectionFactory
-            .openConnection(dockerDaemonUri)
+            .openDedicatedConnection(dockerDaemonUri)
             .method("POST")
             .path(apiVersionPathPrefix + "/images/create")
             .query("fromImage", params.getFullRepo())
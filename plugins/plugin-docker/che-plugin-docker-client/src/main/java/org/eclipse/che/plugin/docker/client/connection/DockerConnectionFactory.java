@@ -12,7 +12,9 @@ package org.eclipse.che.plugin.docker.client.connection;
 
 import com.google.inject.Inject;
 import java.net.URI;
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
@@ -21,13 +23,26 @@ import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
  *
  * <p>Detects connection implementation by checking docker daemon URI.
  *
+ * <p>Connections opened with {@link #openConnection(URI)} are reused between requests over HTTP/1.1
+ * keep-alive: unix socket connections are kept in {@link UnixSocketConnectionPool}, TCP connections
+ * are kept in the JDK keep-alive cache which is limited by {@code http.maxConnections} system
+ * property. Connections for long-lived streaming requests should be opened with {@link
+ * #openDedicatedConnection(URI)}.
+ *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
   public static final String CONNECTION_TIMEOUT_MS_PROPERTY =
       "che.docker.tcp_connection_timeout_ms";
   public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY =
       "che.docker.tcp_connection_read_timeout_ms";
+  public static final String POOL_MAX_IDLE_CONNECTIONS_PROPERTY =
+      "che.docker.connection_pool.max_idle_per_endpoint";
+  public static final String POOL_IDLE_TIMEOUT_MS_PROPERTY =
+      "che.docker.connection_pool.idle_timeout_ms";
+  public static final String POOL_MAX_CONNECTIONS_PROPERTY =
+      "che.docker.connection_pool.max_per_endpoint";
 
   @Inject(optional = true)
   @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -37,14 +52,49 @@ public class DockerConnectionFactory {
   @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
   private int connectionReadTimeoutMs = 60000;
 
+  @Inject(optional = true)
+  @Named(POOL_MAX_IDLE_CONNECTIONS_PROPERTY)
+  private int maxIdleConnections = 20;
+
+  @Inject(optional = true)
+  @Named(POOL_IDLE_TIMEOUT_MS_PROPERTY)
+  private long idleTimeoutMs = 30000;
+
+  @Inject(optional = true)
+  @Named(POOL_MAX_CONNECTIONS_PROPERTY)
+  private int maxConnections = 100;
+
   private final DockerCertificates dockerCertificates;
 
+  private volatile UnixSocketConnectionPool connectionPool;
+
   @Inject
   public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
     this.dockerCertificates = connectorConfiguration.getDockerCertificates();
   }
 
+  /**
+   * Opens connection for a short request, connection is reused by the next requests if response is
+   * fully read before connection is closed.
+   */
   public DockerConnection openConnection(URI dockerDaemonUri) {
+    if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
+      return new UnixSocketConnection(dockerDaemonUri.getPath(), getConnectionPool());
+    } else {
+      return new TcpConnection(
+          dockerDaemonUri,
+          dockerCertificates,
+          connectionTimeoutMs,
+          connectionReadTimeoutMs,
+          maxIdleConnections > 0);
+    }
+  }
+
+  /**
+   * Opens connection which is closed after the request, it should be used for streaming requests
+   * such as attaching to container or reading docker events which hold connection for a long time.
+   */
+  public DockerConnection openDedicatedConnection(URI dockerDaemonUri) {
     if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
       return new UnixSocketConnection(dockerDaemonUri.getPath());
     } else {
@@ -52,4 +102,30 @@ public class DockerConnectionFactory {
           dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
     }
   }
+
+  /** Returns pool of unix socket connections, it can be used to monitor pool utilization. */
+  public UnixSocketConnectionPool getConnectionPool() {
+    UnixSocketConnectionPool pool = connectionPool;
+    if (pool == null) {
+      synchronized (this) {
+        pool = connectionPool;
+        if (pool == null) {
+          connectionPool =
+              pool =
+                  new UnixSocketConnectionPool(
+                      maxIdleConnections, maxConnections, idleTimeoutMs, connectionTimeoutMs);
+        }
+      }
+    }
+    return pool;
+  }
+
+  /** Closes idle pooled connections. */
+  @PreDestroy
+  public void closeIdleConnections() {
+    final UnixSocketConnectionPool pool = connectionPool;
+    if (pool != null) {
+      pool.close();
+    }
+  }
 }
@@ -57,6 +57,11 @@ public class LimitedInputStream extends InputStream {
     return doRead(b, 0, len);
   }
 
+  /** Checks whether all the bytes of the stream are read. */
+  synchronized boolean isEof() {
+    return pos >= limit;
+  }
+
   private int doRead(byte[] b, int off, int len) throws IOException {
     if (pos >= limit) {
       return -1;
@@ -10,12 +10,11 @@
  */
 package org.eclipse.che.plugin.docker.client.connection;
 
-import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
@@ -23,58 +22,100 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.net.ConnectException;
 import java.util.List;
+import java.util.Set;
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.plugin.docker.client.CLibrary;
 
 /**
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
+  /**
+   * Methods of requests which may be repeated when reused connection turns out to be closed by
+   * docker daemon, the daemon might have received the request before closing the connection.
+   */
+  private static final Set<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD", "DELETE");
+
   private final String dockerSocketPath;
+  private final UnixSocketConnectionPool pool;
 
   private int fd = -1;
+  private boolean leased;
+  private UnixSocketDockerResponse response;
 
   public UnixSocketConnection(String dockerSocketPath) {
+    this(dockerSocketPath, null);
+  }
+
+  /**
+   * Creates connection which takes socket from the given pool and returns it back when connection
+   * is closed.
+   *
+   * @param dockerSocketPath path to docker unix socket
+   * @param pool pool of connected sockets, if it is {@code null} new socket is created for the
+   *     request and closed when connection is closed
+   */
+  public UnixSocketConnection(String dockerSocketPath, UnixSocketConnectionPool pool) {
     this.dockerSocketPath = dockerSocketPath;
+    this.pool = pool;
   }
 
   @Override
   protected DockerResponse request(
       String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
       throws IOException {
-    fd = connect();
-    final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-    writeHttpHeaders(output, method, path, query, headers);
-    if (entity != null) {
-      entity.writeTo(output);
+    if (pool == null) {
+      fd = UnixSocketConnectionPool.openSocket(dockerSocketPath);
+      return response = send(fd, method, path, query, headers, entity);
     }
-    return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+    pool.acquire(dockerSocketPath);
+    leased = true;
+    fd = pool.takeIdle(dockerSocketPath);
+    if (fd != -1) {
+      try {
+        response = send(fd, method, path, query, headers, entity);
+        // reads status line to make sure the connection was not closed while it was idle
+        response.getStatus();
+        return response;
+      } catch (IOException e) {
+        if (!IDEMPOTENT_METHODS.contains(method) || entity instanceof StreamEntity) {
+          throw e;
+        }
+        pool.discard(fd);
+        fd = -1;
+      }
+    }
+    fd = pool.connect(dockerSocketPath);
+    return response = send(fd, method, path, query, headers, entity);
   }
 
   @Override
   public void close() {
-    if (fd != -1) {
+    if (leased) {
+      pool.release(dockerSocketPath, fd, response != null && response.isConsumed());
+      leased = false;
+    } else if (fd != -1) {
       getCLibrary().close(fd);
     }
+    fd = -1;
   }
 
-  private int connect() throws IOException {
-    final CLibrary cLib = getCLibrary();
-    int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
-    if (fd == -1) {
-      throw new ConnectException(
-          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-    }
-    final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-    int c = cLib.connect(fd, sockAddr, sockAddr.size());
-    if (c == -1) {
-      throw new ConnectException(
-          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+  @VisibleForTesting
+  UnixSocketDockerResponse send(
+      int fd,
+      String method,
+      String path,
+      String query,
+      List<Pair<String, ?>> headers,
+      Entity<?> entity)
+      throws IOException {
+    final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
+    writeHttpHeaders(output, method, path, query, headers);
+    if (entity != null) {
+      entity.writeTo(output);
     }
-    return fd;
+    return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
   }
 
   private void writeHttpHeaders(
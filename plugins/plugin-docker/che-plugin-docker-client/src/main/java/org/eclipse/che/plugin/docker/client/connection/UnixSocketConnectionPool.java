@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.EAGAIN;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_DONTWAIT;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_PEEK;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+import com.sun.jna.Native;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.che.plugin.docker.client.CLibrary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps connections to docker unix sockets open between requests, so that short docker API calls
+ * reuse already connected sockets over HTTP/1.1 keep-alive instead of creating new socket for each
+ * call.
+ *
+ * <p>Connection is returned to the pool only when response to the previous request was fully read,
+ * so connections used for streaming calls are never reused. At most {@code maxIdlePerSocket}
+ * connections per socket path are kept, connections idle longer than {@code idleTimeoutMs} or
+ * closed by docker daemon are not reused.
+ *
+ * <p>At most {@code maxPerSocket} connections per socket path may be used for requests at the same
+ * time, request which needs one more connection waits up to {@code leaseTimeoutMs} until one of the
+ * connections is released.
+ *
+ * @see DockerConnectionFactory
+ */
+public class UnixSocketConnectionPool {
+  private static final Logger LOG = LoggerFactory.getLogger(UnixSocketConnectionPool.class);
+
+  private final int maxIdlePerSocket;
+  private final int maxPerSocket;
+  private final long idleTimeoutNanos;
+  private final long leaseTimeoutMs;
+  private final ConcurrentMap<String, Semaphore> leases = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Deque<IdleConnection>> idleConnections =
+      new ConcurrentHashMap<>();
+
+  private final AtomicInteger leased = new AtomicInteger();
+  private final AtomicInteger idle = new AtomicInteger();
+  private final LongAdder created = new LongAdder();
+  private final LongAdder reused = new LongAdder();
+  private final LongAdder discarded = new LongAdder();
+
+  /**
+   * Creates pool of connections.
+   *
+   * @param maxIdlePerSocket max number of idle connections kept per socket
+   * @param maxPerSocket max number of connections per socket used at the same time, not limited if
+   *     it is not positive
+   * @param idleTimeoutMs time after which idle connection is not reused
+   * @param leaseTimeoutMs time during which request waits for a connection when all are used
+   */
+  UnixSocketConnectionPool(
+      int maxIdlePerSocket, int maxPerSocket, long idleTimeoutMs, long leaseTimeoutMs) {
+    this.maxIdlePerSocket = maxIdlePerSocket;
+    this.maxPerSocket = maxPerSocket;
+    this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+    this.leaseTimeoutMs = leaseTimeoutMs;
+  }
+
+  /** Number of connections which are currently used for requests. */
+  public int getLeasedCount() {
+    return leased.get();
+  }
+
+  /** Number of open connections which wait for the next request. */
+  public int getIdleCount() {
+    return idle.get();
+  }
+
+  /** Number of connections created since the pool was created. */
+  public long getCreatedCount() {
+    return created.sum();
+  }
+
+  /** Number of requests which were sent over already open connection. */
+  public long getReusedCount() {
+    return reused.sum();
+  }
+
+  /** Number of connections closed because they could not be reused. */
+  public long getDiscardedCount() {
+    return discarded.sum();
+  }
+
+  /**
+   * Reserves connection to the socket, waits if all the connections are used. Reserved connection
+   * must be returned with {@link #release(String, int, boolean)} even if it was not opened.
+   *
+   * @throws IOException if connection is not released by other requests during lease timeout or
+   *     the current thread is interrupted
+   */
+  void acquire(String socketPath) throws IOException {
+    if (maxPerSocket > 0) {
+      final Semaphore permits =
+          leases.computeIfAbsent(socketPath, p -> new Semaphore(maxPerSocket, true));
+      try {
+        if (!permits.tryAcquire(leaseTimeoutMs, TimeUnit.MILLISECONDS)) {
+          throw new IOException(
+              String.format(
+                  "All %d connections to unix socket '%s' are busy", maxPerSocket, socketPath));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for connection to docker");
+      }
+    }
+    leased.incrementAndGet();
+  }
+
+  /**
+   * Returns file descriptor of idle connection to the socket or {@code -1} if there is no idle
+   * connection. Connection might be closed by docker daemon right before it is taken, so request
+   * sent over it should be repeated over new connection if response is not received.
+   */
+  int takeIdle(String socketPath) {
+    final Deque<IdleConnection> connections = idleConnections.get(socketPath);
+    if (connections == null) {
+      return -1;
+    }
+    final long now = System.nanoTime();
+    for (; ; ) {
+      final IdleConnection connection;
+      synchronized (connections) {
+        connection = connections.pollLast();
+      }
+      if (connection == null) {
+        return -1;
+      }
+      idle.decrementAndGet();
+      if (now - connection.releasedAt < idleTimeoutNanos && isAlive(connection.fd)) {
+        reused.increment();
+        return connection.fd;
+      }
+      discard(connection.fd);
+    }
+  }
+
+  /** Creates new connection to the socket, it is returned to the pool when it is released. */
+  int connect(String socketPath) throws IOException {
+    final int fd = openSocket(socketPath);
+    created.increment();
+    return fd;
+  }
+
+  /**
+   * Returns reserved connection to the pool.
+   *
+   * @param socketPath path of the socket connection is connected to
+   * @param fd file descriptor of the connection or {@code -1} if connection was not opened
+   * @param reusable whether the connection may be used for the next request
+   */
+  void release(String socketPath, int fd, boolean reusable) {
+    leased.decrementAndGet();
+    if (maxPerSocket > 0) {
+      leases.get(socketPath).release();
+    }
+    if (fd == -1) {
+      return;
+    }
+    if (!reusable || maxIdlePerSocket <= 0) {
+      discard(fd);
+      return;
+    }
+    final Deque<IdleConnection> connections =
+        idleConnections.computeIfAbsent(socketPath, p -> new ArrayDeque<>());
+    IdleConnection evicted = null;
+    synchronized (connections) {
+      if (connections.size() >= maxIdlePerSocket) {
+        // the least recently used connection is the most likely to be closed by daemon
+        evicted = connections.pollFirst();
+      } else {
+        idle.incrementAndGet();
+      }
+      connections.addLast(new IdleConnection(fd, System.nanoTime()));
+    }
+    if (evicted != null) {
+      discard(evicted.fd);
+    }
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(
+          "Docker connections pool: leased {}, idle {}, created {}, reused {}",
+          leased.get(),
+          idle.get(),
+          created.sum(),
+          reused.sum());
+    }
+  }
+
+  /** Closes all the idle connections. */
+  void close() {
+    for (Deque<IdleConnection> connections : idleConnections.values()) {
+      synchronized (connections) {
+        for (IdleConnection connection : connections) {
+          idle.decrementAndGet();
+          discard(connection.fd);
+        }
+        connections.clear();
+      }
+    }
+  }
+
+  static int openSocket(String socketPath) throws IOException {
+    final CLibrary cLib = getCLibrary();
+    int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+    if (fd == -1) {
+      throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+    }
+    final CLibrary.SockAddrUn sockAddr = new CLibrary.SockAddrUn(socketPath);
+    int c = cLib.connect(fd, sockAddr, sockAddr.size());
+    if (c == -1) {
+      cLib.close(fd);
+      throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+    }
+    return fd;
+  }
+
+  /**
+   * Checks without blocking that connection is not closed by the other side. Idle connection must
+   * not have anything to read, otherwise it is in unknown state and can't be reused.
+   */
+  private static boolean isAlive(int fd) {
+    final int n = getCLibrary().recv(fd, new byte[1], 1, MSG_PEEK | MSG_DONTWAIT);
+    return n == -1 && Native.getLastError() == EAGAIN;
+  }
+
+  /** Closes connection which can't be reused, the connection stays reserved. */
+  void discard(int fd) {
+    discarded.increment();
+    getCLibrary().close(fd);
+  }
+
+  private static class IdleConnection {
+    final int fd;
+    final long releasedAt;
+
+    IdleConnection(int fd, long releasedAt) {
+      this.fd = fd;
+      this.releasedAt = releasedAt;
+    }
+  }
+}
@@ -80,16 +80,7 @@ public class UnixSocketDockerResponse implements DockerResponse {
   @Override
   public String getHeader(String name) throws IOException {
     getInputStream();
-    final String lowerCaseName = name.toLowerCase();
-    for (String field : headersFields) {
-      if (field.toLowerCase().startsWith(lowerCaseName)) {
-        int colonPos = field.indexOf(':');
-        if (colonPos > 0) {
-          return field.substring(colonPos + 1).trim();
-        }
-      }
-    }
-    return null;
+    return findHeader(name);
   }
 
   @Override
@@ -108,6 +99,29 @@ public class UnixSocketDockerResponse implements DockerResponse {
     return headers.toArray(new String[headers.size()]);
   }
 
+  /**
+   * Checks whether the response is fully read and the connection may be used for the next request.
+   * Responses which body is not delimited by length or chunks are read until the connection is
+   * closed, so connection can't be reused after them.
+   */
+  synchronized boolean isConsumed() {
+    if (headersFields == null
+        || !headersFields[0].startsWith("HTTP/1.1")
+        || "close".equalsIgnoreCase(findHeader("Connection"))) {
+      return false;
+    }
+    if (data == EMPTY) {
+      return true;
+    }
+    if (data instanceof LimitedInputStream) {
+      return ((LimitedInputStream) data).isEof();
+    }
+    if (data instanceof ChunkedInputStream) {
+      return ((ChunkedInputStream) data).isEof();
+    }
+    return false;
+  }
+
   @Override
   public synchronized InputStream getInputStream() throws IOException {
     if (this.headersFields != null) {
@@ -142,6 +156,11 @@ public class UnixSocketDockerResponse implements DockerResponse {
       }
     }
     this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+    final int statusCode = getStatus();
+    if (statusCode == 204 || statusCode == 304) {
+      // responses with these statuses never have body
+      return data = EMPTY;
+    }
     final int contentLength = getContentLength();
     if (contentLength == 0) {
       return data = EMPTY;
@@ -154,4 +173,17 @@ public class UnixSocketDockerResponse implements DockerResponse {
             ? new ChunkedInputStream(rawData)
             : rawData;
   }
+
+  private String findHeader(String name) {
+    final String lowerCaseName = name.toLowerCase();
+    for (String field : headersFields) {
+      if (field.toLowerCase().startsWith(lowerCaseName)) {
+        int colonPos = field.indexOf(':');
+        if (colonPos > 0) {
+          return field.substring(colonPos + 1).trim();
+        }
+      }
+    }
+    return null;
+  }
 }
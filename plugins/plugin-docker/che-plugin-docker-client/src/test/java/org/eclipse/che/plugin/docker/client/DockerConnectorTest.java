@@ -193,6 +193,8 @@ public class DockerConnectorTest {
   public void setup() throws IOException, URISyntaxException {
     dockerConnection = mock(DockerConnection.class, new SelfReturningAnswer());
     when(dockerConnectionFactory.openConnection(nullable(URI.class))).thenReturn(dockerConnection);
+    when(dockerConnectionFactory.openDedicatedConnection(nullable(URI.class)))
+        .thenReturn(dockerConnection);
     when(dockerConnection.request()).thenReturn(dockerResponse);
     when(dockerConnectorConfiguration.getAuthConfigs()).thenReturn(initialAuthConfig);
     when(dockerResponse.getStatus()).thenReturn(RESPONSE_SUCCESS_CODE);
@@ -636,7 +638,7 @@ public class DockerConnectorTest {
 
     int returnedExitCode = dockerConnector.waitContainer(waitContainerParams);
 
-    verify(dockerConnectionFactory).openConnection(nullable(URI.class));
+    verify(dockerConnectionFactory).openDedicatedConnection(nullable(URI.class));
     verify(dockerConnection).method(REQUEST_METHOD_POST);
     verify(dockerConnection).path("/containers/" + waitContainerParams.getContainer() + "/wait");
     verify(dockerConnection).request();
@@ -738,7 +740,7 @@ public class DockerConnectorTest {
 
     dockerConnector.attachContainer(attachContainerParams, logMessageProcessor);
 
-    verify(dockerConnectionFactory).openConnection(nullable(URI.class));
+    verify(dockerConnectionFactory).openDedicatedConnection(nullable(URI.class));
     verify(dockerConnection).method(REQUEST_METHOD_POST);
     verify(dockerConnection)
         .path("/containers/" + attachContainerParams.getContainer() + "/attach");
@@ -772,7 +774,7 @@ public class DockerConnectorTest {
 
     dockerConnector.getContainerLogs(getContainerLogsParams, logMessageProcessor);
 
-    verify(dockerConnectionFactory).openConnection(nullable(URI.class));
+    verify(dockerConnectionFactory).openDedicatedConnection(nullable(URI.class));
     verify(dockerConnection).method(REQUEST_METHOD_GET);
     verify(dockerConnection).path("/containers/" + getContainerLogsParams.getContainer() + "/logs");
     verify(dockerConnection).query("stdout", 1);
@@ -861,7 +863,7 @@ public class DockerConnectorTest {
 
     dockerConnector.startExec(startExecParams, logMessageProcessor);
 
-    verify(dockerConnectionFactory).openConnection(nullable(URI.class));
+    verify(dockerConnectionFactory).openDedicatedConnection(nullable(URI.class));
     verify(dockerConnection).method(REQUEST_METHOD_POST);
     verify(dockerConnection).path("/exec/" + startExecParams.getExecId() + "/start");
     verify(dockerConnection).header("Content-Type", MediaType.APPLICATION_JSON);
@@ -1026,7 +1028,7 @@ public class DockerConnectorTest {
     String response =
         CharStreams.toString(new InputStreamReader(dockerConnector.getResource(getResourceParams)));
 
-    verify(dockerConnectionFactory).openConnection(nullable(URI.class));
+    verify(dockerConnectionFactory).openDedicatedConnection(nullable(URI.class));
     verify(dockerConnection).method(REQUEST_METHOD_GET);
     verify(dockerConnection).path("/containers/" + getResourceParams.getContainer() + "/archive");
     verify(dockerConnection).query(eq("path"), eq(PATH_TO_FILE));
@@ -1104,7 +1106,7 @@ public class DockerConnectorTest {
 
     dockerConnector.getEvents(getEventsParams, eventMessageProcessor);
 
-    verify(dockerConnectionFactory).openConnection(nullable(URI.class));
+    verify(dockerConnectionFactory).openDedicatedConnection(nullable(URI.class));
     verify(dockerConnection).method(REQUEST_METHOD_GET);
     verify(dockerConnection).path("/events");
     verify(dockerConnection).request();
@@ -1148,7 +1150,7 @@ public class DockerConnectorTest {
 
     String returnedImageId = dockerConnector.buildImage(buildImageParams, progressMonitor);
 
-    verify(dockerConnectionFactory).openConnection(nullable(URI.class));
+    verify(dockerConnectionFactory).openDedicatedConnection(nullable(URI.class));
     verify(dockerConnection).method(REQUEST_METHOD_POST);
     verify(dockerConnection).path("/build");
 
@@ -1187,7 +1189,7 @@ public class DockerConnectorTest {
 
     String returnedImageId = dockerConnector.buildImage(buildImageParams, progressMonitor);
 
-    verify(dockerConnectionFactory).openConnection(nullable(URI.class));
+    verify(dockerConnectionFactory).openDedicatedConnection(nullable(URI.class));
     verify(dockerConnection).method(REQUEST_METHOD_POST);
     verify(dockerConnection).path("/build");
 
@@ -1256,7 +1258,7 @@ public class DockerConnectorTest {
 
     String returnedImageId = dockerConnector.buildImage(buildImageParams, progressMonitor);
 
-    verify(dockerConnectionFactory).openConnection(nullable(URI.class));
+    verify(dockerConnectionFactory).openDedicatedConnection(nullable(URI.class));
     verify(dockerConnection).method(REQUEST_METHOD_POST);
     verify(dockerConnection).path("/build");
 
@@ -1417,7 +1419,7 @@ public class DockerConnectorTest {
 
     dockerConnector.push(pushParams, progressMonitor);
 
-    verify(dockerConnectionFactory).openConnection(nullable(URI.class));
+    verify(dockerConnectionFactory).openDedicatedConnection(nullable(URI.class));
     verify(dockerConnection).method(REQUEST_METHOD_POST);
     verify(dockerConnection).path("/images/" + pushParams.getRepository() + "/push");
     verify(dockerConnection).header(eq("X-Registry-Auth"), nullable(AuthConfig.class));
@@ -1438,7 +1440,7 @@ public class DockerConnectorTest {
 
     dockerConnector.push(pushParams, progressMonitor);
 
-    verify(dockerConnectionFactory).openConnection(nullable(URI.class));
+    verify(dockerConnectionFactory).openDedicatedConnection(nullable(URI.class));
     verify(dockerConnection).method(REQUEST_METHOD_POST);
     verify(dockerConnection)
         .path("/images/" + pushParams.getRegistry() + '/' + pushParams.getRepository() + "/push");
@@ -1581,7 +1583,7 @@ public class DockerConnectorTest {
 
     dockerConnector.pull(pullParams, progressMonitor);
 
-    verify(dockerConnectionFactory).openConnection(nullable(URI.class));
+    verify(dockerConnectionFactory).openDedicatedConnection(nullable(URI.class));
     verify(dockerConnection).method(REQUEST_METHOD_POST);
     verify(dockerConnection).path("/images/create");
     verify(dockerConnection).query("fromImage", pullParams.getImage());
@@ -1600,7 +1602,7 @@ public class DockerConnectorTest {
 
     dockerConnector.pull(pullParams, progressMonitor);
 
-    verify(dockerConnectionFactory).openConnection(nullable(URI.class));
+    verify(dockerConnectionFactory).openDedicatedConnection(nullable(URI.class));
     verify(dockerConnection).method(REQUEST_METHOD_POST);
     verify(dockerConnection).path("/images/create");
     verify(dockerConnection)
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures wall time of a sequence of short docker API calls similar to the ones issued for each
+ * machine during workspace start, when several workspaces are started simultaneously, with pooled
+ * unix socket connections and with new connection for each call. Only read-only calls are used, so
+ * benchmark can be run against any docker daemon.
+ *
+ * <p>Benchmark requires docker daemon listening on {@link #socket}, it is not executed as part of
+ * the build, run it with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class DockerConnectionPoolBenchmark {
+  private static final String[] MACHINE_START_CALLS = {
+    "/version",
+    "/info",
+    "/images/json",
+    "/networks",
+    "/containers/json?all=true",
+    "/containers/json?all=true&limit=1",
+    "/images/json?all=true",
+    "/networks",
+    "/info",
+    "/version"
+  };
+
+  @Param({"pooled", "dedicated"})
+  public String connections;
+
+  @Param({"/var/run/docker.sock"})
+  public String socket;
+
+  private UnixSocketConnectionPool pool;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    pool =
+        "pooled".equals(connections)
+            ? new UnixSocketConnectionPool(20, 100, 30_000, 60_000)
+            : null;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (pool != null) {
+      System.out.printf(
+          "%nCreated connections: %d, reused connections: %d%n",
+          pool.getCreatedCount(), pool.getReusedCount());
+      pool.close();
+    }
+  }
+
+  @Benchmark
+  public long machineStartCalls() throws IOException {
+    long bytes = 0;
+    for (String call : MACHINE_START_CALLS) {
+      final int queryStart = call.indexOf('?');
+      try (DockerConnection connection = new UnixSocketConnection(socket, pool)) {
+        connection.method("GET").path(queryStart == -1 ? call : call.substring(0, queryStart));
+        if (queryStart != -1) {
+          for (String param : call.substring(queryStart + 1).split("&")) {
+            final String[] nameValue = param.split("=");
+            connection.query(nameValue[0], nameValue[1]);
+          }
+        }
+        final DockerResponse response = connection.request();
+        if (response.getStatus() != 200) {
+          throw new IOException("Unexpected response status " + response.getStatus());
+        }
+        bytes += ByteStreams.toByteArray(response.getInputStream()).length;
+      }
+    }
+    return bytes;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(DockerConnectionPoolBenchmark.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import org.testng.annotations.Test;
+
+/** Tests {@link UnixSocketConnectionPool}. */
+public class UnixSocketConnectionPoolTest {
+  private static final String SOCKET_PATH = "/var/run/docker.sock";
+
+  @Test
+  public void shouldLimitNumberOfConnectionsUsedAtTheSameTime() throws Exception {
+    final UnixSocketConnectionPool pool = new UnixSocketConnectionPool(2, 2, 30_000, 100);
+    pool.acquire(SOCKET_PATH);
+    pool.acquire(SOCKET_PATH);
+
+    try {
+      pool.acquire(SOCKET_PATH);
+      fail("Connection is not expected to be available");
+    } catch (IOException expected) {
+    }
+    assertEquals(pool.getLeasedCount(), 2);
+  }
+
+  @Test
+  public void shouldGiveConnectionWhenAnotherOneIsReleased() throws Exception {
+    final UnixSocketConnectionPool pool = new UnixSocketConnectionPool(2, 1, 30_000, 10_000);
+    pool.acquire(SOCKET_PATH);
+
+    final Thread releaser =
+        new Thread(
+            () -> {
+              try {
+                Thread.sleep(100);
+              } catch (InterruptedException ignored) {
+              }
+              pool.release(SOCKET_PATH, -1, false);
+            });
+    releaser.start();
+    pool.acquire(SOCKET_PATH);
+    releaser.join();
+
+    assertEquals(pool.getLeasedCount(), 1);
+  }
+
+  @Test
+  public void shouldLimitConnectionsOfEachSocketSeparately() throws Exception {
+    final UnixSocketConnectionPool pool = new UnixSocketConnectionPool(2, 1, 30_000, 100);
+
+    pool.acquire(SOCKET_PATH);
+    pool.acquire("/var/run/other.sock");
+
+    assertEquals(pool.getLeasedCount(), 2);
+  }
+
+  @Test
+  public void shouldNotLimitConnectionsIfLimitIsNotPositive() throws Exception {
+    final UnixSocketConnectionPool pool = new UnixSocketConnectionPool(2, 0, 30_000, 100);
+
+    for (int i = 0; i < 10; i++) {
+      pool.acquire(SOCKET_PATH);
+    }
+
+    assertEquals(pool.getLeasedCount(), 10);
+  }
+}
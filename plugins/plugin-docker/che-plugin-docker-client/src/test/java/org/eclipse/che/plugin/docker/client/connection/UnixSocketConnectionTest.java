@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.che.commons.lang.Pair;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link UnixSocketConnection} with pool of connections. */
+@Listeners(MockitoTestNGListener.class)
+public class UnixSocketConnectionTest {
+  private static final String SOCKET_PATH = "/var/run/docker.sock";
+  private static final String OK_RESPONSE = "HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\n{}";
+  private static final int IDLE_FD = 5;
+  private static final int NEW_FD = 6;
+
+  @Mock private UnixSocketConnectionPool pool;
+
+  /** Raw responses of connections by file descriptors, empty response means closed connection. */
+  private Map<Integer, String> responses;
+  /** File descriptors of connections requests were sent over. */
+  private List<Integer> sentOver;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    responses = new HashMap<>();
+    sentOver = new ArrayList<>();
+    when(pool.takeIdle(SOCKET_PATH)).thenReturn(IDLE_FD);
+    when(pool.connect(SOCKET_PATH)).thenReturn(NEW_FD);
+  }
+
+  @Test
+  public void shouldSendRequestOverIdleConnection() throws Exception {
+    responses.put(IDLE_FD, OK_RESPONSE);
+
+    try (DockerConnection connection = connection().method("GET").path("/info")) {
+      assertEquals(read(connection.request()), "{}");
+    }
+
+    assertEquals(sentOver, singletonList(IDLE_FD));
+    verify(pool).acquire(SOCKET_PATH);
+    verify(pool, never()).connect(anyString());
+    verify(pool).release(SOCKET_PATH, IDLE_FD, true);
+  }
+
+  @Test
+  public void shouldNotReuseConnectionIfResponseIsNotFullyRead() throws Exception {
+    responses.put(IDLE_FD, OK_RESPONSE);
+
+    try (DockerConnection connection = connection().method("GET").path("/info")) {
+      connection.request().getStatus();
+    }
+
+    verify(pool).release(SOCKET_PATH, IDLE_FD, false);
+  }
+
+  @Test
+  public void shouldRepeatIdempotentRequestOverNewConnectionIfIdleConnectionIsClosed()
+      throws Exception {
+    responses.put(IDLE_FD, "");
+    responses.put(NEW_FD, OK_RESPONSE);
+
+    try (DockerConnection connection = connection().method("GET").path("/info")) {
+      assertEquals(read(connection.request()), "{}");
+    }
+
+    assertEquals(sentOver, asList(IDLE_FD, NEW_FD));
+    verify(pool).discard(IDLE_FD);
+    verify(pool).release(SOCKET_PATH, NEW_FD, true);
+  }
+
+  @Test
+  public void shouldNotRepeatPostRequestIfIdleConnectionIsClosed() throws Exception {
+    responses.put(IDLE_FD, "");
+
+    try (DockerConnection connection =
+        connection().method("POST").path("/containers/create").entity("{}")) {
+      connection.request();
+      fail("Request is expected to fail");
+    } catch (IOException expected) {
+    }
+
+    assertEquals(sentOver, singletonList(IDLE_FD));
+    verify(pool, never()).connect(anyString());
+    verify(pool, never()).discard(anyInt());
+    verify(pool).release(SOCKET_PATH, IDLE_FD, false);
+  }
+
+  @Test
+  public void shouldReleaseReservedConnectionIfConnectionCanNotBeOpened() throws Exception {
+    when(pool.takeIdle(SOCKET_PATH)).thenReturn(-1);
+    when(pool.connect(SOCKET_PATH)).thenThrow(new IOException("connection refused"));
+
+    try (DockerConnection connection = connection().method("GET").path("/info")) {
+      connection.request();
+      fail("Request is expected to fail");
+    } catch (IOException expected) {
+    }
+
+    verify(pool).release(SOCKET_PATH, -1, false);
+  }
+
+  private UnixSocketConnection connection() {
+    return new UnixSocketConnection(SOCKET_PATH, pool) {
+      @Override
+      UnixSocketDockerResponse send(
+          int fd,
+          String method,
+          String path,
+          String query,
+          List<Pair<String, ?>> headers,
+          Entity<?> entity) {
+        sentOver.add(fd);
+        return new UnixSocketDockerResponse(
+            new ByteArrayInputStream(responses.get(fd).getBytes(UTF_8)));
+      }
+    };
+  }
+
+  private static String read(DockerResponse response) throws IOException {
+    return new String(ByteStreams.toByteArray(response.getInputStream()), UTF_8);
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.testng.annotations.Test;
+
+/** Tests {@link UnixSocketDockerResponse}. */
+public class UnixSocketDockerResponseTest {
+
+  @Test
+  public void shouldBeConsumedWhenBodyWithContentLengthIsRead() throws IOException {
+    final UnixSocketDockerResponse response =
+        response("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\n{}");
+
+    assertFalse(response.isConsumed());
+    assertEquals(read(response.getInputStream()), "{}");
+    assertTrue(response.isConsumed());
+  }
+
+  @Test
+  public void shouldBeConsumedWhenAllChunksAreRead() throws IOException {
+    final UnixSocketDockerResponse response =
+        response("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n2\r\n{}\r\n0\r\n\r\n");
+
+    assertEquals(read(response.getInputStream()), "{}");
+    assertTrue(response.isConsumed());
+  }
+
+  @Test
+  public void shouldBeConsumedWhenResponseHasNoContentStatus() throws IOException {
+    final UnixSocketDockerResponse response = response("HTTP/1.1 204 No Content\r\n\r\n");
+
+    assertEquals(response.getStatus(), 204);
+    assertTrue(response.isConsumed());
+  }
+
+  @Test
+  public void shouldNotBeConsumedWhenBodyIsNotFullyRead() throws IOException {
+    final UnixSocketDockerResponse response =
+        response("HTTP/1.1 200 OK\r\nContent-Length: 4\r\n\r\n{\"\"}");
+
+    response.getInputStream().read(new byte[2]);
+
+    assertFalse(response.isConsumed());
+  }
+
+  @Test
+  public void shouldNotBeConsumedWhenBodyIsReadUntilConnectionIsClosed() throws IOException {
+    final UnixSocketDockerResponse response =
+        response("HTTP/1.1 101 UPGRADED\r\nConnection: Upgrade\r\nUpgrade: tcp\r\n\r\nlogs");
+
+    assertEquals(read(response.getInputStream()), "logs");
+    assertFalse(response.isConsumed());
+  }
+
+  @Test
+  public void shouldNotBeConsumedWhenServerClosesConnection() throws IOException {
+    final UnixSocketDockerResponse response =
+        response("HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Length: 2\r\n\r\n{}");
+
+    assertEquals(read(response.getInputStream()), "{}");
+    assertFalse(response.isConsumed());
+  }
+
+  private static UnixSocketDockerResponse response(String raw) {
+    return new UnixSocketDockerResponse(new ByteArrayInputStream(raw.getBytes()));
+  }
+
+  private static String read(InputStream input) throws IOException {
+    return new String(ByteStreams.toByteArray(input));
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.jdt.internal.core.search.indexing;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.jdt.internal.core.index.DiskIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Store of prebuilt indexes of libraries, e.g. JRE and maven dependencies, shared by all the
+ * projects and workspaces which use the same libraries.
+ *
+ * <p>Index of a library depends only on its content, so indexes are stored by SHA-1 of the library
+ * file and by the version of the index format. Indexes are looked up in the writable store
+ * directory first and then in the shared directory, which may be a read-only volume filled in
+ * advance by {@link LibraryIndexWarmer}. Stored index files are never modified, an index is
+ * copied out of the store before it is used by a workspace.
+ *
+ * <p>Indexes are not evicted, the store grows with every new version of a library. It is a cache
+ * only, so the store directory may be removed at any time, e.g. when it takes too much space, and
+ * libraries are indexed again on demand.
+ */
+public class LibraryIndexStore {
+  private static final Logger LOG = LoggerFactory.getLogger(LibraryIndexStore.class);
+  private static final String FORMAT_DIR = DiskIndex.SIGNATURE.replaceAll("[^\\w.]", "_");
+
+  private static volatile LibraryIndexStore instance;
+
+  private final File storeDir;
+  private final File sharedDir;
+  /** Digests of libraries, reused while size and modification time of a library are the same. */
+  private final Map<File, Digest> digests = new ConcurrentHashMap<>();
+
+  /**
+   * Creates store of library indexes.
+   *
+   * @param storeDir directory where indexes built by workspace are stored, or null if they are not
+   *     stored
+   * @param sharedDir read-only directory of prebuilt indexes, or null
+   */
+  public LibraryIndexStore(@Nullable File storeDir, @Nullable File sharedDir) {
+    this.storeDir = storeDir;
+    this.sharedDir = sharedDir;
+  }
+
+  /** Configures the store used by the workspace, the store is not used when both are null. */
+  @Inject
+  public static void configure(
+      @Nullable @Named("che.jdt.library.index.dir") String storeDir,
+      @Nullable @Named("che.jdt.library.index.shared_dir") String sharedDir) {
+    instance =
+        storeDir == null && sharedDir == null
+            ? null
+            : new LibraryIndexStore(
+                storeDir == null ? null : new File(storeDir),
+                sharedDir == null ? null : new File(sharedDir));
+  }
+
+  /** Returns store configured for the workspace or null when the store is not configured. */
+  @Nullable
+  public static LibraryIndexStore getInstance() {
+    return instance;
+  }
+
+  /**
+   * Returns the stored index of the library, or null if the library isn't indexed yet or it can't
+   * be read.
+   */
+  @Nullable
+  public File findIndex(File library) {
+    if (!library.isFile()) {
+      return null;
+    }
+    try {
+      String digest = digest(library);
+      for (File dir : new File[] {storeDir, sharedDir}) {
+        if (dir != null) {
+          File index = indexFile(dir, digest);
+          if (index.isFile()) {
+            return index;
+          }
+        }
+      }
+    } catch (IOException e) {
+      LOG.warn("Can't look up index of library {}: {}", library, e.getMessage());
+    }
+    return null;
+  }
+
+  /**
+   * Copies index of the library into the store, unless the index of the library with the same
+   * content is already there.
+   *
+   * @param library indexed library
+   * @param index complete index of the library
+   */
+  public void storeIndex(File library, File index) {
+    if (storeDir == null || !library.isFile() || !index.isFile()) {
+      return;
+    }
+    try {
+      String digest = digest(library);
+      File target = indexFile(storeDir, digest);
+      if (target.exists() || (sharedDir != null && indexFile(sharedDir, digest).exists())) {
+        return;
+      }
+      Files.createParentDirs(target);
+      // readers never see partially copied index as it is copied to temporary file first
+      File tmp = File.createTempFile(digest, ".tmp", target.getParentFile());
+      try {
+        Files.copy(index, tmp);
+        java.nio.file.Files.move(tmp.toPath(), target.toPath(), ATOMIC_MOVE);
+      } finally {
+        tmp.delete();
+      }
+    } catch (IOException e) {
+      LOG.warn("Can't store index of library {}: {}", library, e.getMessage());
+    }
+  }
+
+  /** Returns whether index of the library is stored. */
+  public boolean contains(File library) {
+    return findIndex(library) != null;
+  }
+
+  private String digest(File library) throws IOException {
+    long length = library.length();
+    long modified = library.lastModified();
+    Digest digest = digests.get(library);
+    if (digest == null || digest.length != length || digest.modified != modified) {
+      String value = Files.asByteSource(library).hash(Hashing.sha1()).toString();
+      digest = new Digest(length, modified, value);
+      digests.put(library, digest);
+    }
+    return digest.value;
+  }
+
+  private static File indexFile(File dir, String digest) {
+    Path path = dir.toPath().resolve(FORMAT_DIR).resolve(digest.substring(0, 2));
+    return path.resolve(digest + ".index").toFile();
+  }
+
+  private static class Digest {
+    final long length;
+    final long modified;
+    final String value;
+
+    Digest(long length, long modified, String value) {
+      this.length = length;
+      this.modified = modified;
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.jdt.internal.core.search.indexing;
+
+import static java.util.stream.Collectors.toList;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jdt.core.index.JavaIndexer;
+
+/**
+ * Builds indexes of all the jars of a local maven repository into {@link LibraryIndexStore}, so
+ * workspaces which use the store don't index these libraries.
+ *
+ * <p>Usage: {@code LibraryIndexWarmer <maven repository> <store directory>}, the store directory
+ * may be mounted later as {@code che.jdt.library.index.shared_dir}.
+ */
+public class LibraryIndexWarmer {
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: LibraryIndexWarmer <maven repository> <store directory>");
+      System.exit(1);
+    }
+    Path tmpDir = Files.createTempDirectory("jdt-index-warmer");
+    try {
+      // indexer needs java model which is configured by resources plugin
+      new ResourcesPlugin(
+          tmpDir.resolve("index").toString(), tmpDir.resolve("ws").toString(), null, null);
+      int indexed =
+          warm(
+              Paths.get(args[0]),
+              new LibraryIndexStore(new File(args[1]), null),
+              tmpDir,
+              (jar, index) -> JavaIndexer.generateIndexForJar(jar.toString(), index.toString()));
+      System.out.println(indexed + " libraries are indexed");
+    } finally {
+      IoUtil.deleteRecursive(tmpDir.toFile());
+    }
+  }
+
+  /**
+   * Indexes jars of the repository which are not in the store yet.
+   *
+   * @return number of indexed jars
+   */
+  static int warm(Path repository, LibraryIndexStore store, Path tmpDir, Indexer indexer)
+      throws IOException {
+    List<Path> jars;
+    try (Stream<Path> files = Files.walk(repository)) {
+      jars = files.filter(LibraryIndexWarmer::isLibrary).collect(toList());
+    }
+    int indexed = 0;
+    for (Path jar : jars) {
+      if (store.contains(jar.toFile())) {
+        continue;
+      }
+      Path index = tmpDir.resolve("library.index");
+      try {
+        indexer.index(jar, index);
+        store.storeIndex(jar.toFile(), index.toFile());
+        indexed++;
+      } catch (IOException e) {
+        System.err.println("Can't index " + jar + ": " + e.getMessage());
+      } finally {
+        Files.deleteIfExists(index);
+      }
+    }
+    return indexed;
+  }
+
+  /** Builds index of a jar. */
+  interface Indexer {
+    void index(Path jar, Path index) throws IOException;
+  }
+
+  private static boolean isLibrary(Path file) {
+    String name = file.getFileName().toString();
+    return name.endsWith(".jar")
+        && !name.endsWith("-sources.jar")
+        && !name.endsWith("-javadoc.jar")
+        && Files.isRegularFile(file);
+  }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.jdt.javaeditor;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schedules reconciling of java files opened in editors.
+ *
+ * <p>Reconcile of a file is delayed until there are no changes of the file for the configured
+ * period, so a burst of typed characters is reconciled once. Only the latest scheduled reconcile of
+ * a file for each client endpoint is performed, it reads the latest content of the editor working
+ * copy. When the file is changed while it is reconciled, progress monitor of the running reconcile
+ * is cancelled and the next one starts after it finishes, so a file is never reconciled
+ * concurrently. Reconcile of other endpoint cancelled this way is performed again, so each endpoint
+ * receives the result for the latest content.
+ *
+ * <p>Reconciles are performed by a pool sized to the number of cores, so editor change events are
+ * not blocked by the compiler.
+ */
+@Singleton
+public class JavaReconcileScheduler {
+  private static final Logger LOG = LoggerFactory.getLogger(JavaReconcileScheduler.class);
+
+  private final long delayMs;
+  private final ScheduledExecutorService executor;
+  private final Map<String, FileReconcile> files = new HashMap<>();
+  private final Map<String, Long> latencies = new ConcurrentHashMap<>();
+
+  @Inject
+  public JavaReconcileScheduler(@Named("che.java.reconcile.delay_ms") long delayMs) {
+    this.delayMs = delayMs;
+    ScheduledThreadPoolExecutor executor =
+        new ScheduledThreadPoolExecutor(
+            Runtime.getRuntime().availableProcessors(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("JavaReconciler-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    executor.setRemoveOnCancelPolicy(true);
+    this.executor = executor;
+  }
+
+  /**
+   * Schedules reconcile of the file for the endpoint after the configured delay, replacing the
+   * reconcile of the file for the same endpoint which is not started yet and cancelling the running
+   * one.
+   *
+   * @param filePath path of the file
+   * @param endpointId endpoint which receives the result of the reconcile
+   * @param reconcile reconciles the file, it should stop when the given monitor is cancelled
+   */
+  public void schedule(String filePath, String endpointId, Consumer<IProgressMonitor> reconcile) {
+    schedule(filePath, endpointId, reconcile, delayMs);
+  }
+
+  /**
+   * Same as {@link #schedule(String, String, Consumer)} but reconcile is started without delay.
+   */
+  public void scheduleNow(
+      String filePath, String endpointId, Consumer<IProgressMonitor> reconcile) {
+    schedule(filePath, endpointId, reconcile, 0);
+  }
+
+  /**
+   * Cancels scheduled and running reconciles of the file for the endpoint, reconciles of the file
+   * for other endpoints are not affected.
+   */
+  public void cancel(String filePath, String endpointId) {
+    synchronized (files) {
+      FileReconcile file = files.get(filePath);
+      if (file == null) {
+        return;
+      }
+      file.pending.remove(endpointId);
+      if (endpointId.equals(file.running)) {
+        file.running = null;
+        file.monitor.setCanceled(true);
+      }
+      if (file.pending.isEmpty()) {
+        if (file.scheduled != null) {
+          file.scheduled.cancel(false);
+          file.scheduled = null;
+        }
+        if (file.monitor == null) {
+          files.remove(filePath);
+          latencies.remove(filePath);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns time in milliseconds from the first change of the file that was not reconciled to the
+   * end of its last reconcile, or -1 if the file has not been reconciled yet.
+   */
+  public long getLatency(String filePath) {
+    return latencies.getOrDefault(filePath, -1L);
+  }
+
+  private void schedule(
+      String filePath, String endpointId, Consumer<IProgressMonitor> reconcile, long delay) {
+    synchronized (files) {
+      FileReconcile file = files.computeIfAbsent(filePath, FileReconcile::new);
+      file.pending.remove(endpointId);
+      file.pending.put(endpointId, reconcile);
+      if (file.requested == 0) {
+        file.requested = System.nanoTime();
+      }
+      if (file.scheduled != null) {
+        file.scheduled.cancel(false);
+      }
+      if (file.monitor != null) {
+        // started again when the running reconcile finishes
+        file.monitor.setCanceled(true);
+        file.scheduled = null;
+      } else {
+        file.scheduled = executor.schedule(() -> run(file), delay, MILLISECONDS);
+      }
+    }
+  }
+
+  private void run(FileReconcile file) {
+    String endpointId;
+    Consumer<IProgressMonitor> reconcile;
+    IProgressMonitor monitor = new NullProgressMonitor();
+    long requested;
+    synchronized (files) {
+      if (files.get(file.path) != file || file.pending.isEmpty() || file.monitor != null) {
+        return;
+      }
+      Iterator<Map.Entry<String, Consumer<IProgressMonitor>>> it =
+          file.pending.entrySet().iterator();
+      Map.Entry<String, Consumer<IProgressMonitor>> next = it.next();
+      it.remove();
+      endpointId = next.getKey();
+      reconcile = next.getValue();
+      requested = file.requested;
+      if (file.pending.isEmpty()) {
+        file.requested = 0;
+      }
+      file.scheduled = null;
+      file.running = endpointId;
+      file.monitor = monitor;
+    }
+
+    boolean completed = false;
+    try {
+      reconcile.accept(monitor);
+      completed = true;
+    } catch (OperationCanceledException e) {
+      // stopped because the monitor is cancelled
+    } finally {
+      synchronized (files) {
+        // cancelled by a change of the file rather than by the endpoint
+        boolean changed = monitor.isCanceled() && endpointId.equals(file.running);
+        file.monitor = null;
+        file.running = null;
+        if (changed) {
+          // changes of the cancelled reconcile are not reconciled yet
+          file.requested = requested;
+          // change for other endpoint doesn't make the result needless
+          file.pending.putIfAbsent(endpointId, reconcile);
+        } else if (completed && !monitor.isCanceled()) {
+          long latency = NANOSECONDS.toMillis(System.nanoTime() - requested);
+          latencies.put(file.path, latency);
+          LOG.debug("Reconcile of {} is completed in {} ms", file.path, latency);
+        }
+        if (file.pending.isEmpty()) {
+          files.remove(file.path, file);
+        } else {
+          // reconciles which waited for this one don't wait for the delay again
+          long delay = changed ? delayMs : 0;
+          file.scheduled = executor.schedule(() -> run(file), delay, MILLISECONDS);
+        }
+      }
+    }
+  }
+
+  /** Stops reconciling, scheduled reconciles are not performed. */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static class FileReconcile {
+    final String path;
+    /** The latest reconciles which are not started yet, mapped by their endpoints. */
+    final Map<String, Consumer<IProgressMonitor>> pending = new LinkedHashMap<>();
+    /** Time of the first change which is not reconciled. */
+    long requested;
+
+    ScheduledFuture<?> scheduled;
+    /** Endpoint and monitor of the running reconcile. */
+    String running;
+    IProgressMonitor monitor;
+
+    FileReconcile(String path) {
+      this.path = path;
+    }
+  }
+}
@@ -43,6 +43,8 @@ import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.IClasspathEntry;
@@ -83,6 +85,7 @@ public class JavaReconciler {
   private final ProjectManager projectManager;
   private final EditorWorkingCopyManager editorWorkingCopyManager;
   private final SemanticHighlightingReconciler semanticHighlighting;
+  private final JavaReconcileScheduler reconcileScheduler;
 
   private Mode mode = ACTIVATED;
 
@@ -92,8 +95,10 @@ public class JavaReconciler {
       EventService eventService,
       RequestTransmitter transmitter,
       ProjectManager projectManager,
-      EditorWorkingCopyManager editorWorkingCopyManager) {
+      EditorWorkingCopyManager editorWorkingCopyManager,
+      JavaReconcileScheduler reconcileScheduler) {
     this.semanticHighlighting = semanticHighlighting;
+    this.reconcileScheduler = reconcileScheduler;
     this.eventService = eventService;
     this.transmitter = transmitter;
     this.projectManager = projectManager;
@@ -129,10 +134,11 @@ public class JavaReconciler {
     IType type = getType(fqn, javaProject);
     ICompilationUnit compilationUnit = type.getCompilationUnit();
 
-    return reconcile(compilationUnit, javaProject);
+    return reconcile(compilationUnit, javaProject, null);
   }
 
-  private ReconcileResult reconcile(ICompilationUnit compilationUnit, IJavaProject javaProject)
+  private ReconcileResult reconcile(
+      ICompilationUnit compilationUnit, IJavaProject javaProject, IProgressMonitor monitor)
       throws JavaModelException {
     ICompilationUnit workingCopy = null;
     List<HighlightedPosition> positions;
@@ -146,7 +152,10 @@ public class JavaReconciler {
       synchronizeWorkingCopyContent(filePath, workingCopy);
       problemRequestor.reset();
 
-      CompilationUnit unit = workingCopy.reconcile(AST.JLS8, true, wcOwner, null);
+      CompilationUnit unit = workingCopy.reconcile(AST.JLS8, true, wcOwner, monitor);
+      if (monitor != null && monitor.isCanceled()) {
+        throw new OperationCanceledException();
+      }
       positions = semanticHighlighting.reconcileSemanticHighlight(unit);
 
       if (workingCopy instanceof ClassFileWorkingCopy) {
@@ -203,7 +212,10 @@ public class JavaReconciler {
     String filePath = editorChanges.getFileLocation();
     String projectPath = editorChanges.getProjectPath();
 
-    reconcileAndTransmit(filePath, projectPath, endpointId);
+    reconcileScheduler.schedule(
+        filePath,
+        endpointId,
+        monitor -> reconcileAndTransmit(filePath, projectPath, endpointId, monitor));
   }
 
   private void onFileOperation(String endpointId, FileTrackingOperationDto operation) {
@@ -223,7 +235,16 @@ public class JavaReconciler {
               throw new NotFoundException("The project is not recognized for " + filePath);
             }
 
-            reconcileAndTransmit(filePath, projectPath, endpointId);
+            reconcileScheduler.scheduleNow(
+                filePath,
+                endpointId,
+                monitor -> reconcileAndTransmit(filePath, projectPath, endpointId, monitor));
+            break;
+          }
+
+        case STOP:
+          {
+            reconcileScheduler.cancel(operation.getPath(), endpointId);
             break;
           }
 
@@ -259,7 +280,8 @@ public class JavaReconciler {
     }
   }
 
-  private void reconcileAndTransmit(String filePath, String projectPath, String endpointId) {
+  private void reconcileAndTransmit(
+      String filePath, String projectPath, String endpointId, IProgressMonitor monitor) {
     ICompilationUnit compilationUnit;
     try {
       compilationUnit = getCompilationUnit(filePath, projectPath);
@@ -271,7 +293,12 @@ public class JavaReconciler {
     }
 
     try {
-      ReconcileResult reconcileResult = reconcile(compilationUnit, getJavaProject(projectPath));
+      ReconcileResult reconcileResult =
+          reconcile(compilationUnit, getJavaProject(projectPath), monitor);
+      if (monitor.isCanceled()) {
+        // the file is changed, the result is outdated
+        return;
+      }
       transmitter
           .newRequest()
           .endpointId(endpointId)
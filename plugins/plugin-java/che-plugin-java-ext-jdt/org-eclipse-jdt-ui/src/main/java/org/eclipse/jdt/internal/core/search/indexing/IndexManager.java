@@ -14,10 +14,12 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Locale;
 import java.util.Map;
 import java.util.zip.CRC32;
+import org.eclipse.che.jdt.internal.core.search.indexing.LibraryIndexStore;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
@@ -652,7 +654,10 @@ public class IndexManager extends JobManager implements IIndexConstants {
       IPath path, IProject requestingProject, URL indexURL, final boolean updateIndex) {
     // requestingProject is no longer used to cancel jobs but leave it here just in case
     IndexLocation indexFile = null;
-    if (indexURL != null) {
+    if (indexURL == null) {
+      // saved index is read on the first query, the library is not parsed
+      if (attachStoredIndex(path)) return;
+    } else {
       if (IS_MANAGING_PRODUCT_INDEXES_PROPERTY) {
         indexFile = computeIndexLocation(path, indexURL);
       } else {
@@ -678,6 +683,52 @@ public class IndexManager extends JobManager implements IIndexConstants {
     if (!isJobWaiting(request)) request(request);
   }
 
+  /**
+   * Copies index of the library from {@link LibraryIndexStore} to the saved index location of the
+   * library, unless the library is already known, so the library is not parsed again when it was
+   * indexed by another project or workspace.
+   *
+   * @return true if the stored index is attached, false if the library has to be indexed
+   */
+  private boolean attachStoredIndex(IPath libraryPath) {
+    LibraryIndexStore store = LibraryIndexStore.getInstance();
+    if (store == null) return false;
+    IndexLocation indexLocation;
+    synchronized (this) {
+      indexLocation = computeIndexLocation(libraryPath);
+      if (getIndexStates().get(indexLocation) != null || indexLocation.exists()) return false;
+    }
+    // library is hashed outside of the lock
+    File storedIndex = store.findIndex(libraryPath.toFile());
+    if (storedIndex == null) return false;
+    synchronized (this) {
+      if (getIndexStates().get(indexLocation) != null || indexLocation.exists()) return false;
+      try {
+        Files.copy(storedIndex.toPath(), indexLocation.getIndexFile().toPath());
+      } catch (IOException e) {
+        if (JobManager.VERBOSE) {
+          Util.verbose("-> failed to copy stored index of " + libraryPath); // $NON-NLS-1$
+          e.printStackTrace();
+        }
+        return false;
+      }
+      if (JobManager.VERBOSE)
+        Util.verbose("-> stored index reused for " + libraryPath); // $NON-NLS-1$
+      updateIndexState(indexLocation, SAVED_STATE);
+      return true;
+    }
+  }
+
+  /** Keeps index of the library in {@link LibraryIndexStore} for other projects and workspaces. */
+  private void storeLibraryIndex(Index index) {
+    LibraryIndexStore store = LibraryIndexStore.getInstance();
+    if (store == null || index.getIndexFile() == null) return;
+    String containerPath = index.containerPath.toLowerCase(Locale.ENGLISH);
+    if (containerPath.endsWith(".jar") || containerPath.endsWith(".zip")) {
+      store.storeIndex(new File(index.containerPath), index.getIndexFile());
+    }
+  }
+
   synchronized boolean addIndex(IPath containerPath, IndexLocation indexFile) {
     getIndexStates().put(indexFile, REUSE_STATE);
     this.indexLocations.put(containerPath, indexFile);
@@ -991,6 +1042,7 @@ public class IndexManager extends JobManager implements IIndexConstants {
       IndexLocation indexLocation = computeIndexLocation(containerPath);
       updateIndexState(indexLocation, SAVED_STATE);
     }
+    storeLibraryIndex(index);
   }
 
   /** Commit all index memory changes to disk */
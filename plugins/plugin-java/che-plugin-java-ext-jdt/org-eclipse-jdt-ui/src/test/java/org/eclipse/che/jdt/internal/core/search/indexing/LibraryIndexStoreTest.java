@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.jdt.internal.core.search.indexing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.Files;
+import java.io.File;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link LibraryIndexStore}. */
+public class LibraryIndexStoreTest {
+  private File tmpDir;
+  private File storeDir;
+  private File sharedDir;
+  private File library;
+
+  @Before
+  public void setUp() throws Exception {
+    tmpDir = Files.createTempDir();
+    storeDir = new File(tmpDir, "store");
+    sharedDir = new File(tmpDir, "shared");
+    library = write("library.jar", "library content");
+  }
+
+  @After
+  public void tearDown() {
+    IoUtil.deleteRecursive(tmpDir);
+  }
+
+  @Test
+  public void shouldFindIndexInStoreDirectoryFirst() throws Exception {
+    new LibraryIndexStore(sharedDir, null).storeIndex(library, write("shared.index", "shared"));
+    new LibraryIndexStore(storeDir, null).storeIndex(library, write("own.index", "own"));
+
+    File index = new LibraryIndexStore(storeDir, sharedDir).findIndex(library);
+
+    assertEquals("own", read(index));
+  }
+
+  @Test
+  public void shouldFindIndexInSharedDirectory() throws Exception {
+    new LibraryIndexStore(sharedDir, null).storeIndex(library, write("shared.index", "shared"));
+
+    File index = new LibraryIndexStore(storeDir, sharedDir).findIndex(library);
+
+    assertEquals("shared", read(index));
+  }
+
+  @Test
+  public void shouldNotStoreIndexWhichIsInSharedDirectory() throws Exception {
+    new LibraryIndexStore(sharedDir, null).storeIndex(library, write("shared.index", "shared"));
+
+    new LibraryIndexStore(storeDir, sharedDir).storeIndex(library, write("own.index", "own"));
+
+    assertNull(new LibraryIndexStore(storeDir, null).findIndex(library));
+  }
+
+  @Test
+  public void shouldNotOverwriteStoredIndex() throws Exception {
+    LibraryIndexStore store = new LibraryIndexStore(storeDir, null);
+    store.storeIndex(library, write("first.index", "first"));
+
+    store.storeIndex(library, write("second.index", "second"));
+
+    assertEquals("first", read(store.findIndex(library)));
+  }
+
+  @Test
+  public void shouldNotLeaveTemporaryFilesWhenIndexIsPublished() throws Exception {
+    LibraryIndexStore store = new LibraryIndexStore(storeDir, null);
+
+    store.storeIndex(library, write("library.index", "index"));
+
+    File index = store.findIndex(library);
+    assertNotNull(index);
+    File[] files = index.getParentFile().listFiles();
+    assertEquals(1, files.length);
+    assertEquals(index, files[0]);
+  }
+
+  @Test
+  public void shouldNotFindIndexOfChangedLibrary() throws Exception {
+    LibraryIndexStore store = new LibraryIndexStore(storeDir, null);
+    store.storeIndex(library, write("library.index", "index"));
+
+    write("library.jar", "changed library content");
+
+    assertNull(store.findIndex(library));
+  }
+
+  @Test
+  public void shouldHashLibraryAgainWhenModificationTimeChanges() throws Exception {
+    LibraryIndexStore store = new LibraryIndexStore(storeDir, null);
+    store.storeIndex(library, write("library.index", "index"));
+    long modified = library.lastModified();
+
+    // the same size
+    write("library.jar", "LIBRARY CONTENT");
+    library.setLastModified(modified - 10_000);
+
+    assertFalse(store.contains(library));
+  }
+
+  @Test
+  public void shouldReuseDigestWhileSizeAndModificationTimeAreTheSame() throws Exception {
+    LibraryIndexStore store = new LibraryIndexStore(storeDir, null);
+    store.storeIndex(library, write("library.index", "index"));
+    long modified = library.lastModified();
+
+    write("library.jar", "LIBRARY CONTENT");
+    library.setLastModified(modified);
+
+    assertTrue(store.contains(library));
+  }
+
+  @Test
+  public void shouldNotStoreIndexWithoutStoreDirectory() throws Exception {
+    LibraryIndexStore store = new LibraryIndexStore(null, sharedDir);
+
+    store.storeIndex(library, write("library.index", "index"));
+
+    assertNull(store.findIndex(library));
+    assertFalse(sharedDir.exists());
+  }
+
+  private File write(String name, String content) throws Exception {
+    File file = new File(tmpDir, name);
+    Files.write(content.getBytes(UTF_8), file);
+    return file;
+  }
+
+  private static String read(File file) throws Exception {
+    return Files.asCharSource(file, UTF_8).read();
+  }
+}
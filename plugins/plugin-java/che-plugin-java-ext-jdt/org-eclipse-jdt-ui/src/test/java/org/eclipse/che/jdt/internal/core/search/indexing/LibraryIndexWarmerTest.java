@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.jdt.internal.core.search.indexing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link LibraryIndexWarmer}. */
+public class LibraryIndexWarmerTest {
+  private File tmpDir;
+  private File repository;
+  private LibraryIndexStore store;
+  private List<String> indexed;
+  private LibraryIndexWarmer.Indexer indexer;
+
+  @Before
+  public void setUp() throws Exception {
+    tmpDir = Files.createTempDir();
+    repository = new File(tmpDir, "repository");
+    store = new LibraryIndexStore(new File(tmpDir, "store"), null);
+    indexed = new ArrayList<>();
+    indexer =
+        (jar, index) -> {
+          indexed.add(jar.getFileName().toString());
+          Files.write(("index of " + jar.getFileName()).getBytes(UTF_8), index.toFile());
+        };
+  }
+
+  @After
+  public void tearDown() {
+    IoUtil.deleteRecursive(tmpDir);
+  }
+
+  @Test
+  public void shouldIndexLibrariesOfRepository() throws Exception {
+    File library = write("org/lib/1.0/lib-1.0.jar", "library");
+    write("org/lib/1.0/lib-1.0-sources.jar", "sources");
+    write("org/lib/1.0/lib-1.0-javadoc.jar", "javadoc");
+    write("org/lib/1.0/lib-1.0.pom", "pom");
+
+    int count = LibraryIndexWarmer.warm(repository.toPath(), store, work(), indexer);
+
+    assertEquals(1, count);
+    assertEquals("[lib-1.0.jar]", indexed.toString());
+    assertEquals(
+        "index of lib-1.0.jar", Files.asCharSource(store.findIndex(library), UTF_8).read());
+  }
+
+  @Test
+  public void shouldNotIndexLibrariesWhichAreAlreadyStored() throws Exception {
+    File stored = write("org/stored/1.0/stored-1.0.jar", "stored");
+    store.storeIndex(stored, write("stored.index", "index"));
+    write("org/lib/1.0/lib-1.0.jar", "library");
+
+    int count = LibraryIndexWarmer.warm(repository.toPath(), store, work(), indexer);
+
+    assertEquals(1, count);
+    assertEquals("[lib-1.0.jar]", indexed.toString());
+  }
+
+  @Test
+  public void shouldContinueWhenLibraryCantBeIndexed() throws Exception {
+    File broken = write("org/broken/1.0/broken-1.0.jar", "broken");
+    File library = write("org/lib/1.0/lib-1.0.jar", "library");
+    LibraryIndexWarmer.Indexer failing =
+        (jar, index) -> {
+          if (jar.toFile().equals(broken)) {
+            throw new IOException("broken jar");
+          }
+          indexer.index(jar, index);
+        };
+
+    int count = LibraryIndexWarmer.warm(repository.toPath(), store, work(), failing);
+
+    assertEquals(1, count);
+    assertNull(store.findIndex(broken));
+    assertTrue(store.contains(library));
+  }
+
+  @Test
+  public void shouldRemoveTemporaryIndexFiles() throws Exception {
+    write("org/lib/1.0/lib-1.0.jar", "library");
+    Path work = work();
+
+    LibraryIndexWarmer.warm(repository.toPath(), store, work, indexer);
+
+    assertFalse(work.resolve("library.index").toFile().exists());
+  }
+
+  private Path work() {
+    File work = new File(tmpDir, "work");
+    work.mkdirs();
+    return work.toPath();
+  }
+
+  private File write(String path, String content) throws Exception {
+    File file = new File(repository, path);
+    Files.createParentDirs(file);
+    Files.write(content.getBytes(UTF_8), file);
+    return file;
+  }
+}
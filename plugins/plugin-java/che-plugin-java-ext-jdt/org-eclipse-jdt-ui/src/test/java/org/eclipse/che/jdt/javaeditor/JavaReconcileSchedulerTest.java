@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.jdt.javaeditor;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link JavaReconcileScheduler}. */
+public class JavaReconcileSchedulerTest {
+  private static final String FILE = "/project/src/A.java";
+  private static final long DELAY_MS = 100;
+
+  private JavaReconcileScheduler scheduler;
+  private List<String> reconciled;
+
+  @Before
+  public void setUp() {
+    scheduler = new JavaReconcileScheduler(DELAY_MS);
+    reconciled = new CopyOnWriteArrayList<>();
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  public void shouldReconcileBurstOfChangesOnce() throws Exception {
+    CountDownLatch done = new CountDownLatch(1);
+    for (int i = 0; i < 5; i++) {
+      scheduler.schedule(FILE, "endpoint", record("change" + i, done));
+    }
+
+    assertTrue(done.await(5, SECONDS));
+    Thread.sleep(DELAY_MS * 2);
+    assertEquals("[change4]", reconciled.toString());
+    assertTrue(scheduler.getLatency(FILE) >= DELAY_MS);
+  }
+
+  @Test
+  public void shouldDelayReconcileUntilChangesStop() throws Exception {
+    CountDownLatch done = new CountDownLatch(1);
+    long start = System.nanoTime();
+    scheduler.schedule(FILE, "endpoint", record("first", done));
+    Thread.sleep(DELAY_MS / 2);
+    scheduler.schedule(FILE, "endpoint", record("second", done));
+
+    assertTrue(done.await(5, SECONDS));
+    assertTrue((System.nanoTime() - start) / 1_000_000 >= DELAY_MS * 3 / 2);
+    assertEquals("[second]", reconciled.toString());
+  }
+
+  @Test
+  public void shouldCancelRunningReconcileWhenFileIsChanged() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch cancelled = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(1);
+    scheduler.scheduleNow(FILE, "endpoint", blockUntilCancelled(started, cancelled));
+    assertTrue(started.await(5, SECONDS));
+
+    scheduler.schedule(FILE, "endpoint", record("latest", done));
+
+    assertTrue(cancelled.await(5, SECONDS));
+    assertTrue(done.await(5, SECONDS));
+    assertEquals("[latest]", reconciled.toString());
+  }
+
+  @Test
+  public void shouldReconcileAgainForEndpointWhichReconcileIsCancelledByOtherEndpoint()
+      throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch cancelled = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(2);
+    Consumer<IProgressMonitor> first = blockUntilCancelled(started, cancelled);
+    scheduler.scheduleNow(
+        FILE,
+        "first",
+        monitor -> {
+          if (started.getCount() > 0) {
+            first.accept(monitor);
+          } else {
+            record("first", done).accept(monitor);
+          }
+        });
+    assertTrue(started.await(5, SECONDS));
+
+    scheduler.schedule(FILE, "second", record("second", done));
+
+    assertTrue(cancelled.await(5, SECONDS));
+    assertTrue(done.await(5, SECONDS));
+    assertTrue(reconciled.contains("first"));
+    assertTrue(reconciled.contains("second"));
+  }
+
+  @Test
+  public void shouldNotCancelReconcileOfOtherEndpointWhenFileIsClosed() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger cancels = new AtomicInteger();
+    scheduler.scheduleNow(
+        FILE,
+        "first",
+        monitor -> {
+          started.countDown();
+          await(release);
+          if (monitor.isCanceled()) {
+            cancels.incrementAndGet();
+          } else {
+            reconciled.add("first");
+          }
+        });
+    assertTrue(started.await(5, SECONDS));
+
+    scheduler.cancel(FILE, "second");
+    release.countDown();
+
+    Thread.sleep(DELAY_MS);
+    assertEquals(0, cancels.get());
+    assertEquals("[first]", reconciled.toString());
+  }
+
+  @Test
+  public void shouldCancelOnlyReconcileOfClosingEndpoint() throws Exception {
+    CountDownLatch done = new CountDownLatch(1);
+    scheduler.schedule(FILE, "first", record("first", new CountDownLatch(1)));
+    scheduler.schedule(FILE, "second", record("second", done));
+
+    scheduler.cancel(FILE, "first");
+
+    assertTrue(done.await(5, SECONDS));
+    Thread.sleep(DELAY_MS * 2);
+    assertEquals("[second]", reconciled.toString());
+  }
+
+  @Test
+  public void shouldNotReconcileFileConcurrently() throws Exception {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(1);
+    Consumer<IProgressMonitor> reconcile =
+        monitor -> {
+          maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+          sleep(20);
+          running.decrementAndGet();
+        };
+
+    for (int i = 0; i < 20; i++) {
+      scheduler.scheduleNow(FILE, "endpoint" + i % 3, reconcile);
+      sleep(5);
+    }
+    scheduler.scheduleNow(FILE, "last", record("last", done));
+
+    assertTrue(done.await(5, SECONDS));
+    assertEquals(1, maxRunning.get());
+    assertFalse(reconciled.isEmpty());
+  }
+
+  private Consumer<IProgressMonitor> record(String name, CountDownLatch done) {
+    return monitor -> {
+      reconciled.add(name);
+      done.countDown();
+    };
+  }
+
+  private static Consumer<IProgressMonitor> blockUntilCancelled(
+      CountDownLatch started, CountDownLatch cancelled) {
+    return monitor -> {
+      started.countDown();
+      while (!monitor.isCanceled()) {
+        sleep(5);
+      }
+      cancelled.countDown();
+    };
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
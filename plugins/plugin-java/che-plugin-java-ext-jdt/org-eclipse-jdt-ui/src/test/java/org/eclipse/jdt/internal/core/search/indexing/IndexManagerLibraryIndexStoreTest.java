@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.Files;
+import java.io.File;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.jdt.internal.core.search.indexing.LibraryIndexStore;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.internal.core.index.FileIndexLocation;
+import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.index.IndexLocation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for reuse of indexes kept in {@link LibraryIndexStore} by {@link IndexManager}. */
+public class IndexManagerLibraryIndexStoreTest {
+  private File tmpDir;
+  private File storeDir;
+  private File library;
+  private IPath libraryPath;
+  private IndexManager indexManager;
+
+  @Before
+  public void setUp() throws Exception {
+    tmpDir = Files.createTempDir();
+    storeDir = new File(tmpDir, "store");
+    File indexDir = new File(tmpDir, "index");
+    indexDir.mkdirs();
+    // not a zip, so the test fails if the library is parsed
+    library = new File(tmpDir, "library.jar");
+    Files.write("library content".getBytes(UTF_8), library);
+    libraryPath = new Path(library.getAbsolutePath());
+    LibraryIndexStore.configure(storeDir.getAbsolutePath(), null);
+    indexManager = new IndexManager(indexDir.getAbsolutePath());
+  }
+
+  @After
+  public void tearDown() {
+    indexManager.shutdown();
+    LibraryIndexStore.configure(null, null);
+    IoUtil.deleteRecursive(tmpDir);
+  }
+
+  @Test
+  public void shouldReuseStoredIndexWithoutParsingLibrary() throws Exception {
+    File built = new File(tmpDir, "built.index");
+    new Index(new FileIndexLocation(built), libraryPath.toOSString(), false);
+    LibraryIndexStore.getInstance().storeIndex(library, built);
+
+    indexManager.indexLibrary(libraryPath, null, null);
+
+    assertFalse(indexManager.isJobWaiting(newIndexRequest()));
+    IndexLocation indexLocation = indexManager.computeIndexLocation(libraryPath);
+    assertTrue(indexLocation.exists());
+    assertNotNull(indexManager.getIndex(libraryPath, true, false));
+  }
+
+  @Test
+  public void shouldIndexLibraryWhichIsNotStored() throws Exception {
+    indexManager.indexLibrary(libraryPath, null, null);
+
+    assertTrue(indexManager.isJobWaiting(newIndexRequest()));
+    assertFalse(indexManager.computeIndexLocation(libraryPath).exists());
+  }
+
+  @Test
+  public void shouldNotReplaceIndexOfKnownLibrary() throws Exception {
+    IndexLocation indexLocation = indexManager.computeIndexLocation(libraryPath);
+    indexManager.saveIndex(new Index(indexLocation, libraryPath.toOSString(), false));
+    long saved = indexLocation.lastModified();
+
+    indexManager.indexLibrary(libraryPath, null, null);
+
+    assertTrue(indexManager.isJobWaiting(newIndexRequest()));
+    assertEquals(saved, indexLocation.lastModified());
+  }
+
+  @Test
+  public void shouldStoreSavedIndexOfLibrary() throws Exception {
+    IndexLocation indexLocation = indexManager.computeIndexLocation(libraryPath);
+    Index index = new Index(indexLocation, libraryPath.toOSString(), false);
+
+    indexManager.saveIndex(index);
+
+    assertNotNull(LibraryIndexStore.getInstance().findIndex(library));
+  }
+
+  @Test
+  public void shouldNotStoreIndexOfSourceFolder() throws Exception {
+    File folder = new File(tmpDir, "classes");
+    folder.mkdirs();
+    IPath folderPath = new Path(folder.getAbsolutePath());
+    Index index =
+        new Index(indexManager.computeIndexLocation(folderPath), folderPath.toOSString(), false);
+
+    indexManager.saveIndex(index);
+
+    assertFalse(storeDir.exists());
+  }
+
+  private AddJarFileToIndex newIndexRequest() {
+    return new AddJarFileToIndex(libraryPath, null, indexManager, false);
+  }
+}
@@ -17,6 +17,7 @@ import com.google.inject.name.Named;
 import java.nio.file.Paths;
 import org.eclipse.che.JavadocUrlProvider;
 import org.eclipse.che.inject.DynaModule;
+import org.eclipse.che.jdt.internal.core.search.indexing.LibraryIndexStore;
 import org.eclipse.che.jdt.rest.UrlContextProvider;
 import org.eclipse.che.plugin.java.server.JavaReconcileRequestHandler;
 import org.eclipse.che.plugin.java.server.ProjectListeners;
@@ -60,6 +61,7 @@ public class JdtGuiceModule extends AbstractModule {
 
     bind(JavadocUrlProvider.class).to(JavadocUrlProviderImpl.class);
     requestStaticInjection(UrlContextProvider.class);
+    requestStaticInjection(LibraryIndexStore.class);
   }
 
   @Provides
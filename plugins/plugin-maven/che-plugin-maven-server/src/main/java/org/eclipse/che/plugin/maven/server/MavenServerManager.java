@@ -92,6 +92,10 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
     };
   }
 
+  /**
+   * Creates wrapper of a new maven server. Servers are created by the single maven server process
+   * managed by this manager, so all of them share that JVM.
+   */
   public MavenServerWrapper createMavenServer() {
     return new MavenServerWrapper() {
       @Override
@@ -12,51 +12,68 @@ package org.eclipse.che.plugin.maven.server;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Manages and cache MavenServerWrapper instances
  *
+ * <p>Up to {@code che.maven.server.pool_size} released servers of each type are kept for reuse, so
+ * that many projects can be resolved concurrently without creating a new server for each of them.
+ * Servers are remote objects created in the single maven server process of {@link
+ * MavenServerManager}, so the pool bounds concurrency inside that JVM rather than the number of
+ * processes.
+ *
  * @author Evgen Vidolob
  */
 @Singleton
 public class MavenWrapperManager {
 
   private final MavenServerManager serverManager;
-  private final Map<ServerType, MavenServerWrapper> cache = new HashMap<>();
-  private final Set<MavenServerWrapper> usedServers = new HashSet<>();
+  private final int poolSize;
+  private final Map<ServerType, Deque<MavenServerWrapper>> idleServers =
+      new EnumMap<>(ServerType.class);
+  private final Map<MavenServerWrapper, ServerType> usedServers = new HashMap<>();
 
   @Inject
-  public MavenWrapperManager(MavenServerManager serverManager) {
+  public MavenWrapperManager(
+      MavenServerManager serverManager, @Named("che.maven.server.pool_size") int poolSize) {
     this.serverManager = serverManager;
+    this.poolSize = Math.max(poolSize, 1);
   }
 
-  public synchronized MavenServerWrapper getMavenServer(ServerType type) {
-    MavenServerWrapper wrapper = cache.get(type);
+  public MavenServerWrapper getMavenServer(ServerType type) {
+    MavenServerWrapper wrapper;
+    synchronized (this) {
+      wrapper = idleServers.computeIfAbsent(type, t -> new ArrayDeque<>()).poll();
+    }
     if (wrapper == null) {
+      // starting server takes time, other servers may be taken and released meanwhile
       wrapper = serverManager.createMavenServer();
-      cache.put(type, wrapper);
     }
-
-    if (usedServers.contains(wrapper)) {
-      // need to warn here
-      return serverManager.createMavenServer();
+    synchronized (this) {
+      usedServers.put(wrapper, type);
     }
-
-    usedServers.add(wrapper);
     return wrapper;
   }
 
-  public synchronized void release(MavenServerWrapper wrapper) {
-    if (usedServers.contains(wrapper)) {
-      wrapper.reset();
-      usedServers.remove(wrapper);
-    } else {
-      wrapper.dispose();
+  public void release(MavenServerWrapper wrapper) {
+    synchronized (this) {
+      ServerType type = usedServers.remove(wrapper);
+      if (type != null) {
+        Deque<MavenServerWrapper> idle = idleServers.get(type);
+        if (idle.size() < poolSize) {
+          wrapper.reset();
+          idle.push(wrapper);
+          return;
+        }
+      }
     }
+    wrapper.dispose();
   }
 
   public enum ServerType {
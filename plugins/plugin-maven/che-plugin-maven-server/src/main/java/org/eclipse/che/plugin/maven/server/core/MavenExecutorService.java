@@ -11,7 +11,9 @@
 package org.eclipse.che.plugin.maven.server.core;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -21,21 +23,35 @@ import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** @author Evgen Vidolob */
+/**
+ * Thread pool for maven tasks, its size is the number of maven servers used for resolving projects
+ * concurrently. The servers live in the same maven server process, see {@link
+ * org.eclipse.che.plugin.maven.server.MavenWrapperManager}.
+ *
+ * @author Evgen Vidolob
+ */
 @Singleton
 public class MavenExecutorService {
 
   private static final Logger LOG = LoggerFactory.getLogger(MavenExecutorService.class);
 
   private final ExecutorService service;
+  private final int poolSize;
 
-  public MavenExecutorService() {
+  @Inject
+  public MavenExecutorService(@Named("che.maven.server.pool_size") int poolSize) {
+    this.poolSize = Math.max(poolSize, 1);
     ThreadFactory threadFactory =
         new ThreadFactoryBuilder()
             .setNameFormat("Maven Executor - %d")
             .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
             .build();
-    service = Executors.newFixedThreadPool(1, threadFactory);
+    service = Executors.newFixedThreadPool(this.poolSize, threadFactory);
+  }
+
+  /** Returns number of threads which perform tasks concurrently. */
+  public int getPoolSize() {
+    return poolSize;
   }
 
   public void submit(Runnable task) {
@@ -10,6 +10,8 @@
  */
 package org.eclipse.che.plugin.maven.server.core;
 
+import static java.lang.String.format;
+
 /**
  * Notification interface, mostly used for notification of maven artifact downloading process.
  *
@@ -30,4 +32,14 @@ public interface MavenProgressNotifier {
   void start();
 
   void stop();
+
+  /**
+   * Notifies that the task is performed.
+   *
+   * @param task description of the task
+   * @param duration time in milliseconds which the task took
+   */
+  default void taskPerformed(String task, long duration) {
+    setText(format("%s - done in %d ms", task, duration));
+  }
 }
@@ -15,6 +15,7 @@ import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
@@ -485,6 +486,40 @@ public class MavenProjectManager {
     }
   }
 
+  /**
+   * Returns dependencies between the given projects. Each project is mapped to the given projects
+   * it depends on, either as on artifacts or as on its parent or aggregator.
+   */
+  public Map<MavenProject, Set<MavenProject>> findDependencies(Collection<MavenProject> projects) {
+    readLock.lock();
+    try {
+      Map<MavenKey, MavenProject> keyToProject = new HashMap<>();
+      projects.forEach(project -> keyToProject.put(project.getMavenKey(), project));
+
+      Map<MavenProject, Set<MavenProject>> result = new HashMap<>();
+      for (MavenProject project : projects) {
+        Set<MavenProject> dependencies = new HashSet<>();
+        dependencies.add(keyToProject.get(project.getParentKey()));
+        MavenProject aggregator = moduleToParentMap.get(project);
+        if (projects.contains(aggregator)) {
+          dependencies.add(aggregator);
+        }
+        for (MavenArtifact artifact : project.getDependencies()) {
+          dependencies.add(
+              keyToProject.get(
+                  new MavenKey(
+                      artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion())));
+        }
+        dependencies.remove(null);
+        dependencies.remove(project);
+        result.put(project, dependencies);
+      }
+      return result;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
   private boolean contains(
       Set<MavenKey> mavenKeys, String artifactId, String groupId, String version) {
     return mavenKeys
@@ -38,4 +38,25 @@ public class MavenProjectResolveTask implements MavenProjectTask {
       afterTask.run();
     }
   }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MavenProjectResolveTask)) {
+      return false;
+    }
+    return mavenProject.equals(((MavenProjectResolveTask) obj).mavenProject);
+  }
+
+  @Override
+  public int hashCode() {
+    return mavenProject.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "Resolving project: " + mavenProject.getName();
+  }
 }
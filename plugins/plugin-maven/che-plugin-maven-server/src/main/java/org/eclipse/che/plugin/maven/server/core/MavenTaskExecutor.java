@@ -10,9 +10,14 @@
  */
 package org.eclipse.che.plugin.maven.server.core;
 
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.concurrent.Semaphore;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonMap;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +25,10 @@ import org.slf4j.LoggerFactory;
 /**
  * Executor for {@link MavenProjectTask}. Uses {@link MavenExecutorService} as executor service.
  *
+ * <p>Tasks are performed concurrently by the threads of the executor service, a task is started
+ * only when the tasks it depends on are neither queued nor running. The same task which is already
+ * queued isn't queued again.
+ *
  * @author Evgen Vidolob
  */
 public class MavenTaskExecutor {
@@ -27,8 +36,12 @@ public class MavenTaskExecutor {
 
   private final MavenExecutorService service;
   private final MavenProgressNotifier notifier;
-  private final Queue<MavenProjectTask> queue = new LinkedList<>();
+  /** Queued tasks mapped to the tasks they depend on. */
+  private final Map<MavenProjectTask, Set<MavenProjectTask>> queue = new LinkedHashMap<>();
+
+  private final Set<MavenProjectTask> running = new HashSet<>();
   private boolean isWorking;
+  private int taskDone;
 
   public MavenTaskExecutor(MavenExecutorService service, MavenProgressNotifier notifier) {
     this.service = service;
@@ -36,77 +49,115 @@ public class MavenTaskExecutor {
   }
 
   public void submitTask(MavenProjectTask task) {
+    submitTasks(singletonMap(task, emptySet()));
+  }
+
+  /**
+   * Submits the tasks at once, so none of them is started before the tasks it depends on are
+   * queued.
+   *
+   * @param tasks tasks mapped to the tasks they depend on
+   */
+  public void submitTasks(Map<MavenProjectTask, Set<MavenProjectTask>> tasks) {
     synchronized (queue) {
-      // if no running tasks, start immediately
       if (!isWorking) {
         isWorking = true;
-        runTask(task);
-      } else {
-        if (!queue.contains(task)) {
-          queue.add(task);
-        }
+        taskDone = 0;
+        notifier.start();
       }
+      tasks.forEach(
+          (task, dependencies) ->
+              queue.computeIfAbsent(task, t -> new HashSet<>()).addAll(dependencies));
+      runTasks();
+      stopIfDone();
     }
   }
 
   public void removeTask(MavenProjectTask task) {
     synchronized (queue) {
       queue.remove(task);
+      stopIfDone();
     }
   }
 
   public void stop() {
     synchronized (queue) {
       queue.clear();
+      stopIfDone();
     }
   }
 
-  private void runTask(MavenProjectTask task) {
-    service.submit(() -> doRunTasks(task));
+  /** Starts the queued tasks which don't wait for other tasks, while there are free threads. */
+  private void runTasks() {
+    while (running.size() < service.getPoolSize() && !queue.isEmpty()) {
+      MavenProjectTask task = pollReadyTask();
+      if (task == null) {
+        return;
+      }
+      running.add(task);
+      service.submit(() -> doRunTask(task));
+    }
   }
 
-  private void doRunTasks(MavenProjectTask task) {
-    int taskDone = 0;
-    notifier.start();
-    while (true) {
-      taskDone++;
-      int restTasks;
-      synchronized (queue) {
-        restTasks = queue.size();
+  private MavenProjectTask pollReadyTask() {
+    for (Iterator<Map.Entry<MavenProjectTask, Set<MavenProjectTask>>> it =
+            queue.entrySet().iterator();
+        it.hasNext(); ) {
+      Map.Entry<MavenProjectTask, Set<MavenProjectTask>> entry = it.next();
+      if (!running.contains(entry.getKey())
+          && entry.getValue().stream().noneMatch(this::isPending)) {
+        it.remove();
+        return entry.getKey();
       }
+    }
+    if (running.isEmpty()) {
+      // dependencies are cyclic, start the oldest task of the cycle
+      Iterator<MavenProjectTask> it = queue.keySet().iterator();
+      MavenProjectTask task = it.next();
+      it.remove();
+      return task;
+    }
+    return null;
+  }
 
-      notifier.setPercent((double) taskDone / (double) (restTasks + taskDone));
-      try {
-        task.perform();
-      } catch (Throwable throwable) {
-        LOG.error(throwable.getMessage(), throwable);
-        // TODO need to notify user some how
-      }
+  private boolean isPending(MavenProjectTask task) {
+    return queue.containsKey(task) || running.contains(task);
+  }
 
-      synchronized (queue) {
-        task = queue.poll();
-        if (task == null) {
-          isWorking = false;
-          notifier.stop();
-          return;
-        }
-      }
+  private void doRunTask(MavenProjectTask task) {
+    long start = System.currentTimeMillis();
+    try {
+      task.perform();
+    } catch (Throwable throwable) {
+      LOG.error(throwable.getMessage(), throwable);
+      // TODO need to notify user some how
+    }
+    long duration = System.currentTimeMillis() - start;
+    LOG.debug("{} is performed in {} ms", task, duration);
+    notifier.taskPerformed(task.toString(), duration);
+
+    synchronized (queue) {
+      running.remove(task);
+      taskDone++;
+      notifier.setPercent((double) taskDone / (double) (taskDone + running.size() + queue.size()));
+      runTasks();
+      stopIfDone();
     }
   }
 
-  public void waitForEndAllTasks() {
-    if (!isWorking) {
-      return;
+  private void stopIfDone() {
+    if (isWorking && running.isEmpty() && queue.isEmpty()) {
+      isWorking = false;
+      notifier.stop();
+      queue.notifyAll();
     }
+  }
 
-    Semaphore semaphore = new Semaphore(1);
+  public void waitForEndAllTasks() {
     try {
-      semaphore.acquire();
-      submitTask(semaphore::release);
-
-      while (true) {
-        if (!isWorking || semaphore.tryAcquire(1, TimeUnit.SECONDS)) {
-          return;
+      synchronized (queue) {
+        while (isWorking) {
+          queue.wait(TimeUnit.SECONDS.toMillis(1));
         }
       }
     } catch (InterruptedException e) {
@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.maven.server.core;
 
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.plugin.maven.shared.MavenAttributes.MAVEN_ID;
 
 import com.google.inject.Inject;
@@ -18,6 +19,7 @@ import com.google.inject.Provider;
 import com.google.inject.Singleton;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -178,9 +180,10 @@ public class MavenWorkspace {
     Set<MavenProject> needResolve = new HashSet<>(projectsToResolve);
     projectsToResolve.clear();
 
+    Map<MavenProject, MavenProjectTask> tasks = new HashMap<>();
     for (MavenProject mavenProject : needResolve) {
-
-      resolveExecutor.submitTask(
+      tasks.put(
+          mavenProject,
           new MavenProjectResolveTask(
               mavenProject,
               manager,
@@ -189,6 +192,16 @@ public class MavenWorkspace {
                 classpathManager.updateClasspath(mavenProject);
               }));
     }
+
+    // projects are resolved after the projects they depend on
+    Map<MavenProjectTask, Set<MavenProjectTask>> graph = new HashMap<>();
+    manager
+        .findDependencies(needResolve)
+        .forEach(
+            (project, dependencies) ->
+                graph.put(
+                    tasks.get(project), dependencies.stream().map(tasks::get).collect(toSet())));
+    resolveExecutor.submitTasks(graph);
   }
 
   private void updateJavaProject(MavenProject project) {
@@ -80,7 +80,7 @@ public class WorkspaceTest extends BaseTest {
             }
           }
         };
-    MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager);
+    MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager, 1);
     mavenProjectManager =
         new MavenProjectManager(
             wrapperManager,
@@ -92,7 +92,7 @@ public class WorkspaceTest extends BaseTest {
         new MavenWorkspace(
             mavenProjectManager,
             mavenNotifier,
-            new MavenExecutorService(),
+            new MavenExecutorService(1),
             projectRegistryProvider,
             new ClasspathManager(
                 root.getAbsolutePath(),
@@ -67,7 +67,7 @@ public class ClasspathManagerTest extends BaseTest {
     localRepository = new File(new File("target/localRepo").getAbsolutePath());
     localRepository.mkdirs();
     mavenServerManager.setLocalRepository(localRepository);
-    MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager);
+    MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager, 1);
     mavenProjectManager =
         new MavenProjectManager(
             wrapperManager,
@@ -82,7 +82,7 @@ public class ClasspathManagerTest extends BaseTest {
         new MavenWorkspace(
             mavenProjectManager,
             mavenNotifier,
-            new MavenExecutorService(),
+            new MavenExecutorService(1),
             projectRegistryProvider,
             classpathManager,
             eventService,
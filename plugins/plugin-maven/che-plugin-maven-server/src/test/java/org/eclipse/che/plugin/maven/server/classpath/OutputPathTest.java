@@ -58,7 +58,7 @@ public class OutputPathTest extends BaseTest {
             }
           }
         };
-    MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager);
+    MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager, 1);
     mavenProjectManager =
         new MavenProjectManager(
             wrapperManager,
@@ -70,7 +70,7 @@ public class OutputPathTest extends BaseTest {
         new MavenWorkspace(
             mavenProjectManager,
             mavenNotifier,
-            new MavenExecutorService(),
+            new MavenExecutorService(1),
             projectRegistryProvider,
             new ClasspathManager(
                 root.getAbsolutePath(),
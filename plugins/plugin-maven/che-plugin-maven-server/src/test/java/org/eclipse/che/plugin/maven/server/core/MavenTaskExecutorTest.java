@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link MavenTaskExecutor}. */
+public class MavenTaskExecutorTest {
+
+  private MavenExecutorService service;
+  private MavenTaskExecutor executor;
+  private List<String> performed;
+
+  @BeforeMethod
+  public void setUp() {
+    service = new MavenExecutorService(2);
+    executor = new MavenTaskExecutor(service, new NoopNotifier());
+    performed = new CopyOnWriteArrayList<>();
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    service.shutdown();
+  }
+
+  @Test
+  public void shouldPerformIndependentTasksConcurrently() throws Exception {
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    MavenProjectTask first = () -> awaitOther(bothStarted);
+    MavenProjectTask second = () -> awaitOther(bothStarted);
+
+    executor.submitTasks(tasks(first, emptySet(), second, emptySet()));
+    executor.waitForEndAllTasks();
+
+    assertEquals(bothStarted.getCount(), 0L);
+  }
+
+  @Test
+  public void shouldPerformTaskAfterTasksItDependsOn() throws Exception {
+    MavenProjectTask parent = task("parent");
+    MavenProjectTask module = task("module");
+    MavenProjectTask dependent = task("dependent");
+    Map<MavenProjectTask, Set<MavenProjectTask>> tasks = new HashMap<>();
+    tasks.put(dependent, new HashSet<>(asList(parent, module)));
+    tasks.put(module, singleton(parent));
+    tasks.put(parent, emptySet());
+
+    executor.submitTasks(tasks);
+    executor.waitForEndAllTasks();
+
+    assertEquals(performed, asList("parent", "module", "dependent"));
+  }
+
+  @Test
+  public void shouldPerformTasksWithCyclicDependencies() throws Exception {
+    MavenProjectTask first = task("first");
+    MavenProjectTask second = task("second");
+
+    executor.submitTasks(tasks(first, singleton(second), second, singleton(first)));
+    executor.waitForEndAllTasks();
+
+    assertEquals(performed.size(), 2);
+  }
+
+  @Test
+  public void shouldNotQueueTheSameTaskTwice() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger count = new AtomicInteger();
+    MavenProjectTask blocking = () -> await(release);
+    MavenProjectTask counted = count::incrementAndGet;
+
+    executor.submitTask(blocking);
+    executor.submitTasks(Collections.singletonMap(counted, singleton(blocking)));
+    executor.submitTask(counted);
+    release.countDown();
+    executor.waitForEndAllTasks();
+
+    assertEquals(count.get(), 1);
+  }
+
+  private MavenProjectTask task(String name) {
+    return () -> performed.add(name);
+  }
+
+  private static Map<MavenProjectTask, Set<MavenProjectTask>> tasks(
+      MavenProjectTask first,
+      Set<MavenProjectTask> firstDependencies,
+      MavenProjectTask second,
+      Set<MavenProjectTask> secondDependencies) {
+    Map<MavenProjectTask, Set<MavenProjectTask>> tasks = new HashMap<>();
+    tasks.put(first, firstDependencies);
+    tasks.put(second, secondDependencies);
+    return tasks;
+  }
+
+  private static void awaitOther(CountDownLatch latch) {
+    latch.countDown();
+    await(latch);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class NoopNotifier implements MavenProgressNotifier {
+    @Override
+    public void setText(String text) {}
+
+    @Override
+    public void setPercent(double percent) {}
+
+    @Override
+    public void setPercentUndefined(boolean undefined) {}
+
+    @Override
+    public boolean isCanceled() {
+      return false;
+    }
+
+    @Override
+    public void start() {}
+
+    @Override
+    public void stop() {}
+  }
+}
@@ -74,7 +74,7 @@ public class PomReconcilerTest extends BaseTest {
     localRepository.mkdirs();
     mavenServerManager.setLocalRepository(localRepository);
 
-    MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager);
+    MavenWrapperManager wrapperManager = new MavenWrapperManager(mavenServerManager, 1);
     mavenProjectManager =
         new MavenProjectManager(
             wrapperManager,
@@ -94,7 +94,7 @@ public class PomReconcilerTest extends BaseTest {
         new MavenWorkspace(
             mavenProjectManager,
             mavenNotifier,
-            new MavenExecutorService(),
+            new MavenExecutorService(1),
             projectRegistryProvider,
             classpathManager,
             eventService,
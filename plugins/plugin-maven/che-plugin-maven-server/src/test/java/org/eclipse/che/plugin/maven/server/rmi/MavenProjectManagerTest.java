@@ -69,7 +69,7 @@ public class MavenProjectManagerTest {
 
   @BeforeMethod
   public void setUp() throws Exception {
-    MavenWrapperManager wrapperManager = new MavenWrapperManager(manager);
+    MavenWrapperManager wrapperManager = new MavenWrapperManager(manager, 1);
     projectManager =
         new MavenProjectManager(
             wrapperManager,
@@ -21,6 +21,7 @@ import javax.inject.Singleton;
 import org.eclipse.che.api.agent.server.WsAgentHealthChecker;
 import org.eclipse.che.api.agent.server.WsAgentPingRequestFactory;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
+import org.eclipse.che.api.agent.server.launcher.AgentLaunchingBackoff;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
@@ -121,12 +122,19 @@ public class WsAgentLauncher implements AgentLauncher {
           wsAgentPingUrl,
           pingStartTimestamp);
 
-      while (System.currentTimeMillis() - pingStartTimestamp < wsAgentMaxStartTimeMs) {
-        if (pingWsAgent(machine)) {
-          return;
-        } else {
-          Thread.sleep(wsAgentPingDelayMs);
-        }
+      // ws agent is pinged more often right after start as small workspaces start quickly
+      AgentLaunchingBackoff backoff =
+          new AgentLaunchingBackoff(wsAgentPingDelayMs, wsAgentMaxStartTimeMs);
+      if (backoff.getElapsedMs() < wsAgentMaxStartTimeMs) {
+        do {
+          if (pingWsAgent(machine)) {
+            LOG.debug(
+                "Ws agent is started in {} ms. Workspace ID:{}",
+                System.currentTimeMillis() - pingStartTimestamp,
+                machine.getWorkspaceId());
+            return;
+          }
+        } while (backoff.await());
       }
     } catch (BadRequestException | ServerException | NotFoundException e) {
       throw new ServerException(e.getServiceError());
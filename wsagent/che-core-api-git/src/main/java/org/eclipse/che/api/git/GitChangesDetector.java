@@ -22,6 +22,7 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.nio.file.PathMatcher;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
 import javax.annotation.PostConstruct;
@@ -32,6 +33,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.git.shared.EditedRegion;
 import org.eclipse.che.api.git.shared.FileChangedEventDto;
 import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.project.server.ProjectManager;
@@ -125,8 +127,12 @@ public class GitChangesDetector {
                 .getVirtualFile()
                 .toIoFile()
                 .getAbsolutePath();
-        GitConnection connection = gitConnectionFactory.getConnection(projectPath);
-        Status status = connection.status(singletonList(itemPath));
+        Status status;
+        List<EditedRegion> editedRegions;
+        try (GitConnection connection = gitConnectionFactory.getConnection(projectPath)) {
+          status = connection.status(singletonList(itemPath));
+          editedRegions = connection.getEditedRegions(itemPath);
+        }
         FileChangedEventDto.Status fileStatus;
         if (status.getAdded().contains(itemPath)) {
           fileStatus = ADDED;
@@ -147,8 +153,7 @@ public class GitChangesDetector {
                 newDto(FileChangedEventDto.class)
                     .withPath(path)
                     .withStatus(fileStatus)
-                    .withEditedRegions(
-                        gitConnectionFactory.getConnection(projectPath).getEditedRegions(itemPath)))
+                    .withEditedRegions(editedRegions))
             .sendAndSkipResult();
       } catch (NotFoundException | ServerException e) {
         String errorMessage = e.getMessage();
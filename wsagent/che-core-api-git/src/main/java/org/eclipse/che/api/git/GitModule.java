@@ -62,6 +62,7 @@ public class GitModule extends AbstractModule {
 
     bind(GitCheckoutDetector.class).asEagerSingleton();
     bind(GitChangesDetector.class).asEagerSingleton();
+    bind(GitStatusCache.class).asEagerSingleton();
     bind(GitStatusChangedDetector.class).asEagerSingleton();
   }
 }
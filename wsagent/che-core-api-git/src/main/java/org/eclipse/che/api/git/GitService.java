@@ -317,6 +317,7 @@ public class GitService {
       @QueryParam("since") String revisionRangeSince,
       @QueryParam("until") String revisionRangeUntil,
       @QueryParam("skip") @DefaultValue("0") int skip,
+      @QueryParam("after") String after,
       @QueryParam("maxCount") @DefaultValue(Constants.DEFAULT_PAGE_SIZE_QUERY_PARAM) int maxCount)
       throws ApiException {
     try (GitConnection gitConnection = getGitConnection()) {
@@ -326,7 +327,8 @@ public class GitService {
               .withRevisionRangeSince(revisionRangeSince)
               .withRevisionRangeUntil(revisionRangeUntil)
               .withMaxCount(maxCount)
-              .withSkip(skip));
+              .withSkip(skip)
+              .withAfter(after));
     }
   }
 
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.git;
+
+import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static java.util.Collections.emptyList;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.slf4j.Logger;
+
+/**
+ * Keeps snapshot of git status of each project, so VCS statuses of project items are resolved
+ * without scanning the index and the working tree of the repository on every request.
+ *
+ * <p>Snapshot is dropped when the index or HEAD of the repository changes, see {@link
+ * GitStatusChangedDetector}, and the next request scans the whole repository. Paths reported by
+ * file watcher are refreshed on the next request, only these paths are scanned.
+ */
+@Singleton
+public class GitStatusCache {
+  private static final Logger LOG = getLogger(GitStatusCache.class);
+
+  private static final String GIT_DIR = ".git";
+
+  private final FileWatcherManager manager;
+  private final GitConnectionFactory gitConnectionFactory;
+  private final Map<String, Snapshot> snapshots;
+  private final LongAdder fullScans;
+  private final LongAdder partialScans;
+
+  private int id;
+
+  @Inject
+  public GitStatusCache(FileWatcherManager manager, GitConnectionFactory gitConnectionFactory) {
+    this.manager = manager;
+    this.gitConnectionFactory = gitConnectionFactory;
+    this.snapshots = new ConcurrentHashMap<>();
+    this.fullScans = new LongAdder();
+    this.partialScans = new LongAdder();
+  }
+
+  @PostConstruct
+  public void startWatcher() {
+    id = manager.registerByMatcher(matcher(), pathConsumer(), pathConsumer(), pathConsumer());
+  }
+
+  @PreDestroy
+  public void stopWatcher() {
+    manager.unRegisterByMatcher(id);
+  }
+
+  /**
+   * Returns VCS statuses of the given items of the project.
+   *
+   * @param project name of the project
+   * @param projectPath absolute path of the project on file system
+   * @param paths paths of the items relative to the project
+   * @return VCS statuses mapped by the given paths
+   * @throws GitException when status can't be read
+   */
+  public Map<String, VcsStatus> getStatus(
+      String project, String projectPath, Collection<String> paths) throws GitException {
+    final Snapshot snapshot = snapshots.computeIfAbsent(project, p -> new Snapshot());
+    synchronized (snapshot) {
+      if (snapshot.statuses == null) {
+        // changes reported before the scan are seen by it
+        snapshot.changed.clear();
+        snapshot.statuses = new HashMap<>();
+        try (GitConnection connection = gitConnectionFactory.getConnection(projectPath)) {
+          snapshot.put(connection.status(emptyList()));
+        }
+        fullScans.increment();
+        LOG.debug("Scanned git status of project '{}'", project);
+      } else if (!snapshot.changed.isEmpty()) {
+        final List<String> changed = new ArrayList<>(snapshot.changed);
+        snapshot.changed.removeAll(changed);
+        for (String path : changed) {
+          snapshot.statuses.keySet().removeIf(p -> p.equals(path) || p.startsWith(path + '/'));
+        }
+        try (GitConnection connection = gitConnectionFactory.getConnection(projectPath)) {
+          snapshot.put(connection.status(changed));
+        }
+        partialScans.increment();
+        LOG.debug("Refreshed git status of {} paths in project '{}'", changed.size(), project);
+      }
+      final Map<String, VcsStatus> result = new HashMap<>();
+      for (String path : paths) {
+        result.put(path, snapshot.statuses.getOrDefault(path, VcsStatus.NOT_MODIFIED));
+      }
+      return result;
+    }
+  }
+
+  /** Drops status snapshot of the project, the next request scans the whole repository. */
+  public void invalidate(String project) {
+    snapshots.remove(project);
+  }
+
+  /** Returns number of scans of whole repositories. */
+  public long getFullScansCount() {
+    return fullScans.sum();
+  }
+
+  /** Returns number of scans limited to the changed paths. */
+  public long getPartialScansCount() {
+    return partialScans.sum();
+  }
+
+  private PathMatcher matcher() {
+    return it -> !GIT_DIR.equals(it.getNameCount() > 2 ? it.getName(2).toString() : "");
+  }
+
+  private Consumer<String> pathConsumer() {
+    return path -> {
+      final String normalizedPath = path.startsWith("/") ? path.substring(1) : path;
+      final int separator = normalizedPath.indexOf('/');
+      if (separator == -1) {
+        return;
+      }
+      final Snapshot snapshot = snapshots.get(normalizedPath.substring(0, separator));
+      if (snapshot != null) {
+        snapshot.changed.add(normalizedPath.substring(separator + 1));
+      }
+    };
+  }
+
+  private static class Snapshot {
+    /** Paths which status differs from {@link VcsStatus#NOT_MODIFIED}, null until scanned. */
+    Map<String, VcsStatus> statuses;
+    /** Paths changed since the last scan. */
+    final Set<String> changed = newConcurrentHashSet();
+
+    void put(Status status) {
+      status.getUntracked().forEach(path -> statuses.put(path, VcsStatus.UNTRACKED));
+      status.getAdded().forEach(path -> statuses.putIfAbsent(path, VcsStatus.ADDED));
+      status.getModified().forEach(path -> statuses.putIfAbsent(path, VcsStatus.MODIFIED));
+      status.getChanged().forEach(path -> statuses.putIfAbsent(path, VcsStatus.MODIFIED));
+    }
+  }
+}
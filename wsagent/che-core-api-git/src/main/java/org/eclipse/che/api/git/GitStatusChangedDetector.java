@@ -39,7 +39,8 @@ import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
 import org.slf4j.Logger;
 
 /**
- * Detects changes in index and ORIG_HEAD files and sends message to client Git handler.
+ * Detects changes in index and ORIG_HEAD files, drops cached status of the project and sends
+ * message to client Git handler.
  *
  * @author Igor Vinokur
  */
@@ -56,6 +57,7 @@ public class GitStatusChangedDetector {
   private final FileWatcherManager manager;
   private final Provider<ProjectManager> projectManagerProvider;
   private final GitConnectionFactory gitConnectionFactory;
+  private final GitStatusCache statusCache;
 
   private final Set<String> endpointIds = newConcurrentHashSet();
 
@@ -67,11 +69,13 @@ public class GitStatusChangedDetector {
       RequestTransmitter transmitter,
       FileWatcherManager manager,
       Provider<ProjectManager> projectManagerProvider,
-      GitConnectionFactory gitConnectionFactory) {
+      GitConnectionFactory gitConnectionFactory,
+      GitStatusCache statusCache) {
     this.transmitter = transmitter;
     this.manager = manager;
     this.projectManagerProvider = projectManagerProvider;
     this.gitConnectionFactory = gitConnectionFactory;
+    this.statusCache = statusCache;
   }
 
   @Inject
@@ -115,22 +119,29 @@ public class GitStatusChangedDetector {
   }
 
   private Consumer<String> fsEventConsumer() {
-    return it -> endpointIds.forEach(transmitConsumer(it));
-  }
-
-  private Consumer<String> transmitConsumer(String path) {
-    return id -> {
+    return path -> {
+      String project = (path.startsWith("/") ? path.substring(1) : path).split("/")[0];
+      statusCache.invalidate(project);
+      if (endpointIds.isEmpty()) {
+        return;
+      }
       try {
         String projectPath =
             projectManagerProvider
                 .get()
-                .getProject((path.startsWith("/") ? path.substring(1) : path).split("/")[0])
+                .getProject(project)
                 .getBaseFolder()
                 .getVirtualFile()
                 .toIoFile()
                 .getAbsolutePath();
-        GitConnection connection = gitConnectionFactory.getConnection(projectPath);
-        Status status = connection.status(emptyList());
+        Status status;
+        Map<String, List<EditedRegion>> modifiedFiles = new HashMap<>();
+        try (GitConnection connection = gitConnectionFactory.getConnection(projectPath)) {
+          status = connection.status(emptyList());
+          for (String file : status.getChanged()) {
+            modifiedFiles.put(file, connection.getEditedRegions(file));
+          }
+        }
         Status statusDto = newDto(Status.class);
         statusDto.setAdded(status.getAdded());
         statusDto.setUntracked(status.getUntracked());
@@ -140,19 +151,9 @@ public class GitStatusChangedDetector {
         statusDto.setRemoved(status.getRemoved());
         statusDto.setConflicting(status.getConflicting());
 
-        Map<String, List<EditedRegion>> modifiedFiles = new HashMap<>();
-        for (String file : status.getChanged()) {
-          modifiedFiles.put(file, connection.getEditedRegions(file));
-        }
-
         StatusChangedEventDto statusChangeEventDto =
             newDto(StatusChangedEventDto.class).withStatus(status).withModifiedFiles(modifiedFiles);
-        transmitter
-            .newRequest()
-            .endpointId(id)
-            .methodName(OUTGOING_METHOD)
-            .paramsAsDto(statusChangeEventDto)
-            .sendAndSkipResult();
+        endpointIds.forEach(transmitConsumer(statusChangeEventDto));
       } catch (ServerException | NotFoundException e) {
         String errorMessage = e.getMessage();
         if (!("Not a git repository".equals(errorMessage))) {
@@ -161,4 +162,14 @@ public class GitStatusChangedDetector {
       }
     };
   }
+
+  private Consumer<String> transmitConsumer(StatusChangedEventDto statusChangeEventDto) {
+    return id ->
+        transmitter
+            .newRequest()
+            .endpointId(id)
+            .methodName(OUTGOING_METHOD)
+            .paramsAsDto(statusChangeEventDto)
+            .sendAndSkipResult();
+  }
 }
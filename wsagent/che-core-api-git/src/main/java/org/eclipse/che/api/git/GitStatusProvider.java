@@ -20,7 +20,6 @@ import javax.inject.Provider;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.git.exception.GitException;
-import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.project.server.VcsStatusProvider;
 
@@ -30,13 +29,13 @@ import org.eclipse.che.api.project.server.VcsStatusProvider;
  * @author Igor Vinokur
  */
 public class GitStatusProvider implements VcsStatusProvider {
-  private final GitConnectionFactory gitConnectionFactory;
+  private final GitStatusCache statusCache;
   private final Provider<ProjectManager> projectManagerProvider;
 
   @Inject
   public GitStatusProvider(
-      GitConnectionFactory gitConnectionFactory, Provider<ProjectManager> projectManagerProvider) {
-    this.gitConnectionFactory = gitConnectionFactory;
+      GitStatusCache statusCache, Provider<ProjectManager> projectManagerProvider) {
+    this.statusCache = statusCache;
     this.projectManagerProvider = projectManagerProvider;
   }
 
@@ -47,31 +46,13 @@ public class GitStatusProvider implements VcsStatusProvider {
 
   @Override
   public VcsStatus getStatus(String path) throws ServerException {
+    String normalizedPath = path.startsWith("/") ? path.substring(1) : path;
+    String project = normalizedPath.split("/")[0];
+    String itemPath = normalizedPath.substring(normalizedPath.indexOf("/") + 1);
     try {
-      String normalizedPath = path.startsWith("/") ? path.substring(1) : path;
-      String projectPath =
-          projectManagerProvider
-              .get()
-              .getProject(normalizedPath.split("/")[0])
-              .getBaseFolder()
-              .getVirtualFile()
-              .toIoFile()
-              .getAbsolutePath();
-      Status status =
-          gitConnectionFactory
-              .getConnection(projectPath)
-              .status(singletonList(normalizedPath.substring(normalizedPath.indexOf("/") + 1)));
-      String itemPath = normalizedPath.substring(normalizedPath.indexOf("/") + 1);
-      if (status.getUntracked().contains(itemPath)) {
-        return VcsStatus.UNTRACKED;
-      } else if (status.getAdded().contains(itemPath)) {
-        return VcsStatus.ADDED;
-      } else if (status.getModified().contains(itemPath)
-          || status.getChanged().contains(itemPath)) {
-        return VcsStatus.MODIFIED;
-      } else {
-        return VcsStatus.NOT_MODIFIED;
-      }
+      return statusCache
+          .getStatus(project, getProjectPath(project), singletonList(itemPath))
+          .get(itemPath);
     } catch (GitException | NotFoundException e) {
       throw new ServerException(e.getMessage());
     }
@@ -82,31 +63,22 @@ public class GitStatusProvider implements VcsStatusProvider {
       throws ServerException {
     Map<String, VcsStatus> statusMap = new HashMap<>();
     try {
-      String projectPath =
-          projectManagerProvider
-              .get()
-              .getProject(project)
-              .getBaseFolder()
-              .getVirtualFile()
-              .toIoFile()
-              .getAbsolutePath();
-      Status status = gitConnectionFactory.getConnection(projectPath).status(paths);
-      paths.forEach(
-          path -> {
-            if (status.getUntracked().contains(path)) {
-              statusMap.put("/" + project + "/" + path, VcsStatus.UNTRACKED);
-            } else if (status.getAdded().contains(path)) {
-              statusMap.put("/" + project + "/" + path, VcsStatus.ADDED);
-            } else if (status.getModified().contains(path) || status.getChanged().contains(path)) {
-              statusMap.put("/" + project + "/" + path, VcsStatus.MODIFIED);
-            } else {
-              statusMap.put("/" + project + "/" + path, VcsStatus.NOT_MODIFIED);
-            }
-          });
-
+      statusCache
+          .getStatus(project, getProjectPath(project), paths)
+          .forEach((path, status) -> statusMap.put("/" + project + "/" + path, status));
     } catch (GitException | NotFoundException e) {
       throw new ServerException(e.getMessage());
     }
     return statusMap;
   }
+
+  private String getProjectPath(String project) throws NotFoundException, ServerException {
+    return projectManagerProvider
+        .get()
+        .getProject(project)
+        .getBaseFolder()
+        .getVirtualFile()
+        .toIoFile()
+        .getAbsolutePath();
+  }
 }
@@ -24,6 +24,7 @@ public class LogParams {
   private String revisionRangeSince;
   private String revisionRangeUntil;
   private String filePath;
+  private String after;
   private int skip;
   private int maxCount;
 
@@ -104,6 +105,29 @@ public class LogParams {
     return this;
   }
 
+  /**
+   * Returns id of the last commit of the previous page, commits which follow it are returned when
+   * calling log command. {@link #getSkip()} is ignored when it is set.
+   */
+  public String getAfter() {
+    return after;
+  }
+
+  /** Set id of the last commit of the previous page. */
+  public void setAfter(String after) {
+    this.after = after;
+  }
+
+  /**
+   * Create a {@link LogParams} object based on a given id of the last commit of the previous page
+   *
+   * @param after id of the last commit of the previous page
+   */
+  public LogParams withAfter(String after) {
+    this.after = after;
+    return this;
+  }
+
   /**
    * Returns the integer value of the number of commits that will be returned when calling log
    * command.
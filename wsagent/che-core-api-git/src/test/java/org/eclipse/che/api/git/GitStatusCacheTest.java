@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.git;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.inject.Provider;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link GitStatusCache}. */
+@Listeners(MockitoTestNGListener.class)
+public class GitStatusCacheTest {
+  private static final String PROJECT = "project";
+  private static final String PROJECT_PATH = "/projects/project";
+
+  @Mock private FileWatcherManager manager;
+  @Mock private GitConnectionFactory gitConnectionFactory;
+  @Mock private GitConnection connection;
+
+  private GitStatusCache cache;
+  private Consumer<String> createConsumer;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(gitConnectionFactory.getConnection(any(File.class), any(LineConsumerFactory.class)))
+        .thenReturn(connection);
+    cache = new GitStatusCache(manager, gitConnectionFactory);
+    cache.startWatcher();
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Consumer<String>> captor = ArgumentCaptor.forClass(Consumer.class);
+    verify(manager).registerByMatcher(any(PathMatcher.class), captor.capture(), any(), any());
+    createConsumer = captor.getValue();
+  }
+
+  @Test
+  public void shouldScanWholeRepositoryOnceAndReuseTheSnapshot() throws Exception {
+    Status status = status(singletonList("src/A.java"), emptyList());
+    when(connection.status(anyList())).thenReturn(status);
+
+    Map<String, VcsStatus> first = cache.getStatus(PROJECT, PROJECT_PATH, asList("src/A.java"));
+    Map<String, VcsStatus> second = cache.getStatus(PROJECT, PROJECT_PATH, asList("src/B.java"));
+
+    assertEquals(first.get("src/A.java"), VcsStatus.MODIFIED);
+    assertEquals(second.get("src/B.java"), VcsStatus.NOT_MODIFIED);
+    verify(connection).status(emptyList());
+    verify(connection).close();
+    assertEquals(cache.getFullScansCount(), 1L);
+    assertEquals(cache.getPartialScansCount(), 0L);
+  }
+
+  @Test
+  public void shouldRescanOnlyPathsReportedByFileWatcher() throws Exception {
+    Status fullStatus = status(singletonList("src/A.java"), emptyList());
+    when(connection.status(emptyList())).thenReturn(fullStatus);
+    cache.getStatus(PROJECT, PROJECT_PATH, asList("src/A.java"));
+
+    Status changedStatus = status(emptyList(), singletonList("src/B.java"));
+    when(connection.status(singletonList("src/B.java"))).thenReturn(changedStatus);
+    createConsumer.accept("/" + PROJECT + "/src/B.java");
+    Map<String, VcsStatus> result =
+        cache.getStatus(PROJECT, PROJECT_PATH, asList("src/A.java", "src/B.java"));
+
+    assertEquals(result.get("src/A.java"), VcsStatus.MODIFIED);
+    assertEquals(result.get("src/B.java"), VcsStatus.UNTRACKED);
+    verify(connection).status(singletonList("src/B.java"));
+    verify(connection, times(2)).close();
+    assertEquals(cache.getFullScansCount(), 1L);
+    assertEquals(cache.getPartialScansCount(), 1L);
+  }
+
+  @Test
+  public void shouldForgetStatusOfRescannedPathWhichIsNotModifiedAnyMore() throws Exception {
+    Status fullStatus = status(singletonList("src/A.java"), emptyList());
+    when(connection.status(emptyList())).thenReturn(fullStatus);
+    cache.getStatus(PROJECT, PROJECT_PATH, asList("src/A.java"));
+
+    Status changedStatus = status(emptyList(), emptyList());
+    when(connection.status(singletonList("src/A.java"))).thenReturn(changedStatus);
+    createConsumer.accept("/" + PROJECT + "/src/A.java");
+
+    assertEquals(
+        cache.getStatus(PROJECT, PROJECT_PATH, asList("src/A.java")).get("src/A.java"),
+        VcsStatus.NOT_MODIFIED);
+  }
+
+  @Test
+  public void shouldScanWholeRepositoryAgainWhenIndexChanges() throws Exception {
+    Status status = status(emptyList(), emptyList());
+    when(connection.status(anyList())).thenReturn(status);
+    cache.getStatus(PROJECT, PROJECT_PATH, asList("src/A.java"));
+
+    gitDirChanged("/" + PROJECT + "/.git/index");
+    cache.getStatus(PROJECT, PROJECT_PATH, asList("src/A.java"));
+
+    verify(connection, times(2)).status(emptyList());
+    assertEquals(cache.getFullScansCount(), 2L);
+  }
+
+  @Test
+  public void shouldScanWholeRepositoryAgainWhenHeadChanges() throws Exception {
+    Status status = status(emptyList(), emptyList());
+    when(connection.status(anyList())).thenReturn(status);
+    cache.getStatus(PROJECT, PROJECT_PATH, asList("src/A.java"));
+
+    gitDirChanged("/" + PROJECT + "/.git/ORIG_HEAD");
+    cache.getStatus(PROJECT, PROJECT_PATH, asList("src/A.java"));
+
+    verify(connection, times(2)).status(emptyList());
+    assertEquals(cache.getFullScansCount(), 2L);
+  }
+
+  /** Passes the event to the index and ORIG_HEAD watchers of {@link GitStatusChangedDetector}. */
+  @SuppressWarnings("unchecked")
+  private void gitDirChanged(String path) {
+    FileWatcherManager detectorManager = mock(FileWatcherManager.class);
+    GitStatusChangedDetector detector =
+        new GitStatusChangedDetector(
+            mock(RequestTransmitter.class),
+            detectorManager,
+            mock(Provider.class),
+            gitConnectionFactory,
+            cache);
+    detector.startWatchers();
+    ArgumentCaptor<Consumer<String>> captor = ArgumentCaptor.forClass(Consumer.class);
+    verify(detectorManager, times(2))
+        .registerByMatcher(any(PathMatcher.class), captor.capture(), any(), any());
+    captor.getAllValues().forEach(consumer -> consumer.accept(path));
+  }
+
+  private static Status status(List<String> modified, List<String> untracked) {
+    Status status = mock(Status.class);
+    when(status.getModified()).thenReturn(modified);
+    when(status.getUntracked()).thenReturn(untracked);
+    return status;
+  }
+}
@@ -291,6 +291,47 @@ public class LogTest {
     assertEquals(secondBacketOfCommits.get(1).getDiffCommitFile().get(0).getChangeType(), "ADD");
   }
 
+  @Test(
+    dataProvider = "GitConnectionFactory",
+    dataProviderClass = GitConnectionFactoryProvider.class
+  )
+  public void testLogPagesAfterCommit(GitConnectionFactory connectionFactory)
+      throws GitException, IOException {
+    // given
+    GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+    for (int i = 1; i <= 5; i++) {
+      addFile(connection, i + ".txt", "someChanges");
+      connection.add(AddParams.create());
+      connection.commit(CommitParams.create("add " + i + ".txt file"));
+    }
+
+    // when
+    List<Revision> firstPage = connection.log(LogParams.create().withMaxCount(2)).getCommits();
+    List<Revision> secondPage =
+        connection
+            .log(LogParams.create().withAfter(firstPage.get(1).getId()).withMaxCount(2))
+            .getCommits();
+    List<Revision> lastPage =
+        connection
+            .log(LogParams.create().withAfter(secondPage.get(1).getId()).withMaxCount(2))
+            .getCommits();
+    List<Revision> secondPageAgain =
+        connection
+            .log(LogParams.create().withAfter(firstPage.get(1).getId()).withMaxCount(2))
+            .getCommits();
+
+    // then
+    assertEquals(firstPage.get(0).getMessage(), "add 5.txt file");
+    assertEquals(firstPage.get(1).getMessage(), "add 4.txt file");
+    assertEquals(secondPage.size(), 2);
+    assertEquals(secondPage.get(0).getMessage(), "add 3.txt file");
+    assertEquals(secondPage.get(1).getMessage(), "add 2.txt file");
+    assertEquals(lastPage.size(), 1);
+    assertEquals(lastPage.get(0).getMessage(), "add 1.txt file");
+    assertEquals(secondPageAgain.size(), 2);
+    assertEquals(secondPageAgain.get(0).getMessage(), "add 3.txt file");
+  }
+
   @Test(
     dataProvider = "GitConnectionFactory",
     dataProviderClass = GitConnectionFactoryProvider.class
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import javax.inject.Inject;
+import javax.inject.Named;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches responses of language servers to the requests which only read the state of a document,
+ * such as hover or document symbols, so the requests repeated by the client for the same document
+ * content are not sent to language servers again.
+ *
+ * <p>Responses are cached per language server and keyed by the document URI, document version,
+ * request method and parameters. Only the documents opened by the client are cached, as their
+ * versions are known from {@code didOpen} and {@code didChange} notifications. Cached responses of
+ * the document are dropped when the document is changed, saved or closed. The same request which
+ * is sent while the previous one is in progress shares its response.
+ *
+ * <p>Each caller of a shared request gets its own future. Cancelling it does not affect the other
+ * callers, the request sent to the language server is cancelled only when all of its callers
+ * cancel their futures. Failed and cancelled responses are not cached.
+ */
+@Singleton
+public class LanguageServerResponseCache {
+  private static final Logger LOG = LoggerFactory.getLogger(LanguageServerResponseCache.class);
+
+  private final long maxEntries;
+  private final Map<String, Integer> versions;
+  private final Map<String, Cache<Key, SharedResponse<?>>> caches;
+
+  @Inject
+  public LanguageServerResponseCache(
+      @Named("che.languageserver.response_cache.max_entries") long maxEntries) {
+    this.maxEntries = maxEntries;
+    this.versions = new ConcurrentHashMap<>();
+    this.caches = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Returns the response of the language server to the request, the request is sent only when
+   * there is no cached response for the current version of the document.
+   *
+   * @param serverId id of the language server
+   * @param uri uri of the document
+   * @param method request method
+   * @param params request parameters which affect the response, besides the document itself,
+   *     must implement {@link Object#equals(Object)} and {@link Object#hashCode()}
+   * @param request sends the request to the language server
+   * @return future of the response, cancelling it while the request is in progress cancels the
+   *     request, responses must not be modified as they are shared
+   */
+  @SuppressWarnings("unchecked")
+  public <R> CompletableFuture<R> get(
+      String serverId,
+      String uri,
+      String method,
+      Object params,
+      Supplier<CompletableFuture<R>> request) {
+    final Integer version = versions.get(uri);
+    if (version == null || maxEntries <= 0) {
+      return request.get();
+    }
+    final Cache<Key, SharedResponse<?>> cache =
+        caches.computeIfAbsent(
+            serverId,
+            id -> CacheBuilder.newBuilder().maximumSize(maxEntries).recordStats().build());
+    final Key key = new Key(uri, version, method, params);
+    for (; ; ) {
+      final boolean[] sent = new boolean[1];
+      final SharedResponse<R> response;
+      try {
+        response =
+            (SharedResponse<R>)
+                cache.get(
+                    key,
+                    () -> {
+                      sent[0] = true;
+                      return send(cache, key, request);
+                    });
+      } catch (ExecutionException | UncheckedExecutionException x) {
+        final CompletableFuture<R> failed = new CompletableFuture<>();
+        failed.completeExceptionally(x.getCause());
+        return failed;
+      }
+      final CompletableFuture<R> waiter = response.join();
+      if (response.source.isCompletedExceptionally()) {
+        // completed before it was put into the cache, so it wasn't evicted
+        cache.asMap().remove(key, response);
+      }
+      if (waiter != null && (sent[0] || !response.source.isCompletedExceptionally())) {
+        return waiter;
+      }
+      // response failed or all its callers cancelled it before this one joined, send it again
+    }
+  }
+
+  /** Starts caching responses for the opened document. */
+  public void documentOpened(String uri, Integer version) {
+    updateVersion(uri, version);
+  }
+
+  /** Drops cached responses computed for the previous content of the document. */
+  public void documentChanged(String uri, Integer version) {
+    updateVersion(uri, version);
+  }
+
+  /**
+   * Drops cached responses of the document, language servers may update their state when document
+   * is saved.
+   */
+  public void documentSaved(String uri) {
+    invalidate(uri);
+  }
+
+  /** Drops cached responses of the document and stops caching them. */
+  public void documentClosed(String uri) {
+    versions.remove(uri);
+    invalidate(uri);
+  }
+
+  /** Returns hit and miss statistics per language server id. */
+  public Map<String, CacheStats> getStats() {
+    final Map<String, CacheStats> stats = new HashMap<>();
+    caches.forEach((serverId, cache) -> stats.put(serverId, cache.stats()));
+    return stats;
+  }
+
+  private void updateVersion(String uri, Integer version) {
+    if (version == null) {
+      versions.remove(uri);
+    } else {
+      versions.put(uri, version);
+    }
+    invalidate(uri);
+  }
+
+  private void invalidate(String uri) {
+    for (Cache<Key, SharedResponse<?>> cache : caches.values()) {
+      cache.asMap().keySet().removeIf(key -> key.uri.equals(uri));
+    }
+  }
+
+  private static <R> SharedResponse<R> send(
+      Cache<Key, SharedResponse<?>> cache, Key key, Supplier<CompletableFuture<R>> request) {
+    final SharedResponse<R> response = new SharedResponse<>(request.get());
+    response.source.whenComplete(
+        (result, error) -> {
+          if (error != null) {
+            // failed and cancelled requests are sent again next time
+            cache.asMap().remove(key, response);
+            LOG.debug("Response to '{}' is not cached: {}", key.method, error.getMessage());
+          }
+        });
+    return response;
+  }
+
+  /** Response of the language server which is shared by the callers of the same request. */
+  private static class SharedResponse<R> {
+    final CompletableFuture<R> source;
+
+    /* Guarded by this */
+    private int waiters;
+    private boolean abandoned;
+
+    SharedResponse(CompletableFuture<R> source) {
+      this.source = source;
+    }
+
+    /**
+     * Returns future which is completed with the response, or null if the request is cancelled
+     * because all of its callers cancelled their futures.
+     */
+    synchronized CompletableFuture<R> join() {
+      if (abandoned) {
+        return null;
+      }
+      waiters++;
+      final CompletableFuture<R> waiter = new CompletableFuture<>();
+      source.whenComplete(
+          (result, error) -> {
+            if (error != null) {
+              waiter.completeExceptionally(error);
+            } else {
+              waiter.complete(result);
+            }
+          });
+      waiter.whenComplete(
+          (result, error) -> {
+            if (waiter.isCancelled()) {
+              leave();
+            }
+          });
+      return waiter;
+    }
+
+    private void leave() {
+      synchronized (this) {
+        if (--waiters > 0 || source.isDone()) {
+          return;
+        }
+        abandoned = true;
+      }
+      source.cancel(true);
+    }
+  }
+
+  private static class Key {
+    final String uri;
+    final int version;
+    final String method;
+    final Object params;
+
+    Key(String uri, int version, String method, Object params) {
+      this.uri = uri;
+      this.version = version;
+      this.method = method;
+      this.params = params;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) obj;
+      return version == that.version
+          && uri.equals(that.uri)
+          && method.equals(that.method)
+          && Objects.equals(params, that.params);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(uri, version, method, params);
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.service;
+
+import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.che.api.languageserver.util.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of text document requests which are being processed by language servers.
+ *
+ * <p>Records latency of requests per method and cancels the requests which results depend on
+ * document content when the document is changed. Such requests are answered by language servers
+ * for the old content of the document, so their results are useless for the client, while
+ * cancellation lets language servers stop computing them.
+ *
+ * <p>Notifications and requests are processed concurrently, so a change might be processed after
+ * the requests which were sent after it. Each request is registered with the latest document
+ * version known at the moment, and a change cancels only the requests registered for older versions
+ * than the version of the change.
+ */
+@Singleton
+public class TextDocumentRequestTracker {
+  private static final Logger LOG = LoggerFactory.getLogger(TextDocumentRequestTracker.class);
+
+  private final Map<String, DocumentRequests> contentDependent;
+  private final Map<String, LatencyHistogram> latencies;
+  private final LongAdder cancelledOnChange;
+
+  public TextDocumentRequestTracker() {
+    this.contentDependent = new ConcurrentHashMap<>();
+    this.latencies = new ConcurrentHashMap<>();
+    this.cancelledOnChange = new LongAdder();
+  }
+
+  /**
+   * Records latency of the request when the given future is completed.
+   *
+   * @param method name of request method
+   * @param future future of request result
+   * @return the given future
+   */
+  public <R> CompletableFuture<R> track(String method, CompletableFuture<R> future) {
+    final long start = System.nanoTime();
+    future.whenComplete(
+        (result, error) -> {
+          final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+          if (future.isCancelled()) {
+            LOG.debug("Request '{}' cancelled after {}ms", method, millis);
+          } else {
+            final LatencyHistogram histogram =
+                latencies.computeIfAbsent(method, m -> new LatencyHistogram());
+            histogram.record(millis);
+            LOG.debug("Request '{}' completed in {}ms, {}", method, millis, histogram);
+          }
+        });
+    return future;
+  }
+
+  /**
+   * Registers request which result depends on the content of the document, the request is
+   * cancelled when {@link #documentChanged(String, Integer)} is called for a newer version of the
+   * document before the request is completed.
+   *
+   * @param uri uri of the document
+   * @param future future of request result
+   * @return the given future
+   */
+  public <R> CompletableFuture<R> cancelOnChange(String uri, CompletableFuture<R> future) {
+    contentDependent.compute(
+        uri,
+        (key, requests) -> {
+          final DocumentRequests document = requests == null ? new DocumentRequests() : requests;
+          document.pending.put(future, document.version);
+          return document;
+        });
+    future.whenComplete(
+        (result, error) ->
+            contentDependent.computeIfPresent(
+                uri,
+                (key, document) -> {
+                  document.pending.remove(future);
+                  return document.isEmpty() ? null : document;
+                }));
+    return future;
+  }
+
+  /** Remembers version of the opened document, requests are registered for this version. */
+  public void documentOpened(String uri, Integer version) {
+    if (version != null) {
+      contentDependent.compute(
+          uri,
+          (key, requests) -> {
+            final DocumentRequests document = requests == null ? new DocumentRequests() : requests;
+            document.version = version;
+            return document;
+          });
+    }
+  }
+
+  /**
+   * Cancels the pending requests of the document which are registered for older versions of the
+   * document than the given one.
+   *
+   * @param uri uri of the document
+   * @param version new version of the document, if it is {@code null} all the pending requests of
+   *     the document are cancelled
+   */
+  public void documentChanged(String uri, Integer version) {
+    final List<CompletableFuture<?>> stale = new ArrayList<>();
+    contentDependent.compute(
+        uri,
+        (key, requests) -> {
+          final DocumentRequests document = requests == null ? new DocumentRequests() : requests;
+          final int changed = version == null ? Integer.MAX_VALUE : version;
+          final Iterator<Map.Entry<CompletableFuture<?>, Integer>> it =
+              document.pending.entrySet().iterator();
+          while (it.hasNext()) {
+            final Map.Entry<CompletableFuture<?>, Integer> request = it.next();
+            if (request.getValue() < changed) {
+              stale.add(request.getKey());
+              it.remove();
+            }
+          }
+          // changes might come out of order, requests are registered for the latest one
+          if (version != null && version > document.version) {
+            document.version = version;
+          }
+          return document;
+        });
+    for (CompletableFuture<?> future : stale) {
+      if (future.cancel(true)) {
+        cancelledOnChange.increment();
+      }
+    }
+  }
+
+  /** Forgets the document, its pending requests are not cancelled by changes anymore. */
+  public void documentClosed(String uri) {
+    contentDependent.remove(uri);
+  }
+
+  /** Returns snapshot of latency histograms per request method. */
+  public Map<String, LatencyHistogram> getLatencies() {
+    return new HashMap<>(latencies);
+  }
+
+  /** Returns number of requests cancelled because of document change. */
+  public long getCancelledOnChangeCount() {
+    return cancelledOnChange.sum();
+  }
+
+  /** Pending requests of a document with document versions they are registered for. */
+  private static class DocumentRequests {
+    final Map<CompletableFuture<?>, Integer> pending = new HashMap<>();
+    int version = Integer.MIN_VALUE;
+
+    boolean isEmpty() {
+      return pending.isEmpty() && version == Integer.MIN_VALUE;
+    }
+  }
+}
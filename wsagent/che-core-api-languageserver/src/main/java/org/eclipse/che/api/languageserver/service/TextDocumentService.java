@@ -15,6 +15,9 @@ import static org.eclipse.che.api.languageserver.service.LanguageServiceUtils.pr
 import static org.eclipse.che.api.languageserver.service.LanguageServiceUtils.prefixURI;
 import static org.eclipse.che.api.languageserver.service.LanguageServiceUtils.removePrefixUri;
 import static org.eclipse.che.api.languageserver.service.LanguageServiceUtils.removeUriScheme;
+import static org.eclipse.che.api.languageserver.util.OperationUtil.doInParallelAsync;
+import static org.eclipse.che.api.languageserver.util.OperationUtil.doInSequenceAsync;
+import static org.eclipse.che.api.languageserver.util.OperationUtil.thenApply;
 
 import com.google.inject.Singleton;
 import java.io.File;
@@ -28,16 +31,17 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcPromise;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestProcessor;
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
 import org.eclipse.che.api.languageserver.registry.InitializedLanguageServer;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
@@ -58,8 +62,8 @@ import org.eclipse.che.api.languageserver.shared.model.ExtendedTextDocumentEdit;
 import org.eclipse.che.api.languageserver.shared.model.ExtendedTextEdit;
 import org.eclipse.che.api.languageserver.shared.model.ExtendedWorkspaceEdit;
 import org.eclipse.che.api.languageserver.shared.model.RenameResult;
+import org.eclipse.che.api.languageserver.util.FuturePromise;
 import org.eclipse.che.api.languageserver.util.LSOperation;
-import org.eclipse.che.api.languageserver.util.OperationUtil;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IRegion;
@@ -80,6 +84,7 @@ import org.eclipse.lsp4j.Hover;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.ReferenceParams;
 import org.eclipse.lsp4j.RenameParams;
+import org.eclipse.lsp4j.ServerCapabilities;
 import org.eclipse.lsp4j.SignatureHelp;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.TextDocumentEdit;
@@ -95,7 +100,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Json RPC API for the textDoc
  *
- * <p>Dispatches onto the {@link LanguageServerRegistryImpl}.
+ * <p>Dispatches onto the {@link LanguageServerRegistryImpl}. Requests are answered asynchronously,
+ * when language servers respond, requests which depend on the document content are cancelled when
+ * the document is changed, see {@link TextDocumentRequestTracker}.
  */
 @Singleton
 public class TextDocumentService {
@@ -103,12 +110,22 @@ public class TextDocumentService {
 
   private final LanguageServerRegistry languageServerRegistry;
   private final RequestHandlerConfigurator requestHandler;
+  private final RequestProcessor requestProcessor;
+  private final TextDocumentRequestTracker requestTracker;
+  private final LanguageServerResponseCache responseCache;
 
   @Inject
   public TextDocumentService(
-      LanguageServerRegistry languageServerRegistry, RequestHandlerConfigurator requestHandler) {
+      LanguageServerRegistry languageServerRegistry,
+      RequestHandlerConfigurator requestHandler,
+      RequestProcessor requestProcessor,
+      TextDocumentRequestTracker requestTracker,
+      LanguageServerResponseCache responseCache) {
     this.languageServerRegistry = languageServerRegistry;
     this.requestHandler = requestHandler;
+    this.requestProcessor = requestProcessor;
+    this.requestTracker = requestTracker;
+    this.responseCache = responseCache;
   }
 
   @PostConstruct
@@ -164,7 +181,7 @@ public class TextDocumentService {
     dtoToNothing("didSave", DidSaveTextDocumentParams.class, this::didSave);
   }
 
-  private List<CommandDto> codeAction(CodeActionParams params) {
+  private CompletableFuture<List<CommandDto>> codeAction(CodeActionParams params) {
     TextDocumentIdentifier textDocument = params.getTextDocument();
     String uri = prefixURI(textDocument.getUri());
     textDocument.setUri(uri);
@@ -198,14 +215,14 @@ public class TextDocumentService {
               return false;
             };
           };
-      OperationUtil.doInParallel(servers, op, 10000);
-      return result;
+      return requestTracker.cancelOnChange(
+          uri, thenApply(doInParallelAsync(servers, op, 10000), ignored -> result));
     } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+      return failed(e);
     }
   }
 
-  private ExtendedCompletionListDto completion(
+  private CompletableFuture<ExtendedCompletionListDto> completion(
       TextDocumentPositionParams textDocumentPositionParams) {
     try {
       TextDocumentIdentifier textDocument = textDocumentPositionParams.getTextDocument();
@@ -225,63 +242,56 @@ public class TextDocumentService {
             @Override
             public CompletableFuture<ExtendedCompletionListDto> start(
                 Collection<InitializedLanguageServer> element) {
-              return CompletableFuture.supplyAsync(
-                  () -> {
-                    ExtendedCompletionListDto res = new ExtendedCompletionListDto();
-                    List<ExtendedCompletionItem> items = new ArrayList<>();
-                    res.setItems(items);
-                    LSOperation<
-                            InitializedLanguageServer, Either<List<CompletionItem>, CompletionList>>
-                        op2 =
-                            new LSOperation<
-                                InitializedLanguageServer,
-                                Either<List<CompletionItem>, CompletionList>>() {
-
-                              @Override
-                              public boolean canDo(InitializedLanguageServer element) {
-                                return element
-                                        .getInitializeResult()
-                                        .getCapabilities()
-                                        .getCompletionProvider()
-                                    != null;
-                              }
-
-                              @Override
-                              public CompletableFuture<Either<List<CompletionItem>, CompletionList>>
-                                  start(InitializedLanguageServer element) {
-                                return element
-                                    .getServer()
-                                    .getTextDocumentService()
-                                    .completion(textDocumentPositionParams);
-                              }
-
-                              @Override
-                              public boolean handleResult(
-                                  InitializedLanguageServer element,
-                                  Either<List<CompletionItem>, CompletionList> result) {
-                                List<CompletionItem> itemList;
-                                if (result.isRight()) {
-                                  res.setInComplete(
-                                      res.isInComplete() && result.getRight().isIncomplete());
-                                  itemList = result.getRight().getItems();
-                                } else {
-                                  itemList = result.getLeft();
-                                }
-
-                                for (CompletionItem item : itemList) {
-                                  ExtendedCompletionItemDto exItem =
-                                      new ExtendedCompletionItemDto();
-                                  exItem.setItem(new CompletionItemDto(item));
-                                  exItem.setLanguageServerId(element.getId());
-                                  items.add(exItem);
-                                }
-                                return false;
-                              }
-                            };
-                    OperationUtil.doInParallel(element, op2, 30000);
-
-                    return res;
-                  });
+              ExtendedCompletionListDto res = new ExtendedCompletionListDto();
+              List<ExtendedCompletionItem> items = new ArrayList<>();
+              res.setItems(items);
+              LSOperation<InitializedLanguageServer, Either<List<CompletionItem>, CompletionList>>
+                  op2 =
+                      new LSOperation<
+                          InitializedLanguageServer,
+                          Either<List<CompletionItem>, CompletionList>>() {
+
+                        @Override
+                        public boolean canDo(InitializedLanguageServer element) {
+                          return element
+                                  .getInitializeResult()
+                                  .getCapabilities()
+                                  .getCompletionProvider()
+                              != null;
+                        }
+
+                        @Override
+                        public CompletableFuture<Either<List<CompletionItem>, CompletionList>>
+                            start(InitializedLanguageServer element) {
+                          return element
+                              .getServer()
+                              .getTextDocumentService()
+                              .completion(textDocumentPositionParams);
+                        }
+
+                        @Override
+                        public boolean handleResult(
+                            InitializedLanguageServer element,
+                            Either<List<CompletionItem>, CompletionList> result) {
+                          List<CompletionItem> itemList;
+                          if (result.isRight()) {
+                            res.setInComplete(
+                                res.isInComplete() && result.getRight().isIncomplete());
+                            itemList = result.getRight().getItems();
+                          } else {
+                            itemList = result.getLeft();
+                          }
+
+                          for (CompletionItem item : itemList) {
+                            ExtendedCompletionItemDto exItem = new ExtendedCompletionItemDto();
+                            exItem.setItem(new CompletionItemDto(item));
+                            exItem.setLanguageServerId(element.getId());
+                            items.add(exItem);
+                          }
+                          return false;
+                        }
+                      };
+              return thenApply(doInParallelAsync(element, op2, 30000), ignored -> res);
             }
 
             @Override
@@ -291,15 +301,16 @@ public class TextDocumentService {
               return !list.getItems().isEmpty();
             }
           };
-      OperationUtil.doInSequence(
-          languageServerRegistry.getApplicableLanguageServers(uri), op, 10000);
-      return result[0];
+      CompletableFuture<Void> operation =
+          doInSequenceAsync(languageServerRegistry.getApplicableLanguageServers(uri), op, 10000);
+      return requestTracker.cancelOnChange(uri, thenApply(operation, ignored -> result[0]));
     } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+      return failed(e);
     }
   }
 
-  private List<SymbolInformationDto> documentSymbol(DocumentSymbolParams documentSymbolParams) {
+  private CompletableFuture<List<SymbolInformationDto>> documentSymbol(
+      DocumentSymbolParams documentSymbolParams) {
     String uri = prefixURI(documentSymbolParams.getTextDocument().getUri());
     documentSymbolParams.getTextDocument().setUri(uri);
     List<SymbolInformationDto> result = new ArrayList<>();
@@ -310,45 +321,53 @@ public class TextDocumentService {
               .stream()
               .flatMap(Collection::stream)
               .collect(Collectors.toList());
-      OperationUtil.doInParallel(
-          servers,
-          new LSOperation<InitializedLanguageServer, List<? extends SymbolInformation>>() {
-
-            @Override
-            public boolean canDo(InitializedLanguageServer element) {
-              return truish(
-                  element.getInitializeResult().getCapabilities().getDocumentSymbolProvider());
-            }
-
-            @Override
-            public CompletableFuture<List<? extends SymbolInformation>> start(
-                InitializedLanguageServer element) {
-              return element
-                  .getServer()
-                  .getTextDocumentService()
-                  .documentSymbol(documentSymbolParams);
-            }
+      CompletableFuture<Void> operation =
+          doInParallelAsync(
+              servers,
+              new LSOperation<InitializedLanguageServer, List<? extends SymbolInformation>>() {
+
+                @Override
+                public boolean canDo(InitializedLanguageServer element) {
+                  return truish(
+                      element.getInitializeResult().getCapabilities().getDocumentSymbolProvider());
+                }
 
-            @Override
-            public boolean handleResult(
-                InitializedLanguageServer element, List<? extends SymbolInformation> locations) {
-              locations.forEach(
-                  o -> {
-                    o.getLocation().setUri(removePrefixUri(o.getLocation().getUri()));
-                    result.add(new SymbolInformationDto(o));
-                  });
-              return true;
-            }
-          },
-          10000);
-      return result;
+                @Override
+                public CompletableFuture<List<? extends SymbolInformation>> start(
+                    InitializedLanguageServer element) {
+                  return responseCache.get(
+                      element.getId(),
+                      uri,
+                      "documentSymbol",
+                      null,
+                      () ->
+                          element
+                              .getServer()
+                              .getTextDocumentService()
+                              .documentSymbol(documentSymbolParams));
+                }
 
+                @Override
+                public boolean handleResult(
+                    InitializedLanguageServer element,
+                    List<? extends SymbolInformation> locations) {
+                  locations.forEach(
+                      o -> {
+                        SymbolInformationDto symbol = new SymbolInformationDto(o);
+                        symbol.getLocation().setUri(removePrefixUri(o.getLocation().getUri()));
+                        result.add(symbol);
+                      });
+                  return true;
+                }
+              },
+              10000);
+      return thenApply(operation, ignored -> result);
     } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+      return failed(e);
     }
   }
 
-  private List<LocationDto> references(ReferenceParams referenceParams) {
+  private CompletableFuture<List<LocationDto>> references(ReferenceParams referenceParams) {
     String uri = prefixURI(referenceParams.getTextDocument().getUri());
     referenceParams.getTextDocument().setUri(uri);
     List<LocationDto> result = new ArrayList<>();
@@ -359,41 +378,43 @@ public class TextDocumentService {
               .stream()
               .flatMap(Collection::stream)
               .collect(Collectors.toList());
-      OperationUtil.doInParallel(
-          servers,
-          new LSOperation<InitializedLanguageServer, List<? extends Location>>() {
-
-            @Override
-            public boolean canDo(InitializedLanguageServer element) {
-              return truish(
-                  element.getInitializeResult().getCapabilities().getReferencesProvider());
-            }
+      CompletableFuture<Void> operation =
+          doInParallelAsync(
+              servers,
+              new LSOperation<InitializedLanguageServer, List<? extends Location>>() {
+
+                @Override
+                public boolean canDo(InitializedLanguageServer element) {
+                  return truish(
+                      element.getInitializeResult().getCapabilities().getReferencesProvider());
+                }
 
-            @Override
-            public CompletableFuture<List<? extends Location>> start(
-                InitializedLanguageServer element) {
-              return element.getServer().getTextDocumentService().references(referenceParams);
-            }
+                @Override
+                public CompletableFuture<List<? extends Location>> start(
+                    InitializedLanguageServer element) {
+                  return element.getServer().getTextDocumentService().references(referenceParams);
+                }
 
-            @Override
-            public boolean handleResult(
-                InitializedLanguageServer element, List<? extends Location> locations) {
-              locations.forEach(
-                  o -> {
-                    o.setUri(removePrefixUri(o.getUri()));
-                    result.add(new LocationDto(o));
-                  });
-              return true;
-            }
-          },
-          30000);
-      return result;
+                @Override
+                public boolean handleResult(
+                    InitializedLanguageServer element, List<? extends Location> locations) {
+                  locations.forEach(
+                      o -> {
+                        o.setUri(removePrefixUri(o.getUri()));
+                        result.add(new LocationDto(o));
+                      });
+                  return true;
+                }
+              },
+              30000);
+      return thenApply(operation, ignored -> result);
     } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+      return failed(e);
     }
   }
 
-  private List<LocationDto> definition(TextDocumentPositionParams textDocumentPositionParams) {
+  private CompletableFuture<List<LocationDto>> definition(
+      TextDocumentPositionParams textDocumentPositionParams) {
     String uri = prefixURI(textDocumentPositionParams.getTextDocument().getUri());
     textDocumentPositionParams.getTextDocument().setUri(uri);
     try {
@@ -404,66 +425,63 @@ public class TextDocumentService {
               .flatMap(Collection::stream)
               .collect(Collectors.toList());
       List<LocationDto> result = new ArrayList<>();
-      OperationUtil.doInParallel(
-          servers,
-          new LSOperation<InitializedLanguageServer, List<? extends Location>>() {
-
-            @Override
-            public boolean canDo(InitializedLanguageServer element) {
-              return truish(
-                  element.getInitializeResult().getCapabilities().getDefinitionProvider());
-            }
+      CompletableFuture<Void> operation =
+          doInParallelAsync(
+              servers,
+              new LSOperation<InitializedLanguageServer, List<? extends Location>>() {
+
+                @Override
+                public boolean canDo(InitializedLanguageServer element) {
+                  return truish(
+                      element.getInitializeResult().getCapabilities().getDefinitionProvider());
+                }
 
-            @Override
-            public CompletableFuture<List<? extends Location>> start(
-                InitializedLanguageServer element) {
-              return element
-                  .getServer()
-                  .getTextDocumentService()
-                  .definition(textDocumentPositionParams);
-            }
+                @Override
+                public CompletableFuture<List<? extends Location>> start(
+                    InitializedLanguageServer element) {
+                  return element
+                      .getServer()
+                      .getTextDocumentService()
+                      .definition(textDocumentPositionParams);
+                }
 
-            @Override
-            public boolean handleResult(
-                InitializedLanguageServer element, List<? extends Location> locations) {
-              locations.forEach(
-                  o -> {
-                    o.setUri(removePrefixUri(o.getUri()));
-                    result.add(new LocationDto(o));
-                  });
-              return true;
-            }
-          },
-          30000);
-      return result;
+                @Override
+                public boolean handleResult(
+                    InitializedLanguageServer element, List<? extends Location> locations) {
+                  locations.forEach(
+                      o -> {
+                        o.setUri(removePrefixUri(o.getUri()));
+                        result.add(new LocationDto(o));
+                      });
+                  return true;
+                }
+              },
+              30000);
+      return thenApply(operation, ignored -> result);
     } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+      return failed(e);
     }
   }
 
-  private ExtendedCompletionItemDto completionItemResolve(ExtendedCompletionItem unresolved) {
-    try {
-      InitializedLanguageServer server =
-          languageServerRegistry.getServer(unresolved.getLanguageServerId());
-
-      if (server != null) {
-        ExtendedCompletionItem res = new ExtendedCompletionItem();
-        res.setItem(
-            server
-                .getServer()
-                .getTextDocumentService()
-                .resolveCompletionItem(unresolved.getItem())
-                .get());
-        res.setLanguageServerId(unresolved.getLanguageServerId());
-        return new ExtendedCompletionItemDto(res);
-      }
-      return new ExtendedCompletionItemDto(unresolved);
-    } catch (InterruptedException | ExecutionException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+  private CompletableFuture<ExtendedCompletionItemDto> completionItemResolve(
+      ExtendedCompletionItem unresolved) {
+    InitializedLanguageServer server =
+        languageServerRegistry.getServer(unresolved.getLanguageServerId());
+
+    if (server != null) {
+      return thenApply(
+          server.getServer().getTextDocumentService().resolveCompletionItem(unresolved.getItem()),
+          item -> {
+            ExtendedCompletionItem res = new ExtendedCompletionItem();
+            res.setItem(item);
+            res.setLanguageServerId(unresolved.getLanguageServerId());
+            return new ExtendedCompletionItemDto(res);
+          });
     }
+    return CompletableFuture.completedFuture(new ExtendedCompletionItemDto(unresolved));
   }
 
-  private HoverDto hover(TextDocumentPositionParams positionParams) {
+  private CompletableFuture<HoverDto> hover(TextDocumentPositionParams positionParams) {
     String uri = prefixURI(positionParams.getTextDocument().getUri());
     positionParams.getTextDocument().setUri(uri);
     positionParams.setUri(prefixURI(positionParams.getUri()));
@@ -477,37 +495,44 @@ public class TextDocumentService {
               .stream()
               .flatMap(Collection::stream)
               .collect(Collectors.toList());
-      OperationUtil.doInParallel(
-          servers,
-          new LSOperation<InitializedLanguageServer, Hover>() {
-
-            @Override
-            public boolean canDo(InitializedLanguageServer element) {
-              return truish(element.getInitializeResult().getCapabilities().getHoverProvider());
-            }
+      CompletableFuture<Void> operation =
+          doInParallelAsync(
+              servers,
+              new LSOperation<InitializedLanguageServer, Hover>() {
+
+                @Override
+                public boolean canDo(InitializedLanguageServer element) {
+                  return truish(element.getInitializeResult().getCapabilities().getHoverProvider());
+                }
 
-            @Override
-            public CompletableFuture<Hover> start(InitializedLanguageServer element) {
-              return element.getServer().getTextDocumentService().hover(positionParams);
-            }
+                @Override
+                public CompletableFuture<Hover> start(InitializedLanguageServer element) {
+                  return responseCache.get(
+                      element.getId(),
+                      uri,
+                      "hover",
+                      positionParams.getPosition(),
+                      () -> element.getServer().getTextDocumentService().hover(positionParams));
+                }
 
-            @Override
-            public boolean handleResult(InitializedLanguageServer element, Hover hover) {
-              if (hover != null) {
-                HoverDto hoverDto = new HoverDto(hover);
-                result.getContents().addAll(hoverDto.getContents());
-              }
-              return true;
-            }
-          },
-          10000);
-      return result;
+                @Override
+                public boolean handleResult(InitializedLanguageServer element, Hover hover) {
+                  if (hover != null) {
+                    HoverDto hoverDto = new HoverDto(hover);
+                    result.getContents().addAll(hoverDto.getContents());
+                  }
+                  return true;
+                }
+              },
+              10000);
+      return requestTracker.cancelOnChange(uri, thenApply(operation, ignored -> result));
     } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+      return failed(e);
     }
   }
 
-  private SignatureHelpDto signatureHelp(TextDocumentPositionParams positionParams) {
+  private CompletableFuture<SignatureHelpDto> signatureHelp(
+      TextDocumentPositionParams positionParams) {
     String uri = prefixURI(positionParams.getTextDocument().getUri());
     positionParams.getTextDocument().setUri(uri);
     positionParams.setUri(prefixURI(positionParams.getUri()));
@@ -530,7 +555,12 @@ public class TextDocumentService {
 
             @Override
             public CompletableFuture<SignatureHelp> start(InitializedLanguageServer element) {
-              return element.getServer().getTextDocumentService().signatureHelp(positionParams);
+              return responseCache.get(
+                  element.getId(),
+                  uri,
+                  "signatureHelp",
+                  positionParams.getPosition(),
+                  () -> element.getServer().getTextDocumentService().signatureHelp(positionParams));
             }
 
             @Override
@@ -542,112 +572,87 @@ public class TextDocumentService {
               return false;
             }
           };
-      OperationUtil.doInSequence(servers, op, 10000);
-      return result[0];
+      return requestTracker.cancelOnChange(
+          uri, thenApply(doInSequenceAsync(servers, op, 10000), ignored -> result[0]));
     } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+      return failed(e);
     }
   }
 
-  private List<TextEditDto> formatting(DocumentFormattingParams documentFormattingParams) {
-    try {
-      String uri = prefixURI(documentFormattingParams.getTextDocument().getUri());
-      documentFormattingParams.getTextDocument().setUri(uri);
-      InitializedLanguageServer server =
-          languageServerRegistry
-              .getApplicableLanguageServers(uri)
-              .stream()
-              .flatMap(Collection::stream)
-              .filter(
-                  s ->
-                      truish(
-                          s.getInitializeResult()
-                              .getCapabilities()
-                              .getDocumentFormattingProvider()))
-              .findFirst()
-              .get();
-      return server == null
-          ? Collections.emptyList()
-          : server
-              .getServer()
-              .getTextDocumentService()
-              .formatting(documentFormattingParams)
-              .get(5000, TimeUnit.MILLISECONDS)
-              .stream()
-              .map(TextEditDto::new)
-              .collect(Collectors.toList());
-
-    } catch (InterruptedException
-        | ExecutionException
-        | LanguageServerException
-        | TimeoutException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+  private CompletableFuture<List<TextEditDto>> formatting(
+      DocumentFormattingParams documentFormattingParams) {
+    String uri = prefixURI(documentFormattingParams.getTextDocument().getUri());
+    documentFormattingParams.getTextDocument().setUri(uri);
+    return format(
+        uri,
+        capabilities -> truish(capabilities.getDocumentFormattingProvider()),
+        service -> service.formatting(documentFormattingParams));
   }
 
-  private List<TextEditDto> rangeFormatting(
+  private CompletableFuture<List<TextEditDto>> rangeFormatting(
       DocumentRangeFormattingParams documentRangeFormattingParams) {
-    try {
-      String uri = prefixURI(documentRangeFormattingParams.getTextDocument().getUri());
-      documentRangeFormattingParams.getTextDocument().setUri(uri);
-      InitializedLanguageServer server =
-          languageServerRegistry
-              .getApplicableLanguageServers(uri)
-              .stream()
-              .flatMap(Collection::stream)
-              .filter(
-                  s ->
-                      truish(
-                          s.getInitializeResult()
-                              .getCapabilities()
-                              .getDocumentRangeFormattingProvider()))
-              .findFirst()
-              .get();
-      return server == null
-          ? Collections.emptyList()
-          : server
-              .getServer()
-              .getTextDocumentService()
-              .rangeFormatting(documentRangeFormattingParams)
-              .get()
-              .stream()
-              .map(TextEditDto::new)
-              .collect(Collectors.toList());
-    } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
-    }
+    String uri = prefixURI(documentRangeFormattingParams.getTextDocument().getUri());
+    documentRangeFormattingParams.getTextDocument().setUri(uri);
+    return format(
+        uri,
+        capabilities -> truish(capabilities.getDocumentRangeFormattingProvider()),
+        service -> service.rangeFormatting(documentRangeFormattingParams));
   }
 
-  private List<TextEditDto> onTypeFormatting(
+  private CompletableFuture<List<TextEditDto>> onTypeFormatting(
       DocumentOnTypeFormattingParams documentOnTypeFormattingParams) {
+    String uri = prefixURI(documentOnTypeFormattingParams.getTextDocument().getUri());
+    documentOnTypeFormattingParams.getTextDocument().setUri(uri);
+    return format(
+        uri,
+        capabilities -> capabilities.getDocumentOnTypeFormattingProvider() != null,
+        service -> service.onTypeFormatting(documentOnTypeFormattingParams));
+  }
+
+  /**
+   * Requests text edits from the first language server which has the formatting capability, edits
+   * computed for the old content of the document are dropped when the document is changed.
+   */
+  private CompletableFuture<List<TextEditDto>> format(
+      String uri,
+      Predicate<ServerCapabilities> capable,
+      Function<
+              org.eclipse.lsp4j.services.TextDocumentService,
+              CompletableFuture<List<? extends TextEdit>>>
+          request) {
     try {
-      String uri = prefixURI(documentOnTypeFormattingParams.getTextDocument().getUri());
-      documentOnTypeFormattingParams.getTextDocument().setUri(uri);
-      InitializedLanguageServer server =
+      List<InitializedLanguageServer> servers =
           languageServerRegistry
               .getApplicableLanguageServers(uri)
               .stream()
               .flatMap(Collection::stream)
-              .filter(
-                  s ->
-                      s.getInitializeResult()
-                              .getCapabilities()
-                              .getDocumentOnTypeFormattingProvider()
-                          != null)
-              .findFirst()
-              .get();
-      return server == null
-          ? Collections.emptyList()
-          : server
-              .getServer()
-              .getTextDocumentService()
-              .onTypeFormatting(documentOnTypeFormattingParams)
-              .get()
-              .stream()
-              .map(TextEditDto::new)
               .collect(Collectors.toList());
-    } catch (InterruptedException | ExecutionException | LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+      List<TextEditDto> result = new ArrayList<>();
+      LSOperation<InitializedLanguageServer, List<? extends TextEdit>> op =
+          new LSOperation<InitializedLanguageServer, List<? extends TextEdit>>() {
+
+            @Override
+            public boolean canDo(InitializedLanguageServer element) {
+              return capable.test(element.getInitializeResult().getCapabilities());
+            }
+
+            @Override
+            public CompletableFuture<List<? extends TextEdit>> start(
+                InitializedLanguageServer element) {
+              return request.apply(element.getServer().getTextDocumentService());
+            }
+
+            @Override
+            public boolean handleResult(
+                InitializedLanguageServer element, List<? extends TextEdit> edits) {
+              edits.forEach(edit -> result.add(new TextEditDto(edit)));
+              return true;
+            }
+          };
+      return requestTracker.cancelOnChange(
+          uri, thenApply(doInSequenceAsync(servers, op, 5000), ignored -> result));
+    } catch (LanguageServerException e) {
+      return failed(e);
     }
   }
 
@@ -656,6 +661,10 @@ public class TextDocumentService {
       String uri = prefixURI(didChangeTextDocumentParams.getTextDocument().getUri());
       didChangeTextDocumentParams.getTextDocument().setUri(uri);
       didChangeTextDocumentParams.setUri(prefixURI(didChangeTextDocumentParams.getUri()));
+      requestTracker.documentChanged(
+          uri, didChangeTextDocumentParams.getTextDocument().getVersion());
+      responseCache.documentChanged(
+          uri, didChangeTextDocumentParams.getTextDocument().getVersion());
       languageServerRegistry
           .getApplicableLanguageServers(uri)
           .stream()
@@ -674,6 +683,8 @@ public class TextDocumentService {
     try {
       String uri = prefixURI(openTextDocumentParams.getTextDocument().getUri());
       openTextDocumentParams.getTextDocument().setUri(uri);
+      requestTracker.documentOpened(uri, openTextDocumentParams.getTextDocument().getVersion());
+      responseCache.documentOpened(uri, openTextDocumentParams.getTextDocument().getVersion());
       languageServerRegistry
           .getApplicableLanguageServers(uri)
           .stream()
@@ -692,6 +703,8 @@ public class TextDocumentService {
     try {
       String uri = prefixURI(didCloseTextDocumentParams.getTextDocument().getUri());
       didCloseTextDocumentParams.getTextDocument().setUri(uri);
+      requestTracker.documentClosed(uri);
+      responseCache.documentClosed(uri);
       languageServerRegistry
           .getApplicableLanguageServers(uri)
           .stream()
@@ -710,6 +723,7 @@ public class TextDocumentService {
     try {
       String uri = prefixURI(didSaveTextDocumentParams.getTextDocument().getUri());
       didSaveTextDocumentParams.getTextDocument().setUri(uri);
+      responseCache.documentSaved(uri);
       languageServerRegistry
           .getApplicableLanguageServers(uri)
           .stream()
@@ -724,7 +738,7 @@ public class TextDocumentService {
     }
   }
 
-  private DocumentHighlightDto documentHighlight(
+  private CompletableFuture<DocumentHighlightDto> documentHighlight(
       TextDocumentPositionParams textDocumentPositionParams) {
     try {
       String uri = prefixURI(textDocumentPositionParams.getTextDocument().getUri());
@@ -742,43 +756,43 @@ public class TextDocumentService {
             @Override
             public CompletableFuture<List<DocumentHighlightDto>> start(
                 Collection<InitializedLanguageServer> element) {
-              return CompletableFuture.supplyAsync(
-                  () -> {
-                    List<DocumentHighlightDto> res = new ArrayList<>();
-                    LSOperation<InitializedLanguageServer, List<? extends DocumentHighlight>> op2 =
-                        new LSOperation<
-                            InitializedLanguageServer, List<? extends DocumentHighlight>>() {
-
-                          @Override
-                          public boolean canDo(InitializedLanguageServer element) {
-                            return truish(
-                                element
-                                    .getInitializeResult()
-                                    .getCapabilities()
-                                    .getDocumentHighlightProvider());
-                          }
-
-                          @Override
-                          public CompletableFuture<List<? extends DocumentHighlight>> start(
-                              InitializedLanguageServer element) {
-                            return element
-                                .getServer()
-                                .getTextDocumentService()
-                                .documentHighlight(textDocumentPositionParams);
-                          }
-
-                          @Override
-                          public boolean handleResult(
-                              InitializedLanguageServer element,
-                              List<? extends DocumentHighlight> result) {
-
-                            return false;
-                          }
-                        };
-                    OperationUtil.doInParallel(element, op2, 10000);
-
-                    return res;
-                  });
+              List<DocumentHighlightDto> res = new ArrayList<>();
+              LSOperation<InitializedLanguageServer, List<? extends DocumentHighlight>> op2 =
+                  new LSOperation<InitializedLanguageServer, List<? extends DocumentHighlight>>() {
+
+                    @Override
+                    public boolean canDo(InitializedLanguageServer element) {
+                      return truish(
+                          element
+                              .getInitializeResult()
+                              .getCapabilities()
+                              .getDocumentHighlightProvider());
+                    }
+
+                    @Override
+                    public CompletableFuture<List<? extends DocumentHighlight>> start(
+                        InitializedLanguageServer element) {
+                      return responseCache.get(
+                          element.getId(),
+                          uri,
+                          "documentHighlight",
+                          textDocumentPositionParams.getPosition(),
+                          () ->
+                              element
+                                  .getServer()
+                                  .getTextDocumentService()
+                                  .documentHighlight(textDocumentPositionParams));
+                    }
+
+                    @Override
+                    public boolean handleResult(
+                        InitializedLanguageServer element,
+                        List<? extends DocumentHighlight> result) {
+
+                      return false;
+                    }
+                  };
+              return thenApply(doInParallelAsync(element, op2, 10000), ignored -> res);
             }
 
             @Override
@@ -788,19 +802,19 @@ public class TextDocumentService {
               return !list.isEmpty();
             }
           };
-      OperationUtil.doInSequence(
-          languageServerRegistry.getApplicableLanguageServers(uri), op, 10000);
-
-      if (!result[0].isEmpty()) {
-        return result[0].get(0);
-      }
-      return null;
+      CompletableFuture<Void> operation =
+          doInSequenceAsync(languageServerRegistry.getApplicableLanguageServers(uri), op, 10000);
+      return requestTracker.cancelOnChange(
+          uri,
+          thenApply(
+              operation,
+              ignored -> result[0] == null || result[0].isEmpty() ? null : result[0].get(0)));
     } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+      return failed(e);
     }
   }
 
-  private RenameResultDto rename(RenameParams renameParams) {
+  private CompletableFuture<RenameResultDto> rename(RenameParams renameParams) {
     String uri = prefixURI(renameParams.getTextDocument().getUri());
     renameParams.getTextDocument().setUri(uri);
     Map<String, ExtendedWorkspaceEdit> edits = new ConcurrentHashMap<>();
@@ -832,11 +846,12 @@ public class TextDocumentService {
               return true;
             }
           };
-      OperationUtil.doInParallel(servers, op, TimeUnit.SECONDS.toMillis(30));
+      return thenApply(
+          doInParallelAsync(servers, op, TimeUnit.SECONDS.toMillis(30)),
+          ignored -> new RenameResultDto(new RenameResult(edits)));
     } catch (LanguageServerException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+      return failed(e);
     }
-    return new RenameResultDto(new RenameResult(edits));
   }
 
   private void addRenameResult(
@@ -919,23 +934,44 @@ public class TextDocumentService {
   }
 
   private <P, R> void dtoToDtoList(
-      String name, Class<P> pClass, Class<R> rClass, Function<P, List<R>> function) {
+      String name,
+      Class<P> pClass,
+      Class<R> rClass,
+      Function<P, CompletableFuture<List<R>>> function) {
     requestHandler
         .newConfiguration()
         .methodName("textDocument/" + name)
         .paramsAsDto(pClass)
-        .resultAsListOfDto(rClass)
-        .withFunction(function);
+        .resultAsPromiseListOfDto(rClass)
+        .withPromiseBiFunction(
+            (endpointId, params) -> toPromise(endpointId, name, function.apply(params)));
   }
 
   private <P, R> void dtoToDto(
-      String name, Class<P> pClass, Class<R> rClass, Function<P, R> function) {
+      String name, Class<P> pClass, Class<R> rClass, Function<P, CompletableFuture<R>> function) {
     requestHandler
         .newConfiguration()
         .methodName("textDocument/" + name)
         .paramsAsDto(pClass)
-        .resultAsDto(rClass)
-        .withFunction(function);
+        .resultAsPromiseDto(rClass)
+        .withPromiseBiFunction(
+            (endpointId, params) -> toPromise(endpointId, name, function.apply(params)));
+  }
+
+  /**
+   * Responds to the client when the result is computed, so request processing threads are not
+   * blocked while language servers are busy.
+   */
+  private <R> JsonRpcPromise<R> toPromise(
+      String endpointId, String method, CompletableFuture<R> result) {
+    return new FuturePromise<>(
+        endpointId, requestTracker.track(method, result), requestProcessor::process);
+  }
+
+  private static <R> CompletableFuture<R> failed(LanguageServerException e) {
+    CompletableFuture<R> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new JsonRpcException(-27000, e.getMessage()));
+    return failed;
   }
 
   private boolean truish(Boolean b) {
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.util;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcPromise;
+
+/**
+ * JSON RPC promise resolved by the result of {@link CompletableFuture}, it allows request handlers
+ * to respond when the language servers answer instead of blocking a request processing thread.
+ *
+ * <p>The future may be completed before or after the consumers are set to the promise, the
+ * consumer is called exactly once in both cases, with the given executor. Failures are reported
+ * as JSON RPC errors, the code of {@link JsonRpcException} is preserved, cancelled requests are
+ * reported with {@link #REQUEST_CANCELLED} code.
+ *
+ * @param <R> type of the result
+ */
+public class FuturePromise<R> extends JsonRpcPromise<R> {
+  /** Error code of cancelled request as defined by language server protocol. */
+  public static final int REQUEST_CANCELLED = -32800;
+
+  private static final int LANGUAGE_SERVER_ERROR = -27000;
+
+  private final String endpointId;
+  private final CompletableFuture<R> future;
+  private final AtomicBoolean delivered;
+
+  public FuturePromise(String endpointId, CompletableFuture<R> future, Executor executor) {
+    this.endpointId = endpointId;
+    this.future = future;
+    this.delivered = new AtomicBoolean();
+    future.whenCompleteAsync((result, error) -> deliver(), executor);
+  }
+
+  @Override
+  public JsonRpcPromise<R> onSuccess(BiConsumer<String, R> biConsumer) {
+    super.onSuccess(biConsumer);
+    deliver();
+    return this;
+  }
+
+  @Override
+  public JsonRpcPromise<R> onSuccess(Consumer<R> consumer) {
+    return onSuccess((s, r) -> consumer.accept(r));
+  }
+
+  @Override
+  public JsonRpcPromise<R> onSuccess(Runnable runnable) {
+    return onSuccess((s, r) -> runnable.run());
+  }
+
+  @Override
+  public JsonRpcPromise<R> onFailure(BiConsumer<String, JsonRpcError> biConsumer) {
+    super.onFailure(biConsumer);
+    deliver();
+    return this;
+  }
+
+  @Override
+  public JsonRpcPromise<R> onFailure(Consumer<JsonRpcError> consumer) {
+    return onFailure((s, e) -> consumer.accept(e));
+  }
+
+  @Override
+  public JsonRpcPromise<R> onFailure(Runnable runnable) {
+    return onFailure((s, e) -> runnable.run());
+  }
+
+  private void deliver() {
+    if (!future.isDone()) {
+      return;
+    }
+    final R result;
+    try {
+      result = future.join();
+    } catch (CancellationException e) {
+      fail(new JsonRpcError(REQUEST_CANCELLED, "Request cancelled"));
+      return;
+    } catch (CompletionException e) {
+      fail(asError(e.getCause() == null ? e : e.getCause()));
+      return;
+    }
+    getSuccessConsumer()
+        .ifPresent(
+            consumer -> {
+              if (delivered.compareAndSet(false, true)) {
+                consumer.accept(endpointId, result);
+              }
+            });
+  }
+
+  private void fail(JsonRpcError error) {
+    getFailureConsumer()
+        .ifPresent(
+            consumer -> {
+              if (delivered.compareAndSet(false, true)) {
+                consumer.accept(endpointId, error);
+              }
+            });
+  }
+
+  private static JsonRpcError asError(Throwable error) {
+    if (error instanceof JsonRpcException) {
+      return new JsonRpcError(((JsonRpcException) error).getCode(), error.getMessage());
+    }
+    if (error instanceof CancellationException) {
+      return new JsonRpcError(REQUEST_CANCELLED, "Request cancelled");
+    }
+    return new JsonRpcError(LANGUAGE_SERVER_ERROR, error.getMessage());
+  }
+}
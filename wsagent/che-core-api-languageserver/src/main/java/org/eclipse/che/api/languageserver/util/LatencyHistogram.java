@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of request latencies with fixed buckets, the last bucket counts latencies greater than
+ * the last bound. Recording is lock-free, so it can be done from any thread.
+ */
+public class LatencyHistogram {
+  private static final long[] BOUNDS_MILLIS = {
+    5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000
+  };
+
+  private final LongAdder[] buckets;
+  private final LongAdder totalMillis;
+
+  public LatencyHistogram() {
+    buckets = new LongAdder[BOUNDS_MILLIS.length + 1];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new LongAdder();
+    }
+    totalMillis = new LongAdder();
+  }
+
+  public void record(long millis) {
+    int i = 0;
+    while (i < BOUNDS_MILLIS.length && millis > BOUNDS_MILLIS[i]) {
+      i++;
+    }
+    buckets[i].increment();
+    totalMillis.add(millis);
+  }
+
+  /** Returns upper bounds of the buckets in milliseconds, except the last unbounded one. */
+  public long[] getBucketBounds() {
+    return BOUNDS_MILLIS.clone();
+  }
+
+  /** Returns number of recorded latencies per bucket. */
+  public long[] getBucketCounts() {
+    final long[] counts = new long[buckets.length];
+    for (int i = 0; i < buckets.length; i++) {
+      counts[i] = buckets[i].sum();
+    }
+    return counts;
+  }
+
+  public long getCount() {
+    long count = 0;
+    for (LongAdder bucket : buckets) {
+      count += bucket.sum();
+    }
+    return count;
+  }
+
+  public long getTotalMillis() {
+    return totalMillis.sum();
+  }
+
+  /**
+   * Returns upper bound of the bucket which contains the given percentile, or {@link
+   * Long#MAX_VALUE} when it falls into the last unbounded bucket, or 0 when nothing is recorded.
+   *
+   * @param percentile value between 0 and 100
+   */
+  public long getPercentileMillis(double percentile) {
+    final long[] counts = getBucketCounts();
+    long total = 0;
+    for (long count : counts) {
+      total += count;
+    }
+    if (total == 0) {
+      return 0;
+    }
+    final double threshold = total * percentile / 100;
+    long accumulated = 0;
+    for (int i = 0; i < BOUNDS_MILLIS.length; i++) {
+      accumulated += counts[i];
+      if (accumulated >= threshold) {
+        return BOUNDS_MILLIS[i];
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public String toString() {
+    return "LatencyHistogram{"
+        + "count="
+        + getCount()
+        + ", totalMillis="
+        + getTotalMillis()
+        + ", p50<="
+        + getPercentileMillis(50)
+        + ", p95<="
+        + getPercentileMillis(95)
+        + ", p99<="
+        + getPercentileMillis(99)
+        + '}';
+  }
+}
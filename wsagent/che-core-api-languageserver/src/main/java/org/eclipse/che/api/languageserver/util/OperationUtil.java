@@ -10,22 +10,39 @@
  */
 package org.eclipse.che.api.languageserver.util;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Runs {@link LSOperation operations} against collections of language servers.
+ *
+ * <p>Asynchronous variants don't block calling thread, the returned future is completed when the
+ * operation is finished or its timeout is reached. Cancellation of the returned future cancels
+ * requests which are still in progress, so language servers receive {@code $/cancelRequest}.
+ */
 public class OperationUtil {
   private static final Logger LOG = LoggerFactory.getLogger(OperationUtil.class);
 
+  private static final ScheduledThreadPoolExecutor TIMEOUTS = createTimeoutsExecutor();
+
   /**
    * Execute the given operation on each element of the collection in sequence. Stops as soon as
-   * {@link LSOperation#canDo(Object)} returns true.
+   * {@link LSOperation#handleResult(Object, Object)} returns true.
    *
    * @param collection
    * @param op
@@ -33,25 +50,7 @@ public class OperationUtil {
    */
   public static <C, R> void doInSequence(
       Collection<C> collection, LSOperation<C, R> op, long timeoutMillis) {
-    long endTime = System.currentTimeMillis() + timeoutMillis;
-    for (C element : collection) {
-      if (op.canDo(element)) {
-        CompletableFuture<R> future = op.start(element);
-        try {
-          R result = future.get(Math.max(endTime - timeoutMillis, 1), TimeUnit.MILLISECONDS);
-          if (op.handleResult(element, result)) {
-            return;
-          }
-        } catch (InterruptedException e) {
-          LOG.info("Thread interrupted", e);
-          Thread.currentThread().interrupt();
-        } catch (ExecutionException e) {
-          LOG.info("Exception occurred in op", e);
-        } catch (TimeoutException e) {
-          future.cancel(true);
-        }
-      }
-    }
+    await(doInSequenceAsync(collection, op, timeoutMillis));
   }
 
   /**
@@ -64,56 +63,171 @@ public class OperationUtil {
    */
   public static <C, R> void doInParallel(
       Collection<C> collection, LSOperation<C, R> op, long timeoutMillis) {
-    Object lock = new Object();
-    List<CompletableFuture<?>> pendingResponses = new ArrayList<>();
+    await(doInParallelAsync(collection, op, timeoutMillis));
+  }
 
+  /**
+   * Starts the given operation on each element of the collection in sequence, the next element is
+   * started when the result of the previous one is handled. Stops as soon as {@link
+   * LSOperation#handleResult(Object, Object)} returns true or when the timeout is reached, in the
+   * latter case the request in progress is cancelled. Failures are ignored.
+   *
+   * @param collection
+   * @param op
+   * @param timeoutMillis time given to the whole sequence
+   * @return future which is completed when the operation is finished
+   */
+  public static <C, R> CompletableFuture<Void> doInSequenceAsync(
+      Collection<C> collection, LSOperation<C, R> op, long timeoutMillis) {
+    final CompletableFuture<Void> done = new CompletableFuture<>();
+    final AtomicReference<CompletableFuture<R>> current = new AtomicReference<>();
+    startNext(collection.iterator(), op, done, current);
+    completeOnTimeout(done, timeoutMillis);
+    done.whenComplete(
+        (ignored, error) -> {
+          final CompletableFuture<R> inProgress = current.get();
+          if (inProgress != null) {
+            inProgress.cancel(true);
+          }
+        });
+    return done;
+  }
+
+  /**
+   * Starts the given operation for each element in the collection at once. Results are handled as
+   * they arrive, failures are ignored. Requests which are not finished when the timeout is reached
+   * are cancelled.
+   *
+   * @param collection
+   * @param op
+   * @param timeoutMillis
+   * @return future which is completed when all the requests are finished or the timeout is reached
+   */
+  public static <C, R> CompletableFuture<Void> doInParallelAsync(
+      Collection<C> collection, LSOperation<C, R> op, long timeoutMillis) {
+    final CompletableFuture<Void> done = new CompletableFuture<>();
+    final List<CompletableFuture<R>> started = new ArrayList<>();
+    // the last share is released when all the requests are started
+    final AtomicInteger remaining = new AtomicInteger(1);
     for (C element : collection) {
       if (op.canDo(element)) {
-        CompletableFuture<R> future = op.start(element);
-        synchronized (lock) {
-          pendingResponses.add(future);
-          lock.notifyAll();
-        }
-        future
-            .thenAccept(
-                result -> {
-                  synchronized (lock) {
-                    if (!future.isCancelled()) {
+        final CompletableFuture<R> future = op.start(element);
+        remaining.incrementAndGet();
+        started.add(future);
+        future.whenComplete(
+            (result, error) -> {
+              try {
+                if (error == null) {
+                  synchronized (done) {
+                    if (!done.isDone()) {
                       op.handleResult(element, result);
-                      pendingResponses.remove(future);
-                      lock.notifyAll();
                     }
                   }
-                })
-            .exceptionally(
-                (t) -> {
-                  LOG.info("Exception occurred in request", t);
-                  synchronized (lock) {
-                    pendingResponses.remove(future);
-                    lock.notifyAll();
+                } else if (!(error instanceof CancellationException)) {
+                  LOG.info("Exception occurred in request", error);
+                }
+              } finally {
+                if (remaining.decrementAndGet() == 0) {
+                  done.complete(null);
+                }
+              }
+            });
+      }
+    }
+    if (remaining.decrementAndGet() == 0) {
+      done.complete(null);
+    } else {
+      completeOnTimeout(done, timeoutMillis);
+      done.whenComplete((ignored, error) -> started.forEach(future -> future.cancel(true)));
+    }
+    return done;
+  }
+
+  /**
+   * Same as {@code future.thenApply(fn)}, but cancellation of the returned future is propagated to
+   * the given one, so the requests it waits for are cancelled as well.
+   */
+  public static <T, R> CompletableFuture<R> thenApply(
+      CompletableFuture<T> future, Function<? super T, ? extends R> fn) {
+    final CompletableFuture<R> applied = future.thenApply(fn);
+    applied.whenComplete(
+        (ignored, error) -> {
+          if (applied.isCancelled()) {
+            future.cancel(true);
+          }
+        });
+    return applied;
+  }
+
+  private static <C, R> void startNext(
+      Iterator<C> elements,
+      LSOperation<C, R> op,
+      CompletableFuture<Void> done,
+      AtomicReference<CompletableFuture<R>> current) {
+    while (elements.hasNext() && !done.isDone()) {
+      final C element = elements.next();
+      if (op.canDo(element)) {
+        final CompletableFuture<R> future = op.start(element);
+        current.set(future);
+        future.whenComplete(
+            (result, error) -> {
+              if (error == null) {
+                synchronized (done) {
+                  if (!done.isDone() && op.handleResult(element, result)) {
+                    done.complete(null);
+                    return;
                   }
-                  return null;
-                });
+                }
+              } else if (!(error instanceof CancellationException)) {
+                LOG.info("Exception occurred in op", error);
+              }
+              startNext(elements, op, done, current);
+            });
+        return;
       }
     }
+    done.complete(null);
+  }
 
-    long endTime = System.currentTimeMillis() + 5000;
+  /**
+   * Completes the given future when timeout is reached, results handled after that are ignored, so
+   * completion happens under the same lock the results are handled with.
+   */
+  private static void completeOnTimeout(CompletableFuture<Void> done, long timeoutMillis) {
+    final ScheduledFuture<?> timeout =
+        TIMEOUTS.schedule(
+            () -> {
+              synchronized (done) {
+                done.complete(null);
+              }
+            },
+            timeoutMillis,
+            TimeUnit.MILLISECONDS);
+    done.whenComplete((ignored, error) -> timeout.cancel(false));
+  }
 
+  private static void await(CompletableFuture<Void> done) {
     try {
-      synchronized (lock) {
-        while (System.currentTimeMillis() < endTime && pendingResponses.size() > 0) {
-          lock.wait(endTime - System.currentTimeMillis());
-        }
-      }
+      done.get();
     } catch (InterruptedException e) {
       LOG.info("Thread interrupted", e);
+      done.cancel(true);
       Thread.currentThread().interrupt();
+    } catch (ExecutionException | CancellationException e) {
+      LOG.info("Exception occurred in op", e);
     }
-    synchronized (lock) {
-      for (CompletableFuture<?> pending : new ArrayList<>(pendingResponses)) {
-        pending.cancel(true);
-      }
-      lock.notifyAll();
-    }
+  }
+
+  private static ScheduledThreadPoolExecutor createTimeoutsExecutor() {
+    final ScheduledThreadPoolExecutor executor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            new ThreadFactoryBuilder()
+                .setNameFormat("LanguageServerOperationTimeouts")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
   }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.service;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link LanguageServerResponseCache}. */
+public class LanguageServerResponseCacheTest {
+  private static final String SERVER_ID = "server";
+  private static final String URI = "file:///projects/test/Test.java";
+
+  private LanguageServerResponseCache cache;
+  private AtomicInteger sent;
+  private Supplier<CompletableFuture<String>> request;
+
+  @BeforeMethod
+  public void setUp() {
+    cache = new LanguageServerResponseCache(10);
+    sent = new AtomicInteger();
+    request = () -> CompletableFuture.completedFuture("response" + sent.incrementAndGet());
+  }
+
+  @Test
+  public void shouldReuseResponseForTheSameDocumentVersion() throws Exception {
+    cache.documentOpened(URI, 1);
+
+    assertEquals(cache.get(SERVER_ID, URI, "hover", 10, request).get(), "response1");
+    assertEquals(cache.get(SERVER_ID, URI, "hover", 10, request).get(), "response1");
+    assertEquals(cache.get(SERVER_ID, URI, "hover", 20, request).get(), "response2");
+
+    assertEquals(cache.getStats().get(SERVER_ID).hitCount(), 1L);
+    assertEquals(cache.getStats().get(SERVER_ID).missCount(), 2L);
+  }
+
+  @Test
+  public void shouldSendRequestAgainWhenDocumentIsChanged() throws Exception {
+    cache.documentOpened(URI, 1);
+    cache.get(SERVER_ID, URI, "hover", 10, request).get();
+
+    cache.documentChanged(URI, 2);
+
+    assertEquals(cache.get(SERVER_ID, URI, "hover", 10, request).get(), "response2");
+  }
+
+  @Test
+  public void shouldSendRequestAgainWhenDocumentIsSaved() throws Exception {
+    cache.documentOpened(URI, 1);
+    cache.get(SERVER_ID, URI, "hover", 10, request).get();
+
+    cache.documentSaved(URI);
+
+    assertEquals(cache.get(SERVER_ID, URI, "hover", 10, request).get(), "response2");
+  }
+
+  @Test
+  public void shouldNotCacheResponsesForDocumentsWhichAreNotOpened() throws Exception {
+    cache.documentOpened(URI, 1);
+    cache.documentClosed(URI);
+
+    cache.get(SERVER_ID, URI, "hover", 10, request).get();
+    cache.get(SERVER_ID, URI, "hover", 10, request).get();
+
+    assertEquals(sent.get(), 2);
+  }
+
+  @Test
+  public void shouldNotCacheFailedResponses() throws Exception {
+    cache.documentOpened(URI, 1);
+    CompletableFuture<String> failed = new CompletableFuture<>();
+    failed.completeExceptionally(new RuntimeException("failed"));
+    cache.get(SERVER_ID, URI, "hover", 10, () -> failed);
+
+    assertEquals(cache.get(SERVER_ID, URI, "hover", 10, request).get(), "response1");
+  }
+
+  @Test
+  public void shouldNotCancelSharedRequestWhenOneOfItsCallersCancels() throws Exception {
+    cache.documentOpened(URI, 1);
+    CompletableFuture<String> response = new CompletableFuture<>();
+    CompletableFuture<String> first = cache.get(SERVER_ID, URI, "hover", 10, () -> response);
+    CompletableFuture<String> second = cache.get(SERVER_ID, URI, "hover", 10, () -> response);
+
+    first.cancel(true);
+    response.complete("response");
+
+    assertFalse(response.isCancelled());
+    assertEquals(second.get(), "response");
+    assertEquals(cache.get(SERVER_ID, URI, "hover", 10, request).get(), "response");
+  }
+
+  @Test
+  public void shouldCancelSharedRequestWhenAllItsCallersCancel() throws Exception {
+    cache.documentOpened(URI, 1);
+    CompletableFuture<String> response = new CompletableFuture<>();
+    CompletableFuture<String> first = cache.get(SERVER_ID, URI, "hover", 10, () -> response);
+    CompletableFuture<String> second = cache.get(SERVER_ID, URI, "hover", 10, () -> response);
+
+    first.cancel(true);
+    second.cancel(true);
+
+    assertTrue(response.isCancelled());
+    assertEquals(cache.get(SERVER_ID, URI, "hover", 10, request).get(), "response1");
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.service;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link TextDocumentRequestTracker}. */
+public class TextDocumentRequestTrackerTest {
+  private static final String URI = "file:///projects/test/Test.java";
+
+  private TextDocumentRequestTracker tracker;
+
+  @BeforeMethod
+  public void setUp() {
+    tracker = new TextDocumentRequestTracker();
+  }
+
+  @Test
+  public void shouldCancelRequestOfOlderDocumentVersionWhenDocumentIsChanged() {
+    tracker.documentOpened(URI, 1);
+    final CompletableFuture<String> request = pendingRequest();
+
+    tracker.documentChanged(URI, 2);
+
+    assertTrue(request.isCancelled());
+    assertEquals(tracker.getCancelledOnChangeCount(), 1L);
+  }
+
+  @Test
+  public void shouldNotCancelRequestOfNewerDocumentVersionWhenEarlierChangeComesLate() {
+    tracker.documentOpened(URI, 1);
+    tracker.documentChanged(URI, 3);
+    final CompletableFuture<String> request = pendingRequest();
+
+    tracker.documentChanged(URI, 2);
+
+    assertFalse(request.isCancelled());
+    tracker.documentChanged(URI, 4);
+    assertTrue(request.isCancelled());
+  }
+
+  @Test
+  public void shouldCancelRequestOfUnknownDocumentVersionWhenDocumentIsChanged() {
+    final CompletableFuture<String> request = pendingRequest();
+
+    tracker.documentChanged(URI, 5);
+
+    assertTrue(request.isCancelled());
+  }
+
+  @Test
+  public void shouldNotCancelRequestsOfOtherDocuments() {
+    tracker.documentOpened(URI, 1);
+    tracker.documentOpened("file:///projects/test/Other.java", 1);
+    final CompletableFuture<String> request = pendingRequest();
+
+    tracker.documentChanged("file:///projects/test/Other.java", 2);
+
+    assertFalse(request.isCancelled());
+  }
+
+  @Test
+  public void shouldNotCancelCompletedRequest() {
+    tracker.documentOpened(URI, 1);
+    final CompletableFuture<String> request = pendingRequest();
+    request.complete("result");
+
+    tracker.documentChanged(URI, 2);
+
+    assertFalse(request.isCancelled());
+    assertEquals(tracker.getCancelledOnChangeCount(), 0L);
+  }
+
+  private CompletableFuture<String> pendingRequest() {
+    return tracker.cancelOnChange(URI, new CompletableFuture<>());
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.util;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for asynchronous operations of {@link OperationUtil}. */
+public class OperationUtilTest {
+
+  private List<CompletableFuture<String>> requests;
+  private List<String> results;
+  private LSOperation<String, String> op;
+
+  @BeforeMethod
+  public void setUp() {
+    requests = new ArrayList<>();
+    results = new ArrayList<>();
+    op =
+        new LSOperation<String, String>() {
+          @Override
+          public boolean canDo(String element) {
+            return !element.startsWith("incapable");
+          }
+
+          @Override
+          public CompletableFuture<String> start(String element) {
+            CompletableFuture<String> request = new CompletableFuture<>();
+            requests.add(request);
+            return request;
+          }
+
+          @Override
+          public boolean handleResult(String element, String result) {
+            results.add(result);
+            return !result.isEmpty();
+          }
+        };
+  }
+
+  @Test
+  public void shouldCompleteParallelOperationWhenAllRequestsAreCompleted() throws Exception {
+    CompletableFuture<Void> operation =
+        OperationUtil.doInParallelAsync(asList("ls1", "incapable", "ls2"), op, 10_000);
+
+    assertEquals(requests.size(), 2);
+    requests.get(1).complete("second");
+    assertFalse(operation.isDone());
+    requests.get(0).completeExceptionally(new RuntimeException("failed"));
+
+    operation.get(1, TimeUnit.SECONDS);
+    assertEquals(results, asList("second"));
+  }
+
+  @Test(expectedExceptions = CancellationException.class)
+  public void shouldCancelPendingRequestsWhenParallelOperationTimesOut() throws Exception {
+    CompletableFuture<Void> operation =
+        OperationUtil.doInParallelAsync(asList("ls1", "ls2"), op, 100);
+    requests.get(0).complete("first");
+
+    operation.get(5, TimeUnit.SECONDS);
+
+    assertEquals(results, asList("first"));
+    requests.get(1).get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void shouldStartNextRequestOfSequenceOnlyWhenPreviousResultIsHandled() throws Exception {
+    CompletableFuture<Void> operation =
+        OperationUtil.doInSequenceAsync(asList("ls1", "ls2", "ls3"), op, 10_000);
+
+    assertEquals(requests.size(), 1);
+    requests.get(0).complete("");
+    assertEquals(requests.size(), 2);
+    requests.get(1).complete("second");
+
+    operation.get(1, TimeUnit.SECONDS);
+    assertEquals(requests.size(), 2);
+    assertEquals(results, asList("", "second"));
+  }
+
+  @Test
+  public void shouldCancelRequestInProgressWhenOperationIsCancelled() throws Exception {
+    CompletableFuture<Void> operation =
+        OperationUtil.doInSequenceAsync(asList("ls1", "ls2"), op, 10_000);
+    CompletableFuture<String> result = OperationUtil.thenApply(operation, ignored -> "result");
+
+    result.cancel(true);
+
+    assertTrue(operation.isCancelled());
+    assertTrue(requests.get(0).isCancelled());
+    assertEquals(requests.size(), 1);
+  }
+}
@@ -39,5 +39,8 @@ public class Constants {
   public static final String EVENT_IMPORT_OUTPUT_UN_SUBSCRIBE = "importProject/unSubscribe";
   public static final String EVENT_IMPORT_OUTPUT_PROGRESS = "importProject/progress";
 
+  public static final String PROJECT_SEARCH_STREAM = "project/search/stream";
+  public static final String PROJECT_SEARCH_STREAM_RESULT = "project/search/stream/result";
+
   private Constants() {}
 }
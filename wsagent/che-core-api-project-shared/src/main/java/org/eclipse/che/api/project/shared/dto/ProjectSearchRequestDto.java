@@ -33,4 +33,14 @@ public interface ProjectSearchRequestDto {
   int getSkipCount();
 
   ProjectSearchRequestDto withSkipCount(int skipCount);
+
+  /** Cursor of page to retrieve, it is provided with previous page of search result. */
+  String getCursor();
+
+  ProjectSearchRequestDto withCursor(String cursor);
+
+  /** Identifier of streamed search, it is sent back with each chunk of streamed result. */
+  String getRequestId();
+
+  ProjectSearchRequestDto withRequestId(String requestId);
 }
@@ -22,4 +22,14 @@ public interface ProjectSearchResponseDto {
   int getTotalHits();
 
   ProjectSearchResponseDto withTotalHits(int totalHits);
+
+  /** Cursor for retrieving next page or {@code null} if there are no more pages. */
+  String getNextPageCursor();
+
+  ProjectSearchResponseDto withNextPageCursor(String nextPageCursor);
+
+  /** Identifier of streamed search which this response belongs to. */
+  String getRequestId();
+
+  ProjectSearchResponseDto withRequestId(String requestId);
 }
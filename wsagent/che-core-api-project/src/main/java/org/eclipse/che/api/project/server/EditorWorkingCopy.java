@@ -18,19 +18,23 @@ import com.google.common.io.ByteStreams;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Arrays;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
 
 /**
  * In-memory implementation of working copy for opened editor on client.
  *
+ * <p>Content is kept as {@link Rope}, so editor changes are applied without copying the whole
+ * content, and it is encoded to bytes only when they are requested, e.g. when the working copy is
+ * persisted. Each change of the content increments the version of the working copy.
+ *
  * @author Roman Nikitenko
  */
 public class EditorWorkingCopy {
   private String path;
   private String projectPath;
-  private byte[] content;
+  private volatile Rope content;
+  private volatile long version;
 
   /**
    * Creates a working copy for opened editor on client.
@@ -42,7 +46,7 @@ public class EditorWorkingCopy {
   public EditorWorkingCopy(String path, String projectPath, byte[] content) {
     this.path = path;
     this.projectPath = projectPath;
-    this.content = Arrays.copyOf(content, content.length);
+    this.content = Rope.of(new String(content));
   }
 
   /**
@@ -51,10 +55,7 @@ public class EditorWorkingCopy {
    * @return content ot the working copy
    */
   public byte[] getContentAsBytes() {
-    if (content == null) {
-      content = new byte[0];
-    }
-    return Arrays.copyOf(content, content.length);
+    return getContentAsString().getBytes();
   }
 
   /**
@@ -63,7 +64,17 @@ public class EditorWorkingCopy {
    * @return content ot the working copy
    */
   public String getContentAsString() {
-    return new String(getContentAsBytes());
+    return content.toString();
+  }
+
+  /**
+   * Gets content of the working copy without copying it. Returned sequence is a snapshot, it is not
+   * affected by the further changes of the working copy.
+   *
+   * @return content ot the working copy
+   */
+  public CharSequence getContentAsCharSequence() {
+    return content;
   }
 
   /**
@@ -75,6 +86,11 @@ public class EditorWorkingCopy {
     return new ByteArrayInputStream(getContentAsBytes());
   }
 
+  /** Returns version of the content, which is incremented on each change of the content. */
+  public long getVersion() {
+    return version;
+  }
+
   /**
    * Updates content of the working copy.
    *
@@ -82,8 +98,7 @@ public class EditorWorkingCopy {
    * @return current working copy after updating content
    */
   EditorWorkingCopy updateContent(byte[] content) {
-    this.content = content;
-    return this;
+    return updateContent(new String(content));
   }
 
   /**
@@ -92,8 +107,9 @@ public class EditorWorkingCopy {
    * @param content content
    * @return current working copy after updating content
    */
-  EditorWorkingCopy updateContent(String content) {
-    updateContent(content.getBytes());
+  synchronized EditorWorkingCopy updateContent(String content) {
+    this.content = Rope.of(content);
+    version++;
     return this;
   }
 
@@ -121,29 +137,32 @@ public class EditorWorkingCopy {
    * @param changes contains editor content changes
    */
   void applyChanges(EditorChangesDto changes) {
-    synchronized (this) {
-      String text = changes.getText();
-      int offset = changes.getOffset();
-      int removedCharCount = changes.getRemovedCharCount();
-
-      String newContent = null;
-      String oldContent = getContentAsString();
-      EditorChangesDto.Type type = changes.getType();
-      if (type == INSERT) {
-        newContent = new StringBuilder(oldContent).insert(offset, text).toString();
-      }
-
-      if (type == REMOVE && removedCharCount > 0) {
-        newContent =
-            new StringBuilder(oldContent).delete(offset, offset + removedCharCount).toString();
-      }
-
-      if (newContent != null) {
-        updateContent(newContent);
-      }
+    String text = changes.getText();
+    int offset = changes.getOffset();
+    int removedCharCount = changes.getRemovedCharCount();
+
+    EditorChangesDto.Type type = changes.getType();
+    if (type == INSERT && text != null) {
+      insert(offset, text);
+    }
+
+    if (type == REMOVE && removedCharCount > 0) {
+      remove(offset, removedCharCount);
     }
   }
 
+  /** Inserts the text at the given offset of the content. */
+  synchronized void insert(int offset, String text) {
+    content = content.insert(offset, text);
+    version++;
+  }
+
+  /** Removes the given number of characters starting from the offset of the content. */
+  synchronized void remove(int offset, int count) {
+    content = content.delete(offset, Math.min(offset + count, content.length()));
+    version++;
+  }
+
   /** Returns the path to the persistent working copy */
   public String getPath() {
     return path;
@@ -36,6 +36,7 @@ import org.eclipse.che.api.project.server.type.ProjectTypeDef;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.impl.file.DefaultFileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.DirectoryListingCache;
 import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.impl.file.event.detectors.EditorFileOperationHandler;
@@ -170,6 +171,12 @@ public class ProjectApiModule extends AbstractModule {
     bind(EditorFileTracker.class).asEagerSingleton();
     bind(EditorFileOperationHandler.class).asEagerSingleton();
     bind(ProjectTreeTracker.class).asEagerSingleton();
+
+    Multibinder<Consumer<Path>> fileWatcherEventConsumers =
+        newSetBinder(
+            binder(), new TypeLiteral<Consumer<Path>>() {}, Names.named("che.fs.watcher.event"));
+    fileWatcherEventConsumers.addBinding().to(DirectoryListingCache.class);
+    fileWatcherEventConsumers.addBinding().to(FileTreeWalker.class);
   }
 
   @Provides
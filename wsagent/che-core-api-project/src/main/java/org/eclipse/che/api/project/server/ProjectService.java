@@ -14,6 +14,8 @@ import static org.eclipse.che.api.project.server.DtoConverter.asDto;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_CREATE_BATCH_PROJECTS;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_CREATE_PROJECT;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_GET_PROJECTS;
+import static org.eclipse.che.api.project.shared.Constants.PROJECT_SEARCH_STREAM;
+import static org.eclipse.che.api.project.shared.Constants.PROJECT_SEARCH_STREAM_RESULT;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 import io.swagger.annotations.Api;
@@ -21,7 +23,6 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -112,6 +113,7 @@ import org.slf4j.LoggerFactory;
 @Singleton
 public class ProjectService extends Service {
   private static final Logger LOG = LoggerFactory.getLogger(ProjectService.class);
+  private static final int SEARCH_STREAM_CHUNK_SIZE = 50;
   private static Tika TIKA;
 
   private final ProjectManager projectManager;
@@ -999,7 +1001,10 @@ public class ProjectService extends Service {
           @QueryParam("maxItems")
           @DefaultValue("-1")
           int maxItems,
-      @ApiParam(value = "Skip count") @QueryParam("skipCount") int skipCount)
+      @ApiParam(value = "Skip count") @QueryParam("skipCount") int skipCount,
+      @ApiParam(value = "Cursor of page, it is returned with previous page of search result")
+          @QueryParam("cursor")
+          String cursor)
       throws NotFoundException, ForbiddenException, ConflictException, ServerException {
     final Searcher searcher;
     try {
@@ -1009,64 +1014,77 @@ public class ProjectService extends Service {
       return DtoFactory.newDto(ProjectSearchResponseDto.class);
     }
 
-    if (skipCount < 0) {
-      throw new ConflictException(String.format("Invalid 'skipCount' parameter: %d.", skipCount));
-    }
-
     final QueryExpression expr =
-        new QueryExpression()
-            .setPath(path.startsWith("/") ? path : ('/' + path))
-            .setName(name)
-            .setText(text)
-            .setMaxItems(maxItems)
-            .setSkipCount(skipCount)
-            .setIncludePositions(true);
-
+        createQueryExpression(path, name, text, maxItems, skipCount, cursor);
     final SearchResult result = searcher.search(expr);
-    final List<SearchResultEntry> searchResultEntries = result.getResults();
+    final List<SearchResultDto> results = new ArrayList<>(result.getResults().size());
+    for (SearchResultEntry searchResultEntry : result.getResults()) {
+      final SearchResultDto searchResultDto = prepareResult(searchResultEntry);
+      if (searchResultDto != null) {
+        results.add(searchResultDto);
+      }
+    }
     return DtoFactory.newDto(ProjectSearchResponseDto.class)
         .withTotalHits(result.getTotalHits())
-        .withItemReferences(prepareResults(searchResultEntries));
+        .withNextPageCursor(getNextPageCursor(result))
+        .withItemReferences(results);
+  }
+
+  private QueryExpression createQueryExpression(
+      String path, String name, String text, int maxItems, int skipCount, String cursor)
+      throws ConflictException {
+    if (skipCount < 0) {
+      throw new ConflictException(String.format("Invalid 'skipCount' parameter: %d.", skipCount));
+    }
+    return new QueryExpression()
+        .setPath(path.startsWith("/") ? path : ('/' + path))
+        .setName(name)
+        .setText(text)
+        .setMaxItems(maxItems)
+        .setSkipCount(skipCount)
+        .setCursor(cursor)
+        .setIncludePositions(true);
+  }
+
+  private static String getNextPageCursor(SearchResult result) {
+    return result.getNextPageQueryExpression().isPresent()
+        ? result.getNextPageQueryExpression().get().getCursor()
+        : null;
   }
 
   /**
    * Prepare result for client, add additional information like line number and line content where
    * found given text
    *
+   * @return result for client or {@code null} if found file doesn't exist anymore
    * @throws ServerException
    */
-  private List<SearchResultDto> prepareResults(List<SearchResultEntry> searchResultEntries)
+  private SearchResultDto prepareResult(SearchResultEntry searchResultEntry)
       throws ServerException {
-    List<SearchResultDto> results = new ArrayList<>(searchResultEntries.size());
     FolderEntry root = projectManager.getProjectsRoot();
-
-    for (SearchResultEntry searchResultEntry : searchResultEntries) {
-      VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
-      if (child != null && child.isFile()) {
-        ItemReference itemReference = injectFileLinks(asDto((FileEntry) child));
-        File file = child.getVirtualFile().toIoFile();
-        List<LuceneSearcher.OffsetData> datas = searchResultEntry.getData();
-        List<SearchOccurrenceDto> searchOccurrences = new ArrayList<>(datas.size());
-        for (LuceneSearcher.OffsetData data : datas) {
-          SearchOccurrenceDto searchOccurrenceDto =
-              DtoFactory.getInstance()
-                  .createDto(SearchOccurrenceDto.class)
-                  .withPhrase(data.phrase)
-                  .withScore(data.score)
-                  .withStartOffset(data.startOffset)
-                  .withEndOffset(data.endOffset)
-                  .withLineNumber(data.lineNum)
-                  .withLineContent(data.line);
-          searchOccurrences.add(searchOccurrenceDto);
-        }
-        SearchResultDto searchResultDto = DtoFactory.getInstance().createDto(SearchResultDto.class);
-        results.add(
-            searchResultDto
-                .withItemReference(itemReference)
-                .withSearchOccurrences(searchOccurrences));
-      }
+    VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
+    if (child == null || !child.isFile()) {
+      return null;
+    }
+    ItemReference itemReference = injectFileLinks(asDto((FileEntry) child));
+    List<LuceneSearcher.OffsetData> datas = searchResultEntry.getData();
+    List<SearchOccurrenceDto> searchOccurrences = new ArrayList<>(datas.size());
+    for (LuceneSearcher.OffsetData data : datas) {
+      SearchOccurrenceDto searchOccurrenceDto =
+          DtoFactory.getInstance()
+              .createDto(SearchOccurrenceDto.class)
+              .withPhrase(data.phrase)
+              .withScore(data.score)
+              .withStartOffset(data.startOffset)
+              .withEndOffset(data.endOffset)
+              .withLineNumber(data.lineNum)
+              .withLineContent(data.line);
+      searchOccurrences.add(searchOccurrenceDto);
     }
-    return results;
+    SearchResultDto searchResultDto = DtoFactory.getInstance().createDto(SearchResultDto.class);
+    return searchResultDto
+        .withItemReference(itemReference)
+        .withSearchOccurrences(searchOccurrences);
   }
 
   @Inject
@@ -1080,20 +1098,93 @@ public class ProjectService extends Service {
         .withFunction(this::search);
   }
 
+  @Inject
+  private void configureProjectSearchStreamRequestHandler(
+      RequestHandlerConfigurator requestHandlerConfigurator) {
+    requestHandlerConfigurator
+        .newConfiguration()
+        .methodName(PROJECT_SEARCH_STREAM)
+        .paramsAsDto(ProjectSearchRequestDto.class)
+        .resultAsDto(ProjectSearchResponseDto.class)
+        .withBiFunction(this::searchAndStream);
+  }
+
   public ProjectSearchResponseDto search(ProjectSearchRequestDto request) {
     String path = request.getPath();
     String name = request.getName();
     String text = request.getText();
     int maxItems = request.getMaxItems();
     int skipCount = request.getSkipCount();
+    String cursor = request.getCursor();
 
     try {
-      return search(path, name, text, maxItems, skipCount);
+      return search(path, name, text, maxItems, skipCount, cursor);
     } catch (ServerException | ConflictException | NotFoundException | ForbiddenException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
   }
 
+  /**
+   * Searches and sends found items to the endpoint with {@link
+   * org.eclipse.che.api.project.shared.Constants#PROJECT_SEARCH_STREAM_RESULT} notifications in
+   * chunks as soon as they are found. Returned response contains total number of hits and cursor of
+   * next page but no items.
+   */
+  public ProjectSearchResponseDto searchAndStream(
+      String endpointId, ProjectSearchRequestDto request) {
+    try {
+      final Searcher searcher = projectManager.getSearcher();
+      final QueryExpression expr =
+          createQueryExpression(
+              request.getPath(),
+              request.getName(),
+              request.getText(),
+              request.getMaxItems(),
+              request.getSkipCount(),
+              request.getCursor());
+      final List<SearchResultDto> chunk = new ArrayList<>(SEARCH_STREAM_CHUNK_SIZE);
+      final SearchResult result =
+          searcher.search(
+              expr,
+              entry -> {
+                try {
+                  final SearchResultDto searchResultDto = prepareResult(entry);
+                  if (searchResultDto != null) {
+                    chunk.add(searchResultDto);
+                  }
+                } catch (ServerException e) {
+                  throw new JsonRpcException(-27000, e.getMessage());
+                }
+                if (chunk.size() == SEARCH_STREAM_CHUNK_SIZE) {
+                  sendSearchResultChunk(endpointId, request.getRequestId(), chunk);
+                }
+              });
+      if (!chunk.isEmpty()) {
+        sendSearchResultChunk(endpointId, request.getRequestId(), chunk);
+      }
+      return DtoFactory.newDto(ProjectSearchResponseDto.class)
+          .withRequestId(request.getRequestId())
+          .withTotalHits(result.getTotalHits())
+          .withNextPageCursor(getNextPageCursor(result));
+    } catch (ServerException | ConflictException | NotFoundException | ForbiddenException e) {
+      throw new JsonRpcException(-27000, e.getMessage());
+    }
+  }
+
+  private void sendSearchResultChunk(
+      String endpointId, String requestId, List<SearchResultDto> chunk) {
+    transmitter
+        .newRequest()
+        .endpointId(endpointId)
+        .methodName(PROJECT_SEARCH_STREAM_RESULT)
+        .paramsAsDto(
+            DtoFactory.newDto(ProjectSearchResponseDto.class)
+                .withRequestId(requestId)
+                .withItemReferences(new ArrayList<>(chunk)))
+        .sendAndSkipResult();
+    chunk.clear();
+  }
+
   private void logProjectCreatedEvent(@NotNull String projectName, @NotNull String projectType) {
     LOG.info(
         "EVENT#project-created# PROJECT#{}# TYPE#{}# WS#{}# USER#{}# PAAS#default#",
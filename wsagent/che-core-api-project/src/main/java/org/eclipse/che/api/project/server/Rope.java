@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Immutable text stored as a balanced tree of chunks.
+ *
+ * <p>Inserting and removing text creates a new rope which shares all the chunks that are not
+ * affected with this one, so the edit takes time logarithmic in the length of the text instead of
+ * copying the whole text. Chunks are merged while they are small, so typing doesn't produce a chunk
+ * per character. As ropes are never modified, they may be read by any thread without locking.
+ */
+final class Rope implements CharSequence {
+  /** Maximum length of a chunk. */
+  static final int MAX_LEAF = 1024;
+
+  static final Rope EMPTY = new Rope(new Leaf(""));
+
+  private final Node root;
+  private String string;
+
+  private Rope(Node root) {
+    this.root = root;
+  }
+
+  /** Returns rope which contains the given text. */
+  static Rope of(CharSequence text) {
+    return text instanceof Rope ? (Rope) text : new Rope(build(text.toString(), 0, text.length()));
+  }
+
+  /**
+   * Returns rope with the text inserted at the given offset.
+   *
+   * @throws IndexOutOfBoundsException if offset is negative or greater than the length
+   */
+  Rope insert(int offset, CharSequence text) {
+    checkRange(offset, offset);
+    if (text.length() == 0) {
+      return this;
+    }
+    return new Rope(join(join(prefix(root, offset), of(text).root), suffix(root, offset)));
+  }
+
+  /**
+   * Returns rope without characters from {@code start} inclusive to {@code end} exclusive.
+   *
+   * @throws IndexOutOfBoundsException if start is negative, end is greater than the length or
+   *     start is greater than end
+   */
+  Rope delete(int start, int end) {
+    checkRange(start, end);
+    if (start == end) {
+      return this;
+    }
+    return new Rope(join(prefix(root, start), suffix(root, end)));
+  }
+
+  /** Returns height of the tree, exposed for tests. */
+  int height() {
+    return root.height;
+  }
+
+  @Override
+  public int length() {
+    return root.length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= root.length) {
+      throw new IndexOutOfBoundsException("index: " + index + ", length: " + root.length);
+    }
+    Node node = root;
+    while (node instanceof Branch) {
+      Branch branch = (Branch) node;
+      if (index < branch.left.length) {
+        node = branch.left;
+      } else {
+        index -= branch.left.length;
+        node = branch.right;
+      }
+    }
+    return ((Leaf) node).text.charAt(index);
+  }
+
+  /** Returns rope which shares chunks of this one, text is not copied. */
+  @Override
+  public Rope subSequence(int start, int end) {
+    checkRange(start, end);
+    return new Rope(prefix(suffix(root, start), end - start));
+  }
+
+  @Override
+  public String toString() {
+    String result = string;
+    if (result == null) {
+      StringBuilder builder = new StringBuilder(root.length);
+      Deque<Node> stack = new ArrayDeque<>();
+      stack.push(root);
+      while (!stack.isEmpty()) {
+        Node node = stack.pop();
+        if (node instanceof Branch) {
+          stack.push(((Branch) node).right);
+          stack.push(((Branch) node).left);
+        } else {
+          builder.append(((Leaf) node).text);
+        }
+      }
+      // string is immutable, so it is safely published without synchronization
+      string = result = builder.toString();
+    }
+    return result;
+  }
+
+  private void checkRange(int start, int end) {
+    if (start < 0 || end > root.length || start > end) {
+      throw new IndexOutOfBoundsException(
+          "start: " + start + ", end: " + end + ", length: " + root.length);
+    }
+  }
+
+  private static Node build(String text, int start, int end) {
+    if (end - start <= MAX_LEAF) {
+      return new Leaf(text.substring(start, end));
+    }
+    int middle = (start + end) >>> 1;
+    return new Branch(build(text, start, middle), build(text, middle, end));
+  }
+
+  /** Returns first {@code end} characters of the node. */
+  private static Node prefix(Node node, int end) {
+    if (end <= 0) {
+      return EMPTY.root;
+    }
+    if (end >= node.length) {
+      return node;
+    }
+    if (node instanceof Leaf) {
+      return new Leaf(((Leaf) node).text.substring(0, end));
+    }
+    Branch branch = (Branch) node;
+    if (end <= branch.left.length) {
+      return prefix(branch.left, end);
+    }
+    return join(branch.left, prefix(branch.right, end - branch.left.length));
+  }
+
+  /** Returns characters of the node starting from {@code start}. */
+  private static Node suffix(Node node, int start) {
+    if (start <= 0) {
+      return node;
+    }
+    if (start >= node.length) {
+      return EMPTY.root;
+    }
+    if (node instanceof Leaf) {
+      return new Leaf(((Leaf) node).text.substring(start));
+    }
+    Branch branch = (Branch) node;
+    if (start >= branch.left.length) {
+      return suffix(branch.right, start - branch.left.length);
+    }
+    return join(suffix(branch.left, start), branch.right);
+  }
+
+  /** Concatenates balanced trees, result is balanced too. */
+  private static Node join(Node left, Node right) {
+    if (left.length == 0) {
+      return right;
+    }
+    if (right.length == 0) {
+      return left;
+    }
+    if (left instanceof Leaf
+        && right instanceof Leaf
+        && left.length + right.length <= MAX_LEAF) {
+      return new Leaf(((Leaf) left).text + ((Leaf) right).text);
+    }
+    if (right instanceof Leaf && left instanceof Branch) {
+      Branch branch = (Branch) left;
+      if (branch.right instanceof Leaf && branch.right.length + right.length <= MAX_LEAF) {
+        // merges the chunk with the adjacent one
+        return balance(branch.left, join(branch.right, right));
+      }
+    }
+    if (left instanceof Leaf && right instanceof Branch) {
+      Branch branch = (Branch) right;
+      if (branch.left instanceof Leaf && left.length + branch.left.length <= MAX_LEAF) {
+        return balance(join(left, branch.left), branch.right);
+      }
+    }
+    if (left.height > right.height + 1) {
+      Branch branch = (Branch) left;
+      return balance(branch.left, join(branch.right, right));
+    }
+    if (right.height > left.height + 1) {
+      Branch branch = (Branch) right;
+      return balance(join(left, branch.left), branch.right);
+    }
+    return new Branch(left, right);
+  }
+
+  /** Creates node of the subtrees which heights differ by two at most, rotating them if needed. */
+  private static Node balance(Node left, Node right) {
+    if (left.length == 0) {
+      return right;
+    }
+    if (right.length == 0) {
+      return left;
+    }
+    if (left.height > right.height + 1) {
+      Branch l = (Branch) left;
+      if (l.left.height >= l.right.height) {
+        return new Branch(l.left, new Branch(l.right, right));
+      }
+      Branch lr = (Branch) l.right;
+      return new Branch(new Branch(l.left, lr.left), new Branch(lr.right, right));
+    }
+    if (right.height > left.height + 1) {
+      Branch r = (Branch) right;
+      if (r.right.height >= r.left.height) {
+        return new Branch(new Branch(left, r.left), r.right);
+      }
+      Branch rl = (Branch) r.left;
+      return new Branch(new Branch(left, rl.left), new Branch(rl.right, r.right));
+    }
+    return new Branch(left, right);
+  }
+
+  private abstract static class Node {
+    final int length;
+    final int height;
+
+    Node(int length, int height) {
+      this.length = length;
+      this.height = height;
+    }
+  }
+
+  private static final class Leaf extends Node {
+    final String text;
+
+    Leaf(String text) {
+      super(text.length(), 0);
+      this.text = text;
+    }
+  }
+
+  private static final class Branch extends Node {
+    final Node left;
+    final Node right;
+
+    Branch(Node left, Node right) {
+      super(left.length + right.length, Math.max(left.height, right.height) + 1);
+      this.left = left;
+      this.right = right;
+    }
+  }
+}
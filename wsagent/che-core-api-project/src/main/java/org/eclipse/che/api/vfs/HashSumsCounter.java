@@ -52,19 +52,29 @@ public class HashSumsCounter implements VirtualFileVisitor {
     return hashSums;
   }
 
+  /**
+   * Calculates hash sum of content of single file.
+   *
+   * @return hash sum of file represented as HEX String
+   */
+  public static String countHashSum(VirtualFile file, HashFunction hashFunction)
+      throws ServerException {
+    try (InputStream in = file.getContent()) {
+      final Hasher hasher = hashFunction.newHasher();
+      ByteStreams.copy(in, asOutputStream(hasher));
+      return hasher.hash().toString();
+    } catch (IOException e) {
+      throw new ServerException(e);
+    } catch (ForbiddenException e) {
+      throw new ServerException(e.getServiceError());
+    }
+  }
+
   @Override
   public void visit(VirtualFile virtualFile) throws ServerException {
     if (virtualFile.isFile()) {
-      try (InputStream in = virtualFile.getContent()) {
-        final Hasher hasher = hashFunction.newHasher();
-        ByteStreams.copy(in, asOutputStream(hasher));
-        final String hexHash = hasher.hash().toString();
-        hashSums.add(Pair.of(hexHash, virtualFile.getPath().subPath(folder.getPath()).toString()));
-      } catch (IOException e) {
-        throw new ServerException(e);
-      } catch (ForbiddenException e) {
-        throw new ServerException(e.getServiceError());
-      }
+      final String hexHash = countHashSum(virtualFile, hashFunction);
+      hashSums.add(Pair.of(hexHash, virtualFile.getPath().subPath(folder.getPath()).toString()));
     } else {
       for (VirtualFile child : virtualFile.getChildren()) {
         child.accept(this);
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Advisory hierarchical path locks. It does not prevent access to the file from other programs.
+ * Replacement for {@link PathLockFactory} which does not serialize all callers on one monitor.
+ *
+ * <p>Lock on a path conflicts with locks held by other threads on the same path, on any of its
+ * ancestors and on any of its descendants, e.g. exclusive lock on {@code /a} can't be obtained
+ * while other thread holds shared lock on {@code /a/b/c}. This is implemented with multiple
+ * granularity locking: before locking a path in shared (exclusive) mode intention shared (intention
+ * exclusive) locks are taken on each of its ancestors from the root down to the parent. Thus
+ * conflicts are detected by looking only at the nodes of the locked path and its ancestors, and
+ * there is no need to scan all held locks.
+ *
+ * <p>State of each locked path is kept in a node which lives in one of the stripes selected by the
+ * path hash. Each stripe has its own lock and condition, so threads which work with unrelated paths
+ * mostly don't contend with each other. Nodes are created on demand and removed as soon as the last
+ * lock on the path is released.
+ *
+ * <p>Locks are reentrant, thread that already holds lock on a path (or one of its ancestors or
+ * descendants) is never blocked by its own locks. Lock must be released by the thread that acquired
+ * it.
+ *
+ * <p>Usage:
+ *
+ * <pre>
+ *      PathLockManager lockManager = ...
+ *
+ *      public void doSomething(Path path)
+ *      {
+ *         PathLock exclusiveLock = lockManager.getLock(path, true).acquire(30000);
+ *         try
+ *         {
+ *            ... // do something
+ *         }
+ *         finally
+ *         {
+ *            exclusiveLock.release();
+ *         }
+ *      }
+ * </pre>
+ */
+public final class PathLockManager {
+  private static final int DEFAULT_STRIPES = 64;
+
+  private final Stripe[] stripes;
+
+  public PathLockManager() {
+    this(DEFAULT_STRIPES);
+  }
+
+  /**
+   * @param stripes number of independently locked partitions of the lock table. More stripes means
+   *     less contention between threads which lock unrelated paths.
+   */
+  public PathLockManager(int stripes) {
+    if (stripes < 1) {
+      throw new IllegalArgumentException();
+    }
+    this.stripes = new Stripe[stripes];
+    for (int i = 0; i < stripes; i++) {
+      this.stripes[i] = new Stripe();
+    }
+  }
+
+  public PathLock getLock(Path path, boolean exclusive) {
+    return new PathLock(path, exclusive ? Mode.EXCLUSIVE : Mode.SHARED);
+  }
+
+  /** Used in tests. All locks MUST be released at the end of request lifecycle. */
+  public void checkClean() {
+    for (Stripe stripe : stripes) {
+      stripe.lock.lock();
+      try {
+        assert stripe.nodes.isEmpty();
+      } finally {
+        stripe.lock.unlock();
+      }
+    }
+  }
+
+  private void acquire(Path path, Mode mode, boolean timed, long timeoutNanos) {
+    final long deadline = timed ? System.nanoTime() + timeoutNanos : 0L;
+    final Thread owner = Thread.currentThread();
+    final List<Path> ancestors = ancestors(path);
+    final Mode intention = mode.intention();
+    int acquired = 0;
+    boolean success = false;
+    try {
+      for (Path ancestor : ancestors) {
+        acquire(ancestor, intention, owner, timed, deadline, path);
+        acquired++;
+      }
+      acquire(path, mode, owner, timed, deadline, path);
+      success = true;
+    } finally {
+      if (!success) {
+        for (int i = acquired - 1; i >= 0; i--) {
+          release(ancestors.get(i), intention, owner);
+        }
+      }
+    }
+  }
+
+  private void acquire(
+      Path path, Mode mode, Thread owner, boolean timed, long deadline, Path requested) {
+    final Stripe stripe = stripeFor(path);
+    stripe.lock.lock();
+    try {
+      while (!stripe.getOrCreateNode(path).tryAcquire(owner, mode)) {
+        if (timed) {
+          final long remaining = deadline - System.nanoTime();
+          if (remaining <= 0) {
+            throw new RuntimeException(String.format("Get lock timeout for '%s'. ", requested));
+          }
+          stripe.released.awaitNanos(remaining);
+        } else {
+          stripe.released.await();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } finally {
+      stripe.lock.unlock();
+    }
+  }
+
+  private void release(Path path, Mode mode) {
+    final Thread owner = Thread.currentThread();
+    release(path, mode, owner);
+    final List<Path> ancestors = ancestors(path);
+    final Mode intention = mode.intention();
+    for (int i = ancestors.size() - 1; i >= 0; i--) {
+      release(ancestors.get(i), intention, owner);
+    }
+  }
+
+  private void release(Path path, Mode mode, Thread owner) {
+    final Stripe stripe = stripeFor(path);
+    stripe.lock.lock();
+    try {
+      final Node node = stripe.nodes.get(path);
+      if (node == null || !node.release(owner, mode)) {
+        throw new IllegalMonitorStateException(
+            String.format("Lock for '%s' is not held by current thread. ", path));
+      }
+      if (node.isFree()) {
+        stripe.nodes.remove(path);
+      }
+      stripe.released.signalAll();
+    } finally {
+      stripe.lock.unlock();
+    }
+  }
+
+  private Stripe stripeFor(Path path) {
+    final int hash = path.hashCode();
+    return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+  }
+
+  /** Returns ancestors of the given path starting from the root. */
+  private static List<Path> ancestors(Path path) {
+    final List<Path> ancestors = new ArrayList<>(path.length());
+    for (Path parent = path.getParent(); parent != null; parent = parent.getParent()) {
+      ancestors.add(parent);
+    }
+    Collections.reverse(ancestors);
+    return ancestors;
+  }
+
+  /* =============================================== */
+
+  private enum Mode {
+    INTENTION_SHARED,
+    INTENTION_EXCLUSIVE,
+    SHARED,
+    EXCLUSIVE;
+
+    boolean isCompatibleWith(Mode other) {
+      switch (this) {
+        case INTENTION_SHARED:
+          return other != EXCLUSIVE;
+        case INTENTION_EXCLUSIVE:
+          return other == INTENTION_SHARED || other == INTENTION_EXCLUSIVE;
+        case SHARED:
+          return other == INTENTION_SHARED || other == SHARED;
+        default:
+          return false;
+      }
+    }
+
+    /** Mode of the locks that must be held on ancestors to lock path in this mode. */
+    Mode intention() {
+      return this == EXCLUSIVE || this == INTENTION_EXCLUSIVE
+          ? INTENTION_EXCLUSIVE
+          : INTENTION_SHARED;
+    }
+  }
+
+  private static final Mode[] MODES = Mode.values();
+
+  private static class Stripe {
+    final ReentrantLock lock = new ReentrantLock();
+    final Condition released = lock.newCondition();
+    final Map<Path, Node> nodes = new HashMap<>();
+
+    Node getOrCreateNode(Path path) {
+      Node node = nodes.get(path);
+      if (node == null) {
+        nodes.put(path, node = new Node());
+      }
+      return node;
+    }
+  }
+
+  private static class Node {
+    // Number of held locks per mode, both in total and per owner thread.
+    final int[] total = new int[MODES.length];
+    final Map<Thread, int[]> owners = new HashMap<>(4);
+
+    boolean tryAcquire(Thread owner, Mode mode) {
+      int[] own = owners.get(owner);
+      for (Mode held : MODES) {
+        final int byOthers = total[held.ordinal()] - (own == null ? 0 : own[held.ordinal()]);
+        if (byOthers > 0 && !held.isCompatibleWith(mode)) {
+          return false;
+        }
+      }
+      if (own == null) {
+        owners.put(owner, own = new int[MODES.length]);
+      }
+      ++own[mode.ordinal()];
+      ++total[mode.ordinal()];
+      return true;
+    }
+
+    boolean release(Thread owner, Mode mode) {
+      final int[] own = owners.get(owner);
+      if (own == null || own[mode.ordinal()] == 0) {
+        return false;
+      }
+      --own[mode.ordinal()];
+      --total[mode.ordinal()];
+      for (int count : own) {
+        if (count > 0) {
+          return true;
+        }
+      }
+      owners.remove(owner);
+      return true;
+    }
+
+    boolean isFree() {
+      return owners.isEmpty();
+    }
+  }
+
+  public final class PathLock {
+    private final Path path;
+    private final Mode mode;
+
+    private PathLock(Path path, Mode mode) {
+      this.path = path;
+      this.mode = mode;
+    }
+
+    /**
+     * Acquire permit for file. Method is blocked until permit available.
+     *
+     * @return this PathLock instance
+     */
+    public PathLock acquire() {
+      PathLockManager.this.acquire(path, mode, false, 0L);
+      return this;
+    }
+
+    /**
+     * Acquire permit for file if it becomes available within the given timeout. It is the same as
+     * method {@link #acquire()} but with waiting timeout. If waiting timeout reached then
+     * RuntimeException thrown.
+     *
+     * @param timeoutMilliseconds maximum time (in milliseconds) to wait for access permit
+     * @return this PathLock instance
+     * @throws RuntimeException if waiting timeout reached
+     */
+    public PathLock acquire(long timeoutMilliseconds) {
+      PathLockManager.this.acquire(
+          path, mode, true, TimeUnit.MILLISECONDS.toNanos(timeoutMilliseconds));
+      return this;
+    }
+
+    /** Release file permit. */
+    public void release() {
+      PathLockManager.this.release(path, mode);
+    }
+
+    /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
+    public boolean isExclusive() {
+      return mode == Mode.EXCLUSIVE;
+    }
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.impl.file;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache of directory entries names used by {@link LocalVirtualFileSystem} to list children
+ * of folders without hitting file system each time.
+ *
+ * <p>Each cached listing remembers modification time of the directory at the moment it was listed.
+ * Listing is reused only while directory modification time stays the same, so check of cached
+ * listing costs one {@code stat} call instead of reading the whole directory. Since modification
+ * time has limited resolution listing of directory that was modified shortly before it was listed
+ * is not trusted until it becomes old enough (the same approach as git uses for racily clean index
+ * entries).
+ *
+ * <p>Cache is also notified about file watcher events (see {@link
+ * org.eclipse.che.api.vfs.watcher.FileWatcherService}) and drops listings of directories whose
+ * entries were created, modified or deleted.
+ */
+@Singleton
+public class DirectoryListingCache implements Consumer<Path> {
+  private static final Logger LOG = LoggerFactory.getLogger(DirectoryListingCache.class);
+
+  private static final int MAX_CACHED_DIRECTORIES = 4096;
+  /** Resolution of directory modification time that we can rely on. */
+  private static final long MODIFICATION_TIME_RESOLUTION = 2000;
+
+  private final Cache<Path, Listing> listings;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder listingTime = new LongAdder();
+
+  public DirectoryListingCache() {
+    this(MAX_CACHED_DIRECTORIES);
+  }
+
+  DirectoryListingCache(int maxCachedDirectories) {
+    listings =
+        CacheBuilder.newBuilder().concurrencyLevel(8).maximumSize(maxCachedDirectories).build();
+  }
+
+  /**
+   * Get names of all entries of the directory.
+   *
+   * @param directory directory
+   * @return names of entries or {@code null} if {@code directory} does not denote a directory or
+   *     an I/O error occurs
+   */
+  public String[] list(File directory) {
+    final Path key = toKey(directory);
+    final long lastModified = directory.lastModified();
+    final Listing cached = listings.getIfPresent(key);
+    if (cached != null && cached.isValid(lastModified)) {
+      hits.increment();
+      return cached.names;
+    }
+    misses.increment();
+
+    final long start = System.nanoTime();
+    final long listedAt = System.currentTimeMillis();
+    final String[] names = directory.list();
+    listingTime.add(System.nanoTime() - start);
+
+    if (names == null) {
+      listings.invalidate(key);
+    } else {
+      listings.put(key, new Listing(names, lastModified, listedAt));
+    }
+    return names;
+  }
+
+  /** Drop cached listing of the directory. */
+  public void invalidate(File directory) {
+    listings.invalidate(toKey(directory));
+  }
+
+  /** Drop all cached listings. */
+  public void invalidateAll() {
+    listings.invalidateAll();
+  }
+
+  /**
+   * Handles file watcher event. Item was created, modified or deleted so listing of its parent
+   * directory and listing of item itself (if it is directory) are dropped.
+   *
+   * @param path absolute path of item for which event was received
+   */
+  @Override
+  public void accept(Path path) {
+    final Path key = path.toAbsolutePath().normalize();
+    LOG.debug("Invalidating cached listings for '{}'", key);
+    listings.invalidate(key);
+    if (key.getParent() != null) {
+      listings.invalidate(key.getParent());
+    }
+  }
+
+  /** Number of listings that were served from cache. */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /** Number of listings that required reading of directory. */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /** Ratio of listings served from cache, {@code 1.0} if there were no listings at all. */
+  public double getHitRate() {
+    final long hitCount = hits.sum();
+    final long requestCount = hitCount + misses.sum();
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+
+  /** Average time in nanoseconds spent for reading of directory in case of cache miss. */
+  public long getAverageListingTime() {
+    final long missCount = misses.sum();
+    return missCount == 0 ? 0 : listingTime.sum() / missCount;
+  }
+
+  private static Path toKey(File directory) {
+    return directory.toPath().toAbsolutePath().normalize();
+  }
+
+  private static class Listing {
+    final String[] names;
+    final long lastModified;
+    final long listedAt;
+
+    Listing(String[] names, long lastModified, long listedAt) {
+      this.names = names;
+      this.lastModified = lastModified;
+      this.listedAt = listedAt;
+    }
+
+    boolean isValid(long actualLastModified) {
+      return lastModified != 0L
+          && lastModified == actualLastModified
+          && listedAt - lastModified > MODIFICATION_TIME_RESOLUTION;
+    }
+  }
+}
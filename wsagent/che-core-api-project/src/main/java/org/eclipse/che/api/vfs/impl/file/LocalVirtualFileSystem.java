@@ -57,7 +57,7 @@ import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.HashSumsCounter;
 import org.eclipse.che.api.vfs.LockedFileFinder;
 import org.eclipse.che.api.vfs.Path;
-import org.eclipse.che.api.vfs.PathLockFactory;
+import org.eclipse.che.api.vfs.PathLockManager;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
@@ -81,7 +81,6 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   static final int MAX_BUFFER_SIZE = 200 * 1024; // 200k
 
   private static final long WAIT_FOR_FILE_LOCK_TIMEOUT = 60000; // 60 seconds
-  private static final int FILE_LOCK_MAX_THREADS = 1024;
 
   private static final String VFS_SERVICE_DIR = ".vfs";
   private static final String FILE_LOCKS_DIR = VFS_SERVICE_DIR + File.separatorChar + "locks";
@@ -131,7 +130,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   private final AbstractVirtualFileSystemProvider.CloseCallback closeCallback;
 
   /* NOTE -- This does not related to virtual file system locking in any kind. -- */
-  private final PathLockFactory pathLockFactory;
+  private final PathLockManager pathLockManager;
 
   private final LocalVirtualFile root;
 
@@ -141,19 +140,31 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   private final FileMetadataSerializer metadataSerializer;
   private final LoadingCache<Path, Map<String, String>> metadataCache;
 
-  @SuppressWarnings("unchecked")
+  private final DirectoryListingCache directoryListingCache;
+
   public LocalVirtualFileSystem(
       File ioRoot,
       ArchiverFactory archiverFactory,
       SearcherProvider searcherProvider,
       AbstractVirtualFileSystemProvider.CloseCallback closeCallback) {
+    this(ioRoot, archiverFactory, searcherProvider, closeCallback, new DirectoryListingCache());
+  }
+
+  @SuppressWarnings("unchecked")
+  public LocalVirtualFileSystem(
+      File ioRoot,
+      ArchiverFactory archiverFactory,
+      SearcherProvider searcherProvider,
+      AbstractVirtualFileSystemProvider.CloseCallback closeCallback,
+      DirectoryListingCache directoryListingCache) {
     this.ioRoot = ioRoot;
     this.archiverFactory = archiverFactory;
     this.searcherProvider = searcherProvider;
     this.closeCallback = closeCallback;
+    this.directoryListingCache = directoryListingCache;
 
     root = new LocalVirtualFile(ioRoot, Path.ROOT, this);
-    pathLockFactory = new PathLockFactory(FILE_LOCK_MAX_THREADS);
+    pathLockManager = new PathLockManager();
 
     locksSerializer = new FileLockSerializer();
     lockTokensCache =
@@ -216,14 +227,15 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   private void cleanUpCaches() {
     lockTokensCache.invalidateAll();
     metadataCache.invalidateAll();
+    directoryListingCache.invalidateAll();
   }
 
   /**
-   * Used in tests. Need this to check state of PathLockFactory. All locks MUST be released at the
+   * Used in tests. Need this to check state of PathLockManager. All locks MUST be released at the
    * end of request lifecycle.
    */
-  PathLockFactory getPathLockFactory() {
-    return pathLockFactory;
+  PathLockManager getPathLockManager() {
+    return pathLockManager;
   }
 
   LocalVirtualFile getParent(LocalVirtualFile virtualFile) {
@@ -253,7 +265,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     return newArrayList(path.elements()).contains(".vfs");
   }
 
-  synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter)
+  List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter)
       throws ServerException {
     if (parent.isFolder()) {
       final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
@@ -270,7 +282,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
       ioFileFilter = IoUtil.ANY_FILTER;
     }
 
-    final String[] names = parent.toIoFile().list(ioFileFilter);
+    final File ioFile = parent.toIoFile();
+    final String[] names = directoryListingCache.list(ioFile);
     if (names == null) {
       throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
     }
@@ -281,6 +294,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
     final List<VirtualFile> children = newArrayListWithCapacity(names.length);
     for (String name : names) {
+      if (!ioFileFilter.accept(ioFile, name)) {
+        continue;
+      }
       final Path childPath = parent.getPath().newPath(name);
       final LocalVirtualFile child =
           new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
@@ -514,8 +530,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
   InputStream getContent(LocalVirtualFile virtualFile) throws ForbiddenException, ServerException {
     if (virtualFile.isFile()) {
-      final PathLockFactory.PathLock lock =
-          pathLockFactory.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+      final PathLockManager.PathLock lock =
+          pathLockManager.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
       File spoolFile = null;
       try {
         final File ioFile = virtualFile.toIoFile();
@@ -551,8 +567,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             String.format(
                 "Unable update content of file '%s'. File is locked", virtualFile.getPath()));
       }
-      final PathLockFactory.PathLock lock =
-          pathLockFactory.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+      final PathLockManager.PathLock lock =
+          pathLockManager.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
       try {
         doUpdateContent(virtualFile, content);
       } finally {
@@ -576,8 +592,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             String.format(
                 "Unable update content of file '%s'. File is locked", virtualFile.getPath()));
       }
-      final PathLockFactory.PathLock lock =
-          pathLockFactory.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+      final PathLockManager.PathLock lock =
+          pathLockManager.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
       try {
         File tempFile = createTempIoFile(virtualFile.getParent(), "edit", "tmp");
         try {
@@ -766,8 +782,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   String lock(LocalVirtualFile virtualFile, long timeout)
       throws ForbiddenException, ConflictException, ServerException {
     if (virtualFile.isFile()) {
-      final PathLockFactory.PathLock pathLock =
-          pathLockFactory.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+      final PathLockManager.PathLock pathLock =
+          pathLockManager.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
       try {
         return doLock(virtualFile, timeout);
       } finally {
@@ -833,8 +849,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
               "Unable unlock file '%s'. Lock token does not match", virtualFile.getPath()));
     }
 
-    final PathLockFactory.PathLock lockFilePathLock =
-        pathLockFactory.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+    final PathLockManager.PathLock lockFilePathLock =
+        pathLockManager.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
     try {
       doUnlock(virtualFile);
     } finally {
@@ -869,8 +885,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   }
 
   private FileLock getFileLock(LocalVirtualFile virtualFile) throws ServerException {
-    final PathLockFactory.PathLock lockFilePathLock =
-        pathLockFactory.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+    final PathLockManager.PathLock lockFilePathLock =
+        pathLockManager.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
     try {
       final FileLock lock;
       try {
@@ -912,8 +928,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   }
 
   Map<String, String> getProperties(LocalVirtualFile virtualFile) throws ServerException {
-    final PathLockFactory.PathLock metadataFilePathLock =
-        pathLockFactory.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+    final PathLockManager.PathLock metadataFilePathLock =
+        pathLockManager.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
     try {
       return newLinkedHashMap(metadataCache.get(virtualFile.getPath()));
     } catch (ExecutionException e) {
@@ -937,8 +953,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
           String.format(
               "Unable update properties of item '%s'. Item is locked", virtualFile.getPath()));
     }
-    final PathLockFactory.PathLock pathLock =
-        pathLockFactory.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+    final PathLockManager.PathLock pathLock =
+        pathLockManager.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
     try {
       doUpdateProperties(virtualFile, updates);
     } finally {
@@ -18,6 +18,7 @@ public class QueryExpression {
   private int skipCount;
   private int maxItems;
   private boolean includePositions;
+  private String cursor;
 
   /**
    * Optional file path parameter. Only file with the specified path or children are included in
@@ -88,6 +89,21 @@ public class QueryExpression {
     return this;
   }
 
+  /**
+   * Opaque position in search result after which next page starts. Cursor is provided with query
+   * for retrieving next page, see {@link SearchResult#getNextPageQueryExpression()}. If cursor is
+   * set and still valid Searcher doesn't need to skip {@link #getSkipCount()} items, otherwise it is
+   * ignored.
+   */
+  public String getCursor() {
+    return cursor;
+  }
+
+  public QueryExpression setCursor(String cursor) {
+    this.cursor = cursor;
+    return this;
+  }
+
   @Override
   public String toString() {
     return "QueryExpression{"
@@ -104,6 +120,9 @@ public class QueryExpression {
         + skipCount
         + ", maxItems="
         + maxItems
+        + ", cursor='"
+        + cursor
+        + '\''
         + '}';
   }
 }
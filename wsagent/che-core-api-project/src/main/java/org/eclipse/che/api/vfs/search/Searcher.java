@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.api.vfs.search;
 
+import java.util.function.Consumer;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
@@ -29,6 +30,27 @@ public interface Searcher {
    */
   SearchResult search(QueryExpression query) throws ServerException;
 
+  /**
+   * Passes matched items on virtual filesystem to the consumer one by one as soon as they are
+   * found, without collecting them all in memory.
+   *
+   * @param query query expression
+   * @param consumer consumer of matched items
+   * @return results of search which contain no items but total number of hits and query for
+   *     retrieving next page
+   * @throws ServerException if an error occurs
+   */
+  default SearchResult search(QueryExpression query, Consumer<SearchResultEntry> consumer)
+      throws ServerException {
+    final SearchResult result = search(query);
+    result.getResults().forEach(consumer);
+    return SearchResult.aSearchResult()
+        .withTotalHits(result.getTotalHits())
+        .withNextPageQueryExpression(result.getNextPageQueryExpression().orNull())
+        .withElapsedTimeMillis(result.getElapsedTimeMillis())
+        .build();
+  }
+
   /**
    * Add VirtualFile to index.
    *
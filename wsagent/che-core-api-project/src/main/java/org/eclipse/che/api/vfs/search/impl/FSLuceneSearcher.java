@@ -10,27 +10,22 @@
  */
 package org.eclipse.che.api.vfs.search.impl;
 
-import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
-
 import java.io.File;
 import java.io.IOException;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
 import org.apache.lucene.store.SingleInstanceLockFactory;
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
- * Filesystem based LuceneSearcher which cleans index directory after call method {@link #close()}.
+ * Filesystem based LuceneSearcher. Index directory is kept after call method {@link #close()}, so
+ * next time searcher is initialized with the same directory it reindexes only files that were
+ * changed in the meantime.
  *
  * @author andrew00x
  */
 public class FSLuceneSearcher extends LuceneSearcher {
-  private static final Logger LOG = LoggerFactory.getLogger(FSLuceneSearcher.class);
-
   private final File indexDirectory;
 
   FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter) {
@@ -53,13 +48,4 @@ public class FSLuceneSearcher extends LuceneSearcher {
       throw new ServerException(e);
     }
   }
-
-  @Override
-  protected void afterClose() throws IOException {
-    if (!deleteRecursive(indexDirectory)) {
-      LOG.warn("Unable delete index directory '{}', add it in FileCleaner", indexDirectory);
-      FileCleaner.addFile(indexDirectory);
-    }
-    super.afterClose();
-  }
 }
@@ -10,19 +10,35 @@
  */
 package org.eclipse.che.api.vfs.search.impl;
 
-import static com.google.common.collect.Lists.newArrayList;
-
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 import com.google.common.io.CharStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
@@ -32,11 +48,17 @@ import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
 import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.CorruptIndexException;
+import org.apache.lucene.index.IndexFormatTooNewException;
+import org.apache.lucene.index.IndexFormatTooOldException;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.MultiFields;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
@@ -47,14 +69,18 @@ import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherLifetimeManager;
 import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.highlight.QueryScorer;
 import org.apache.lucene.search.highlight.TokenSources;
+import org.apache.lucene.store.AlreadyClosedException;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.HashSumsCounter;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
@@ -64,6 +90,7 @@ import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
@@ -73,6 +100,18 @@ import org.slf4j.LoggerFactory;
 /**
  * Lucene based searcher.
  *
+ * <p>Trees of files are indexed in parallel with bounded {@link ForkJoinPool}, each folder is
+ * indexed by separate task. Single files that are added, updated or deleted are not written to the
+ * index immediately but queued. Operations with the same path that follow each other quickly (e.g.
+ * few saves of the same file) are coalesced and only the last one is applied. Queue is drained in
+ * batches, each batch ends with commit of index and refresh of near-real-time searcher. Pending
+ * operations are also applied before each search, so search always sees all changes that were made
+ * before it.
+ *
+ * <p>Each document keeps modification time and hash sum of content of indexed file. When searcher
+ * is initialized with index which already contains documents (e.g. index that was persisted by
+ * previous run) only files which were added or changed since then are indexed.
+ *
  * @author andrew00x
  */
 public abstract class LuceneSearcher implements Searcher {
@@ -81,12 +120,42 @@ public abstract class LuceneSearcher implements Searcher {
   private static final String PATH_FIELD = "path";
   private static final String NAME_FIELD = "name";
   private static final String TEXT_FIELD = "text";
+  private static final String MODIFIED_FIELD = "modified";
+  private static final String HASH_FIELD = "hash";
+
+  private static final HashFunction HASH_FUNCTION = Hashing.md5();
+  private static final long UNKNOWN_MODIFIED = -1;
+
+  private static final int INDEXING_PARALLELISM =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+  /** Time during which operations with the same path are coalesced. */
+  private static final long COALESCE_DELAY_MS = 300;
+  /** Queue is drained immediately when it reaches this size. */
+  private static final int MAX_BATCH_SIZE = 1000;
+  /** Time during which replaced snapshot of index is kept for retrieving next pages of result. */
+  private static final double SNAPSHOT_MAX_AGE_SEC = 300;
+  /** Number of indexed files after which progress of indexing is logged. */
+  private static final int PROGRESS_LOG_STEP = 10_000;
 
   private final List<VirtualFileFilter> excludeFileIndexFilters;
   private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
 
   private IndexWriter luceneIndexWriter;
   private SearcherManager searcherManager;
+  private SearcherLifetimeManager searcherLifetimeManager;
+  private ForkJoinPool indexingPool;
+  private ScheduledExecutorService updatesExecutor;
+
+  /** Pending operations in order of their arrival, keyed by path they are applied to. */
+  private final Map<String, IndexOperation> pendingOperations = new LinkedHashMap<>();
+
+  private final Object drainLock = new Object();
+  private ScheduledFuture<?> scheduledDrain;
+
+  private final LongAdder indexedFiles = new LongAdder();
+  private final LongAdder indexingTime = new LongAdder();
+  private final LongAdder coalescedOperations = new LongAdder();
+  private final LongAdder committedBatches = new LongAdder();
 
   private boolean closed = true;
 
@@ -135,15 +204,15 @@ public abstract class LuceneSearcher implements Searcher {
   protected abstract Directory makeDirectory() throws ServerException;
 
   /**
-   * Init lucene index. Need call this method if index directory is clean. Scan all files in virtual
-   * filesystem and add to index.
+   * Init lucene index. Scan all files in virtual filesystem and add to index files which are not
+   * indexed yet or were changed since they were indexed.
    *
    * @param virtualFileSystem VirtualFileSystem
    * @throws ServerException if any virtual filesystem error occurs
    */
   public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
     doInit();
-    addTree(virtualFileSystem.getRoot());
+    syncTree(virtualFileSystem.getRoot());
   }
 
   public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem)
@@ -153,7 +222,7 @@ public abstract class LuceneSearcher implements Searcher {
       executor.execute(
           () -> {
             try {
-              LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+              LuceneSearcher.this.syncTree(virtualFileSystem.getRoot());
             } catch (ServerException e) {
               LOG.error(e.getMessage());
             }
@@ -163,23 +232,74 @@ public abstract class LuceneSearcher implements Searcher {
 
   protected final synchronized void doInit() throws ServerException {
     try {
-      luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+      final Directory directory = makeDirectory();
+      try {
+        luceneIndexWriter = new IndexWriter(directory, new IndexWriterConfig(makeAnalyzer()));
+      } catch (CorruptIndexException | IndexFormatTooOldException | IndexFormatTooNewException e) {
+        LOG.warn("Unable to open existing index, it will be created again. {}", e.getMessage());
+        luceneIndexWriter =
+            new IndexWriter(
+                directory,
+                new IndexWriterConfig(makeAnalyzer())
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+      }
       searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
+      searcherLifetimeManager = new SearcherLifetimeManager();
+      indexingPool =
+          new ForkJoinPool(
+              INDEXING_PARALLELISM,
+              pool -> {
+                ForkJoinWorkerThread thread =
+                    ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("LuceneSearcherIndexer-" + thread.getPoolIndex());
+                return thread;
+              },
+              LoggingUncaughtExceptionHandler.getInstance(),
+              false);
+      ScheduledThreadPoolExecutor executor =
+          new ScheduledThreadPoolExecutor(
+              1,
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                  .setNameFormat("LuceneSearcherUpdatesThread")
+                  .build());
+      executor.setRemoveOnCancelPolicy(true);
+      updatesExecutor = executor;
       closed = false;
     } catch (IOException e) {
       throw new ServerException(e);
     }
   }
 
-  public final synchronized void close() {
-    if (!closed) {
+  public final void close() {
+    if (!isClosed()) {
       try {
-        IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
-        afterClose();
-      } catch (IOException e) {
-        LOG.error(e.getMessage(), e);
+        // apply pending operations, writer commits them when it is closed
+        drainPendingOperations();
+      } catch (ServerException e) {
+        LOG.warn(e.getMessage());
+      }
+    }
+    // batch which is being applied by the updates thread must not hit closed writer
+    synchronized (drainLock) {
+      synchronized (this) {
+        if (!closed) {
+          indexingPool.shutdownNow();
+          updatesExecutor.shutdownNow();
+          try {
+            IOUtils.close(
+                searcherLifetimeManager,
+                searcherManager,
+                getIndexWriter(),
+                getIndexWriter().getDirectory());
+            afterClose();
+          } catch (IOException e) {
+            LOG.error(e.getMessage(), e);
+          }
+          closed = true;
+        }
       }
-      closed = true;
     }
   }
 
@@ -200,18 +320,52 @@ public abstract class LuceneSearcher implements Searcher {
 
   @Override
   public SearchResult search(QueryExpression query) throws ServerException {
+    final List<SearchResultEntry> results = new ArrayList<>();
+    final SearchResult result = search(query, results::add);
+    return SearchResult.aSearchResult()
+        .withResults(results)
+        .withTotalHits(result.getTotalHits())
+        .withNextPageQueryExpression(result.getNextPageQueryExpression().orNull())
+        .withElapsedTimeMillis(result.getElapsedTimeMillis())
+        .build();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Each search is executed with snapshot of index that is kept for some time after it is
+   * replaced with newer one. Query for next page refers to the snapshot and to the last returned
+   * document, so while snapshot is kept next page is retrieved with single {@code searchAfter}
+   * call, moreover pages don't shift if index was changed between requests. If snapshot is already
+   * dropped the first {@link QueryExpression#getSkipCount()} documents are skipped.
+   */
+  @Override
+  public SearchResult search(QueryExpression query, Consumer<SearchResultEntry> consumer)
+      throws ServerException {
+    drainPendingOperations();
     IndexSearcher luceneSearcher = null;
     try {
       final long startTime = System.currentTimeMillis();
-      searcherManager.maybeRefresh();
-      luceneSearcher = searcherManager.acquire();
+      searcherLifetimeManager.prune(new SearcherLifetimeManager.PruneByAge(SNAPSHOT_MAX_AGE_SEC));
 
       Query luceneQuery = createLuceneQuery(query);
 
-      ScoreDoc after = null;
       final int numSkipDocs = Math.max(0, query.getSkipCount());
-      if (numSkipDocs > 0) {
-        after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+      final PageCursor cursor = PageCursor.parse(query.getCursor());
+      ScoreDoc after = null;
+      long version = 0;
+      if (cursor != null) {
+        luceneSearcher = searcherLifetimeManager.acquire(cursor.version);
+        version = cursor.version;
+        after = cursor.after;
+      }
+      if (luceneSearcher == null) {
+        version = recordCurrentSearcher();
+        luceneSearcher = searcherLifetimeManager.acquire(version);
+        if (luceneSearcher == null) {
+          throw new ServerException("Searcher is closed");
+        }
+        after = numSkipDocs > 0 ? skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs) : null;
       }
 
       final int numDocs =
@@ -219,78 +373,22 @@ public abstract class LuceneSearcher implements Searcher {
       TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
       final int totalHitsNum = topDocs.totalHits;
 
-      List<SearchResultEntry> results = newArrayList();
-      List<OffsetData> offsetData = Collections.emptyList();
-      for (int i = 0; i < topDocs.scoreDocs.length; i++) {
-        ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+      final Set<String> fieldsToLoad =
+          query.isIncludePositions()
+              ? ImmutableSet.of(PATH_FIELD, TEXT_FIELD)
+              : ImmutableSet.of(PATH_FIELD);
+      for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
         int docId = scoreDoc.doc;
-        Document doc = luceneSearcher.doc(docId);
+        Document doc = luceneSearcher.doc(docId, fieldsToLoad);
+        List<OffsetData> offsetData = Collections.emptyList();
         if (query.isIncludePositions()) {
-          offsetData = new ArrayList<>();
           String txt = doc.get(TEXT_FIELD);
           if (txt != null) {
-            IndexReader reader = luceneSearcher.getIndexReader();
-
-            TokenStream tokenStream =
-                TokenSources.getTokenStream(
-                    TEXT_FIELD,
-                    reader.getTermVectors(docId),
-                    txt,
-                    luceneIndexWriter.getAnalyzer(),
-                    -1);
-
-            CharTermAttribute termAtt = tokenStream.addAttribute(CharTermAttribute.class);
-            OffsetAttribute offsetAtt = tokenStream.addAttribute(OffsetAttribute.class);
-
-            QueryScorer queryScorer = new QueryScorer(luceneQuery);
-            // TODO think about this constant
-            queryScorer.setMaxDocCharsToAnalyze(1_000_000);
-            TokenStream newStream = queryScorer.init(tokenStream);
-            if (newStream != null) {
-              tokenStream = newStream;
-            }
-            queryScorer.startFragment(null);
-
-            tokenStream.reset();
-
-            int startOffset, endOffset;
-            // TODO think about this constant
-            for (boolean next = tokenStream.incrementToken();
-                next && (offsetAtt.startOffset() < 1_000_000);
-                next = tokenStream.incrementToken()) {
-              startOffset = offsetAtt.startOffset();
-              endOffset = offsetAtt.endOffset();
-
-              if ((endOffset > txt.length()) || (startOffset > txt.length())) {
-                throw new ServerException(
-                    "Token "
-                        + termAtt.toString()
-                        + " exceeds length of provided text size "
-                        + txt.length());
-              }
-
-              float res = queryScorer.getTokenScore();
-              if (res > 0.0F && startOffset <= endOffset) {
-                try {
-                  IDocument document = new org.eclipse.jface.text.Document(txt);
-                  int lineNum = document.getLineOfOffset(startOffset);
-                  IRegion lineInfo = document.getLineInformation(lineNum);
-                  String foundLine = document.get(lineInfo.getOffset(), lineInfo.getLength());
-                  String tokenText = document.get(startOffset, endOffset - startOffset);
-
-                  offsetData.add(
-                      new OffsetData(
-                          tokenText, startOffset, endOffset, docId, res, lineNum, foundLine));
-                } catch (BadLocationException e) {
-                  LOG.error(e.getLocalizedMessage(), e);
-                  throw new ServerException("Can not provide data for token " + termAtt.toString());
-                }
-              }
-            }
+            offsetData = findOccurrences(luceneSearcher, luceneQuery, docId, txt);
           }
         }
         String filePath = doc.getField(PATH_FIELD).stringValue();
-        results.add(new SearchResultEntry(filePath, offsetData));
+        consumer.accept(new SearchResultEntry(filePath, offsetData));
       }
 
       final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
@@ -298,12 +396,13 @@ public abstract class LuceneSearcher implements Searcher {
       boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
       QueryExpression nextPageQueryExpression = null;
       if (hasMoreToRetrieve) {
+        final ScoreDoc last = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
         nextPageQueryExpression =
-            createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+            createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length)
+                .setCursor(new PageCursor(version, last).toString());
       }
 
       return SearchResult.aSearchResult()
-          .withResults(results)
           .withTotalHits(totalHitsNum)
           .withNextPageQueryExpression(nextPageQueryExpression)
           .withElapsedTimeMillis(elapsedTimeMillis)
@@ -311,14 +410,94 @@ public abstract class LuceneSearcher implements Searcher {
     } catch (IOException | ParseException e) {
       throw new ServerException(e.getMessage(), e);
     } finally {
-      try {
-        searcherManager.release(luceneSearcher);
-      } catch (IOException e) {
-        LOG.error(e.getMessage());
+      if (luceneSearcher != null) {
+        try {
+          searcherLifetimeManager.release(luceneSearcher);
+        } catch (IOException e) {
+          LOG.error(e.getMessage());
+        }
       }
     }
   }
 
+  /** Registers current snapshot of index in lifetime manager and returns version of snapshot. */
+  private long recordCurrentSearcher() throws IOException {
+    searcherManager.maybeRefresh();
+    final IndexSearcher current = searcherManager.acquire();
+    try {
+      return searcherLifetimeManager.record(current);
+    } finally {
+      searcherManager.release(current);
+    }
+  }
+
+  /** Finds positions of terms matched by query in text of document. */
+  private List<OffsetData> findOccurrences(
+      IndexSearcher luceneSearcher, Query luceneQuery, int docId, String txt)
+      throws IOException, ServerException {
+    final List<OffsetData> offsetData = new ArrayList<>();
+    IndexReader reader = luceneSearcher.getIndexReader();
+
+    TokenStream tokenStream =
+        TokenSources.getTokenStream(
+            TEXT_FIELD, reader.getTermVectors(docId), txt, luceneIndexWriter.getAnalyzer(), -1);
+
+    CharTermAttribute termAtt = tokenStream.addAttribute(CharTermAttribute.class);
+    OffsetAttribute offsetAtt = tokenStream.addAttribute(OffsetAttribute.class);
+
+    QueryScorer queryScorer = new QueryScorer(luceneQuery);
+    // TODO think about this constant
+    queryScorer.setMaxDocCharsToAnalyze(1_000_000);
+    TokenStream newStream = queryScorer.init(tokenStream);
+    if (newStream != null) {
+      tokenStream = newStream;
+    }
+    queryScorer.startFragment(null);
+
+    tokenStream.reset();
+
+    // document is parsed once and only when there is something to highlight
+    IDocument document = null;
+    int startOffset, endOffset;
+    // TODO think about this constant
+    for (boolean next = tokenStream.incrementToken();
+        next && (offsetAtt.startOffset() < 1_000_000);
+        next = tokenStream.incrementToken()) {
+      startOffset = offsetAtt.startOffset();
+      endOffset = offsetAtt.endOffset();
+
+      if ((endOffset > txt.length()) || (startOffset > txt.length())) {
+        throw new ServerException(
+            "Token "
+                + termAtt.toString()
+                + " exceeds length of provided text size "
+                + txt.length());
+      }
+
+      float res = queryScorer.getTokenScore();
+      if (res > 0.0F && startOffset <= endOffset) {
+        try {
+          if (document == null) {
+            document = new org.eclipse.jface.text.Document(txt);
+          }
+          int lineNum = document.getLineOfOffset(startOffset);
+          IRegion lineInfo = document.getLineInformation(lineNum);
+          String foundLine = document.get(lineInfo.getOffset(), lineInfo.getLength());
+          String tokenText = document.get(startOffset, endOffset - startOffset);
+
+          offsetData.add(
+              new OffsetData(tokenText, startOffset, endOffset, docId, res, lineNum, foundLine));
+        } catch (BadLocationException e) {
+          LOG.error(e.getLocalizedMessage(), e);
+          throw new ServerException("Can not provide data for token " + termAtt.toString());
+        }
+      }
+    }
+    tokenStream.end();
+    tokenStream.close();
+    return offsetData;
+  }
+
   private Query createLuceneQuery(QueryExpression query) throws ParseException {
     final BooleanQuery luceneQuery = new BooleanQuery();
     final String name = query.getName();
@@ -378,44 +557,142 @@ public abstract class LuceneSearcher implements Searcher {
 
   protected void doAdd(VirtualFile virtualFile) throws ServerException {
     if (virtualFile.isFolder()) {
+      drainPendingOperations();
       addTree(virtualFile);
     } else {
-      addFile(virtualFile);
+      final String path = virtualFile.getPath().toString();
+      enqueue(path, () -> addFile(virtualFile));
     }
   }
 
   protected void addTree(VirtualFile tree) throws ServerException {
     final long start = System.currentTimeMillis();
-    final LinkedList<VirtualFile> q = new LinkedList<>();
-    q.add(tree);
-    int indexedFiles = 0;
-    while (!q.isEmpty()) {
-      final VirtualFile folder = q.pop();
-      if (folder.exists()) {
-        for (VirtualFile child : folder.getChildren()) {
-          if (child.isFolder()) {
-            q.push(child);
-          } else {
-            addFile(child);
-            indexedFiles++;
-          }
+    final long indexedBefore = indexedFiles.sum();
+    indexTree(tree, null);
+    commit();
+    final long time = System.currentTimeMillis() - start;
+    final long indexed = indexedFiles.sum() - indexedBefore;
+    LOG.debug(
+        "Indexed {} files from {}, time: {} ms, throughput: {} files/s",
+        indexed,
+        tree.getPath(),
+        time,
+        time == 0 ? indexed : indexed * 1000 / time);
+  }
+
+  /**
+   * Brings documents of files from the tree in sync with files. Files which are not indexed yet or
+   * were changed since they were indexed are added to the index, documents of files that don't
+   * exist anymore are deleted.
+   */
+  protected void syncTree(VirtualFile tree) throws ServerException {
+    final Map<String, IndexedFile> indexed = readIndexedFiles(tree.getPath().toString());
+    if (indexed.isEmpty()) {
+      addTree(tree);
+      return;
+    }
+    final long start = System.currentTimeMillis();
+    final long indexedBefore = indexedFiles.sum();
+    final int indexedCount = indexed.size();
+    indexTree(tree, indexed);
+    try {
+      final Term[] deleted =
+          indexed.keySet().stream().map(path -> new Term(PATH_FIELD, path)).toArray(Term[]::new);
+      getIndexWriter().deleteDocuments(deleted);
+    } catch (IOException e) {
+      throw new ServerException(e.getMessage(), e);
+    }
+    commit();
+    LOG.debug(
+        "Synchronized index of {} with {} documents, reindexed {} files, deleted {} documents,"
+            + " time: {} ms",
+        tree.getPath(),
+        indexedCount,
+        indexedFiles.sum() - indexedBefore,
+        indexed.size(),
+        System.currentTimeMillis() - start);
+  }
+
+  /**
+   * Indexes files of the tree in parallel.
+   *
+   * @param indexed documents which are already in the index. If not {@code null} file is indexed
+   *     only if it was changed since it was indexed and all visited files are removed from the map,
+   *     so finally map contains only files that don't exist anymore
+   */
+  private void indexTree(VirtualFile tree, Map<String, IndexedFile> indexed)
+      throws ServerException {
+    try {
+      indexingPool.invoke(new AddTreeTask(tree, indexed));
+    } catch (RejectedExecutionException e) {
+      throw new ServerException("Searcher is closed");
+    } catch (IndexingException e) {
+      throw e.getCause();
+    }
+  }
+
+  /** Reads path, modification time and hash sum of all files under the path from the index. */
+  private Map<String, IndexedFile> readIndexedFiles(String path) throws ServerException {
+    final String prefix = "/".equals(path) ? path : path + '/';
+    final Set<String> fields = ImmutableSet.of(PATH_FIELD, MODIFIED_FIELD, HASH_FIELD);
+    final Map<String, IndexedFile> indexed = new ConcurrentHashMap<>();
+    IndexSearcher luceneSearcher = null;
+    try {
+      searcherManager.maybeRefresh();
+      luceneSearcher = searcherManager.acquire();
+      final IndexReader reader = luceneSearcher.getIndexReader();
+      final Bits liveDocs = MultiFields.getLiveDocs(reader);
+      for (int docId = 0; docId < reader.maxDoc(); docId++) {
+        if (liveDocs != null && !liveDocs.get(docId)) {
+          continue;
+        }
+        final Document doc = reader.document(docId, fields);
+        final String filePath = doc.get(PATH_FIELD);
+        if (filePath.startsWith(prefix)) {
+          final IndexableField modified = doc.getField(MODIFIED_FIELD);
+          indexed.put(
+              filePath,
+              new IndexedFile(
+                  modified == null ? UNKNOWN_MODIFIED : modified.numericValue().longValue(),
+                  doc.get(HASH_FIELD)));
+        }
+      }
+    } catch (IOException e) {
+      throw new ServerException(e.getMessage(), e);
+    } finally {
+      if (luceneSearcher != null) {
+        try {
+          searcherManager.release(luceneSearcher);
+        } catch (IOException e) {
+          LOG.error(e.getMessage());
         }
       }
     }
-    final long end = System.currentTimeMillis();
-    LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
+    return indexed;
+  }
+
+  private static boolean isChanged(VirtualFile file, IndexedFile indexed) throws ServerException {
+    if (indexed == null) {
+      return true;
+    }
+    if (indexed.modified == file.getLastModificationDate()) {
+      return false;
+    }
+    // modification time was changed but content might be the same, e.g. after checkout of branch;
+    // document is not updated in this case, so hash is checked again next time
+    return indexed.hash == null
+        || !indexed.hash.equals(HashSumsCounter.countHashSum(file, HASH_FUNCTION));
   }
 
   protected void addFile(VirtualFile virtualFile) throws ServerException {
     if (virtualFile.exists()) {
-      try (Reader fContentReader =
-          shouldIndexContent(virtualFile)
-              ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-              : null) {
+      try {
+        final long start = System.nanoTime();
         getIndexWriter()
             .updateDocument(
                 new Term(PATH_FIELD, virtualFile.getPath().toString()),
-                createDocument(virtualFile, fContentReader));
+                createIndexDocument(virtualFile));
+        onFileIndexed(System.nanoTime() - start);
       } catch (OutOfMemoryError oome) {
         close();
         throw oome;
@@ -429,6 +706,12 @@ public abstract class LuceneSearcher implements Searcher {
 
   @Override
   public final void delete(String path, boolean isFile) throws ServerException {
+    // deletion of folder is keyed by prefix, so it doesn't replace operation with the same path
+    // which was queued for file, e.g. if folder was replaced by file with the same name
+    enqueue(isFile ? path : path + '/', () -> doDelete(path, isFile));
+  }
+
+  private void doDelete(String path, boolean isFile) throws ServerException {
     try {
       if (isFile) {
         Term term = new Term(PATH_FIELD, path);
@@ -447,15 +730,15 @@ public abstract class LuceneSearcher implements Searcher {
 
   @Override
   public final void update(VirtualFile virtualFile) throws ServerException {
-    doUpdate(new Term(PATH_FIELD, virtualFile.getPath().toString()), virtualFile);
+    final String path = virtualFile.getPath().toString();
+    enqueue(path, () -> doUpdate(new Term(PATH_FIELD, path), virtualFile));
   }
 
   protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
-    try (Reader fContentReader =
-        shouldIndexContent(virtualFile)
-            ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-            : null) {
-      getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+    try {
+      final long start = System.nanoTime();
+      getIndexWriter().updateDocument(deleteTerm, createIndexDocument(virtualFile));
+      onFileIndexed(System.nanoTime() - start);
     } catch (OutOfMemoryError oome) {
       close();
       throw oome;
@@ -466,6 +749,29 @@ public abstract class LuceneSearcher implements Searcher {
     }
   }
 
+  /**
+   * Creates document with {@link #createDocument(VirtualFile, Reader)} and adds to it modification
+   * time and hash sum of content of file.
+   */
+  private Document createIndexDocument(VirtualFile virtualFile)
+      throws ServerException, ForbiddenException, IOException {
+    // read modification time before content, so document can't look newer than its content
+    final long modified = virtualFile.getLastModificationDate();
+    final Document doc;
+    if (shouldIndexContent(virtualFile)) {
+      final byte[] content = virtualFile.getContentAsBytes();
+      try (Reader reader =
+          new BufferedReader(new InputStreamReader(new ByteArrayInputStream(content)))) {
+        doc = createDocument(virtualFile, reader);
+      }
+      doc.add(new StoredField(HASH_FIELD, HASH_FUNCTION.hashBytes(content).toString()));
+    } else {
+      doc = createDocument(virtualFile, null);
+    }
+    doc.add(new StoredField(MODIFIED_FIELD, modified));
+    return doc;
+  }
+
   protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
     final Document doc = new Document();
     doc.add(new StringField(PATH_FIELD, virtualFile.getPath().toString(), Field.Store.YES));
@@ -489,6 +795,235 @@ public abstract class LuceneSearcher implements Searcher {
     return true;
   }
 
+  /**
+   * Queues operation with the index. If there is pending operation with the same key it is replaced
+   * with new one, new operation is applied after all operations that were queued before it.
+   */
+  private void enqueue(String key, IndexOperation operation) throws ServerException {
+    if (isClosed()) {
+      throw new ServerException("Searcher is closed");
+    }
+    synchronized (pendingOperations) {
+      if (pendingOperations.remove(key) != null) {
+        coalescedOperations.increment();
+      }
+      pendingOperations.put(key, operation);
+      final boolean batchIsFull = pendingOperations.size() >= MAX_BATCH_SIZE;
+      if (scheduledDrain == null || batchIsFull) {
+        if (scheduledDrain != null) {
+          scheduledDrain.cancel(false);
+        }
+        try {
+          scheduledDrain =
+              updatesExecutor.schedule(
+                  this::drainQuietly, batchIsFull ? 0 : COALESCE_DELAY_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+          throw new ServerException("Searcher is closed");
+        }
+      }
+    }
+  }
+
+  /**
+   * Applies all pending operations with the index, commits changes and refreshes searcher.
+   *
+   * @throws ServerException if any operation fails, all the rest operations are applied anyway
+   */
+  protected void drainPendingOperations() throws ServerException {
+    synchronized (drainLock) {
+      final List<IndexOperation> batch;
+      synchronized (pendingOperations) {
+        if (scheduledDrain != null) {
+          scheduledDrain.cancel(false);
+          scheduledDrain = null;
+        }
+        if (pendingOperations.isEmpty()) {
+          return;
+        }
+        batch = new ArrayList<>(pendingOperations.values());
+        pendingOperations.clear();
+      }
+      ServerException failure = null;
+      for (IndexOperation operation : batch) {
+        try {
+          operation.apply();
+        } catch (ServerException e) {
+          if (failure == null) {
+            failure = e;
+          } else {
+            failure.addSuppressed(e);
+          }
+        }
+      }
+      commit();
+      committedBatches.increment();
+      LOG.debug("Applied batch of {} index operations", batch.size());
+      if (failure != null) {
+        throw failure;
+      }
+    }
+  }
+
+  private void drainQuietly() {
+    try {
+      drainPendingOperations();
+    } catch (ServerException | AlreadyClosedException e) {
+      LOG.error(e.getMessage(), e);
+    }
+  }
+
+  private void commit() throws ServerException {
+    if (isClosed()) {
+      return;
+    }
+    try {
+      getIndexWriter().commit();
+      searcherManager.maybeRefresh();
+    } catch (OutOfMemoryError oome) {
+      close();
+      throw oome;
+    } catch (IOException | AlreadyClosedException e) {
+      throw new ServerException(e.getMessage(), e);
+    }
+  }
+
+  private void onFileIndexed(long nanos) {
+    indexedFiles.increment();
+    indexingTime.add(nanos);
+    final long count = indexedFiles.sum();
+    if (count % PROGRESS_LOG_STEP == 0) {
+      LOG.debug("Indexed {} files, throughput: {} files/s", count, getIndexingThroughput());
+    }
+  }
+
+  /** Number of files that were written to the index. */
+  public long getIndexedFilesCount() {
+    return indexedFiles.sum();
+  }
+
+  /**
+   * Average number of files written to the index per second spent by one indexing thread. Total
+   * throughput of parallel indexing of tree is logged when indexing of tree is done.
+   */
+  public long getIndexingThroughput() {
+    final long nanos = indexingTime.sum();
+    return nanos == 0 ? 0 : indexedFiles.sum() * TimeUnit.SECONDS.toNanos(1) / nanos;
+  }
+
+  /** Number of operations that were not applied since they were replaced with newer ones. */
+  public long getCoalescedOperationsCount() {
+    return coalescedOperations.sum();
+  }
+
+  /** Number of batches of operations that were applied and committed. */
+  public long getCommittedBatchesCount() {
+    return committedBatches.sum();
+  }
+
+  /** Number of operations that wait to be applied. */
+  public int getPendingOperationsCount() {
+    synchronized (pendingOperations) {
+      return pendingOperations.size();
+    }
+  }
+
+  /** Position in search result: version of index snapshot and last returned document. */
+  private static class PageCursor {
+    final long version;
+    final ScoreDoc after;
+
+    PageCursor(long version, ScoreDoc after) {
+      this.version = version;
+      this.after = after;
+    }
+
+    /** Returns cursor or {@code null} if cursor is not set or malformed. */
+    static PageCursor parse(String cursor) {
+      if (cursor == null) {
+        return null;
+      }
+      final String[] parts = cursor.split(":");
+      if (parts.length != 3) {
+        return null;
+      }
+      try {
+        return new PageCursor(
+            Long.parseLong(parts[0]),
+            new ScoreDoc(
+                Integer.parseInt(parts[1]), Float.intBitsToFloat(Integer.parseInt(parts[2]))));
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+
+    @Override
+    public String toString() {
+      return version + ":" + after.doc + ':' + Float.floatToIntBits(after.score);
+    }
+  }
+
+  @FunctionalInterface
+  private interface IndexOperation {
+    void apply() throws ServerException;
+  }
+
+  private static class IndexedFile {
+    final long modified;
+    final String hash;
+
+    IndexedFile(long modified, String hash) {
+      this.modified = modified;
+      this.hash = hash;
+    }
+  }
+
+  /** Indexes files of folder and forks new task for each sub-folder. */
+  private class AddTreeTask extends RecursiveAction {
+    private final VirtualFile folder;
+    private final Map<String, IndexedFile> indexed;
+
+    AddTreeTask(VirtualFile folder, Map<String, IndexedFile> indexed) {
+      this.folder = folder;
+      this.indexed = indexed;
+    }
+
+    @Override
+    protected void compute() {
+      if (!folder.exists()) {
+        return;
+      }
+      final List<AddTreeTask> subTasks = new ArrayList<>();
+      try {
+        for (VirtualFile child : folder.getChildren()) {
+          if (child.isFolder()) {
+            AddTreeTask subTask = new AddTreeTask(child, indexed);
+            subTask.fork();
+            subTasks.add(subTask);
+          } else if (indexed == null
+              || isChanged(child, indexed.remove(child.getPath().toString()))) {
+            addFile(child);
+          }
+        }
+      } catch (ServerException e) {
+        throw new IndexingException(e);
+      }
+      for (AddTreeTask subTask : subTasks) {
+        subTask.join();
+      }
+    }
+  }
+
+  private static class IndexingException extends RuntimeException {
+    IndexingException(ServerException cause) {
+      super(cause);
+    }
+
+    @Override
+    public synchronized ServerException getCause() {
+      return (ServerException) super.getCause();
+    }
+  }
+
   public static class OffsetData {
 
     public String phrase;
@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.watcher;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.function.IntConsumer;
+
+/**
+ * Compact in-memory representation of a file tree used by {@link FileTreeWalker} to remember last
+ * modification time of each tracked item.
+ *
+ * <p>Each item gets an integer identifier and is stored as a set of primitive values in parallel
+ * arrays: identifier of the parent, interned name, kind, last modification time. There are no
+ * {@link Path} instances or boxed values kept per item, and names which repeat across the tree
+ * (e.g. {@code package.json}, {@code index.js}, {@code target}) are stored once. Items are looked up
+ * by (parent identifier, name) pair in an open addressing hash table of identifiers.
+ *
+ * <p>Root of the tree always has identifier {@link #ROOT}. Identifiers of removed items are
+ * reused.
+ *
+ * <p>This class is not thread safe.
+ */
+final class FileTreeIndex {
+  static final int NONE = -1;
+  static final int ROOT = 0;
+
+  /** Modification time of item that was added to the index but was never checked on disk. */
+  static final long UNKNOWN = Long.MIN_VALUE;
+
+  private static final byte FREE = 0;
+  private static final byte FILE = 1;
+  private static final byte DIRECTORY = 2;
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private final Interner<String> names = Interners.newWeakInterner();
+
+  private int[] parent;
+  private int[] firstChild;
+  private int[] nextSibling;
+  private int[] generation;
+  private long[] modified;
+  private byte[] kind;
+  private String[] name;
+
+  private int[] free;
+  private int freeCount;
+  private int next;
+  private int size;
+
+  /** Open addressing (linear probing) table, each non-zero slot holds identifier + 1. */
+  private int[] table;
+
+  FileTreeIndex() {
+    parent = new int[INITIAL_CAPACITY];
+    firstChild = new int[INITIAL_CAPACITY];
+    nextSibling = new int[INITIAL_CAPACITY];
+    generation = new int[INITIAL_CAPACITY];
+    modified = new long[INITIAL_CAPACITY];
+    kind = new byte[INITIAL_CAPACITY];
+    name = new String[INITIAL_CAPACITY];
+    free = new int[16];
+    table = new int[INITIAL_CAPACITY * 2];
+
+    parent[ROOT] = NONE;
+    firstChild[ROOT] = NONE;
+    nextSibling[ROOT] = NONE;
+    modified[ROOT] = UNKNOWN;
+    kind[ROOT] = DIRECTORY;
+    name[ROOT] = "";
+    next = 1;
+    size = 1;
+  }
+
+  /**
+   * Finds item by its path relative to the root of the tree.
+   *
+   * @return identifier of item or {@link #NONE} if there is no such item
+   */
+  int find(Path relative) {
+    int id = ROOT;
+    if (relative.toString().isEmpty()) {
+      return id;
+    }
+    for (Path segment : relative) {
+      id = child(id, segment.toString());
+      if (id == NONE) {
+        return NONE;
+      }
+    }
+    return id;
+  }
+
+  /** Finds direct child of item by its name, returns {@link #NONE} if there is no such child. */
+  int child(int parentId, String childName) {
+    final int mask = table.length - 1;
+    for (int i = hash(parentId, childName) & mask; ; i = (i + 1) & mask) {
+      final int slot = table[i];
+      if (slot == 0) {
+        return NONE;
+      }
+      final int id = slot - 1;
+      if (parent[id] == parentId && name[id].equals(childName)) {
+        return id;
+      }
+    }
+  }
+
+  /** Adds new child to the item, child must not exist yet. Returns identifier of new item. */
+  int add(int parentId, String childName, boolean directory, long lastModified) {
+    final int id = allocate();
+    parent[id] = parentId;
+    name[id] = names.intern(childName);
+    kind[id] = directory ? DIRECTORY : FILE;
+    modified[id] = lastModified;
+    generation[id] = 0;
+    firstChild[id] = NONE;
+    nextSibling[id] = firstChild[parentId];
+    firstChild[parentId] = id;
+    size++;
+
+    if (size * 2 > table.length) {
+      rehash(table.length * 2);
+    } else {
+      insert(id);
+    }
+    return id;
+  }
+
+  /**
+   * Removes item with all its descendants. Consumer is called for each removed item before it is
+   * removed, so {@link #toPath(Path, int)} and {@link #isDirectory(int)} may be used in it.
+   */
+  void remove(int id, IntConsumer beforeRemove) {
+    if (id == ROOT) {
+      throw new IllegalArgumentException("Root can't be removed");
+    }
+    int[] subtree = new int[16];
+    int count = 0;
+    final Deque<Integer> stack = new ArrayDeque<>();
+    stack.push(id);
+    while (!stack.isEmpty()) {
+      final int current = stack.pop();
+      if (count == subtree.length) {
+        subtree = Arrays.copyOf(subtree, count * 2);
+      }
+      subtree[count++] = current;
+      for (int child = firstChild[current]; child != NONE; child = nextSibling[child]) {
+        stack.push(child);
+      }
+    }
+    for (int i = 0; i < count; i++) {
+      beforeRemove.accept(subtree[i]);
+    }
+
+    unlink(id);
+    for (int i = 0; i < count; i++) {
+      release(subtree[i]);
+    }
+  }
+
+  boolean isDirectory(int id) {
+    return kind[id] == DIRECTORY;
+  }
+
+  long getModified(int id) {
+    return modified[id];
+  }
+
+  void setModified(int id, long lastModified) {
+    modified[id] = lastModified;
+  }
+
+  int getGeneration(int id) {
+    return generation[id];
+  }
+
+  void setGeneration(int id, int walkGeneration) {
+    generation[id] = walkGeneration;
+  }
+
+  /** Calls consumer for identifier of each item in the index. */
+  void forEach(IntConsumer consumer) {
+    for (int id = 0; id < next; id++) {
+      if (kind[id] != FREE) {
+        consumer.accept(id);
+      }
+    }
+  }
+
+  /** Restores absolute path of item. */
+  Path toPath(Path root, int id) {
+    final Deque<String> segments = new ArrayDeque<>();
+    for (int i = id; i != ROOT; i = parent[i]) {
+      segments.push(name[i]);
+    }
+    Path path = root;
+    for (String segment : segments) {
+      path = path.resolve(segment);
+    }
+    return path;
+  }
+
+  /** Number of items in the index including root. */
+  int size() {
+    return size;
+  }
+
+  /** Approximate number of bytes used by the index, not including names of items. */
+  long estimateMemoryUsage() {
+    // 4 int arrays, 1 long array, 1 byte array and 1 array of references per item
+    final long perItem = 4 * 4 + 8 + 1 + 8;
+    return perItem * parent.length + 4L * table.length + 4L * free.length;
+  }
+
+  private int allocate() {
+    if (freeCount > 0) {
+      return free[--freeCount];
+    }
+    if (next == parent.length) {
+      final int capacity = parent.length * 2;
+      parent = Arrays.copyOf(parent, capacity);
+      firstChild = Arrays.copyOf(firstChild, capacity);
+      nextSibling = Arrays.copyOf(nextSibling, capacity);
+      generation = Arrays.copyOf(generation, capacity);
+      modified = Arrays.copyOf(modified, capacity);
+      kind = Arrays.copyOf(kind, capacity);
+      name = Arrays.copyOf(name, capacity);
+    }
+    return next++;
+  }
+
+  private void unlink(int id) {
+    final int parentId = parent[id];
+    if (firstChild[parentId] == id) {
+      firstChild[parentId] = nextSibling[id];
+      return;
+    }
+    for (int child = firstChild[parentId]; child != NONE; child = nextSibling[child]) {
+      if (nextSibling[child] == id) {
+        nextSibling[child] = nextSibling[id];
+        return;
+      }
+    }
+  }
+
+  private void release(int id) {
+    delete(id);
+    parent[id] = NONE;
+    firstChild[id] = NONE;
+    nextSibling[id] = NONE;
+    name[id] = null;
+    kind[id] = FREE;
+    size--;
+    if (freeCount == free.length) {
+      free = Arrays.copyOf(free, freeCount * 2);
+    }
+    free[freeCount++] = id;
+  }
+
+  private void insert(int id) {
+    final int mask = table.length - 1;
+    int i = hash(parent[id], name[id]) & mask;
+    while (table[i] != 0) {
+      i = (i + 1) & mask;
+    }
+    table[i] = id + 1;
+  }
+
+  /** Removes identifier from the table with backward shift of the following entries. */
+  private void delete(int id) {
+    final int mask = table.length - 1;
+    int i = hash(parent[id], name[id]) & mask;
+    while (table[i] != id + 1) {
+      i = (i + 1) & mask;
+    }
+    for (int j = (i + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+      final int moved = table[j] - 1;
+      final int home = hash(parent[moved], name[moved]) & mask;
+      final boolean stays = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+      if (!stays) {
+        table[i] = table[j];
+        i = j;
+      }
+    }
+    table[i] = 0;
+  }
+
+  private void rehash(int capacity) {
+    table = new int[capacity];
+    for (int id = 1; id < next; id++) {
+      if (kind[id] != FREE) {
+        insert(id);
+      }
+    }
+  }
+
+  private static int hash(int parentId, String childName) {
+    final int h = parentId * 31 + childName.hashCode();
+    return h ^ (h >>> 16);
+  }
+}
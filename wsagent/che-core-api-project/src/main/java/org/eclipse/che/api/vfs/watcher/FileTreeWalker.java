@@ -12,9 +12,16 @@ package org.eclipse.che.api.vfs.watcher;
 
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
+import static java.nio.file.FileVisitResult.TERMINATE;
 import static java.nio.file.Files.exists;
+import static java.nio.file.Files.readAttributes;
 import static java.nio.file.Files.walkFileTree;
-import static java.util.stream.Collectors.toSet;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.util.Comparator.comparingInt;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.eclipse.che.api.vfs.watcher.FileTreeIndex.NONE;
+import static org.eclipse.che.api.vfs.watcher.FileTreeIndex.ROOT;
+import static org.eclipse.che.api.vfs.watcher.FileTreeIndex.UNKNOWN;
 
 import com.google.inject.Inject;
 import java.io.File;
@@ -25,25 +32,40 @@ import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import javax.inject.Named;
 import javax.inject.Singleton;
-import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Walks a file system tree, register addition, update and removal of file system items. On events
- * runs corresponding consumers that can be registered in DI configuration modules.
+ * Tracks addition, update and removal of file system items. On events runs corresponding consumers
+ * that can be registered in DI configuration modules.
+ *
+ * <p>Primary source of changes are file watcher events (see {@link FileWatcherService}), walker
+ * receives them as a consumer and processes only the items that are reported as changed. Since not
+ * every directory is watched, the whole file tree is also walked periodically to reconcile state,
+ * this walk is throttled to avoid burning CPU and disk on big trees.
+ *
+ * <p>Last modification time of items is kept in a compact {@link FileTreeIndex}.
  */
 @Singleton
-public class FileTreeWalker {
+public class FileTreeWalker implements Consumer<Path> {
   private static final Logger LOG = LoggerFactory.getLogger(FileTreeWalker.class);
 
-  private final File root;
+  /** Number of items visited by reconciliation walk between pauses. */
+  private static final int THROTTLE_BATCH_SIZE = 1000;
+  /** Pause in milliseconds that reconciliation walk makes after each batch of items. */
+  private static final long THROTTLE_PAUSE = 10;
+
+  private final Path root;
 
   private final Set<Consumer<Path>> directoryUpdateConsumers;
   private final Set<Consumer<Path>> directoryCreateConsumers;
@@ -55,8 +77,16 @@ public class FileTreeWalker {
   private final Set<Consumer<Path>> fileDeleteConsumers;
   private final Set<PathMatcher> fileExcludes;
 
-  private final Map<Path, Long> files = new HashMap<>();
-  private final Map<Path, Long> directories = new HashMap<>();
+  private final FileTreeIndex index = new FileTreeIndex();
+  private final Set<Path> pendingEvents = ConcurrentHashMap.newKeySet();
+  private final Object walkLock = new Object();
+
+  private final AtomicLong processedEvents = new AtomicLong();
+  private volatile long lastWalkDuration;
+  private volatile long walks;
+
+  // guarded by index
+  private int generation;
 
   @Inject
   public FileTreeWalker(
@@ -69,7 +99,7 @@ public class FileTreeWalker {
       @Named("che.fs.file.create") Set<Consumer<Path>> fileCreateConsumers,
       @Named("che.fs.file.delete") Set<Consumer<Path>> fileDeleteConsumers,
       @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes) {
-    this.root = root;
+    this.root = root.toPath().toAbsolutePath().normalize();
 
     this.directoryUpdateConsumers = directoryUpdateConsumers;
     this.directoryCreateConsumers = directoryCreateConsumers;
@@ -83,79 +113,312 @@ public class FileTreeWalker {
     this.fileExcludes = fileExcludes;
   }
 
-  @ScheduleRate(period = 10)
+  /**
+   * Receives file watcher event, path is remembered and processed later by {@link
+   * #processEvents()}.
+   *
+   * @param path absolute path of item for which event was received
+   */
+  @Override
+  public void accept(Path path) {
+    if (path.startsWith(root)) {
+      pendingEvents.add(path);
+    }
+  }
+
+  @ScheduleDelay(delay = 1)
+  void processEvents() {
+    if (pendingEvents.isEmpty()) {
+      return;
+    }
+    final List<Path> paths = new ArrayList<>(pendingEvents.size());
+    for (Iterator<Path> it = pendingEvents.iterator(); it.hasNext(); ) {
+      paths.add(it.next());
+      it.remove();
+    }
+    // parents first, so new directory is tracked before its entries
+    paths.sort(comparingInt(Path::getNameCount));
+
+    for (Path path : paths) {
+      try {
+        processEvent(path);
+      } catch (Exception e) {
+        LOG.error("Error while processing file watcher event for '{}'", path, e);
+      }
+    }
+    processedEvents.addAndGet(paths.size());
+  }
+
+  @ScheduleDelay(delayParameterName = "che.fs.tree_walker.reconcile_delay_s")
   void walk() {
-    try {
+    synchronized (walkLock) {
       LOG.debug("Tree walk started");
+      final long start = System.nanoTime();
+      final int walkGeneration;
+      synchronized (index) {
+        walkGeneration = ++generation;
+      }
 
-      Set<Path> deletedFiles = files.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      fileDeleteConsumers.forEach(deletedFiles::forEach);
-      files.keySet().removeAll(deletedFiles);
-
-      Set<Path> deletedDirectories =
-          directories.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      directoryDeleteConsumers.forEach(deletedDirectories::forEach);
-      directories.keySet().removeAll(deletedDirectories);
-
-      walkFileTree(
-          root.toPath(),
-          new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
-                throws IOException {
-              for (PathMatcher matcher : directoryExcludes) {
-                if (matcher.matches(dir)) {
-                  return SKIP_SUBTREE;
-                }
-              }
-
-              updateFsTreeAndAcceptConsumables(
-                  directories, directoryUpdateConsumers, directoryCreateConsumers, dir, attrs);
-
-              return CONTINUE;
-            }
+      try {
+        final Visitor visitor = new Visitor(walkGeneration, true);
+        walkFileTree(root, visitor);
+        if (!visitor.interrupted) {
+          sweep(walkGeneration);
+        }
+      } catch (Exception e) {
+        LOG.error("Error while walking file tree", e);
+      }
+
+      lastWalkDuration = NANOSECONDS.toMillis(System.nanoTime() - start);
+      walks++;
+      LOG.debug(
+          "Tree walk finished in {} ms, tracking {} items, index takes about {} KB",
+          lastWalkDuration,
+          getTrackedItemsCount(),
+          getIndexMemoryUsage() / 1024);
+    }
+  }
+
+  /** Duration of the last reconciliation walk in milliseconds. */
+  public long getLastWalkDuration() {
+    return lastWalkDuration;
+  }
+
+  /** Number of finished reconciliation walks. */
+  public long getWalksCount() {
+    return walks;
+  }
+
+  /** Number of processed file watcher events. */
+  public long getProcessedEventsCount() {
+    return processedEvents.get();
+  }
+
+  /** Number of file system items which are currently tracked. */
+  public int getTrackedItemsCount() {
+    synchronized (index) {
+      return index.size();
+    }
+  }
+
+  /** Approximate number of bytes used to keep state of tracked items. */
+  public long getIndexMemoryUsage() {
+    synchronized (index) {
+      return index.estimateMemoryUsage();
+    }
+  }
+
+  private void processEvent(Path path) throws IOException {
+    final BasicFileAttributes attrs;
+    try {
+      attrs = readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+    } catch (NoSuchFileException e) {
+      remove(path);
+      return;
+    }
+
+    if (isExcluded(path, attrs.isDirectory())) {
+      return;
+    }
+
+    final int eventGeneration;
+    synchronized (index) {
+      eventGeneration = generation;
+    }
+
+    // make sure all parents are tracked, they may be unknown if event came before walker saw them
+    final Path relative = root.relativize(path);
+    for (int i = 1; i < relative.getNameCount(); i++) {
+      final Path ancestor = root.resolve(relative.subpath(0, i));
+      track(
+          ancestor,
+          readAttributes(ancestor, BasicFileAttributes.class, NOFOLLOW_LINKS),
+          eventGeneration);
+    }
+
+    if (track(path, attrs, eventGeneration) && attrs.isDirectory()) {
+      // new directory may already have entries, e.g. it was moved or unpacked
+      walkFileTree(path, new Visitor(eventGeneration, false));
+    }
+  }
+
+  private boolean isExcluded(Path path, boolean directory) {
+    final Set<PathMatcher> excludes = directory ? directoryExcludes : fileExcludes;
+    for (PathMatcher matcher : excludes) {
+      if (matcher.matches(path)) {
+        return true;
+      }
+    }
+    for (Path parent = path.getParent();
+        parent != null && parent.startsWith(root);
+        parent = parent.getParent()) {
+      for (PathMatcher matcher : directoryExcludes) {
+        if (matcher.matches(parent)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Updates state of the item and runs consumers if item was created or updated.
+   *
+   * @return {@code true} if item was not tracked before
+   */
+  private boolean track(Path path, BasicFileAttributes attrs, int itemGeneration) {
+    final boolean directory = attrs.isDirectory();
+    final long lastModified = attrs.lastModifiedTime().toMillis();
+    final List<Removed> removed = new ArrayList<>();
+    boolean created = false;
+    boolean updated = false;
+
+    synchronized (index) {
+      final Path relative = root.relativize(path);
+      int id = index.find(relative);
+      if (id != NONE && index.isDirectory(id) != directory) {
+        // file was replaced by directory or vice versa
+        removeFromIndex(id, removed);
+        id = NONE;
+      }
+
+      if (id == NONE) {
+        final Path parent = relative.getParent();
+        final int parentId = parent == null ? ROOT : index.find(parent);
+        if (parentId == NONE) {
+          // parent is removed concurrently
+          return false;
+        }
+        id = index.add(parentId, path.getFileName().toString(), directory, lastModified);
+        created = true;
+      } else if (index.getModified(id) == UNKNOWN) {
+        index.setModified(id, lastModified);
+        created = true;
+      } else if (index.getModified(id) != lastModified) {
+        index.setModified(id, lastModified);
+        updated = true;
+      }
+      index.setGeneration(id, itemGeneration);
+    }
+
+    notifyRemoved(removed);
+    if (created) {
+      (directory ? directoryCreateConsumers : fileCreateConsumers).forEach(it -> it.accept(path));
+    } else if (updated) {
+      (directory ? directoryUpdateConsumers : fileUpdateConsumers).forEach(it -> it.accept(path));
+    }
+    return created;
+  }
 
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-              for (PathMatcher matcher : fileExcludes) {
-                if (matcher.matches(file)) {
-                  return CONTINUE;
-                }
-              }
+  private void remove(Path path) {
+    final List<Removed> removed = new ArrayList<>();
+    synchronized (index) {
+      final int id = index.find(root.relativize(path));
+      if (id != NONE && id != ROOT) {
+        removeFromIndex(id, removed);
+      }
+    }
+    notifyRemoved(removed);
+  }
 
-              updateFsTreeAndAcceptConsumables(
-                  files, fileUpdateConsumers, fileCreateConsumers, file, attrs);
+  private void removeFromIndex(int id, List<Removed> removed) {
+    index.remove(id, it -> removed.add(new Removed(index.toPath(root, it), index.isDirectory(it))));
+  }
 
-              return CONTINUE;
+  /** Removes items which were not visited by the walk and which do not exist anymore. */
+  private void sweep(int walkGeneration) {
+    final List<Path> notVisited = new ArrayList<>();
+    synchronized (index) {
+      index.forEach(
+          id -> {
+            if (id != ROOT && index.getGeneration(id) != walkGeneration) {
+              notVisited.add(index.toPath(root, id));
             }
           });
-      LOG.debug("Tree walk finished");
-    } catch (NoSuchFileException e) {
-      LOG.debug(
-          "Trying to process a file, however seems like it is already not present: {}",
-          e.getMessage());
-    } catch (Exception e) {
-      LOG.error("Error while walking file tree", e);
-    }
-  }
-
-  private void updateFsTreeAndAcceptConsumables(
-      Map<Path, Long> items,
-      Set<Consumer<Path>> updateConsumer,
-      Set<Consumer<Path>> createConsumer,
-      Path path,
-      BasicFileAttributes attrs) {
-    Long lastModifiedActual = attrs.lastModifiedTime().toMillis();
-
-    if (items.containsKey(path)) {
-      Long lastModifiedStored = items.get(path);
-      if (!lastModifiedActual.equals(lastModifiedStored)) {
-        updateConsumer.forEach(it -> it.accept(path));
-        items.put(path, lastModifiedActual);
+    }
+    // parents first, then descendants of removed directory are already gone
+    notVisited.sort(comparingInt(Path::getNameCount));
+    for (Path path : notVisited) {
+      if (!exists(path, NOFOLLOW_LINKS)) {
+        remove(path);
+      }
+    }
+  }
+
+  private void notifyRemoved(List<Removed> removed) {
+    for (Removed item : removed) {
+      (item.directory ? directoryDeleteConsumers : fileDeleteConsumers)
+          .forEach(it -> it.accept(item.path));
+    }
+  }
+
+  private static class Removed {
+    final Path path;
+    final boolean directory;
+
+    Removed(Path path, boolean directory) {
+      this.path = path;
+      this.directory = directory;
+    }
+  }
+
+  private class Visitor extends SimpleFileVisitor<Path> {
+    final int walkGeneration;
+    final boolean throttled;
+
+    int visited;
+    boolean interrupted;
+
+    Visitor(int walkGeneration, boolean throttled) {
+      this.walkGeneration = walkGeneration;
+      this.throttled = throttled;
+    }
+
+    @Override
+    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+      for (PathMatcher matcher : directoryExcludes) {
+        if (matcher.matches(dir)) {
+          return SKIP_SUBTREE;
+        }
+      }
+      track(dir, attrs, walkGeneration);
+      return throttle();
+    }
+
+    @Override
+    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+      for (PathMatcher matcher : fileExcludes) {
+        if (matcher.matches(file)) {
+          return CONTINUE;
+        }
+      }
+      track(file, attrs, walkGeneration);
+      return throttle();
+    }
+
+    @Override
+    public FileVisitResult visitFileFailed(Path file, IOException e) {
+      if (e instanceof NoSuchFileException) {
+        LOG.debug(
+            "Trying to process a file, however seems like it is already not present: {}",
+            e.getMessage());
+      } else {
+        LOG.warn("Can't visit '{}': {}", file, e.getMessage());
+      }
+      return CONTINUE;
+    }
+
+    private FileVisitResult throttle() {
+      if (throttled && ++visited % THROTTLE_BATCH_SIZE == 0) {
+        try {
+          Thread.sleep(THROTTLE_PAUSE);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          interrupted = true;
+          return TERMINATE;
+        }
       }
-    } else {
-      createConsumer.forEach(it -> it.accept(path));
-      items.put(path, lastModifiedActual);
+      return CONTINUE;
     }
   }
 }
@@ -16,6 +16,7 @@ import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Collections.emptySet;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -33,14 +34,17 @@ import java.nio.file.WatchService;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
@@ -67,19 +71,29 @@ public class FileWatcherService {
   private final FileWatcherExcludePatternsRegistry excludePatternsRegistry;
   private final FileWatcherEventHandler handler;
   private final WatchService service;
+  private final Set<Consumer<Path>> eventConsumers;
   private final Modifier[] eventModifiers;
   private final Kind<?>[] eventKinds;
 
   private ExecutorService executor;
 
-  @Inject
   public FileWatcherService(
       FileWatcherExcludePatternsRegistry excludePatternsRegistry,
       FileWatcherEventHandler handler,
       WatchService service) {
+    this(excludePatternsRegistry, handler, service, emptySet());
+  }
+
+  @Inject
+  public FileWatcherService(
+      FileWatcherExcludePatternsRegistry excludePatternsRegistry,
+      FileWatcherEventHandler handler,
+      WatchService service,
+      @Named("che.fs.watcher.event") Set<Consumer<Path>> eventConsumers) {
     this.excludePatternsRegistry = excludePatternsRegistry;
     this.handler = handler;
     this.service = service;
+    this.eventConsumers = eventConsumers;
 
     this.eventModifiers = getWatchEventModifiers();
     this.eventKinds = getWatchEventKinds();
@@ -303,6 +317,7 @@ public class FileWatcherService {
 
           if (kind == OVERFLOW) {
             LOG.warn("Detected file system events overflowing");
+            notifyEventConsumers(dir.toAbsolutePath());
             continue;
           }
 
@@ -310,6 +325,8 @@ public class FileWatcherService {
           Path item = ev.context();
           Path path = dir.resolve(item).toAbsolutePath();
 
+          notifyEventConsumers(path);
+
           if (excludePatternsRegistry.isExcluded(path)) {
             LOG.debug("Path is within exclude list, skipping...");
             continue;
@@ -330,6 +347,16 @@ public class FileWatcherService {
     }
   }
 
+  private void notifyEventConsumers(Path path) {
+    for (Consumer<Path> consumer : eventConsumers) {
+      try {
+        consumer.accept(path);
+      } catch (RuntimeException e) {
+        LOG.error("Error while notifying consumer about event for '{}'", path, e);
+      }
+    }
+  }
+
   private void resetAndRemove(WatchKey watchKey, Path dir) {
     if (!watchKey.reset()) {
       if (dir != null) {
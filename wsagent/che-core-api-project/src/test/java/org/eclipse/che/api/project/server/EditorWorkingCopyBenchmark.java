@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures latency of applying a typed character to the working copy of a large file, comparing
+ * {@link EditorWorkingCopy} with rebuilding the whole content for every change as it was done
+ * before.
+ *
+ * <p>Benchmark is not executed as part of the build, run it with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EditorWorkingCopyBenchmark {
+
+  @Param({"rope", "string"})
+  public String implementation;
+
+  /** Length of the file content in characters. */
+  @Param({"1048576"})
+  public int length;
+
+  private EditorWorkingCopy workingCopy;
+  private String content;
+  private int offset;
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(i % 80 == 79 ? '\n' : (char) ('a' + i % 26));
+    }
+    content = builder.toString();
+    workingCopy = new EditorWorkingCopy("/project/File.java", "/project", content.getBytes());
+    offset = length / 3;
+  }
+
+  @Benchmark
+  public Object typeCharacter() {
+    if ("rope".equals(implementation)) {
+      workingCopy.insert(offset++, "x");
+      return workingCopy;
+    }
+    content = new StringBuilder(content).insert(offset++, "x").toString();
+    return content;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(EditorWorkingCopyBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
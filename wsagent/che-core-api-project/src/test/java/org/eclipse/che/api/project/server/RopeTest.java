@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Random;
+import org.testng.annotations.Test;
+
+/** Tests for {@link Rope}. */
+public class RopeTest {
+
+  @Test
+  public void shouldInsertAndDeleteText() {
+    Rope rope = Rope.of("Hello world");
+
+    rope = rope.insert(5, ",").insert(12, "!").delete(0, 1).insert(0, "h");
+
+    assertEquals(rope.toString(), "hello, world!");
+    assertEquals(rope.length(), 13);
+    assertEquals(rope.charAt(4), 'o');
+    assertEquals(rope.subSequence(7, 12).toString(), "world");
+  }
+
+  @Test
+  public void shouldNotModifyPreviousVersions() {
+    Rope original = Rope.of(text(10_000));
+
+    Rope changed = original.insert(5_000, "inserted").delete(0, 100);
+
+    assertEquals(original.toString(), text(10_000));
+    assertEquals(changed.length(), 10_000 - 100 + "inserted".length());
+  }
+
+  @Test
+  public void shouldMatchStringBuilderAfterRandomEdits() {
+    Random random = new Random(42);
+    StringBuilder expected = new StringBuilder(text(100_000));
+    Rope rope = Rope.of(expected);
+
+    for (int i = 0; i < 20_000; i++) {
+      if (random.nextInt(4) == 0 && expected.length() > 0) {
+        int start = random.nextInt(expected.length());
+        int end = Math.min(expected.length(), start + random.nextInt(2_000));
+        expected.delete(start, end);
+        rope = rope.delete(start, end);
+      } else {
+        int offset = random.nextInt(expected.length() + 1);
+        String text =
+            random.nextInt(100) == 0 ? text(3_000) : String.valueOf((char) ('a' + i % 26));
+        expected.insert(offset, text);
+        rope = rope.insert(offset, text);
+      }
+    }
+
+    assertEquals(rope.toString(), expected.toString());
+    int index = random.nextInt(expected.length());
+    assertEquals(rope.charAt(index), expected.charAt(index));
+    // balanced tree of chunks which are not much smaller than the maximum
+    int minChunks = expected.length() / Rope.MAX_LEAF;
+    assertTrue(rope.height() <= 2 * (32 - Integer.numberOfLeadingZeros(minChunks)) + 4);
+  }
+
+  @Test
+  public void shouldKeepTreeShallowWhenTyping() {
+    Rope rope = Rope.of(text(1024 * 1024));
+    int offset = 300_000;
+
+    for (int i = 0; i < 10_000; i++) {
+      rope = rope.insert(offset++, "x");
+    }
+
+    assertEquals(rope.length(), 1024 * 1024 + 10_000);
+    assertTrue(rope.height() < 24, "height: " + rope.height());
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void shouldRejectOffsetOutOfText() {
+    Rope.of("text").insert(5, "x");
+  }
+
+  private static String text(int length) {
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(i % 80 == 79 ? '\n' : (char) ('A' + i % 26));
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares throughput of {@link PathLockFactory} and {@link PathLockManager} under the mix of
+ * shared and exclusive locks that {@code LocalVirtualFileSystem} produces: mostly reads of files
+ * spread across the project tree, with some writes.
+ *
+ * <p>Benchmark is not executed as part of the build, run it with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class PathLockBenchmark {
+  private static final long TIMEOUT = 60000;
+
+  @Param({"factory", "manager"})
+  public String implementation;
+
+  /** Number of files in the project tree. */
+  @Param({"1000"})
+  public int files;
+
+  /** Percentage of exclusive locks. */
+  @Param({"10"})
+  public int writes;
+
+  private Path[] paths;
+  private PathLockFactory lockFactory;
+  private PathLockManager lockManager;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    paths = new Path[files];
+    for (int i = 0; i < files; i++) {
+      paths[i] =
+          Path.of(String.format("/project/module%d/src/pkg%d/File%d.java", i % 8, i % 32, i));
+    }
+    lockFactory = new PathLockFactory(1024);
+    lockManager = new PathLockManager();
+  }
+
+  @Benchmark
+  public void lockAndRelease() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final Path path = paths[random.nextInt(paths.length)];
+    final boolean exclusive = random.nextInt(100) < writes;
+    if ("factory".equals(implementation)) {
+      lockFactory.getLock(path, exclusive).acquire(TIMEOUT).release();
+    } else {
+      lockManager.getLock(path, exclusive).acquire(TIMEOUT).release();
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(PathLockBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
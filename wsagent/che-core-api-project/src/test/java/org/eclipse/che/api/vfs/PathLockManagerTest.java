@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class PathLockManagerTest {
+  private final Path path = Path.of("/a/b/c"); // Path not need to be real path on file system
+
+  private PathLockManager lockManager;
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() {
+    lockManager = new PathLockManager(4);
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldAllowConcurrentSharedLocks() throws Exception {
+    PathLockManager.PathLock lock = lockManager.getLock(path, false).acquire(100);
+
+    Future<?> other =
+        executor.submit(() -> lockManager.getLock(path, false).acquire(100).release());
+    other.get(1, TimeUnit.SECONDS);
+
+    lock.release();
+    lockManager.checkClean();
+  }
+
+  @Test
+  public void shouldGiveExclusiveAccessToOneThreadOnly() throws Exception {
+    final AtomicInteger inside = new AtomicInteger();
+    final AtomicInteger maxInside = new AtomicInteger();
+    final CountDownLatch done = new CountDownLatch(5);
+    for (int i = 0; i < 5; i++) {
+      executor.submit(
+          () -> {
+            PathLockManager.PathLock lock = lockManager.getLock(path, true).acquire(5000);
+            try {
+              maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+              Thread.sleep(20);
+              inside.decrementAndGet();
+            } finally {
+              lock.release();
+              done.countDown();
+            }
+            return null;
+          });
+    }
+
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    assertEquals(maxInside.get(), 1);
+    lockManager.checkClean();
+  }
+
+  @Test
+  public void shouldFailWhenLockIsNotAvailableInTime() throws Exception {
+    PathLockManager.PathLock lock = lockManager.getLock(path, true).acquire(100);
+
+    Future<?> other = executor.submit(() -> lockManager.getLock(path, false).acquire(100));
+    try {
+      other.get(1, TimeUnit.SECONDS);
+      fail("Lock must not be acquired while other thread holds exclusive lock");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof RuntimeException);
+    }
+
+    lock.release();
+    lockManager.checkClean();
+  }
+
+  @Test
+  public void shouldNotLockDescendantWhileAncestorIsLockedExclusively() throws Exception {
+    PathLockManager.PathLock lock = lockManager.getLock(path.getParent(), true).acquire(100);
+
+    assertFalse(tryLockInOtherThread(path, false));
+    assertFalse(tryLockInOtherThread(path.getParent().getParent(), false));
+    assertTrue(tryLockInOtherThread(Path.of("/a/x"), true));
+
+    lock.release();
+    lockManager.checkClean();
+  }
+
+  @Test
+  public void shouldNotLockAncestorExclusivelyWhileDescendantIsLocked() throws Exception {
+    PathLockManager.PathLock lock = lockManager.getLock(path, false).acquire(100);
+
+    assertFalse(tryLockInOtherThread(Path.of("/a"), true));
+    assertTrue(tryLockInOtherThread(Path.of("/a"), false));
+    assertTrue(tryLockInOtherThread(Path.of("/a/b/d"), true));
+
+    lock.release();
+    lockManager.checkClean();
+  }
+
+  @Test
+  public void shouldBeReentrantForOwnerThread() {
+    PathLockManager.PathLock parentLock = lockManager.getLock(Path.of("/a"), true).acquire(100);
+    PathLockManager.PathLock childLock = lockManager.getLock(path, true).acquire(100);
+    PathLockManager.PathLock sameLock = lockManager.getLock(Path.of("/a"), false).acquire(100);
+
+    sameLock.release();
+    childLock.release();
+    parentLock.release();
+    lockManager.checkClean();
+  }
+
+  @Test(expectedExceptions = IllegalMonitorStateException.class)
+  public void shouldFailReleaseOfLockThatIsNotHeld() {
+    lockManager.getLock(path, true).release();
+  }
+
+  private boolean tryLockInOtherThread(Path path, boolean exclusive) throws Exception {
+    return executor
+        .submit(
+            () -> {
+              try {
+                lockManager.getLock(path, exclusive).acquire(50).release();
+                return true;
+              } catch (RuntimeException e) {
+                return false;
+              }
+            })
+        .get(1, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.impl.file;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.Sets;
+import java.io.File;
+import java.nio.file.Files;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class DirectoryListingCacheTest {
+  private static final long AN_HOUR_AGO = System.currentTimeMillis() - 3_600_000;
+
+  private File directory;
+  private DirectoryListingCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("listing").toFile();
+    assertTrue(new File(directory, "a").createNewFile());
+    assertTrue(new File(directory, "b").createNewFile());
+    directory.setLastModified(AN_HOUR_AGO);
+    cache = new DirectoryListingCache(16);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    IoUtil.deleteRecursive(directory);
+  }
+
+  @Test
+  public void shouldServeListingFromCacheWhileDirectoryIsNotModified() {
+    assertEquals(Sets.newHashSet(cache.list(directory)), Sets.newHashSet("a", "b"));
+    assertEquals(Sets.newHashSet(cache.list(directory)), Sets.newHashSet("a", "b"));
+
+    assertEquals(cache.getMissCount(), 1);
+    assertEquals(cache.getHitCount(), 1);
+  }
+
+  @Test
+  public void shouldListDirectoryAgainWhenModificationTimeChanged() throws Exception {
+    cache.list(directory);
+
+    assertTrue(new File(directory, "c").createNewFile());
+    directory.setLastModified(AN_HOUR_AGO + 1000);
+
+    assertEquals(Sets.newHashSet(cache.list(directory)), Sets.newHashSet("a", "b", "c"));
+    assertEquals(cache.getMissCount(), 2);
+  }
+
+  @Test
+  public void shouldNotTrustListingOfRecentlyModifiedDirectory() throws Exception {
+    directory.setLastModified(System.currentTimeMillis());
+    cache.list(directory);
+    cache.list(directory);
+
+    assertEquals(cache.getMissCount(), 2);
+    assertEquals(cache.getHitCount(), 0);
+  }
+
+  @Test
+  public void shouldDropListingOfParentOnFileWatcherEvent() throws Exception {
+    cache.list(directory);
+
+    assertTrue(new File(directory, "c").createNewFile());
+    directory.setLastModified(AN_HOUR_AGO);
+    cache.accept(new File(directory, "c").toPath());
+
+    assertEquals(Sets.newHashSet(cache.list(directory)), Sets.newHashSet("a", "b", "c"));
+    assertEquals(cache.getMissCount(), 2);
+  }
+
+  @Test
+  public void shouldReturnNullForNotDirectory() {
+    assertNull(cache.list(new File(directory, "a")));
+  }
+}
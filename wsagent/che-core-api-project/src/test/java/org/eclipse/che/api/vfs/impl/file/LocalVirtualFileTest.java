@@ -101,7 +101,7 @@ public class LocalVirtualFileTest {
 
   @After
   public void tearDown() throws Exception {
-    fileSystem.getPathLockFactory().checkClean();
+    fileSystem.getPathLockManager().checkClean();
     IoUtil.deleteRecursive(testDirectory);
     FileCleaner.stop();
   }
@@ -18,10 +18,12 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.base.Optional;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.eclipse.che.api.vfs.ArchiverFactory;
@@ -31,6 +33,7 @@ import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
+import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.testng.annotations.AfterMethod;
@@ -382,6 +385,183 @@ public class FSLuceneSearcherTest {
     assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
   }
 
+  @Test
+  public void retrievesNextPageFromTheSameSnapshotOfIndex() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    for (int i = 0; i < 125; i++) {
+      virtualFileSystem
+          .getRoot()
+          .createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+    }
+    searcher.init(virtualFileSystem);
+
+    SearchResult firstPage =
+        searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(8));
+    QueryExpression nextPageQueryExpression = firstPage.getNextPageQueryExpression().get();
+    assertNotNull(nextPageQueryExpression.getCursor());
+    nextPageQueryExpression.setMaxItems(100);
+
+    searcher.add(virtualFileSystem.getRoot().createFile("new", TEST_CONTENT[0]));
+    SearchResult lastPage = searcher.search(nextPageQueryExpression);
+
+    assertEquals(lastPage.getTotalHits(), 25);
+    assertEquals(lastPage.getFilePaths().size(), 17);
+    assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
+  }
+
+  @Test
+  public void skipsDocumentsWhenCursorIsNotValid() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    for (int i = 0; i < 125; i++) {
+      virtualFileSystem
+          .getRoot()
+          .createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+    }
+    searcher.init(virtualFileSystem);
+
+    SearchResult firstPage =
+        searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(8));
+    QueryExpression nextPageQueryExpression = firstPage.getNextPageQueryExpression().get();
+    nextPageQueryExpression.setMaxItems(100).setCursor("invalid");
+    SearchResult lastPage = searcher.search(nextPageQueryExpression);
+
+    assertEquals(lastPage.getFilePaths().size(), 17);
+    assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
+  }
+
+  @Test
+  public void passesFoundItemsToConsumer() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    folder.createFile("xxx.txt", TEST_CONTENT[2]);
+    folder.createFile("zzz.txt", TEST_CONTENT[1]);
+    searcher.init(virtualFileSystem);
+
+    List<SearchResultEntry> found = new ArrayList<>();
+    SearchResult result =
+        searcher.search(
+            new QueryExpression().setText("think").setIncludePositions(true), found::add);
+
+    assertEquals(result.getTotalHits(), 1);
+    assertTrue(result.getResults().isEmpty());
+    assertEquals(found.size(), 1);
+    assertEquals(found.get(0).getFilePath(), "/folder/zzz.txt");
+    assertEquals(found.get(0).getData().size(), 1);
+  }
+
+  @Test
+  public void indexesTreeOfFoldersInParallel() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    for (int i = 0; i < 10; i++) {
+      VirtualFile folder = virtualFileSystem.getRoot().createFolder("module" + i + "/src/main");
+      for (int j = 0; j < 10; j++) {
+        folder.createFile("file" + j, TEST_CONTENT[j % TEST_CONTENT.length]);
+      }
+    }
+    searcher.init(virtualFileSystem);
+
+    SearchResult result = searcher.search(new QueryExpression().setText("think"));
+    assertEquals(result.getTotalHits(), 40);
+    assertEquals(searcher.getIndexedFilesCount(), 100);
+  }
+
+  @Test
+  public void coalescesUpdatesOfTheSameFile() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile file =
+        virtualFileSystem.getRoot().createFolder("aaa").createFile("aaa.txt", TEST_CONTENT[2]);
+    searcher.init(virtualFileSystem);
+    long indexedFiles = searcher.getIndexedFilesCount();
+
+    file.updateContent(TEST_CONTENT[0]);
+    searcher.update(file);
+    file.updateContent(TEST_CONTENT[3]);
+    searcher.update(file);
+    file.updateContent(TEST_CONTENT[1]);
+    searcher.update(file);
+
+    List<String> paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+    assertEquals(newArrayList(file.getPath().toString()), paths);
+    assertEquals(searcher.getIndexedFilesCount(), indexedFiles + 1);
+    assertEquals(searcher.getCoalescedOperationsCount(), 2);
+  }
+
+  @Test
+  public void appliesQueuedOperationsInOrderOfArrival() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    VirtualFile file = folder.createFile("xxx.txt", TEST_CONTENT[1]);
+    searcher.init(virtualFileSystem);
+
+    searcher.delete("/folder", false);
+    searcher.add(file);
+
+    List<String> paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+    assertEquals(newArrayList("/folder/xxx.txt"), paths);
+  }
+
+  @Test
+  public void appliesQueuedOperationsInBackground() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    searcher.init(virtualFileSystem);
+    long committedBatches = searcher.getCommittedBatchesCount();
+
+    searcher.add(virtualFileSystem.getRoot().createFile("xxx.txt", TEST_CONTENT[1]));
+
+    long deadline = System.currentTimeMillis() + 5000;
+    while (searcher.getCommittedBatchesCount() == committedBatches
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+    }
+    assertEquals(searcher.getPendingOperationsCount(), 0);
+    assertEquals(searcher.getCommittedBatchesCount(), committedBatches + 1);
+  }
+
+  @Test
+  public void reusesIndexAfterRestart() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    folder.createFile("xxx.txt", TEST_CONTENT[2]);
+    folder.createFile("zzz.txt", TEST_CONTENT[1]);
+    searcher.init(virtualFileSystem);
+    searcher.close();
+
+    searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback);
+    searcher.init(virtualFileSystem);
+
+    List<String> paths = searcher.search(new QueryExpression().setText("think")).getFilePaths();
+    assertEquals(newArrayList("/folder/zzz.txt"), paths);
+    assertEquals(searcher.getIndexedFilesCount(), 0);
+  }
+
+  @Test
+  public void reindexesOnlyFilesChangedWhileSearcherWasClosed() throws Exception {
+    VirtualFileSystem virtualFileSystem = virtualFileSystem();
+    VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+    VirtualFile changed = folder.createFile("changed.txt", TEST_CONTENT[2]);
+    VirtualFile touched = folder.createFile("touched.txt", TEST_CONTENT[3]);
+    VirtualFile deleted = folder.createFile("deleted.txt", TEST_CONTENT[1]);
+    folder.createFile("same.txt", TEST_CONTENT[0]);
+    searcher.init(virtualFileSystem);
+    searcher.close();
+
+    Thread.sleep(10);
+    changed.updateContent(TEST_CONTENT[4]);
+    touched.updateContent(TEST_CONTENT[3]);
+    deleted.delete();
+    folder.createFile("created.txt", TEST_CONTENT[2]);
+    searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback);
+    searcher.init(virtualFileSystem);
+
+    List<String> paths = searcher.search(new QueryExpression().setText("think")).getFilePaths();
+    assertEquals(newArrayList("/folder/changed.txt"), paths);
+    paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+    assertEquals(newArrayList("/folder/created.txt"), paths);
+    paths = searcher.search(new QueryExpression().setText("mission")).getFilePaths();
+    assertEquals(newArrayList("/folder/touched.txt"), paths);
+    assertEquals(searcher.getIndexedFilesCount(), 2);
+  }
+
   private VirtualFileSystem virtualFileSystem() throws Exception {
     return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
   }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.watcher;
+
+import static org.eclipse.che.api.vfs.watcher.FileTreeIndex.NONE;
+import static org.eclipse.che.api.vfs.watcher.FileTreeIndex.ROOT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link FileTreeIndex} */
+public class FileTreeIndexTest {
+  private final Path root = Paths.get("/projects");
+
+  private FileTreeIndex index;
+
+  @Before
+  public void setUp() {
+    index = new FileTreeIndex();
+  }
+
+  @Test
+  public void shouldFindAddedItems() {
+    int project = index.add(ROOT, "project", true, 1L);
+    int file = index.add(project, "pom.xml", false, 2L);
+
+    assertEquals(project, index.find(Paths.get("project")));
+    assertEquals(file, index.find(Paths.get("project/pom.xml")));
+    assertEquals(NONE, index.find(Paths.get("project/src")));
+    assertTrue(index.isDirectory(project));
+    assertFalse(index.isDirectory(file));
+    assertEquals(2L, index.getModified(file));
+    assertEquals(root.resolve("project/pom.xml"), index.toPath(root, file));
+    assertEquals(3, index.size());
+  }
+
+  @Test
+  public void shouldRemoveItemWithAllDescendants() {
+    int project = index.add(ROOT, "project", true, 1L);
+    int src = index.add(project, "src", true, 1L);
+    index.add(src, "Main.java", false, 1L);
+    int pom = index.add(project, "pom.xml", false, 1L);
+
+    Set<Path> removed = new HashSet<>();
+    index.remove(src, id -> removed.add(index.toPath(root, id)));
+
+    assertEquals(2, removed.size());
+    assertTrue(removed.contains(root.resolve("project/src")));
+    assertTrue(removed.contains(root.resolve("project/src/Main.java")));
+    assertEquals(NONE, index.find(Paths.get("project/src/Main.java")));
+    assertEquals(NONE, index.find(Paths.get("project/src")));
+    assertEquals(pom, index.find(Paths.get("project/pom.xml")));
+    assertEquals(3, index.size());
+  }
+
+  @Test
+  public void shouldKeepItemsAccessibleWhenIndexGrows() {
+    int project = index.add(ROOT, "project", true, 1L);
+    for (int i = 0; i < 10_000; i++) {
+      index.add(project, "file" + i, false, i);
+    }
+    for (int i = 0; i < 10_000; i += 2) {
+      index.remove(index.child(project, "file" + i), id -> {});
+    }
+
+    for (int i = 0; i < 10_000; i++) {
+      int id = index.child(project, "file" + i);
+      if (i % 2 == 0) {
+        assertEquals(NONE, id);
+      } else {
+        assertEquals(i, index.getModified(id));
+      }
+    }
+    assertEquals(5_002, index.size());
+  }
+}
@@ -169,6 +169,55 @@ public class FileTreeWalkerTest {
     verify(directoryDeleteConsumerMock).accept(file.toPath());
   }
 
+  @Test
+  public void shouldRunFileCreatedConsumerOnWatcherEvent() throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    directoryCreateConsumers.add(directoryCreatedConsumerMock);
+    fileTreeWalker.walk();
+
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    File file = new File(folder, TEST_FILE_NAME);
+    file.createNewFile();
+
+    fileTreeWalker.accept(folder.toPath());
+    fileTreeWalker.processEvents();
+
+    verify(directoryCreatedConsumerMock).accept(folder.toPath());
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldRunFileDeleteConsumerOnWatcherEvent() throws Exception {
+    fileDeleteConsumers.add(fileDeleteConsumerMock);
+
+    File file = rootFolder.newFile(TEST_FILE_NAME);
+    fileTreeWalker.walk();
+
+    file.delete();
+    fileTreeWalker.accept(file.toPath());
+    fileTreeWalker.processEvents();
+
+    verify(fileDeleteConsumerMock).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldRunDeleteConsumersForAllEntriesOfDeletedDirectory() throws Exception {
+    fileDeleteConsumers.add(fileDeleteConsumerMock);
+    directoryDeleteConsumers.add(directoryDeleteConsumerMock);
+
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    File file = new File(folder, TEST_FILE_NAME);
+    file.createNewFile();
+    fileTreeWalker.walk();
+
+    file.delete();
+    folder.delete();
+    fileTreeWalker.walk();
+
+    verify(directoryDeleteConsumerMock).accept(folder.toPath());
+    verify(fileDeleteConsumerMock).accept(file.toPath());
+  }
+
   @Test
   public void shouldProperlySkipExcludedFile() throws Exception {
     fileExcludes.add(it -> it.getFileName().toString().equals(TEST_FILE_NAME));
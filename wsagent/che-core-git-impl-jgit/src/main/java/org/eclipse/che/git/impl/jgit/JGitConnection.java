@@ -16,6 +16,7 @@ import static java.lang.String.format;
 import static java.lang.System.lineSeparator;
 import static java.nio.file.attribute.PosixFilePermission.OWNER_READ;
 import static java.nio.file.attribute.PosixFilePermission.OWNER_WRITE;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -305,6 +306,7 @@ class JGitConnection implements GitConnection {
   private final EventService eventService;
   private final GitUserResolver userResolver;
   private final Repository repository;
+  private final JGitLogCache logCache;
 
   @Inject
   JGitConnection(
@@ -312,12 +314,14 @@ class JGitConnection implements GitConnection {
       CredentialsLoader credentialsLoader,
       SshKeyProvider sshKeyProvider,
       EventService eventService,
-      GitUserResolver userResolver) {
+      GitUserResolver userResolver,
+      JGitLogCache logCache) {
     this.repository = repository;
     this.credentialsLoader = credentialsLoader;
     this.sshKeyProvider = sshKeyProvider;
     this.eventService = eventService;
     this.userResolver = userResolver;
+    this.logCache = logCache;
   }
 
   @Override
@@ -962,41 +966,122 @@ class JGitConnection implements GitConnection {
     }
   }
 
-  /** @see org.eclipse.che.api.git.GitConnection#log(LogParams) */
+  /**
+   * Pages are continued from the walk which returned the previous page, see {@link JGitLogCache},
+   * so each page is walked only once when pages are requested one by one. The previous page is
+   * identified either by the number of commits to skip or, when {@link LogParams#getAfter()} is
+   * set, by the id of its last commit.
+   *
+   * @see org.eclipse.che.api.git.GitConnection#log(LogParams)
+   */
   @Override
   public LogPage log(LogParams params) throws GitException {
-    LogCommand logCommand = getGit().log();
+    List<String> paths = new ArrayList<>(params.getFileFilter());
+    String filePath = params.getFilePath();
+    if (!isNullOrEmpty(filePath)) {
+      paths.add(filePath);
+    }
+    String after = params.getAfter();
+    int skip = Math.max(params.getSkip(), 0);
+    int maxCount = params.getMaxCount();
+    RevWalk walk = null;
     try {
-      setRevisionRange(logCommand, params);
-      logCommand.setSkip(params.getSkip());
-      logCommand.setMaxCount(params.getMaxCount());
-      List<String> fileFilter = params.getFileFilter();
-      if (fileFilter != null) {
-        fileFilter.forEach(logCommand::addPath);
-      }
-      String filePath = params.getFilePath();
-      if (!isNullOrEmpty(filePath)) {
-        logCommand.addPath(filePath);
-      }
-      Iterator<RevCommit> revIterator = logCommand.call().iterator();
+      ObjectId start;
+      ObjectId uninteresting = null;
+      String revisionRangeSince = params.getRevisionRangeSince();
+      String revisionRangeUntil = params.getRevisionRangeUntil();
+      if (revisionRangeSince != null && revisionRangeUntil != null) {
+        start = repository.resolve(revisionRangeUntil);
+        uninteresting = repository.resolve(revisionRangeSince);
+        if (start == null) {
+          throw new GitException(format("Revision %s not found", revisionRangeUntil));
+        }
+      } else {
+        start = repository.resolve(HEAD);
+        if (start == null) {
+          throw new GitException(
+              ERROR_LOG_NO_HEAD_EXISTS, ErrorCodes.INIT_COMMIT_WAS_NOT_PERFORMED);
+        }
+      }
+      // resolved ids make walks of moved branches stale
+      List<Object> query = asList(start, uninteresting, paths);
+      walk = logCache.takeWalk(repository, query, isNullOrEmpty(after) ? "#" + skip : after);
+      if (walk == null) {
+        walk = newLogWalk(start, uninteresting, paths);
+        if (isNullOrEmpty(after)) {
+          for (int skipped = 0; skipped < skip && walk.next() != null; skipped++) {
+            // commits of the previous pages
+          }
+        } else {
+          RevCommit skipped;
+          do {
+            skipped = walk.next();
+          } while (skipped != null && !after.equals(skipped.getName()));
+        }
+      }
+
+      List<String> branches = getBranchesState();
       List<Revision> commits = new ArrayList<>();
-      while (revIterator.hasNext()) {
-        RevCommit commit = revIterator.next();
-        Revision revision = getRevision(commit, filePath);
-        commits.add(revision);
+      RevCommit commit = null;
+      while ((maxCount < 0 || commits.size() < maxCount) && (commit = walk.next()) != null) {
+        commits.add(getRevision(commit, filePath, branches));
+      }
+      if (commit != null) {
+        String position = isNullOrEmpty(after) ? "#" + (skip + commits.size()) : commit.getName();
+        logCache.putWalk(repository, query, position, walk);
+        walk = null;
       }
       return new LogPage(commits);
     } catch (GitAPIException | IOException exception) {
-      String errorMessage = exception.getMessage();
-      if (ERROR_LOG_NO_HEAD_EXISTS.equals(errorMessage)) {
-        throw new GitException(errorMessage, ErrorCodes.INIT_COMMIT_WAS_NOT_PERFORMED);
-      } else {
-        LOG.error("Failed to retrieve log. ", exception);
-        throw new GitException(exception);
+      LOG.error("Failed to retrieve log. ", exception);
+      throw new GitException(exception);
+    } finally {
+      if (walk != null) {
+        walk.close();
+      }
+    }
+  }
+
+  private RevWalk newLogWalk(ObjectId start, ObjectId uninteresting, List<String> paths)
+      throws IOException {
+    RevWalk walk = new RevWalk(repository);
+    try {
+      walk.markStart(walk.parseCommit(start));
+      if (uninteresting != null) {
+        walk.markUninteresting(walk.parseCommit(uninteresting));
+      }
+      if (!paths.isEmpty()) {
+        walk.setTreeFilter(
+            AndTreeFilter.create(PathFilterGroup.createFromStrings(paths), TreeFilter.ANY_DIFF));
       }
+      return walk;
+    } catch (IOException exception) {
+      walk.close();
+      throw exception;
     }
   }
 
+  /** Returns names and ids of local and remote branches, which define branches of commits. */
+  private List<String> getBranchesState() throws IOException {
+    List<String> state = new ArrayList<>();
+    for (String prefix : asList(R_HEADS, R_REMOTES)) {
+      for (Ref ref : repository.getRefDatabase().getRefs(prefix).values()) {
+        state.add(ref.getName() + ' ' + ObjectId.toString(ref.getObjectId()));
+      }
+    }
+    return state;
+  }
+
+  private Revision getRevision(RevCommit commit, String filePath, List<String> branches)
+      throws GitAPIException, IOException {
+    Revision revision = logCache.getRevision(repository, commit.getName(), filePath, branches);
+    if (revision == null) {
+      revision = getRevision(commit, filePath);
+      logCache.putRevision(repository, commit.getName(), filePath, branches, revision);
+    }
+    return revision;
+  }
+
   private Revision getRevision(RevCommit commit, String filePath)
       throws GitAPIException, IOException {
     List<String> commitParentsList =
@@ -1101,18 +1186,6 @@ class JGitConnection implements GitConnection {
     }
   }
 
-  private void setRevisionRange(LogCommand logCommand, LogParams params) throws IOException {
-    if (params != null && logCommand != null) {
-      String revisionRangeSince = params.getRevisionRangeSince();
-      String revisionRangeUntil = params.getRevisionRangeUntil();
-      if (revisionRangeSince != null && revisionRangeUntil != null) {
-        ObjectId since = repository.resolve(revisionRangeSince);
-        ObjectId until = repository.resolve(revisionRangeUntil);
-        logCommand.addRange(since, until);
-      }
-    }
-  }
-
   @Override
   public List<GitUser> getCommiters() throws GitException {
     List<GitUser> gitUsers = new ArrayList<>();
@@ -12,7 +12,6 @@
 package org.eclipse.che.git.impl.jgit;
 
 import java.io.File;
-import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import javax.inject.Inject;
@@ -27,7 +26,6 @@ import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.GitUserResolver;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
-import org.eclipse.jgit.internal.storage.file.FileRepository;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.UserAgent;
@@ -45,18 +43,24 @@ public class JGitConnectionFactory extends GitConnectionFactory {
   private final SshKeyProvider sshKeyProvider;
   private final EventService eventService;
   private final GitUserResolver userResolver;
+  private final JGitRepositoryRegistry repositoryRegistry;
+  private final JGitLogCache logCache;
 
   @Inject
   public JGitConnectionFactory(
       CredentialsLoader credentialsLoader,
       SshKeyProvider sshKeyProvider,
       EventService eventService,
-      GitUserResolver userResolver)
+      GitUserResolver userResolver,
+      JGitRepositoryRegistry repositoryRegistry,
+      JGitLogCache logCache)
       throws GitException {
     this.credentialsLoader = credentialsLoader;
     this.sshKeyProvider = sshKeyProvider;
     this.eventService = eventService;
     this.userResolver = userResolver;
+    this.repositoryRegistry = repositoryRegistry;
+    this.logCache = logCache;
 
     UserAgent.set(USER_AGENT);
     // Install the all-trusting trust manager
@@ -89,17 +93,14 @@ public class JGitConnectionFactory extends GitConnectionFactory {
       throws GitException {
     Repository gitRepo = createRepository(workDir);
     JGitConnection conn =
-        new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, eventService, userResolver);
+        new JGitConnection(
+            gitRepo, credentialsLoader, sshKeyProvider, eventService, userResolver, logCache);
     conn.setOutputLineConsumerFactory(outputPublisherFactory);
     return conn;
   }
 
-  private static Repository createRepository(File workDir) throws GitException {
-    try {
-      return new FileRepository(new File(workDir, Constants.DOT_GIT));
-    } catch (IOException e) {
-      throw new GitException(e.getMessage(), e);
-    }
+  private Repository createRepository(File workDir) throws GitException {
+    return repositoryRegistry.getRepository(new File(workDir, Constants.DOT_GIT));
   }
 
   @Override
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import java.util.List;
+import java.util.Objects;
+import javax.inject.Singleton;
+import org.eclipse.che.api.git.shared.Revision;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+/**
+ * Keeps state of log requests between pages, so history of large repositories is paged without
+ * walking it from the start commit again for every page.
+ *
+ * <p>Walks are cached by the log query and the position where the page ended, either the number of
+ * returned commits or the id of the last returned commit. The next page takes the walk out of the
+ * cache and continues it, so the same walk is never used concurrently. Walks are held for a few
+ * minutes and their number is bounded, as each of them keeps parsed commits it walked through.
+ *
+ * <p>Revisions are cached by the commit, the filtered path and the state of branches, as the
+ * branches which contain a commit are computed from refs. Cached revisions are shared and must not
+ * be modified.
+ */
+@Singleton
+public class JGitLogCache {
+  private static final int MAX_WALKS = 16;
+  private static final int MAX_REVISIONS = 5_000;
+  private static final long WALK_EXPIRATION_MINUTES = 5;
+
+  private final Cache<WalkKey, RevWalk> walks;
+  private final Cache<List<Object>, Revision> revisions;
+
+  public JGitLogCache() {
+    this.walks =
+        CacheBuilder.newBuilder()
+            .maximumSize(MAX_WALKS)
+            .expireAfterAccess(WALK_EXPIRATION_MINUTES, MINUTES)
+            .removalListener(
+                (RemovalListener<WalkKey, RevWalk>)
+                    notification -> {
+                      // taken walks are still in use
+                      if (notification.wasEvicted()) {
+                        notification.getValue().close();
+                      }
+                    })
+            .build();
+    this.revisions = CacheBuilder.newBuilder().maximumSize(MAX_REVISIONS).build();
+  }
+
+  /**
+   * Removes and returns the walk of the query which stopped at the given position, or null if there
+   * is no such walk.
+   *
+   * @param repository repository the walk belongs to
+   * @param query values which identify the log query, e.g. start commits and path filters
+   * @param position position where the previous page ended
+   */
+  public RevWalk takeWalk(Repository repository, List<Object> query, String position) {
+    return walks.asMap().remove(new WalkKey(repository, query, position));
+  }
+
+  /** Keeps the walk of the query which stopped at the given position for the next page. */
+  public void putWalk(Repository repository, List<Object> query, String position, RevWalk walk) {
+    final RevWalk replaced = walks.asMap().put(new WalkKey(repository, query, position), walk);
+    if (replaced != null && replaced != walk) {
+      replaced.close();
+    }
+  }
+
+  /** Returns the cached revision or null. */
+  public Revision getRevision(Repository repository, String commitId, Object filter, Object refs) {
+    return revisions.getIfPresent(revisionKey(repository, commitId, filter, refs));
+  }
+
+  /** Caches the revision of the commit. */
+  public void putRevision(
+      Repository repository, String commitId, Object filter, Object refs, Revision revision) {
+    revisions.put(revisionKey(repository, commitId, filter, refs), revision);
+  }
+
+  private static List<Object> revisionKey(
+      Repository repository, String commitId, Object filter, Object refs) {
+    return asList(repository.getDirectory(), commitId, filter, refs);
+  }
+
+  private static class WalkKey {
+    final Repository repository;
+    final List<Object> query;
+    final String position;
+
+    WalkKey(Repository repository, List<Object> query, String position) {
+      this.repository = repository;
+      this.query = query;
+      this.position = position;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof WalkKey)) {
+        return false;
+      }
+      final WalkKey that = (WalkKey) obj;
+      // walk reads objects through the repository instance it was created with
+      return repository == that.repository
+          && query.equals(that.query)
+          && position.equals(that.position);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(repository), query, position);
+    }
+  }
+}
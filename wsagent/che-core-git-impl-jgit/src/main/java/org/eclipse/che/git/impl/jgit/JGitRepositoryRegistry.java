@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.Arrays.asList;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+
+/**
+ * Keeps JGit repositories opened, so connections to the same repository share the {@link
+ * Repository} instance with its cached packs, refs and config instead of opening the repository on
+ * every call.
+ *
+ * <p>Each returned repository has its use count incremented, so {@link Repository#close()} called
+ * by a connection doesn't close the shared instance. The registry tracks identity of the git
+ * directory, the repository is opened again when the directory is removed or created anew, e.g.
+ * when a project is re-imported to the same location.
+ */
+@Singleton
+public class JGitRepositoryRegistry {
+  private final Map<File, Entry> repositories = new ConcurrentHashMap<>();
+
+  /**
+   * Returns repository of the given git directory, the caller closes it when it is no longer
+   * needed. Repository of not existing directory, e.g. before init or clone, isn't shared.
+   */
+  public Repository getRepository(File gitDir) throws GitException {
+    final File key = gitDir.toPath().toAbsolutePath().normalize().toFile();
+    final List<Object> identity = identity(key);
+    if (identity == null) {
+      final Entry removed = repositories.remove(key);
+      if (removed != null) {
+        removed.repository.close();
+      }
+      return open(key);
+    }
+    try {
+      return repositories
+          .compute(
+              key,
+              (dir, existing) -> {
+                Entry entry = existing;
+                if (entry == null || !entry.identity.equals(identity)) {
+                  if (entry != null) {
+                    entry.repository.close();
+                  }
+                  try {
+                    entry = new Entry(new FileRepository(dir), identity);
+                  } catch (IOException x) {
+                    throw new UncheckedIOException(x);
+                  }
+                }
+                entry.repository.incrementOpen();
+                return entry;
+              })
+          .repository;
+    } catch (UncheckedIOException x) {
+      throw new GitException(x.getCause().getMessage(), x.getCause());
+    }
+  }
+
+  /** Returns number of repositories kept opened. */
+  public int size() {
+    return repositories.size();
+  }
+
+  @PreDestroy
+  public void close() {
+    repositories.values().forEach(entry -> entry.repository.close());
+    repositories.clear();
+  }
+
+  private static Repository open(File gitDir) throws GitException {
+    try {
+      return new FileRepository(gitDir);
+    } catch (IOException e) {
+      throw new GitException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Returns values which change when git directory is created anew, or null when the directory
+   * doesn't exist or can't be read.
+   */
+  private static List<Object> identity(File gitDir) {
+    try {
+      final BasicFileAttributes attributes =
+          Files.readAttributes(gitDir.toPath(), BasicFileAttributes.class);
+      if (!attributes.isDirectory()) {
+        return null;
+      }
+      // modification time of git directory itself changes on every lock file, so config is used
+      return asList(attributes.fileKey(), new File(gitDir, Constants.CONFIG).lastModified());
+    } catch (IOException x) {
+      return null;
+    }
+  }
+
+  private static class Entry {
+    final Repository repository;
+    final List<Object> identity;
+
+    Entry(Repository repository, List<Object> identity) {
+      this.repository = repository;
+      this.identity = identity;
+    }
+  }
+}
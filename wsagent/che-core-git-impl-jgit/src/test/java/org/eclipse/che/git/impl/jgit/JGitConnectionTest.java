@@ -81,7 +81,12 @@ public class JGitConnectionTest {
     jGitConnection =
         spy(
             new JGitConnection(
-                repository, credentialsLoader, sshKeyProvider, eventService, userResolver));
+                repository,
+                credentialsLoader,
+                sshKeyProvider,
+                eventService,
+                userResolver,
+                new JGitLogCache()));
 
     RepositoryState repositoryState = mock(RepositoryState.class);
     GitUser gitUser = mock(GitUser.class);
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import com.google.common.io.Files;
+import java.io.File;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link JGitRepositoryRegistry}. */
+public class JGitRepositoryRegistryTest {
+  private File workDir;
+  private File gitDir;
+  private JGitRepositoryRegistry registry;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    workDir = Files.createTempDir();
+    gitDir = new File(workDir, Constants.DOT_GIT);
+    initRepository();
+    registry = new JGitRepositoryRegistry();
+  }
+
+  @AfterMethod
+  public void cleanUp() {
+    registry.close();
+    IoUtil.deleteRecursive(workDir);
+  }
+
+  @Test
+  public void shouldShareRepositoryOfTheSameGitDirectory() throws Exception {
+    Repository first = registry.getRepository(gitDir);
+    Repository second = registry.getRepository(new File(workDir, "./" + Constants.DOT_GIT));
+
+    assertSame(second, first);
+    assertEquals(registry.size(), 1);
+  }
+
+  @Test
+  public void shouldKeepSharedRepositoryWhenConnectionClosesIt() throws Exception {
+    Repository first = registry.getRepository(gitDir);
+    first.close();
+
+    Repository second = registry.getRepository(gitDir);
+
+    assertSame(second, first);
+    // refs are still readable, the repository is not closed
+    assertEquals(second.getFullBranch(), Constants.R_HEADS + Constants.MASTER);
+  }
+
+  @Test
+  public void shouldReopenRepositoryWhenGitDirectoryIsRecreated() throws Exception {
+    Repository first = registry.getRepository(gitDir);
+    first.close();
+
+    IoUtil.deleteRecursive(gitDir);
+    initRepository();
+    // file system may reuse inode of the removed directory and have coarse modification time
+    new File(gitDir, Constants.CONFIG).setLastModified(System.currentTimeMillis() - 60_000);
+    Repository second = registry.getRepository(gitDir);
+
+    assertNotSame(second, first);
+    assertEquals(registry.size(), 1);
+  }
+
+  @Test
+  public void shouldNotShareRepositoryOfNotExistingGitDirectory() throws Exception {
+    registry.getRepository(gitDir);
+    IoUtil.deleteRecursive(gitDir);
+
+    Repository repository = registry.getRepository(gitDir);
+    repository.close();
+
+    assertEquals(registry.size(), 0);
+  }
+
+  @Test
+  public void shouldCloseRepositoriesWhenClosed() throws Exception {
+    registry.getRepository(gitDir);
+
+    registry.close();
+
+    assertEquals(registry.size(), 0);
+  }
+
+  private void initRepository() throws Exception {
+    try (Repository repository = new FileRepository(gitDir)) {
+      repository.create();
+    }
+  }
+}
@@ -61,4 +61,11 @@ public interface MachineStatusEvent {
   String getMachineName();
 
   MachineStatusEvent withMachineName(String machineName);
+
+  /** Returns time in milliseconds the machine took to start, set on {@link EventType#RUNNING}. */
+  Long getStartDurationMs();
+
+  void setStartDurationMs(Long startDurationMs);
+
+  MachineStatusEvent withStartDurationMs(Long startDurationMs);
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.machine.shared.dto.CommandDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures serialization and deserialization of workspace DTO with the streaming adapters generated
+ * for DTO implementations and with Gson's reflective adapters. Each value of {@link #adapters} is
+ * measured in its own JVM fork, so the {@code che.dto.reflective_json} system property is set
+ * before {@link DtoFactory} is initialized.
+ *
+ * <p>Benchmark is not executed as part of the build, run it with {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class WorkspaceDtoJsonBenchmark {
+
+  @Param({"generated", "reflective"})
+  public String adapters;
+
+  @Param({"5", "50"})
+  public int projects;
+
+  private WorkspaceDto workspace;
+  private String json;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    System.setProperty("che.dto.reflective_json", Boolean.toString("reflective".equals(adapters)));
+    workspace = createWorkspace(projects);
+    json = DtoFactory.getInstance().toJson(workspace);
+  }
+
+  @Benchmark
+  public String serialize() {
+    return DtoFactory.getInstance().toJson(workspace);
+  }
+
+  @Benchmark
+  public WorkspaceDto deserialize() {
+    return DtoFactory.getInstance().createDtoFromJson(json, WorkspaceDto.class);
+  }
+
+  private static WorkspaceDto createWorkspace(int projectsCount) {
+    final List<ProjectConfigDto> projects = new ArrayList<>(projectsCount);
+    for (int i = 0; i < projectsCount; i++) {
+      final Map<String, List<String>> attributes = new HashMap<>();
+      attributes.put("language", singletonList("java"));
+      attributes.put("maven.artifactId", singletonList("project-" + i));
+      attributes.put("maven.source.folder", asList("src/main/java", "src/main/resources"));
+      projects.add(
+          newDto(ProjectConfigDto.class)
+              .withName("project-" + i)
+              .withPath("/project-" + i)
+              .withType("maven")
+              .withMixins(asList("git", "pullrequest"))
+              .withAttributes(attributes)
+              .withSource(
+                  newDto(SourceStorageDto.class)
+                      .withType("git")
+                      .withLocation("https://github.com/eclipse/che-" + i + ".git")
+                      .withParameters(singletonMap("branch", "master")))
+              .withLinks(singletonList(link("/project/project-" + i, "get project"))));
+    }
+    final ExtendedMachineDto machine =
+        newDto(ExtendedMachineDto.class)
+            .withAgents(asList("org.eclipse.che.terminal", "org.eclipse.che.ws-agent"))
+            .withAttributes(singletonMap("memoryLimitBytes", "2147483648"))
+            .withServers(
+                singletonMap(
+                    "tomcat8",
+                    newDto(ServerConf2Dto.class)
+                        .withPort("8080/tcp")
+                        .withProtocol("http")
+                        .withProperties(singletonMap("path", "/"))));
+    final EnvironmentDto environment =
+        newDto(EnvironmentDto.class)
+            .withRecipe(
+                newDto(EnvironmentRecipeDto.class)
+                    .withType("dockerimage")
+                    .withLocation("eclipse/ubuntu_jdk8"))
+            .withMachines(singletonMap("dev-machine", machine));
+    return newDto(WorkspaceDto.class)
+        .withId("workspace0123456789")
+        .withNamespace("user")
+        .withStatus(WorkspaceStatus.RUNNING)
+        .withAttributes(singletonMap("created", "1500000000000"))
+        .withConfig(
+            newDto(WorkspaceConfigDto.class)
+                .withName("workspace")
+                .withDefaultEnv("default")
+                .withEnvironments(singletonMap("default", environment))
+                .withProjects(projects)
+                .withCommands(
+                    singletonList(
+                        newDto(CommandDto.class)
+                            .withName("build")
+                            .withType("mvn")
+                            .withCommandLine("mvn clean install -f ${current.project.path}")
+                            .withAttributes(singletonMap("goal", "Build")))))
+        .withLinks(
+            asList(
+                link("/workspace/workspace0123456789", "self link"),
+                link("/workspace/workspace0123456789/runtime", "start workspace")));
+  }
+
+  private static Link link(String href, String rel) {
+    return newDto(Link.class)
+        .withHref("http://localhost:8080/api" + href)
+        .withRel(rel)
+        .withMethod("GET")
+        .withProduces("application/json");
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(WorkspaceDtoJsonBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
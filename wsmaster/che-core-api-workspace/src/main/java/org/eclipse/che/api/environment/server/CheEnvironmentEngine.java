@@ -20,16 +20,19 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -90,6 +93,8 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
+import org.eclipse.che.commons.lang.concurrent.ConcurrentTasks;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.slf4j.Logger;
@@ -122,6 +127,8 @@ public class CheEnvironmentEngine {
   private final ContainerNameGenerator containerNameGenerator;
   private final AgentRegistry agentRegistry;
   private final WorkspaceSharedPool sharedPool;
+  private final int startParallelism;
+  private final ExecutorService startExecutor;
 
   private volatile boolean isPreDestroyInvoked;
 
@@ -140,7 +147,8 @@ public class CheEnvironmentEngine {
       RecipeDownloader recipeDownloader,
       ContainerNameGenerator containerNameGenerator,
       AgentRegistry agentRegistry,
-      WorkspaceSharedPool sharedPool) {
+      WorkspaceSharedPool sharedPool,
+      @Named("che.workspace.machine_start.parallelism") int startParallelism) {
     this.snapshotDao = snapshotDao;
     this.eventService = eventService;
     this.environmentParser = environmentParser;
@@ -162,6 +170,14 @@ public class CheEnvironmentEngine {
                 + apiEndpoint.substring(apiEndpoint.indexOf(":"))
                 + "/recipe/.*$)|(^/recipe/.*$)");
     this.containerNameGenerator = containerNameGenerator;
+    this.startParallelism = startParallelism;
+    this.startExecutor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setNameFormat("CheEnvironmentEngine-MachineStart-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
   }
 
   /**
@@ -549,13 +565,13 @@ public class CheEnvironmentEngine {
 
     normalize(ownerName, workspaceId, internalEnv);
 
-    List<String> servicesOrder = startStrategy.order(internalEnv);
+    List<List<String>> startWaves = startStrategy.orderInWaves(internalEnv);
 
     normalizeNames(internalEnv);
 
     EnvironmentHolder environmentHolder =
         new EnvironmentHolder(
-            servicesOrder,
+            startWaves,
             internalEnv,
             envConfig,
             messageConsumer,
@@ -700,7 +716,14 @@ public class CheEnvironmentEngine {
             workspaceId, service.getId(), ownerName, machineName));
   }
 
-  /** Starts all machine from machine queue of environment. */
+  /**
+   * Starts all machines from machine queue of environment.
+   *
+   * <p>Machines are started in waves, machines of a wave depend only on machines of the previous
+   * waves, so machines of the same wave are started concurrently by up to {@code
+   * che.workspace.machine_start.parallelism} threads. Environment start fails when start of any
+   * machine fails.
+   */
   private void startEnvironmentQueue(
       String ownerName,
       String workspaceId,
@@ -709,10 +732,8 @@ public class CheEnvironmentEngine {
       boolean recover,
       MachineStartedHandler startedHandler)
       throws ServerException, AgentException, EnvironmentException {
-    // Starting all machines in environment one by one by getting configs
-    // from the corresponding starting queue.
-    // Config will be null only if there are no machines left in the queue
     String envName;
+    List<List<String>> startWaves;
     MessageConsumer<MachineLogMessage> envLogger;
     String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
     try (@SuppressWarnings("unused")
@@ -723,137 +744,32 @@ public class CheEnvironmentEngine {
       }
       envName = environmentHolder.name;
       envLogger = environmentHolder.logger;
+      startWaves = environmentHolder.startWaves;
     }
 
     try {
       machineProvider.createNetwork(networkId);
 
-      String machineName = queuePeekOrFail(workspaceId);
-      while (machineName != null) {
-        boolean isDev = devMachineName.equals(machineName);
-        // Environment start is failed when any machine start is failed, so if any error
-        // occurs during machine creation then environment start fail is reported and
-        // start resources such as queue and descriptor must be cleaned up
-
-        CheServiceImpl service;
-        @Nullable ExtendedMachine extendedMachine;
-        try (@SuppressWarnings("unused")
-            Unlocker u = stripedLocks.readLock(workspaceId)) {
-          EnvironmentHolder environmentHolder = environments.get(workspaceId);
-          if (environmentHolder == null) {
-            throw new EnvironmentStartInterruptedException(workspaceId, envName);
-          }
-          service = environmentHolder.environment.getServices().get(machineName);
-          extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
-        }
-        // should not happen
-        if (service == null) {
-          LOG.error(
-              "Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-              machineName,
-              workspaceId);
-          throw new ServerException(
-              format(
-                  "Environment of workspace with ID '%s' failed due to internal error",
-                  workspaceId));
-        }
-
-        final String finalMachineName = machineName;
-        // needed to reuse startInstance method and
-        // create machine instances by different implementation-specific providers
-        MachineStarter machineStarter =
-            (machineLogger, machineSource) -> {
-              CheServiceImpl serviceWithNormalizedSource =
-                  normalizeServiceSource(service, machineSource);
-              return machineProvider.startService(
-                  ownerName,
-                  workspaceId,
-                  envName,
-                  finalMachineName,
-                  isDev,
-                  networkId,
-                  serviceWithNormalizedSource,
-                  machineLogger);
-            };
-
-        MachineImpl machine =
-            MachineImpl.builder()
-                .setConfig(
-                    MachineConfigImpl.builder()
-                        .setDev(isDev)
-                        .setLimits(new MachineLimitsImpl(bytesToMB(service.getMemLimit())))
-                        .setType("docker")
-                        .setName(machineName)
-                        .setEnvVariables(service.getEnvironment())
-                        .build())
-                .setId(service.getId())
-                .setWorkspaceId(workspaceId)
-                .setStatus(MachineStatus.CREATING)
-                .setEnvName(envName)
-                .setOwner(creator)
-                .build();
-
-        checkInterruption(workspaceId, envName);
-        Instance instance = startInstance(recover, envLogger, machine, machineStarter);
-        checkInterruption(workspaceId, envName);
-
-        startedHandler.started(instance, extendedMachine);
-        checkInterruption(workspaceId, envName);
-
-        // Machine destroying is an expensive operation which must be
-        // performed outside of the lock, this section checks if
-        // the environment wasn't stopped while it is starting and sets
-        // polled flag to true if the environment wasn't stopped.
-        // Also polls the proceeded machine configuration from the queue
-        boolean queuePolled = false;
-        try (@SuppressWarnings("unused")
-            Unlocker u = stripedLocks.writeLock(workspaceId)) {
-          ensurePreDestroyIsNotExecuted();
-          EnvironmentHolder environmentHolder = environments.get(workspaceId);
-          if (environmentHolder != null) {
-            final Queue<String> queue = environmentHolder.startQueue;
-            if (queue != null) {
-              queue.poll();
-              queuePolled = true;
-            }
-          }
-        }
-
-        // If machine config is not polled from the queue
-        // then environment was stopped and newly created machine
-        // must be destroyed
-        if (!queuePolled) {
-          try {
-            eventService.publish(
-                newDto(MachineStatusEvent.class)
-                    .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                    .withDev(isDev)
-                    .withMachineName(machineName)
-                    .withMachineId(instance.getId())
-                    .withWorkspaceId(workspaceId));
-
-            instance.destroy();
-
-            removeMachine(workspaceId, instance.getId());
-
-            eventService.publish(
-                newDto(MachineStatusEvent.class)
-                    .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                    .withDev(isDev)
-                    .withMachineName(machineName)
-                    .withMachineId(instance.getId())
-                    .withWorkspaceId(workspaceId));
-          } catch (MachineException e) {
-            LOG.error(e.getLocalizedMessage(), e);
-          }
-          throw new ServerException(
-              "Workspace '"
-                  + workspaceId
-                  + "' start interrupted. Workspace stopped before all its machines started");
-        }
-
-        machineName = queuePeekOrFail(workspaceId);
+      for (List<String> wave : startWaves) {
+        startWave(
+            workspaceId,
+            envName,
+            wave,
+            machineName ->
+                startQueuedMachine(
+                    ownerName,
+                    creator,
+                    workspaceId,
+                    envName,
+                    machineName,
+                    devMachineName.equals(machineName),
+                    networkId,
+                    recover,
+                    envLogger,
+                    startedHandler));
       }
+      // fails if environment is stopped while the last wave is starting
+      queuePeekOrFail(workspaceId);
     } catch (Exception e) {
       boolean interrupted = Thread.interrupted();
       EnvironmentHolder env;
@@ -881,6 +797,164 @@ public class CheEnvironmentEngine {
     }
   }
 
+  /**
+   * Starts machines of the wave, concurrently if there are several of them. When start of a machine
+   * fails or the current thread is interrupted, starts of other machines of the wave are
+   * interrupted and the method returns after all of them finish.
+   */
+  private void startWave(
+      String workspaceId, String envName, List<String> wave, QueuedMachineStarter starter)
+      throws Exception {
+    try {
+      ConcurrentTasks.runAll(
+          startExecutor,
+          startParallelism,
+          wave,
+          machineName -> {
+            queuePeekOrFail(workspaceId);
+            starter.start(machineName);
+          });
+    } catch (InterruptedException e) {
+      // machines which were being started are destroyed on rollback
+      Thread.currentThread().interrupt();
+      throw new EnvironmentStartInterruptedException(workspaceId, envName);
+    }
+  }
+
+  /** Starts queued machine and removes it from the start queue of environment. */
+  private Instance startQueuedMachine(
+      String ownerName,
+      String creator,
+      String workspaceId,
+      String envName,
+      String machineName,
+      boolean isDev,
+      String networkId,
+      boolean recover,
+      MessageConsumer<MachineLogMessage> envLogger,
+      MachineStartedHandler startedHandler)
+      throws ServerException, AgentException, EnvironmentException {
+    // Environment start is failed when any machine start is failed, so if any error
+    // occurs during machine creation then environment start fail is reported and
+    // start resources such as queue and descriptor must be cleaned up
+
+    CheServiceImpl service;
+    @Nullable ExtendedMachine extendedMachine;
+    try (@SuppressWarnings("unused")
+        Unlocker u = stripedLocks.readLock(workspaceId)) {
+      EnvironmentHolder environmentHolder = environments.get(workspaceId);
+      if (environmentHolder == null) {
+        throw new EnvironmentStartInterruptedException(workspaceId, envName);
+      }
+      service = environmentHolder.environment.getServices().get(machineName);
+      extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
+    }
+    // should not happen
+    if (service == null) {
+      LOG.error(
+          "Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+          machineName,
+          workspaceId);
+      throw new ServerException(
+          format(
+              "Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+    }
+
+    // needed to reuse startInstance method and
+    // create machine instances by different implementation-specific providers
+    MachineStarter machineStarter =
+        (machineLogger, machineSource) -> {
+          CheServiceImpl serviceWithNormalizedSource =
+              normalizeServiceSource(service, machineSource);
+          return machineProvider.startService(
+              ownerName,
+              workspaceId,
+              envName,
+              machineName,
+              isDev,
+              networkId,
+              serviceWithNormalizedSource,
+              machineLogger);
+        };
+
+    MachineImpl machine =
+        MachineImpl.builder()
+            .setConfig(
+                MachineConfigImpl.builder()
+                    .setDev(isDev)
+                    .setLimits(new MachineLimitsImpl(bytesToMB(service.getMemLimit())))
+                    .setType("docker")
+                    .setName(machineName)
+                    .setEnvVariables(service.getEnvironment())
+                    .build())
+            .setId(service.getId())
+            .setWorkspaceId(workspaceId)
+            .setStatus(MachineStatus.CREATING)
+            .setEnvName(envName)
+            .setOwner(creator)
+            .build();
+
+    checkInterruption(workspaceId, envName);
+    Instance instance = startInstance(recover, envLogger, machine, machineStarter);
+    checkInterruption(workspaceId, envName);
+
+    startedHandler.started(instance, extendedMachine);
+    checkInterruption(workspaceId, envName);
+
+    // Machine destroying is an expensive operation which must be
+    // performed outside of the lock, this section checks if
+    // the environment wasn't stopped while it is starting and sets
+    // polled flag to true if the environment wasn't stopped.
+    // Also removes the proceeded machine configuration from the queue
+    boolean queuePolled = false;
+    try (@SuppressWarnings("unused")
+        Unlocker u = stripedLocks.writeLock(workspaceId)) {
+      ensurePreDestroyIsNotExecuted();
+      EnvironmentHolder environmentHolder = environments.get(workspaceId);
+      if (environmentHolder != null) {
+        final Queue<String> queue = environmentHolder.startQueue;
+        if (queue != null) {
+          queue.remove(machineName);
+          queuePolled = true;
+        }
+      }
+    }
+
+    // If machine config is not polled from the queue
+    // then environment was stopped and newly created machine
+    // must be destroyed
+    if (!queuePolled) {
+      try {
+        eventService.publish(
+            newDto(MachineStatusEvent.class)
+                .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                .withDev(isDev)
+                .withMachineName(machineName)
+                .withMachineId(instance.getId())
+                .withWorkspaceId(workspaceId));
+
+        instance.destroy();
+
+        removeMachine(workspaceId, instance.getId());
+
+        eventService.publish(
+            newDto(MachineStatusEvent.class)
+                .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                .withDev(isDev)
+                .withMachineName(machineName)
+                .withMachineId(instance.getId())
+                .withWorkspaceId(workspaceId));
+      } catch (MachineException e) {
+        LOG.error(e.getLocalizedMessage(), e);
+      }
+      throw new ServerException(
+          "Workspace '"
+              + workspaceId
+              + "' start interrupted. Workspace stopped before all its machines started");
+    }
+    return instance;
+  }
+
   private void checkInterruption(String workspaceId, String envName)
       throws EnvironmentStartInterruptedException {
     if (Thread.interrupted()) {
@@ -897,6 +971,7 @@ public class CheEnvironmentEngine {
 
     LineConsumer machineLogger = null;
     Instance instance = null;
+    long startTime = System.currentTimeMillis();
     try {
       addMachine(machine);
 
@@ -956,13 +1031,20 @@ public class CheEnvironmentEngine {
 
       replaceMachine(instance);
 
+      long startDuration = System.currentTimeMillis() - startTime;
+      LOG.debug(
+          "Machine '{}' of workspace '{}' is started in {} ms",
+          machine.getConfig().getName(),
+          machine.getWorkspaceId(),
+          startDuration);
       eventService.publish(
           newDto(MachineStatusEvent.class)
               .withEventType(MachineStatusEvent.EventType.RUNNING)
               .withDev(machine.getConfig().isDev())
               .withMachineName(machine.getConfig().getName())
               .withMachineId(instance.getId())
-              .withWorkspaceId(machine.getWorkspaceId()));
+              .withWorkspaceId(machine.getWorkspaceId())
+              .withStartDurationMs(startDuration));
 
       return instance;
     } catch (ApiException | RuntimeException e) {
@@ -1011,6 +1093,11 @@ public class CheEnvironmentEngine {
         throws ServerException, NotFoundException, EnvironmentException;
   }
 
+  private interface QueuedMachineStarter {
+    Instance start(String machineName)
+        throws ServerException, AgentException, EnvironmentException;
+  }
+
   private CheServiceImpl normalizeServiceSource(CheServiceImpl service, MachineSource machineSource)
       throws ServerException {
     CheServiceImpl serviceWithNormalizedSource = service;
@@ -1201,6 +1288,7 @@ public class CheEnvironmentEngine {
   @SuppressWarnings("unused")
   void cleanup() {
     isPreDestroyInvoked = true;
+    startExecutor.shutdownNow();
     final java.io.File[] files = machineLogsDir.listFiles();
     if (files != null && files.length > 0) {
       for (java.io.File f : files) {
@@ -1314,6 +1402,7 @@ public class CheEnvironmentEngine {
   }
 
   private static class EnvironmentHolder {
+    final List<List<String>> startWaves;
     final Queue<String> startQueue;
     final CheServicesEnvironmentImpl environment;
     final MessageConsumer<MachineLogMessage> logger;
@@ -1325,14 +1414,16 @@ public class CheEnvironmentEngine {
     EnvStatus status;
 
     EnvironmentHolder(
-        List<String> startQueue,
+        List<List<String>> startWaves,
         CheServicesEnvironmentImpl environment,
         Environment environmentConfig,
         MessageConsumer<MachineLogMessage> envLogger,
         EnvStatus envStatus,
         String name,
         String networkId) {
-      this.startQueue = new ArrayDeque<>(startQueue);
+      this.startWaves = startWaves;
+      this.startQueue = new ConcurrentLinkedQueue<>();
+      startWaves.forEach(startQueue::addAll);
       this.machines = new CopyOnWriteArrayList<>();
       this.logger = envLogger;
       this.status = envStatus;
@@ -14,6 +14,7 @@ import static java.lang.String.format;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.Sets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -44,6 +45,29 @@ public class DefaultServicesStartStrategy {
     return sortByWeight(weights);
   }
 
+  /**
+   * Resolves waves of machines in an environment which can be started concurrently. Machines of a
+   * wave depend only on machines of the previous waves.
+   *
+   * @throws IllegalArgumentException if order of machines can not be calculated
+   */
+  public List<List<String>> orderInWaves(CheServicesEnvironmentImpl composeEnvironment)
+      throws IllegalArgumentException {
+
+    Map<String, Integer> weights = weightMachines(composeEnvironment.getServices());
+
+    // weight of machine is the length of the longest path to machine without dependencies
+    List<List<String>> waves = new ArrayList<>();
+    for (String machine : sortByWeight(weights)) {
+      int weight = weights.get(machine);
+      while (waves.size() <= weight) {
+        waves.add(new ArrayList<>());
+      }
+      waves.get(weight).add(machine);
+    }
+    return waves;
+  }
+
   /**
    * Returns mapping of names of machines to its weights in dependency graph.
    *
@@ -17,6 +17,7 @@ import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_CREATE_SNAPSHOT;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_RESTORE_FROM_SNAPSHOT;
@@ -249,6 +250,31 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets page of workspaces which user can read, workspaces are ordered by their identifiers.
+   *
+   * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status or status defined by
+   * their runtime instances(if those exist).
+   *
+   * @param user the id of the user
+   * @param includeRuntimes if <code>true</code>, will fetch runtime info for workspaces. If <code>
+   *     false</code>, will not fetch runtime info.
+   * @param afterId the id of the last workspace of the previous page or null to get the first page
+   * @param maxItems the maximum number of workspaces to return
+   * @return the list of workspaces or empty list if there are no more workspaces user can read
+   * @throws NullPointerException when {@code user} is null
+   * @throws ServerException when any server error occurs while getting workspaces with {@link
+   *     WorkspaceDao#getWorkspaces(String, String, int)}
+   */
+  public List<WorkspaceImpl> getWorkspaces(
+      String user, boolean includeRuntimes, @Nullable String afterId, int maxItems)
+      throws ServerException {
+    requireNonNull(user, "Required non-null user id");
+    final List<WorkspaceImpl> workspaces = workspaceDao.getWorkspaces(user, afterId, maxItems);
+    injectRuntimeAndAttributes(workspaces, !includeRuntimes);
+    return workspaces;
+  }
+
   /**
    * Gets list of workspaces which has given namespace. Runtimes are included
    *
@@ -286,6 +312,32 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets page of workspaces which has given namespace, workspaces are ordered by their identifiers.
+   *
+   * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status or status defined by
+   * their runtime instances(if those exist).
+   *
+   * @param namespace the namespace to find workspaces
+   * @param includeRuntimes if <code>true</code>, will fetch runtime info for workspaces. If <code>
+   *     false</code>, will not fetch runtime info.
+   * @param afterId the id of the last workspace of the previous page or null to get the first page
+   * @param maxItems the maximum number of workspaces to return
+   * @return the list of workspaces or empty list if there are no more workspaces in namespace
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws ServerException when any server error occurs while getting workspaces with {@link
+   *     WorkspaceDao#getByNamespace(String, String, int)}
+   */
+  public List<WorkspaceImpl> getByNamespace(
+      String namespace, boolean includeRuntimes, @Nullable String afterId, int maxItems)
+      throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    final List<WorkspaceImpl> workspaces =
+        workspaceDao.getByNamespace(namespace, afterId, maxItems);
+    injectRuntimeAndAttributes(workspaces, !includeRuntimes);
+    return workspaces;
+  }
+
   /**
    * Updates an existing workspace with a new configuration.
    *
@@ -845,8 +897,10 @@ public class WorkspaceManager {
   private void injectRuntimeAndAttributes(List<WorkspaceImpl> workspaces, boolean statusOnly)
       throws SnapshotException {
     if (statusOnly) {
+      final Map<String, WorkspaceStatus> statuses =
+          runtimes.getStatuses(workspaces.stream().map(WorkspaceImpl::getId).collect(toList()));
       for (WorkspaceImpl workspace : workspaces) {
-        workspace.setStatus(runtimes.getStatus(workspace.getId()));
+        workspace.setStatus(statuses.getOrDefault(workspace.getId(), WorkspaceStatus.STOPPED));
         addExtraAttributes(workspace);
       }
     } else {
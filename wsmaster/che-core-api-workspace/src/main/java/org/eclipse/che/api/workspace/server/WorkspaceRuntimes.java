@@ -25,6 +25,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +43,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
@@ -77,6 +79,8 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.concurrent.ConcurrentTasks;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.dto.server.DtoFactory;
@@ -113,6 +117,8 @@ public class WorkspaceRuntimes {
   private final AgentRegistry agentRegistry;
   private final SnapshotDao snapshotDao;
   private final WorkspaceSharedPool sharedPool;
+  private final int agentLaunchParallelism;
+  private final ExecutorService agentLaunchExecutor;
 
   private final AtomicBoolean isShutdown = new AtomicBoolean(false);
   private final AtomicBoolean isStartRefused = new AtomicBoolean(false);
@@ -126,7 +132,8 @@ public class WorkspaceRuntimes {
       AgentLauncherFactory launcherFactory,
       AgentRegistry agentRegistry,
       SnapshotDao snapshotDao,
-      WorkspaceSharedPool sharedPool) {
+      WorkspaceSharedPool sharedPool,
+      @Named("che.agent.launch.parallelism") int agentLaunchParallelism) {
     this(
         eventsService,
         envEngine,
@@ -135,6 +142,7 @@ public class WorkspaceRuntimes {
         agentRegistry,
         snapshotDao,
         sharedPool,
+        agentLaunchParallelism,
         new ConcurrentHashMap<>());
   }
 
@@ -146,6 +154,7 @@ public class WorkspaceRuntimes {
       AgentRegistry agentRegistry,
       SnapshotDao snapshotDao,
       WorkspaceSharedPool sharedPool,
+      int agentLaunchParallelism,
       ConcurrentMap<String, RuntimeState> states) {
     this.eventsService = eventsService;
     this.envEngine = envEngine;
@@ -157,6 +166,14 @@ public class WorkspaceRuntimes {
     this.locks = new StripedLocks(16);
     this.sharedPool = sharedPool;
     this.states = states;
+    this.agentLaunchParallelism = agentLaunchParallelism;
+    this.agentLaunchExecutor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setNameFormat("WorkspaceRuntimes-AgentLauncher-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
   }
 
   /**
@@ -278,6 +295,24 @@ public class WorkspaceRuntimes {
     }
   }
 
+  /**
+   * Returns statuses of the given workspaces. Unlike {@link #getStatus(String)} doesn't acquire
+   * lock of each workspace, so it is suitable for listing of many workspaces.
+   *
+   * @param workspaceIds IDs of requested workspaces
+   * @return map of workspace id to {@link WorkspaceStatus#STOPPED} if workspace is not running or,
+   *     the status of workspace runtime otherwise
+   */
+  public Map<String, WorkspaceStatus> getStatuses(Collection<String> workspaceIds) {
+    requireNonNull(workspaceIds, "Required non-null workspace ids");
+    final Map<String, WorkspaceStatus> statuses = new HashMap<>();
+    for (String workspaceId : workspaceIds) {
+      final RuntimeState state = states.get(workspaceId);
+      statuses.put(workspaceId, state == null ? WorkspaceStatus.STOPPED : state.status);
+    }
+    return statuses;
+  }
+
   /**
    * Injects runtime information such as status and {@link WorkspaceRuntimeImpl} into the workspace
    * object, if the workspace doesn't have runtime sets the status to {@link
@@ -640,6 +675,7 @@ public class WorkspaceRuntimes {
         Thread.currentThread().interrupt();
       }
     }
+    agentLaunchExecutor.shutdownNow();
   }
 
   private void checkIsNotTerminated(String operation) throws ServerException {
@@ -669,20 +705,54 @@ public class WorkspaceRuntimes {
     return state;
   }
 
+  /**
+   * Launches agents of the machine respecting dependencies between them. Agents which don't depend
+   * on each other are launched concurrently by up to {@code che.agent.launch.parallelism} threads.
+   * When launching of an agent fails, launching of other agents of the same wave is interrupted and
+   * the method returns after all of them finish.
+   */
   protected void launchAgents(Instance instance, List<String> agents)
       throws ServerException, AgentException {
-    for (AgentKey agentKey : agentSorter.sort(agents)) {
-      if (!Thread.currentThread().isInterrupted()) {
-        LOG.info(
-            "Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
-        Agent agent = agentRegistry.getAgent(agentKey);
-        AgentLauncher launcher =
-            launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
-        launcher.launch(instance, agent);
+    for (List<AgentKey> wave : agentSorter.sortInWaves(agents)) {
+      if (Thread.currentThread().isInterrupted()) {
+        return;
+      }
+      try {
+        ConcurrentTasks.runAll(
+            agentLaunchExecutor,
+            agentLaunchParallelism,
+            wave,
+            agentKey -> {
+              if (!Thread.currentThread().isInterrupted()) {
+                launchAgent(instance, agentKey);
+              }
+            });
+      } catch (InterruptedException x) {
+        Thread.currentThread().interrupt();
+        throw new ServerException(
+            format("Launching agents of workspace %s is interrupted", instance.getWorkspaceId()));
+      } catch (ServerException | AgentException | RuntimeException x) {
+        throw x;
+      } catch (Exception x) {
+        throw new ServerException(x.getMessage(), x);
       }
     }
   }
 
+  private void launchAgent(Instance instance, AgentKey agentKey)
+      throws ServerException, AgentException {
+    LOG.info("Launching '{}' agent at workspace {}", agentKey.getId(), instance.getWorkspaceId());
+    long launchStart = System.currentTimeMillis();
+    Agent agent = agentRegistry.getAgent(agentKey);
+    AgentLauncher launcher = launcherFactory.find(agentKey.getId(), instance.getConfig().getType());
+    launcher.launch(instance, agent);
+    LOG.info(
+        "Agent '{}' is launched at workspace {} in {} ms",
+        agentKey.getId(),
+        instance.getWorkspaceId(),
+        System.currentTimeMillis() - launchStart);
+  }
+
   /**
    * Starts the environment publishing all the necessary events. Respects task interruption & stops
    * the workspace if starting task is cancelled.
@@ -921,7 +991,8 @@ public class WorkspaceRuntimes {
   @VisibleForTesting
   static class RuntimeState {
 
-    WorkspaceStatus status;
+    /* Volatile to let statuses of many workspaces be read without locking each of them */
+    volatile WorkspaceStatus status;
     String envName;
     StartTask startTask;
     Future<WorkspaceRuntimeImpl> startFuture;
@@ -11,6 +11,7 @@
 package org.eclipse.che.api.workspace.server;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
+import static com.google.common.base.Strings.emptyToNull;
 import static java.lang.String.format;
 import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toList;
@@ -219,7 +220,10 @@ public class WorkspaceService extends Service {
   @GenerateLink(rel = LINK_REL_GET_WORKSPACES)
   @ApiOperation(
     value = "Get workspaces which user can read",
-    notes = "This operation can be performed only by authorized user",
+    notes =
+        "This operation can be performed only by authorized user. "
+            + "When 'after' parameter is present workspaces are ordered by id and returned by "
+            + "pages of 'maxItems' size, link to the next page is in the 'Link' header",
     response = WorkspaceDto.class,
     responseContainer = "List"
   )
@@ -227,22 +231,28 @@ public class WorkspaceService extends Service {
     @ApiResponse(code = 200, message = "The workspaces successfully fetched"),
     @ApiResponse(code = 500, message = "Internal server error occurred during workspaces fetching")
   })
-  public List<WorkspaceDto> getWorkspaces(
+  public Response getWorkspaces(
       @ApiParam("The number of the items to skip") @DefaultValue("0") @QueryParam("skipCount")
           Integer skipCount,
       @ApiParam("The limit of the items in the response, default is 30")
           @DefaultValue("30")
           @QueryParam("maxItems")
           Integer maxItems,
-      @ApiParam("Workspace status") @QueryParam("status") String status)
+      @ApiParam("Workspace status") @QueryParam("status") String status,
+      @ApiParam("The id of the last workspace of the previous page, empty for the first page")
+          @QueryParam("after")
+          String afterId)
       throws ServerException, BadRequestException {
-    // TODO add maxItems & skipCount to manager
-    return workspaceManager
-        .getWorkspaces(EnvironmentContext.getCurrent().getSubject().getUserId(), false)
-        .stream()
-        .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-        .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
-        .collect(toList());
+    final String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
+    if (afterId == null) {
+      // TODO add maxItems & skipCount to manager
+      return Response.ok(asDtos(workspaceManager.getWorkspaces(userId, false), status)).build();
+    }
+    checkPageSize(maxItems);
+    return asPageResponse(
+        workspaceManager.getWorkspaces(userId, false, emptyToNull(afterId), maxItems),
+        status,
+        maxItems);
   }
 
   @GET
@@ -251,7 +261,10 @@ public class WorkspaceService extends Service {
   @GenerateLink(rel = LINK_REL_GET_BY_NAMESPACE)
   @ApiOperation(
     value = "Get workspaces by given namespace",
-    notes = "This operation can be performed only by authorized user",
+    notes =
+        "This operation can be performed only by authorized user. "
+            + "When 'after' parameter is present workspaces are ordered by id and returned by "
+            + "pages of 'maxItems' size, link to the next page is in the 'Link' header",
     response = WorkspaceDto.class,
     responseContainer = "List"
   )
@@ -259,16 +272,25 @@ public class WorkspaceService extends Service {
     @ApiResponse(code = 200, message = "The workspaces successfully fetched"),
     @ApiResponse(code = 500, message = "Internal server error occurred during workspaces fetching")
   })
-  public List<WorkspaceDto> getByNamespace(
+  public Response getByNamespace(
       @ApiParam("Workspace status") @QueryParam("status") String status,
-      @ApiParam("The namespace") @PathParam("namespace") String namespace)
+      @ApiParam("The namespace") @PathParam("namespace") String namespace,
+      @ApiParam("The id of the last workspace of the previous page, empty for the first page")
+          @QueryParam("after")
+          String afterId,
+      @ApiParam("The limit of the items in the page, default is 30")
+          @DefaultValue("30")
+          @QueryParam("maxItems")
+          Integer maxItems)
       throws ServerException, BadRequestException {
-    return workspaceManager
-        .getByNamespace(namespace, false)
-        .stream()
-        .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-        .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
-        .collect(toList());
+    if (afterId == null) {
+      return Response.ok(asDtos(workspaceManager.getByNamespace(namespace, false), status)).build();
+    }
+    checkPageSize(maxItems);
+    return asPageResponse(
+        workspaceManager.getByNamespace(namespace, false, emptyToNull(afterId), maxItems),
+        status,
+        maxItems);
   }
 
   @PUT
@@ -831,6 +853,40 @@ public class WorkspaceService extends Service {
     }
   }
 
+  private List<WorkspaceDto> asDtos(List<WorkspaceImpl> workspaces, String status) {
+    return workspaces
+        .stream()
+        .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
+        .map(workspace -> linksInjector.injectLinks(asDto(workspace), getServiceContext()))
+        .collect(toList());
+  }
+
+  /**
+   * Creates response with the page of workspaces, if the page is full 'Link' header refers to the
+   * next page. Status filter is applied to the fetched page, so the next page starts after the last
+   * fetched workspace even if it was filtered out.
+   */
+  private Response asPageResponse(List<WorkspaceImpl> page, String status, int maxItems) {
+    final Response.ResponseBuilder response = Response.ok(asDtos(page, status));
+    if (page.size() == maxItems) {
+      final String nextPageUri =
+          uriInfo
+              .getRequestUriBuilder()
+              .replaceQueryParam("after", page.get(page.size() - 1).getId())
+              .replaceQueryParam("maxItems", maxItems)
+              .build()
+              .toString();
+      response.header("Link", format("<%s>; rel=\"next\"", nextPageUri));
+    }
+    return response.build();
+  }
+
+  private void checkPageSize(Integer maxItems) throws BadRequestException {
+    if (maxItems == null || maxItems <= 0) {
+      throw new BadRequestException("The number of items in the page must be positive.");
+    }
+  }
+
   /*
    * Validate composite key.
    *
@@ -150,6 +150,28 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public List<WorkspaceImpl> getByNamespace(String namespace, String afterId, int maxItems)
+      throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    try {
+      return managerProvider
+          .get()
+          .createNamedQuery("Workspace.getByNamespaceAfterId", WorkspaceImpl.class)
+          .setParameter("namespace", namespace)
+          .setParameter("afterId", afterId == null ? "" : afterId)
+          .setMaxResults(maxItems)
+          .getResultList()
+          .stream()
+          .map(WorkspaceImpl::new)
+          .collect(toList());
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException {
@@ -166,6 +188,26 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public List<WorkspaceImpl> getWorkspaces(String userId, String afterId, int maxItems)
+      throws ServerException {
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    try {
+      return managerProvider
+          .get()
+          .createNamedQuery("Workspace.getAllAfterId", WorkspaceImpl.class)
+          .setParameter("afterId", afterId == null ? "" : afterId)
+          .setMaxResults(maxItems)
+          .getResultList()
+          .stream()
+          .map(WorkspaceImpl::new)
+          .collect(toList());
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems)
@@ -60,7 +60,18 @@ import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
     name = "Workspace.getByName",
     query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace AND w.name = :name"
   ),
+  @NamedQuery(
+    name = "Workspace.getByNamespaceAfterId",
+    query =
+        "SELECT w FROM Workspace w "
+            + "WHERE w.account.name = :namespace AND w.id > :afterId "
+            + "ORDER BY w.id"
+  ),
   @NamedQuery(name = "Workspace.getAll", query = "SELECT w FROM Workspace w"),
+  @NamedQuery(
+    name = "Workspace.getAllAfterId",
+    query = "SELECT w FROM Workspace w WHERE w.id > :afterId ORDER BY w.id"
+  ),
   @NamedQuery(
     name = "Workspace.getByTemporary",
     query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary"
@@ -15,6 +15,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.commons.annotation.Nullable;
 
 /**
  * Defines data access object contract for {@link WorkspaceImpl}.
@@ -107,6 +108,24 @@ public interface WorkspaceDao {
    */
   List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException;
 
+  /**
+   * Gets page of workspaces in given namespace ordered by identifier. The page starts right after
+   * the workspace with the given identifier, so the cost of fetching a page doesn't depend on how
+   * many workspaces precede it.
+   *
+   * @param namespace workspace namespace
+   * @param afterId identifier of the last workspace of the previous page or null to get the first
+   *     page
+   * @param maxItems the maximum number of workspaces to return
+   * @return list of workspaces in given namespace with identifiers greater than {@code afterId},
+   *     never null
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws IllegalArgumentException when {@code maxItems} is negative
+   * @throws ServerException when any other error occurs during workspaces fetching
+   */
+  List<WorkspaceImpl> getByNamespace(String namespace, @Nullable String afterId, int maxItems)
+      throws ServerException;
+
   /**
    * Gets list of workspaces which user can read
    *
@@ -116,6 +135,21 @@ public interface WorkspaceDao {
    */
   List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException;
 
+  /**
+   * Gets page of workspaces which user can read ordered by identifier. The page starts right after
+   * the workspace with the given identifier.
+   *
+   * @param userId id of user
+   * @param afterId identifier of the last workspace of the previous page or null to get the first
+   *     page
+   * @param maxItems the maximum number of workspaces to return
+   * @return list of workspaces which user can read with identifiers greater than {@code afterId}
+   * @throws IllegalArgumentException when {@code maxItems} is negative
+   * @throws ServerException when any other error occurs during workspaces fetching
+   */
+  List<WorkspaceImpl> getWorkspaces(String userId, @Nullable String afterId, int maxItems)
+      throws ServerException;
+
   /**
    * Gets workspaces by temporary attribute.
    *
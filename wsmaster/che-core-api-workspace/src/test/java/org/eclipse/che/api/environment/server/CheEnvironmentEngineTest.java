@@ -20,7 +20,9 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -33,6 +35,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
@@ -45,6 +48,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
 import org.eclipse.che.api.agent.shared.model.Agent;
@@ -89,6 +96,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.Size;
 import org.eclipse.che.commons.subject.SubjectImpl;
+import org.eclipse.che.dto.server.DtoFactory;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InOrder;
@@ -129,23 +137,7 @@ public class CheEnvironmentEngineTest {
 
   @BeforeMethod
   public void setUp() throws Exception {
-    engine =
-        spy(
-            new CheEnvironmentEngine(
-                snapshotDao,
-                machineInstanceProviders,
-                System.getProperty("java.io.tmpdir"),
-                DEFAULT_MACHINE_MEM_LIMIT_MB,
-                eventService,
-                environmentParser,
-                new DefaultServicesStartStrategy(),
-                machineProvider,
-                infrastructureProvisioner,
-                API_ENDPOINT,
-                recipeDownloader,
-                containerNameGenerator,
-                agentRegistry,
-                sharedPool));
+    engine = createEngine(1);
 
     when(machineInstanceProviders.getProvider("docker")).thenReturn(instanceProvider);
     when(instanceProvider.getRecipeTypes()).thenReturn(Collections.singleton("dockerfile"));
@@ -836,12 +828,13 @@ public class CheEnvironmentEngineTest {
                   .withWorkspaceId(instance.getWorkspaceId()));
       verify(eventService)
           .publish(
-              newDto(MachineStatusEvent.class)
-                  .withEventType(MachineStatusEvent.EventType.RUNNING)
-                  .withDev(instance.getConfig().isDev())
-                  .withMachineName(instance.getConfig().getName())
-                  .withMachineId(instance.getId())
-                  .withWorkspaceId(instance.getWorkspaceId()));
+              runningEvent(
+                  newDto(MachineStatusEvent.class)
+                      .withEventType(MachineStatusEvent.EventType.RUNNING)
+                      .withDev(instance.getConfig().isDev())
+                      .withMachineName(instance.getConfig().getName())
+                      .withMachineId(instance.getId())
+                      .withWorkspaceId(instance.getWorkspaceId())));
     }
   }
 
@@ -1062,12 +1055,13 @@ public class CheEnvironmentEngineTest {
                 .withWorkspaceId(instance.getWorkspaceId()));
     verify(eventService)
         .publish(
-            newDto(MachineStatusEvent.class)
-                .withEventType(MachineStatusEvent.EventType.RUNNING)
-                .withDev(config.isDev())
-                .withMachineName(config.getName())
-                .withMachineId("newMachineId")
-                .withWorkspaceId(instance.getWorkspaceId()));
+            runningEvent(
+                newDto(MachineStatusEvent.class)
+                    .withEventType(MachineStatusEvent.EventType.RUNNING)
+                    .withDev(config.isDev())
+                    .withMachineName(config.getName())
+                    .withMachineId("newMachineId")
+                    .withWorkspaceId(instance.getWorkspaceId())));
   }
 
   @Test
@@ -1148,12 +1142,13 @@ public class CheEnvironmentEngineTest {
                 .withWorkspaceId(instance.getWorkspaceId()));
     verify(eventService)
         .publish(
-            newDto(MachineStatusEvent.class)
-                .withEventType(MachineStatusEvent.EventType.RUNNING)
-                .withDev(instance.getConfig().isDev())
-                .withMachineName(instance.getConfig().getName())
-                .withMachineId(instance.getId())
-                .withWorkspaceId(instance.getWorkspaceId()));
+            runningEvent(
+                newDto(MachineStatusEvent.class)
+                    .withEventType(MachineStatusEvent.EventType.RUNNING)
+                    .withDev(instance.getConfig().isDev())
+                    .withMachineName(instance.getConfig().getName())
+                    .withMachineId(instance.getId())
+                    .withWorkspaceId(instance.getWorkspaceId())));
   }
 
   @Test
@@ -1492,6 +1487,212 @@ public class CheEnvironmentEngineTest {
     engine.start(workspaceId, envName, env, false, messageConsumer, startedHandler);
   }
 
+  @Test
+  public void shouldStartIndependentMachinesConcurrently() throws Exception {
+    // given
+    engine = createEngine(2);
+    // machines of the environment don't depend on each other
+    CountDownLatch bothStarting = new CountDownLatch(2);
+    doAnswer(
+            invocation -> {
+              bothStarting.countDown();
+              if (!bothStarting.await(10, TimeUnit.SECONDS)) {
+                throw new ServerException("Machines are not started concurrently");
+              }
+              return null;
+            })
+        .when(startedHandler)
+        .started(any(Instance.class), any(ExtendedMachine.class));
+    EnvironmentImpl env = createEnv();
+    when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+    when(machineProvider.startService(
+            anyString(),
+            anyString(),
+            anyString(),
+            anyString(),
+            anyBoolean(),
+            anyString(),
+            any(CheServiceImpl.class),
+            any(LineConsumer.class)))
+        .thenAnswer(
+            invocationOnMock -> {
+              Object[] arguments = invocationOnMock.getArguments();
+              CheServiceImpl service = (CheServiceImpl) arguments[6];
+              return spy(
+                  new NoOpMachineInstance(
+                      createMachine(
+                          "wsId",
+                          "env-1",
+                          service,
+                          (String) arguments[3],
+                          (boolean) arguments[4])));
+            });
+
+    // when
+    List<Instance> instances =
+        engine.start("wsId", "env-1", env, false, messageConsumer, startedHandler);
+
+    // then
+    assertEquals(instances.size(), 2);
+    assertEquals(bothStarting.getCount(), 0);
+  }
+
+  @Test
+  public void shouldInterruptConcurrentStartsAndRollbackEnvironmentWhenMachineStartFails()
+      throws Exception {
+    // given
+    engine = createEngine(2);
+    List<Instance> created = new CopyOnWriteArrayList<>();
+    mockServiceStart(created);
+    CountDownLatch devMachineStarting = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              Instance instance = (Instance) invocation.getArguments()[0];
+              if (instance.getConfig().isDev()) {
+                devMachineStarting.countDown();
+                sleepUntilInterrupted();
+              } else if (devMachineStarting.await(10, TimeUnit.SECONDS)) {
+                throw new ServerException("Start of machine2 failed");
+              }
+              return null;
+            })
+        .when(startedHandler)
+        .started(any(Instance.class), any(ExtendedMachine.class));
+    EnvironmentImpl env = createEnv();
+    when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+
+    // when
+    long startTime = System.currentTimeMillis();
+    try {
+      engine.start("wsId", "env-1", env, false, messageConsumer, startedHandler);
+      fail("environment must not be running");
+    } catch (ServerException x) {
+      assertEquals(x.getMessage(), "Start of machine2 failed");
+    }
+
+    // then
+    // start of the dev machine is interrupted instead of being awaited
+    assertTrue(System.currentTimeMillis() - startTime < 30_000);
+    assertEquals(created.size(), 2);
+    for (Instance instance : created) {
+      verify(instance).destroy();
+    }
+    try {
+      engine.getMachines("wsId");
+      fail("environment must not be running");
+    } catch (EnvironmentNotRunningException ignored) {
+    }
+  }
+
+  @Test
+  public void shouldInterruptConcurrentStartsAndRollbackEnvironmentWhenStartIsInterrupted()
+      throws Exception {
+    // given
+    engine = createEngine(2);
+    List<Instance> created = new CopyOnWriteArrayList<>();
+    mockServiceStart(created);
+    CountDownLatch bothStarting = new CountDownLatch(2);
+    doAnswer(
+            invocation -> {
+              bothStarting.countDown();
+              sleepUntilInterrupted();
+              return null;
+            })
+        .when(startedHandler)
+        .started(any(Instance.class), any(ExtendedMachine.class));
+    EnvironmentImpl env = createEnv();
+    when(environmentParser.parse(env)).thenReturn(createCheServicesEnv());
+    AtomicReference<Exception> failure = new AtomicReference<>();
+    Thread starter =
+        new Thread(
+            () -> {
+              EnvironmentContext.getCurrent()
+                  .setSubject(new SubjectImpl("name", "id", "token", false));
+              try {
+                engine.start("wsId", "env-1", env, false, messageConsumer, startedHandler);
+              } catch (Exception x) {
+                failure.set(x);
+              }
+            });
+    starter.start();
+    assertTrue(bothStarting.await(10, TimeUnit.SECONDS));
+
+    // when
+    // workspace is stopped while its machines are starting
+    starter.interrupt();
+    starter.join(30_000);
+
+    // then
+    assertFalse(starter.isAlive());
+    assertTrue(failure.get() instanceof EnvironmentStartInterruptedException);
+    assertEquals(created.size(), 2);
+    for (Instance instance : created) {
+      verify(instance).destroy();
+    }
+    try {
+      engine.getMachines("wsId");
+      fail("environment must not be running");
+    } catch (EnvironmentNotRunningException ignored) {
+    }
+  }
+
+  private CheEnvironmentEngine createEngine(int startParallelism) {
+    return spy(
+        new CheEnvironmentEngine(
+            snapshotDao,
+            machineInstanceProviders,
+            System.getProperty("java.io.tmpdir"),
+            DEFAULT_MACHINE_MEM_LIMIT_MB,
+            eventService,
+            environmentParser,
+            new DefaultServicesStartStrategy(),
+            machineProvider,
+            infrastructureProvisioner,
+            API_ENDPOINT,
+            recipeDownloader,
+            containerNameGenerator,
+            agentRegistry,
+            sharedPool,
+            startParallelism));
+  }
+
+  /** Makes machine provider start machines of workspace 'wsId' and collect them to the list. */
+  private void mockServiceStart(List<Instance> created) throws Exception {
+    when(machineProvider.startService(
+            anyString(),
+            eq("wsId"),
+            eq("env-1"),
+            anyString(),
+            anyBoolean(),
+            anyString(),
+            any(CheServiceImpl.class),
+            any(LineConsumer.class)))
+        .thenAnswer(
+            invocationOnMock -> {
+              Object[] arguments = invocationOnMock.getArguments();
+              CheServiceImpl service = (CheServiceImpl) arguments[6];
+              Instance instance =
+                  spy(
+                      new NoOpMachineInstance(
+                          createMachine(
+                              "wsId",
+                              "env-1",
+                              service,
+                              (String) arguments[3],
+                              (boolean) arguments[4])));
+              created.add(instance);
+              return instance;
+            });
+  }
+
+  private static void sleepUntilInterrupted() throws ServerException {
+    try {
+      Thread.sleep(60_000);
+    } catch (InterruptedException x) {
+      throw new ServerException("Machine start is interrupted");
+    }
+  }
+
   private List<Instance> startEnv() throws Exception {
     EnvironmentImpl env = createEnv();
     CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
@@ -1527,6 +1728,18 @@ public class CheEnvironmentEngineTest {
     return engine.start(workspaceId, envName, env, false, messageConsumer);
   }
 
+  /** Matches RUNNING event which is equal to the expected one except of reported start duration. */
+  private static Object runningEvent(MachineStatusEvent expected) {
+    return argThat(
+        (Object event) ->
+            event instanceof MachineStatusEvent
+                && ((MachineStatusEvent) event).getStartDurationMs() != null
+                && expected.equals(
+                    DtoFactory.getInstance()
+                        .clone((MachineStatusEvent) event)
+                        .withStartDurationMs(null)));
+  }
+
   private static MachineConfigImpl createConfig(boolean isDev) {
     return MachineConfigImpl.builder()
         .setDev(isDev)
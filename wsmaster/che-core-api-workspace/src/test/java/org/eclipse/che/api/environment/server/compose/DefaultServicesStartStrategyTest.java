@@ -82,6 +82,32 @@ public class DefaultServicesStartStrategyTest {
     assertEquals(actual, expected);
   }
 
+  @Test
+  public void shouldGroupIndependentServicesIntoWaves() throws Exception {
+    // given
+    CheServicesEnvironmentImpl composeEnvironment = new CheServicesEnvironmentImpl();
+    composeEnvironment.getServices().put("db", new CheServiceImpl());
+    composeEnvironment.getServices().put("cache", new CheServiceImpl());
+    composeEnvironment
+        .getServices()
+        .put("web", new CheServiceImpl().withLinks(asList("db:database", "cache")));
+    composeEnvironment
+        .getServices()
+        .put("dev-machine", new CheServiceImpl().withVolumesFrom(singletonList("web:ro")));
+    composeEnvironment
+        .getServices()
+        .put("worker", new CheServiceImpl().withDependsOn(singletonList("db")));
+
+    // when
+    List<List<String>> waves = strategy.orderInWaves(composeEnvironment);
+
+    // then
+    assertEquals(waves.size(), 3);
+    assertEqualsNoOrder(waves.get(0).toArray(), new String[] {"db", "cache"});
+    assertEqualsNoOrder(waves.get(1).toArray(), new String[] {"web", "worker"});
+    assertEquals(waves.get(2), singletonList("dev-machine"));
+  }
+
   @Test
   public void testOrderingOfServicesWithoutDependencies() throws Exception {
     // given
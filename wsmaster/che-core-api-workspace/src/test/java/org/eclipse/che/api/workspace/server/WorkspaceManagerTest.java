@@ -42,6 +42,7 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -269,6 +270,24 @@ public class WorkspaceManagerTest {
     assertFalse(res2.isTemporary(), "Workspace must be permanent");
   }
 
+  @Test
+  public void shouldGetPageOfWorkspacesWithStatusesOfTheirRuntimes() throws Exception {
+    final WorkspaceImpl workspace1 = createAndMockWorkspace(createConfig(), NAMESPACE);
+    final WorkspaceImpl workspace2 = createAndMockWorkspace(createConfig(), NAMESPACE);
+    when(workspaceDao.getByNamespace(NAMESPACE, "after", 2))
+        .thenReturn(asList(workspace1, workspace2));
+    when(runtimes.getStatuses(asList(workspace1.getId(), workspace2.getId())))
+        .thenReturn(ImmutableMap.of(workspace1.getId(), STOPPED, workspace2.getId(), RUNNING));
+
+    final List<WorkspaceImpl> result =
+        workspaceManager.getByNamespace(NAMESPACE, false, "after", 2);
+
+    assertEquals(result, asList(workspace1, workspace2));
+    assertEquals(result.get(0).getStatus(), STOPPED);
+    assertEquals(result.get(1).getStatus(), RUNNING);
+    verify(runtimes, never()).getStatus(anyString());
+  }
+
   @Test
   public void shouldBeAbleToGetWorkspacesByNamespace() throws Exception {
     // given
@@ -107,7 +107,8 @@ public class WorkspaceRuntimeIntegrationTest {
             recipeDownloader,
             containerNameGenerator,
             agentRegistry,
-            sharedPool);
+            sharedPool,
+            1);
 
     runtimes =
         new WorkspaceRuntimes(
@@ -117,7 +118,8 @@ public class WorkspaceRuntimeIntegrationTest {
             launcherFactory,
             agentRegistry,
             snapshotDao,
-            sharedPool);
+            sharedPool,
+            1);
 
     executor =
         Executors.newFixedThreadPool(
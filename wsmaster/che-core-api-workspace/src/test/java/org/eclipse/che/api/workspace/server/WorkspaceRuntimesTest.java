@@ -17,6 +17,7 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -53,8 +54,12 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import org.eclipse.che.api.agent.server.AgentRegistry;
+import org.eclipse.che.api.agent.server.exception.AgentStartException;
 import org.eclipse.che.api.agent.server.impl.AgentSorter;
+import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
+import org.eclipse.che.api.agent.shared.model.Agent;
+import org.eclipse.che.api.agent.shared.model.impl.AgentKeyImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -104,6 +109,8 @@ import org.testng.annotations.Test;
  */
 @Listeners(MockitoTestNGListener.class)
 public class WorkspaceRuntimesTest {
+  private static final List<String> AGENTS = Arrays.asList("exec", "terminal", "ws-agent");
+
 
   @Mock private EventService eventService;
   @Mock private CheEnvironmentEngine envEngine;
@@ -134,6 +141,7 @@ public class WorkspaceRuntimesTest {
             agentRegistry,
             snapshotDao,
             sharedPool,
+            1,
             runtimeStates = new ConcurrentHashMap<>());
   }
 
@@ -886,6 +894,112 @@ public class WorkspaceRuntimesTest {
     runtimes.startAsync(newWorkspace("workspace1", "env-name"), "env-name", false);
   }
 
+  @Test
+  public void launchesAgentsWithoutMutualDependenciesConcurrently() throws Exception {
+    runtimes = createRuntimesLaunchingAgentsConcurrently();
+    CountDownLatch bothLaunching = new CountDownLatch(2);
+    AgentLauncher launcher = mock(AgentLauncher.class);
+    doAnswer(
+            invocation -> {
+              bothLaunching.countDown();
+              if (!bothLaunching.await(10, TimeUnit.SECONDS)) {
+                throw new ServerException("Agents are not launched concurrently");
+              }
+              return null;
+            })
+        .when(launcher)
+        .launch(any(Instance.class), any());
+    mockAgentWaves(launcher);
+
+    runtimes.launchAgents(newMachine("workspace", "env-name", "machine", true), AGENTS);
+
+    verify(launcher, times(3)).launch(any(Instance.class), any());
+    assertEquals(bothLaunching.getCount(), 0);
+  }
+
+  @Test(
+    expectedExceptions = AgentStartException.class,
+    expectedExceptionsMessageRegExp = "agent failed"
+  )
+  public void failsAgentsLaunchingIfLaunchingOfConcurrentAgentFails() throws Exception {
+    runtimes = createRuntimesLaunchingAgentsConcurrently();
+    AgentLauncher launcher = mock(AgentLauncher.class);
+    mockAgentWaves(launcher);
+    Agent terminal = agentRegistry.getAgent(AgentKeyImpl.parse("terminal"));
+    doThrow(new AgentStartException("agent failed")).when(launcher).launch(any(), eq(terminal));
+
+    runtimes.launchAgents(newMachine("workspace", "env-name", "machine", true), AGENTS);
+  }
+
+  @Test
+  public void interruptsLaunchingOfConcurrentAgentsWhenLaterAgentFails() throws Exception {
+    runtimes = createRuntimesLaunchingAgentsConcurrently();
+    AgentLauncher launcher = mock(AgentLauncher.class);
+    mockAgentWaves(launcher);
+    Agent terminal = agentRegistry.getAgent(AgentKeyImpl.parse("terminal"));
+    Agent wsAgent = agentRegistry.getAgent(AgentKeyImpl.parse("ws-agent"));
+    CountDownLatch terminalLaunching = new CountDownLatch(1);
+    CountDownLatch terminalInterrupted = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              terminalLaunching.countDown();
+              try {
+                Thread.sleep(60_000);
+              } catch (InterruptedException x) {
+                terminalInterrupted.countDown();
+              }
+              return null;
+            })
+        .when(launcher)
+        .launch(any(), eq(terminal));
+    doAnswer(
+            invocation -> {
+              terminalLaunching.await(10, TimeUnit.SECONDS);
+              throw new AgentStartException("agent failed");
+            })
+        .when(launcher)
+        .launch(any(), eq(wsAgent));
+
+    long start = System.currentTimeMillis();
+    try {
+      runtimes.launchAgents(newMachine("workspace", "env-name", "machine", true), AGENTS);
+      fail("Launching of agents must fail");
+    } catch (AgentStartException x) {
+      assertEquals(x.getMessage(), "agent failed");
+    }
+
+    // launching of the terminal which goes first in the wave is not awaited
+    assertTrue(System.currentTimeMillis() - start < 30_000);
+    assertEquals(terminalInterrupted.getCount(), 0);
+  }
+
+  private WorkspaceRuntimes createRuntimesLaunchingAgentsConcurrently() {
+    return new WorkspaceRuntimes(
+        eventService,
+        envEngine,
+        agentSorter,
+        launcherFactory,
+        agentRegistry,
+        snapshotDao,
+        sharedPool,
+        2,
+        runtimeStates = new ConcurrentHashMap<>());
+  }
+
+  private void mockAgentWaves(AgentLauncher launcher) throws Exception {
+    when(agentSorter.sortInWaves(AGENTS))
+        .thenReturn(
+            Arrays.asList(
+                singletonList(AgentKeyImpl.parse("exec")),
+                Arrays.asList(AgentKeyImpl.parse("terminal"), AgentKeyImpl.parse("ws-agent"))));
+    for (String agentId : AGENTS) {
+      Agent agent = mock(Agent.class);
+      when(agent.getId()).thenReturn(agentId);
+      when(agentRegistry.getAgent(AgentKeyImpl.parse(agentId))).thenReturn(agent);
+    }
+    when(launcherFactory.find(anyString(), anyString())).thenReturn(launcher);
+  }
+
   private void captureAsyncTaskAndExecuteSynchronously() throws Exception {
     verify(sharedPool).submit(taskCaptor.capture());
     taskCaptor.getValue().call();
@@ -49,6 +49,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableList;
@@ -76,6 +77,7 @@ import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
+import org.eclipse.che.api.core.util.PagingUtil;
 import org.eclipse.che.api.environment.server.MachineLinksInjector;
 import org.eclipse.che.api.environment.server.MachineProcessManager;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -420,6 +422,50 @@ public class WorkspaceServiceTest {
         asList(workspace1, workspace2));
   }
 
+  @Test
+  public void shouldGetPageOfWorkspacesByNamespaceWithLinkToNextPage() throws Exception {
+    final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
+    final WorkspaceImpl workspace2 = createWorkspace(createConfigDto(), STARTING);
+    when(wsManager.getByNamespace(NAMESPACE, false, null, 2))
+        .thenReturn(asList(workspace1, workspace2));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/namespace/" + NAMESPACE + "?after=&maxItems=2");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(
+        unwrapDtoList(response, WorkspaceDto.class)
+            .stream()
+            .map(ws -> new WorkspaceImpl(ws, TEST_ACCOUNT))
+            .collect(toList()),
+        asList(workspace1, workspace2));
+    final String nextPage = PagingUtil.parseLinkHeader(response.getHeader("Link")).get("next");
+    assertNotNull(nextPage);
+    assertTrue(nextPage.contains("after=" + workspace2.getId()), nextPage);
+  }
+
+  @Test
+  public void shouldNotReturnLinkToNextPageWhenPageIsNotFull() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    when(wsManager.getWorkspaces(USER_ID, false, "ws-id", 2))
+        .thenReturn(singletonList(workspace));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?after=ws-id&maxItems=2");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(unwrapDtoList(response, WorkspaceDto.class).size(), 1);
+    assertNull(response.getHeader("Link"));
+  }
+
   @Test
   public void shouldGetWorkspacesByStatus() throws Exception {
     final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
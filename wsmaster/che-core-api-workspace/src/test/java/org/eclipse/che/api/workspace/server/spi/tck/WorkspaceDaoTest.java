@@ -146,6 +146,28 @@ public class WorkspaceDaoTest {
     workspaceDao.getByNamespace(null);
   }
 
+  @Test
+  public void shouldGetWorkspacesByNamespaceByPages() throws Exception {
+    final WorkspaceImpl workspace1 = workspaces[0];
+    final WorkspaceImpl workspace2 = workspaces[1];
+    final String namespace = workspace1.getNamespace();
+
+    final List<WorkspaceImpl> firstPage = workspaceDao.getByNamespace(namespace, null, 1);
+    final List<WorkspaceImpl> secondPage =
+        workspaceDao.getByNamespace(namespace, firstPage.get(0).getId(), 1);
+    final List<WorkspaceImpl> thirdPage =
+        workspaceDao.getByNamespace(namespace, secondPage.get(0).getId(), 1);
+
+    assertEquals(firstPage, singletonList(workspace1));
+    assertEquals(secondPage, singletonList(workspace2));
+    assertTrue(thirdPage.isEmpty());
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionWhenGettingPageOfNegativeSize() throws Exception {
+    workspaceDao.getByNamespace(workspaces[0].getNamespace(), null, -1);
+  }
+
   @Test
   public void shouldGetWorkspaceByNameAndNamespace() throws Exception {
     final WorkspaceImpl workspace = workspaces[0];